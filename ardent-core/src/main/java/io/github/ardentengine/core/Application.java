@@ -1,5 +1,8 @@
 package io.github.ardentengine.core;
 
+import io.github.ardentengine.core.display.DisplayServer;
+import io.github.ardentengine.core.jobs.JobSystem;
+
 import java.util.ArrayList;
 import java.util.ServiceLoader;
 
@@ -34,6 +37,19 @@ public final class Application {
         return instance != null ? instance.processFrames : 0;
     }
 
+    /**
+     * Returns the frame limiter used to limit the number of frames per second.
+     * <p>
+     *     The limiter is configured with the {@code application.run.targetFrameRate} property, which limits the frame rate if it is greater than zero,
+     *     and the {@code application.run.matchRefreshRate} property, which uses the refresh rate of the display and adaptive pacing instead.
+     * </p>
+     *
+     * @return The frame limiter or null if the application is not running.
+     */
+    public static FrameLimiter frameLimiter() {
+        return instance != null ? instance.frameLimiter : null;
+    }
+
     /**
      * Quits the application if it is running.
      * Causes all the engine's system to be terminated at the end of the current process loop.
@@ -47,9 +63,11 @@ public final class Application {
     /** List containing the engine systems. */
     private final ArrayList<EngineSystem> engineSystems = new ArrayList<>();
 
-    /** True if the application is running. */
-    private boolean running = true;
+    /** True if the application is running. Volatile because the application may be quit from the render thread. */
+    private volatile boolean running = true;
     private long processFrames = 0;
+    /** Frame limiter used to wait at the end of every frame. */
+    private final FrameLimiter frameLimiter = new FrameLimiter();
 
     /**
      * Application constructor.
@@ -64,6 +82,14 @@ public final class Application {
         for(var engineSystem : this.engineSystems) {
             engineSystem.initialize();
         }
+        // The refresh rate is only known after the display server has been initialized
+        var displayServer = DisplayServer.getInstance();
+        if(ApplicationProperties.getBoolean("application.run.matchRefreshRate", false) && displayServer != null && displayServer.getRefreshRate() > 0) {
+            this.frameLimiter.setTargetFrameRate(displayServer.getRefreshRate());
+            this.frameLimiter.setAdaptive(true);
+        } else {
+            this.frameLimiter.setTargetFrameRate(ApplicationProperties.getInt("application.run.targetFrameRate", 0));
+        }
     }
 
     /**
@@ -74,6 +100,7 @@ public final class Application {
         for(int i = this.engineSystems.size() - 1; i >= 0; i--) {
             this.engineSystems.get(i).terminate();
         }
+        JobSystem.shutdown();
     }
 
     /**
@@ -84,9 +111,11 @@ public final class Application {
     private void run() {
         while(this.running) {
             this.processFrames++;
+            JobSystem.processMainThreadJobs();
             for(var engineSystem : this.engineSystems) {
                 engineSystem.process();
             }
+            this.frameLimiter.waitForNextFrame();
         }
         this.terminate();
     }
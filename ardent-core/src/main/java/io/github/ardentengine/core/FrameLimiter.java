@@ -0,0 +1,185 @@
+package io.github.ardentengine.core;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Limits the number of frames per second by waiting until the start of the next frame.
+ * <p>
+ *     The thread is parked in short steps for most of the remaining time, then spins for the last part to start the frame precisely.
+ *     The time the operating system takes to wake up a parked thread is measured at every step,
+ *     so that the limiter only spins for as long as needed to make up for it.
+ * </p>
+ * <p>
+ *     If adaptive pacing is enabled, the frame time is made longer by a whole number of base frame times when frames keep missing their deadline.
+ *     When the base frame rate is the refresh rate of the display, this keeps frames in sync with the display instead of alternating between fast and slow frames.
+ * </p>
+ */
+public final class FrameLimiter {
+
+    /** Time in nanoseconds for which the thread is parked at every step. */
+    private static final long PARK_STEP = 1_000_000L;
+    /** Number of frames over which missed deadlines are counted to adapt the frame time. */
+    private static final int ADAPTIVE_WINDOW = 120;
+    /** Maximum number of base frame times in a single frame when adaptive pacing is enabled. */
+    private static final int MAX_INTERVAL = 4;
+
+    /** Time between two frames in nanoseconds at the base frame rate or zero if the frame rate is not limited. */
+    private long frameTime = 0L;
+    /** True if the frame time should adapt to the number of missed deadlines. */
+    private boolean adaptive = false;
+    /** Number of base frame times in a frame. Always one if adaptive pacing is disabled. */
+    private int interval = 1;
+    /** Time at which the next frame should start in nanoseconds or zero before the first frame. */
+    private long deadline = 0L;
+
+    /** Estimated mean of the time in nanoseconds a park step actually takes. */
+    private double parkMean = PARK_STEP * 1.25;
+    /** Estimated variance of the time a park step actually takes. */
+    private double parkVariance = 0.0;
+    /** Number of park steps measured so far. */
+    private long parkSteps = 0L;
+
+    /** Number of frames that ended after their deadline. */
+    private long missedDeadlines = 0L;
+    /** Number of frames in the current adaptive window. */
+    private int windowFrames = 0;
+    /** Number of frames that missed their deadline in the current adaptive window. */
+    private int windowMisses = 0;
+
+    /**
+     * Sets the maximum number of frames per second.
+     *
+     * @param framesPerSecond The maximum number of frames per second or zero for no limit.
+     * @throws IllegalArgumentException If the given value is negative.
+     */
+    public void setTargetFrameRate(int framesPerSecond) {
+        if(framesPerSecond < 0) {
+            throw new IllegalArgumentException("Target frame rate cannot be negative");
+        }
+        this.frameTime = framesPerSecond > 0 ? 1_000_000_000L / framesPerSecond : 0L;
+        this.interval = 1;
+        this.deadline = 0L;
+        this.windowFrames = 0;
+        this.windowMisses = 0;
+    }
+
+    /**
+     * Returns the maximum number of frames per second, taking adaptive pacing into account.
+     *
+     * @return The maximum number of frames per second or zero if the frame rate is not limited.
+     */
+    public int targetFrameRate() {
+        return this.frameTime > 0L ? (int) Math.round(1_000_000_000.0 / (this.frameTime * this.interval)) : 0;
+    }
+
+    /**
+     * Sets whether the frame time should adapt to the number of missed deadlines.
+     *
+     * @param adaptive True to enable adaptive pacing, otherwise false.
+     */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+        this.interval = 1;
+    }
+
+    /**
+     * Returns the number of frames that ended after the time at which the next frame should have started.
+     *
+     * @return The number of missed deadlines.
+     */
+    public long missedDeadlines() {
+        return this.missedDeadlines;
+    }
+
+    /**
+     * Waits until the next frame should start.
+     * Called at the end of every frame.
+     * <p>
+     *     If the frame ended after its deadline, the deadline is counted as missed and the next frame starts immediately.
+     *     The following deadlines are measured from the current time so that the limiter does not try to catch up by running several frames without waiting.
+     * </p>
+     */
+    public void waitForNextFrame() {
+        if(this.frameTime == 0L) {
+            return;
+        }
+        var now = System.nanoTime();
+        if(this.deadline == 0L) {
+            this.deadline = now;
+        }
+        var missed = now > this.deadline;
+        if(missed) {
+            this.missedDeadlines++;
+            this.deadline = now;
+        } else {
+            this.waitUntil(this.deadline);
+        }
+        if(this.adaptive) {
+            this.adapt(missed);
+        }
+        this.deadline += this.frameTime * this.interval;
+    }
+
+    /**
+     * Parks the thread while the remaining time is longer than a park step is expected to take, then spins until the given time.
+     *
+     * @param time The time to wait until in nanoseconds.
+     */
+    private void waitUntil(long time) {
+        var remaining = time - System.nanoTime();
+        while(remaining > this.parkEstimate()) {
+            var start = System.nanoTime();
+            LockSupport.parkNanos(PARK_STEP);
+            var end = System.nanoTime();
+            this.measurePark(end - start);
+            remaining = time - end;
+        }
+        while(System.nanoTime() < time) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Returns how long a park step is expected to take at most.
+     * The estimate is the mean plus one standard deviation of the measured park steps.
+     *
+     * @return The expected duration of a park step in nanoseconds.
+     */
+    private double parkEstimate() {
+        return this.parkMean + Math.sqrt(this.parkVariance);
+    }
+
+    /**
+     * Updates the mean and the variance of the time a park step takes using Welford's algorithm.
+     *
+     * @param duration The measured duration of a park step in nanoseconds.
+     */
+    private void measurePark(long duration) {
+        // Measurements are weighted as if there were at most a few hundred, so that the estimate follows changes in the scheduler
+        this.parkSteps = Math.min(this.parkSteps + 1, 500);
+        var delta = duration - this.parkMean;
+        this.parkMean += delta / this.parkSteps;
+        this.parkVariance += (delta * (duration - this.parkMean) - this.parkVariance) / this.parkSteps;
+    }
+
+    /**
+     * Makes the frame time one base frame time longer if too many frames miss their deadline and one shorter again when no frame misses it.
+     *
+     * @param missed True if the current frame missed its deadline.
+     */
+    private void adapt(boolean missed) {
+        this.windowFrames++;
+        if(missed) {
+            this.windowMisses++;
+        }
+        if(this.windowFrames == ADAPTIVE_WINDOW) {
+            if(this.windowMisses > ADAPTIVE_WINDOW / 4 && this.interval < MAX_INTERVAL) {
+                this.interval++;
+            } else if(this.windowMisses == 0 && this.interval > 1) {
+                this.interval--;
+            }
+            this.windowFrames = 0;
+            this.windowMisses = 0;
+        }
+    }
+}
\ No newline at end of file
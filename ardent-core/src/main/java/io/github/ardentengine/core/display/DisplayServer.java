@@ -163,6 +163,30 @@ public abstract class DisplayServer {
 
     public abstract void setVSync(boolean enabled);
 
+    /**
+     * Returns the refresh rate of the monitor the main window is on, or of the primary monitor if the window is not in fullscreen.
+     *
+     * @return The refresh rate in hertz or zero if it is not known.
+     */
+    public abstract int getRefreshRate();
+
+    /**
+     * Makes the rendering context of the main window current on the calling thread.
+     * The context can only be current on one thread at a time.
+     */
+    public abstract void makeContextCurrent();
+
+    /**
+     * Detaches the rendering context of the main window from the calling thread so that it can be made current on a different thread.
+     */
+    public abstract void detachContext();
+
+    /**
+     * Swaps the front and back buffers of the main window.
+     * Must be called on the thread on which the rendering context is current.
+     */
+    public abstract void swapBuffers();
+
     public abstract String getKeyLabel(int key);
 
     public abstract void setClipboard(CharSequence clipboard);
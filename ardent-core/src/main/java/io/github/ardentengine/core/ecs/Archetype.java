@@ -0,0 +1,181 @@
+package io.github.ardentengine.core.ecs;
+
+import java.util.Arrays;
+
+/**
+ * Stores the components of all the entities that have the same set of component types.
+ * <p>
+ *     Every component type has its own column, which is a primitive array containing the components of all entities one after the other.
+ *     Entities are stored in rows without gaps, so removing an entity moves the last one in its place.
+ * </p>
+ */
+final class Archetype {
+
+    /** Mask of the component types in this archetype. */
+    private final long mask;
+    /** Component types in this archetype. */
+    private final ComponentType[] types;
+    /** Columns indexed by component type id. Each column is a {@code float[]} or an {@code int[]}, or null if the type is not in this archetype. */
+    private final Object[] columns = new Object[ComponentType.MAX_TYPES];
+    /** Entity in each row. */
+    private int[] entities = new int[16];
+    /** Number of entities in this archetype. */
+    private int size = 0;
+
+    /**
+     * Creates an archetype with the given component types.
+     *
+     * @param mask Mask of the component types.
+     * @param types The component types.
+     */
+    Archetype(long mask, ComponentType[] types) {
+        this.mask = mask;
+        this.types = types;
+        for(var type : types) {
+            this.columns[type.id()] = type.isInteger() ? new int[this.entities.length * type.size()] : new float[this.entities.length * type.size()];
+        }
+    }
+
+    /**
+     * Returns the mask of the component types in this archetype.
+     *
+     * @return The mask of the component types in this archetype.
+     */
+    long mask() {
+        return this.mask;
+    }
+
+    /**
+     * Returns the component types in this archetype.
+     *
+     * @return The component types in this archetype.
+     */
+    ComponentType[] types() {
+        return this.types;
+    }
+
+    /**
+     * Returns the number of entities in this archetype.
+     *
+     * @return The number of entities in this archetype.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the entity in the given row.
+     *
+     * @param row The row.
+     * @return The entity in the given row.
+     */
+    int entity(int row) {
+        return this.entities[row];
+    }
+
+    /**
+     * Checks if this archetype contains the given component type.
+     *
+     * @param type The component type.
+     * @return True if this archetype contains the given component type, otherwise false.
+     */
+    boolean has(ComponentType type) {
+        return (this.mask & type.bit()) != 0;
+    }
+
+    /**
+     * Returns the column of the given component type.
+     *
+     * @param type The component type.
+     * @return The column, which is a {@code float[]} or an {@code int[]}.
+     * @throws IllegalArgumentException If this archetype does not contain the given component type.
+     */
+    Object column(ComponentType type) {
+        var column = this.columns[type.id()];
+        if(column == null) {
+            throw new IllegalArgumentException("Component type " + type + " is not in archetype " + Arrays.toString(this.types));
+        }
+        return column;
+    }
+
+    /**
+     * Adds an entity at the end of this archetype.
+     * Its components are initialized to zero.
+     *
+     * @param entity The entity.
+     * @return The row of the entity.
+     */
+    int add(int entity) {
+        if(this.size == this.entities.length) {
+            this.grow();
+        }
+        var row = this.size++;
+        this.entities[row] = entity;
+        for(var type : this.types) {
+            var column = this.columns[type.id()];
+            if(column instanceof float[] floats) {
+                Arrays.fill(floats, row * type.size(), (row + 1) * type.size(), 0.0f);
+            } else {
+                Arrays.fill((int[]) column, row * type.size(), (row + 1) * type.size(), 0);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Doubles the capacity of this archetype.
+     */
+    private void grow() {
+        var capacity = this.entities.length * 2;
+        this.entities = Arrays.copyOf(this.entities, capacity);
+        for(var type : this.types) {
+            var column = this.columns[type.id()];
+            if(column instanceof float[] floats) {
+                this.columns[type.id()] = Arrays.copyOf(floats, capacity * type.size());
+            } else {
+                this.columns[type.id()] = Arrays.copyOf((int[]) column, capacity * type.size());
+            }
+        }
+    }
+
+    /**
+     * Removes the entity in the given row by moving the last entity in its place.
+     *
+     * @param row The row of the entity to remove.
+     * @return The entity that was moved into the given row or -1 if the removed entity was the last one.
+     */
+    int remove(int row) {
+        var last = --this.size;
+        if(row == last) {
+            return -1;
+        }
+        this.entities[row] = this.entities[last];
+        for(var type : this.types) {
+            System.arraycopy(this.columns[type.id()], last * type.size(), this.columns[type.id()], row * type.size(), type.size());
+        }
+        return this.entities[row];
+    }
+
+    /**
+     * Removes all the entities from this archetype without releasing its memory.
+     */
+    void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Copies the components of the entity in the given row to the given row of another archetype.
+     * Only the component types that are in both archetypes are copied.
+     *
+     * @param row The row in this archetype.
+     * @param to The other archetype.
+     * @param toRow The row in the other archetype.
+     */
+    void copy(int row, Archetype to, int toRow) {
+        for(var type : this.types) {
+            if(to.has(type)) {
+                System.arraycopy(this.columns[type.id()], row * type.size(), to.columns[type.id()], toRow * type.size(), type.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.ardentengine.core.ecs;
+
+/**
+ * A range of rows of entities that have the same component types, given to systems when iterating through a {@link Query}.
+ * <p>
+ *     The components of the entities in a chunk are accessed through the arrays returned by {@link Chunk#floats(ComponentType)} and {@link Chunk#ints(ComponentType)}.
+ *     The values of the component of the entity in row {@code i} start at index {@code i * type.size()}.
+ *     Only rows between {@link Chunk#start()} and {@link Chunk#end()} belong to this chunk.
+ * </p>
+ * <p>
+ *     A chunk is only valid while it is being iterated.
+ * </p>
+ */
+public final class Chunk {
+
+    /** Archetype containing the entities of this chunk. */
+    private final Archetype archetype;
+    /** The first row of this chunk, inclusive. */
+    private final int start;
+    /** The last row of this chunk, exclusive. */
+    private final int end;
+
+    /**
+     * Creates a chunk with the given range of rows.
+     *
+     * @param archetype Archetype containing the entities.
+     * @param start The first row, inclusive.
+     * @param end The last row, exclusive.
+     */
+    Chunk(Archetype archetype, int start, int end) {
+        this.archetype = archetype;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Returns the first row of this chunk.
+     *
+     * @return The first row of this chunk, inclusive.
+     */
+    public int start() {
+        return this.start;
+    }
+
+    /**
+     * Returns the row after the last row of this chunk.
+     *
+     * @return The last row of this chunk, exclusive.
+     */
+    public int end() {
+        return this.end;
+    }
+
+    /**
+     * Returns the number of entities in this chunk.
+     *
+     * @return The number of entities in this chunk.
+     */
+    public int size() {
+        return this.end - this.start;
+    }
+
+    /**
+     * Returns the entity in the given row.
+     *
+     * @param row The row.
+     * @return The entity in the given row.
+     */
+    public int entity(int row) {
+        return this.archetype.entity(row);
+    }
+
+    /**
+     * Checks if the entities in this chunk have the given component type.
+     * Can be used to handle optional components.
+     *
+     * @param type The component type.
+     * @return True if the entities in this chunk have the given component type, otherwise false.
+     */
+    public boolean has(ComponentType type) {
+        return this.archetype.has(type);
+    }
+
+    /**
+     * Returns the array containing the components of the given type.
+     *
+     * @param type A component type made of floats.
+     * @return The array containing the components of the given type.
+     * @throws IllegalArgumentException If the entities in this chunk do not have the given component type or if it is made of ints.
+     */
+    public float[] floats(ComponentType type) {
+        if(type.isInteger()) {
+            throw new IllegalArgumentException("Component type " + type + " is made of ints");
+        }
+        return (float[]) this.archetype.column(type);
+    }
+
+    /**
+     * Returns the array containing the components of the given type.
+     *
+     * @param type A component type made of ints.
+     * @return The array containing the components of the given type.
+     * @throws IllegalArgumentException If the entities in this chunk do not have the given component type or if it is made of floats.
+     */
+    public int[] ints(ComponentType type) {
+        if(!type.isInteger()) {
+            throw new IllegalArgumentException("Component type " + type + " is made of floats");
+        }
+        return (int[]) this.archetype.column(type);
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.ardentengine.core.ecs;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Describes a type of component that can be added to the entities of a {@link World}.
+ * <p>
+ *     Components are plain data made of a fixed number of floats or ints.
+ *     The components of all entities with the same set of component types are stored next to each other in primitive arrays,
+ *     so that systems can iterate through them without following references.
+ * </p>
+ * <p>
+ *     Component types are usually stored in static fields and shared between all worlds.
+ *     At most 64 component types can be created.
+ * </p>
+ */
+public final class ComponentType {
+
+    /** Maximum number of component types. */
+    static final int MAX_TYPES = 64;
+    /** Id of the next component type. */
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    /** Name of this component type. */
+    private final String name;
+    /** Number of values in a component of this type. */
+    private final int size;
+    /** True if the values are ints, false if they are floats. */
+    private final boolean integer;
+    /** Unique id of this component type. */
+    private final int id;
+
+    /**
+     * Private constructor used by the factory methods.
+     *
+     * @param name Name of the component type.
+     * @param size Number of values in a component of this type.
+     * @param integer True if the values are ints, false if they are floats.
+     */
+    private ComponentType(String name, int size, boolean integer) {
+        this.name = Objects.requireNonNull(name, "Name cannot be null");
+        if(size <= 0) {
+            throw new IllegalArgumentException("Component size must be greater than zero");
+        }
+        this.size = size;
+        this.integer = integer;
+        this.id = NEXT_ID.getAndIncrement();
+        if(this.id >= MAX_TYPES) {
+            throw new IllegalStateException("Cannot create more than " + MAX_TYPES + " component types");
+        }
+    }
+
+    /**
+     * Creates a component type made of the given number of floats.
+     *
+     * @param name Name of the component type.
+     * @param size Number of floats in a component of this type.
+     * @return A new component type.
+     * @throws NullPointerException If the given name is null.
+     * @throws IllegalArgumentException If the given size is not greater than zero.
+     * @throws IllegalStateException If the maximum number of component types has been reached.
+     */
+    public static ComponentType floats(String name, int size) {
+        return new ComponentType(name, size, false);
+    }
+
+    /**
+     * Creates a component type made of the given number of ints.
+     *
+     * @param name Name of the component type.
+     * @param size Number of ints in a component of this type.
+     * @return A new component type.
+     * @throws NullPointerException If the given name is null.
+     * @throws IllegalArgumentException If the given size is not greater than zero.
+     * @throws IllegalStateException If the maximum number of component types has been reached.
+     */
+    public static ComponentType ints(String name, int size) {
+        return new ComponentType(name, size, true);
+    }
+
+    /**
+     * Returns the name of this component type.
+     *
+     * @return The name of this component type.
+     */
+    public String name() {
+        return this.name;
+    }
+
+    /**
+     * Returns the number of values in a component of this type.
+     * The values of the component of the entity in row {@code i} start at index {@code i * size()} in the component's array.
+     *
+     * @return The number of values in a component of this type.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks if the values of this component type are ints.
+     *
+     * @return True if the values are ints, false if they are floats.
+     */
+    public boolean isInteger() {
+        return this.integer;
+    }
+
+    /**
+     * Returns the unique id of this component type.
+     *
+     * @return A value between zero and 63.
+     */
+    int id() {
+        return this.id;
+    }
+
+    /**
+     * Returns the bit that represents this component type in a mask of component types.
+     *
+     * @return The bit that represents this component type.
+     */
+    long bit() {
+        return 1L << this.id;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
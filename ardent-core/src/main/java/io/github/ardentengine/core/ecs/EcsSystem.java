@@ -0,0 +1,73 @@
+package io.github.ardentengine.core.ecs;
+
+import io.github.ardentengine.core.EngineSystem;
+
+import java.util.ArrayList;
+
+/**
+ * Engine system that updates every {@link World} added with {@link EcsSystem#addWorld(World)} once per frame.
+ * <p>
+ *     Worlds are updated after the {@link io.github.ardentengine.core.scene.SceneTree}, so systems can read the state of the scene at the end of the frame.
+ *     Worlds are usually added by a {@link io.github.ardentengine.core.scene.WorldNode} when it enters the scene tree.
+ * </p>
+ */
+public final class EcsSystem extends EngineSystem {
+
+    /** Worlds that are updated every frame in the order in which they were added. */
+    private static final ArrayList<World> WORLDS = new ArrayList<>();
+
+    /** Time of the previous update in nanoseconds. */
+    private long previousTime = 0L;
+
+    /**
+     * Adds a world to be updated every frame.
+     * This method has no effect if the world was already added.
+     *
+     * @param world The world to add.
+     */
+    public static void addWorld(World world) {
+        if(!WORLDS.contains(world)) {
+            WORLDS.add(world);
+        }
+    }
+
+    /**
+     * Stops updating the given world.
+     * Calls {@link World#release()} if the world was added.
+     *
+     * @param world The world to remove.
+     */
+    public static void removeWorld(World world) {
+        if(WORLDS.remove(world)) {
+            world.release();
+        }
+    }
+
+    @Override
+    protected void initialize() {
+        this.previousTime = System.nanoTime();
+    }
+
+    @Override
+    protected void process() {
+        var time = System.nanoTime();
+        var deltaTime = (time - this.previousTime) / 1_000_000_000.0f;
+        this.previousTime = time;
+        for(var i = 0; i < WORLDS.size(); i++) {
+            WORLDS.get(i).update(deltaTime);
+        }
+    }
+
+    @Override
+    protected void terminate() {
+        for(var world : WORLDS) {
+            world.release();
+        }
+        WORLDS.clear();
+    }
+
+    @Override
+    protected int priority() {
+        return 11;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package io.github.ardentengine.core.ecs;
+
+import io.github.ardentengine.core.math.Matrix3x4;
+import io.github.ardentengine.core.rendering.Mesh;
+import io.github.ardentengine.core.rendering.RenderingServer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * System that draws a mesh for every entity that has a {@link MeshRenderingSystem#TRANSFORM} and a {@link MeshRenderingSystem#MESH} component.
+ * <p>
+ *     Every entity gets its own instance in the {@link RenderingServer}.
+ *     Instances are created the first time an entity is drawn and freed when its mesh component is removed or when it is destroyed.
+ *     The last transform sent for each instance is kept, so that only the transforms that have changed are sent to the rendering server.
+ * </p>
+ * <p>
+ *     Meshes are registered with {@link MeshRenderingSystem#addMesh(Mesh)}, which returns the id to store in the mesh component.
+ * </p>
+ */
+public final class MeshRenderingSystem implements WorldSystem {
+
+    /** Global transform of an entity as a row-major {@link Matrix3x4}. */
+    public static final ComponentType TRANSFORM = ComponentType.floats("Transform", 12);
+    /** Mesh of an entity. Only the first value, the id of the mesh or zero for no mesh, should be set. The other two are used by this system. */
+    public static final ComponentType MESH = ComponentType.ints("Mesh", 3);
+
+    /** Meshes registered with {@link MeshRenderingSystem#addMesh(Mesh)}. Mesh ids are the indices in this list plus one. */
+    private final ArrayList<Mesh> meshes = new ArrayList<>();
+    /** Last transform sent to the rendering server for each instance, twelve floats per instance. */
+    private float[] sentTransforms = new float[12 * 64];
+
+    /**
+     * Registers a mesh to be drawn by this system.
+     *
+     * @param mesh The mesh.
+     * @return The id to store in the mesh component of the entities that should be drawn with the given mesh.
+     * @throws NullPointerException If the given mesh is null.
+     */
+    public int addMesh(Mesh mesh) {
+        this.meshes.add(Objects.requireNonNull(mesh, "Mesh cannot be null"));
+        return this.meshes.size();
+    }
+
+    @Override
+    public void initialize(World world) {
+        world.addRemovalListener(MESH, entity -> {
+            var instance = world.getInt(entity, MESH, 1);
+            if(instance != 0 && RenderingServer.getInstance() != null) {
+                RenderingServer.getInstance().freeInstance(instance - 1);
+            }
+        });
+    }
+
+    @Override
+    public void update(World world, float deltaTime) {
+        var renderingServer = RenderingServer.getInstance();
+        if(renderingServer == null) {
+            return;
+        }
+        // The rendering server is not thread-safe, so chunks are processed on the calling thread
+        world.query(TRANSFORM, MESH).forEachChunk(chunk -> {
+            var transforms = chunk.floats(TRANSFORM);
+            var meshes = chunk.ints(MESH);
+            for(var row = chunk.start(); row < chunk.end(); row++) {
+                var m = row * 3;
+                var meshId = meshes[m];
+                if(meshId == 0) {
+                    if(meshes[m + 1] != 0) {
+                        renderingServer.freeInstance(meshes[m + 1] - 1);
+                        meshes[m + 1] = 0;
+                        meshes[m + 2] = 0;
+                    }
+                    continue;
+                }
+                var created = meshes[m + 1] == 0;
+                if(created) {
+                    meshes[m + 1] = renderingServer.createInstance() + 1;
+                }
+                var instance = meshes[m + 1] - 1;
+                if(meshes[m + 2] != meshId) {
+                    renderingServer.setInstanceMesh(instance, this.meshes.get(meshId - 1), null);
+                    meshes[m + 2] = meshId;
+                }
+                var t = row * 12;
+                if(this.keepSentTransform(instance, transforms, t) || created) {
+                    renderingServer.setInstanceTransform(instance, new Matrix3x4(
+                        transforms[t], transforms[t + 1], transforms[t + 2], transforms[t + 3],
+                        transforms[t + 4], transforms[t + 5], transforms[t + 6], transforms[t + 7],
+                        transforms[t + 8], transforms[t + 9], transforms[t + 10], transforms[t + 11]
+                    ));
+                }
+            }
+        });
+    }
+
+    /**
+     * Private method used to compare the given transform with the last one sent for the given instance and keep it if it has changed.
+     *
+     * @param instance The render instance.
+     * @param transforms Array containing the transform components.
+     * @param offset Index of the first value of the transform in the array.
+     * @return True if the transform has changed and needs to be sent to the rendering server, otherwise false.
+     */
+    private boolean keepSentTransform(int instance, float[] transforms, int offset) {
+        var s = instance * 12;
+        if(s + 12 > this.sentTransforms.length) {
+            this.sentTransforms = Arrays.copyOf(this.sentTransforms, Math.max(this.sentTransforms.length * 2, s + 12));
+        } else if(Arrays.equals(this.sentTransforms, s, s + 12, transforms, offset, offset + 12)) {
+            return false;
+        }
+        System.arraycopy(transforms, offset, this.sentTransforms, s, 12);
+        return true;
+    }
+
+    @Override
+    public void release(World world) {
+        var renderingServer = RenderingServer.getInstance();
+        world.query(MESH).forEachChunk(chunk -> {
+            var meshes = chunk.ints(MESH);
+            for(var row = chunk.start(); row < chunk.end(); row++) {
+                if(meshes[row * 3 + 1] != 0 && renderingServer != null) {
+                    renderingServer.freeInstance(meshes[row * 3 + 1] - 1);
+                }
+                meshes[row * 3 + 1] = 0;
+                meshes[row * 3 + 2] = 0;
+            }
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package io.github.ardentengine.core.ecs;
+
+import io.github.ardentengine.core.jobs.JobSystem;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Finds the entities of a {@link World} that have all the given component types.
+ * <p>
+ *     Entities are iterated in chunks of at most {@link Query#CHUNK_SIZE} entities that have the same component types.
+ *     The archetypes matching the query are cached and updated when new archetypes are created, so iterating does not need to check every entity.
+ * </p>
+ * <p>
+ *     Queries are created with {@link World#query(ComponentType...)}.
+ * </p>
+ */
+public final class Query {
+
+    /** Maximum number of entities in a chunk. */
+    public static final int CHUNK_SIZE = 1024;
+
+    /** The world this query belongs to. */
+    private final World world;
+    /** Mask of the component types required by this query. */
+    private final long mask;
+    /** Archetypes that contain all the component types required by this query. */
+    private final ArrayList<Archetype> archetypes = new ArrayList<>();
+
+    /**
+     * Creates a query that requires the component types in the given mask.
+     *
+     * @param world The world this query belongs to.
+     * @param mask Mask of the required component types.
+     */
+    Query(World world, long mask) {
+        this.world = world;
+        this.mask = mask;
+    }
+
+    /**
+     * Adds the given archetype to this query if it contains all the required component types.
+     * Called by the world when an archetype is created.
+     *
+     * @param archetype The archetype.
+     */
+    void addArchetype(Archetype archetype) {
+        if((archetype.mask() & this.mask) == this.mask) {
+            this.archetypes.add(archetype);
+        }
+    }
+
+    /**
+     * Returns the number of entities matching this query.
+     *
+     * @return The number of entities matching this query.
+     */
+    public int count() {
+        var count = 0;
+        for(var i = 0; i < this.archetypes.size(); i++) {
+            count += this.archetypes.get(i).size();
+        }
+        return count;
+    }
+
+    /**
+     * Calls the given function for every chunk of entities matching this query.
+     * <p>
+     *     Entities created, destroyed, or whose components are added or removed during the iteration are only changed once the iteration is over.
+     * </p>
+     *
+     * @param action Function to call for every chunk.
+     */
+    public void forEachChunk(Consumer<Chunk> action) {
+        this.world.beginIteration();
+        try {
+            for(var i = 0; i < this.archetypes.size(); i++) {
+                var archetype = this.archetypes.get(i);
+                for(var start = 0; start < archetype.size(); start += CHUNK_SIZE) {
+                    action.accept(new Chunk(archetype, start, Math.min(start + CHUNK_SIZE, archetype.size())));
+                }
+            }
+        } finally {
+            this.world.endIteration();
+        }
+    }
+
+    /**
+     * Calls the given function for every chunk of entities matching this query on worker threads using the {@link JobSystem}.
+     * Waits until all chunks have been processed.
+     * <p>
+     *     The function must only access the components of the chunk it is given.
+     *     Entities cannot be created, destroyed, or have their components added or removed from the function.
+     * </p>
+     *
+     * @param action Function to call for every chunk.
+     */
+    public void forEachChunkParallel(Consumer<Chunk> action) {
+        var chunks = new ArrayList<Chunk>();
+        this.forEachChunk(chunks::add);
+        this.world.beginIteration();
+        try {
+            JobSystem.parallelFor(0, chunks.size(), 1, i -> action.accept(chunks.get(i))).join();
+        } catch(CompletionException e) {
+            if(e.getCause() instanceof RuntimeException exception) {
+                throw exception;
+            } else if(e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        } finally {
+            this.world.endIteration();
+        }
+    }
+}
@@ -0,0 +1,550 @@
+package io.github.ardentengine.core.ecs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * A world of entities whose components are stored in primitive arrays.
+ * <p>
+ *     Entities are plain integers with no behavior of their own.
+ *     Their data is stored in components, described by a {@link ComponentType}.
+ *     Entities with the same set of component types share an archetype, in which each component type has its own array.
+ *     This makes it possible to simulate far more objects than with nodes, as long as they all behave the same way.
+ * </p>
+ * <p>
+ *     Behavior is added with systems, which iterate through the entities matching a {@link Query} and are updated in order with {@link World#update(float)}.
+ *     Worlds can be processed every frame by the {@link EcsSystem} or hosted inside a scene by a {@link io.github.ardentengine.core.scene.WorldNode}.
+ * </p>
+ * <p>
+ *     A world is not thread-safe.
+ *     Only the chunks of a query can be processed in parallel using {@link Query#forEachChunkParallel(java.util.function.Consumer)}.
+ * </p>
+ */
+public final class World {
+
+    /** Archetypes mapped by the mask of their component types. */
+    private final HashMap<Long, Archetype> archetypes = new HashMap<>();
+    /** Archetypes that are not seen by queries, in which entities created during an iteration are stored until it is over, mapped by the mask of their component types. */
+    private final HashMap<Long, Archetype> stagingArchetypes = new HashMap<>();
+    /** Staging archetypes that contain entities. */
+    private final ArrayList<Archetype> staged = new ArrayList<>();
+    /** Queries mapped by the mask of their component types. */
+    private final HashMap<Long, Query> queries = new HashMap<>();
+    /** Archetype of each entity or null if the entity does not exist. */
+    private Archetype[] entityArchetypes = new Archetype[64];
+    /** Row of each entity in its archetype. */
+    private int[] entityRows = new int[64];
+    /** Entities that were destroyed and can be reused. */
+    private int[] freeEntities = new int[16];
+    /** Number of entities that can be reused. */
+    private int freeCount = 0;
+    /** The entity that will be created next if there are no entities to reuse. */
+    private int nextEntity = 0;
+    /** Number of entities in this world. */
+    private int entityCount = 0;
+
+    /** Systems in the order in which they are updated. */
+    private final ArrayList<WorldSystem> systems = new ArrayList<>();
+    /** Functions to call when a component of the type with the same index is removed from an entity. */
+    private final ArrayList<ArrayList<IntConsumer>> removalListeners = new ArrayList<>();
+
+    /** Number of queries that are being iterated. */
+    private int iterating = 0;
+    /** Changes made during an iteration that are applied once it is over. */
+    private ArrayList<Runnable> deferredChanges = new ArrayList<>();
+
+    /**
+     * Creates an entity with the given component types.
+     * All components are initialized to zero.
+     * <p>
+     *     If a query is being iterated, the entity is only seen by queries once the iteration is over.
+     *     Its components can be accessed immediately.
+     * </p>
+     *
+     * @param types Component types of the entity.
+     * @return The created entity.
+     */
+    public int createEntity(ComponentType... types) {
+        var entity = this.freeCount > 0 ? this.freeEntities[--this.freeCount] : this.nextEntity++;
+        if(entity == this.entityArchetypes.length) {
+            this.entityArchetypes = Arrays.copyOf(this.entityArchetypes, entity * 2);
+            this.entityRows = Arrays.copyOf(this.entityRows, entity * 2);
+        }
+        this.entityCount++;
+        if(this.iterating > 0) {
+            var staging = this.stagingArchetype(types);
+            if(staging.size() == 0) {
+                this.staged.add(staging);
+            }
+            this.place(entity, staging);
+        } else {
+            this.place(entity, this.archetype(types));
+        }
+        return entity;
+    }
+
+    /**
+     * Destroys the given entity and all its components.
+     * The entity may be reused by {@link World#createEntity(ComponentType...)}.
+     * <p>
+     *     If a query is being iterated, the entity is only destroyed once the iteration is over.
+     * </p>
+     *
+     * @param entity The entity to destroy.
+     * @throws IllegalArgumentException If the given entity does not exist.
+     */
+    public void destroyEntity(int entity) {
+        this.checkAlive(entity);
+        if(this.defer(() -> this.destroyEntity(entity))) {
+            return;
+        }
+        var archetype = this.entityArchetypes[entity];
+        for(var type : archetype.types()) {
+            this.notifyRemoval(entity, type);
+        }
+        this.removeRow(archetype, this.entityRows[entity]);
+        this.entityArchetypes[entity] = null;
+        if(this.freeCount == this.freeEntities.length) {
+            this.freeEntities = Arrays.copyOf(this.freeEntities, this.freeCount * 2);
+        }
+        this.freeEntities[this.freeCount++] = entity;
+        this.entityCount--;
+    }
+
+    /**
+     * Checks if the given entity exists.
+     *
+     * @param entity The entity.
+     * @return True if the given entity exists, otherwise false.
+     */
+    public boolean isAlive(int entity) {
+        return entity >= 0 && entity < this.nextEntity && this.entityArchetypes[entity] != null;
+    }
+
+    /**
+     * Returns the number of entities in this world.
+     *
+     * @return The number of entities in this world.
+     */
+    public int entityCount() {
+        return this.entityCount;
+    }
+
+    /**
+     * Adds a component of the given type to the given entity.
+     * The component is initialized to zero and the other components of the entity are kept.
+     * This method has no effect if the entity already has a component of the given type.
+     * <p>
+     *     If a query is being iterated, the component is only added once the iteration is over.
+     * </p>
+     *
+     * @param entity The entity.
+     * @param type The component type.
+     * @throws IllegalArgumentException If the given entity does not exist.
+     */
+    public void addComponent(int entity, ComponentType type) {
+        this.checkAlive(entity);
+        if(this.defer(() -> this.addComponent(entity, type))) {
+            return;
+        }
+        var archetype = this.entityArchetypes[entity];
+        if(!archetype.has(type)) {
+            var types = Arrays.copyOf(archetype.types(), archetype.types().length + 1);
+            types[types.length - 1] = type;
+            this.move(entity, this.archetype(types));
+        }
+    }
+
+    /**
+     * Removes the component of the given type from the given entity.
+     * The other components of the entity are kept.
+     * This method has no effect if the entity does not have a component of the given type.
+     * <p>
+     *     If a query is being iterated, the component is only removed once the iteration is over.
+     * </p>
+     *
+     * @param entity The entity.
+     * @param type The component type.
+     * @throws IllegalArgumentException If the given entity does not exist.
+     */
+    public void removeComponent(int entity, ComponentType type) {
+        this.checkAlive(entity);
+        if(this.defer(() -> this.removeComponent(entity, type))) {
+            return;
+        }
+        var archetype = this.entityArchetypes[entity];
+        if(archetype.has(type)) {
+            this.notifyRemoval(entity, type);
+            this.move(entity, this.archetype(Arrays.stream(archetype.types()).filter(t -> t != type).toArray(ComponentType[]::new)));
+        }
+    }
+
+    /**
+     * Checks if the given entity has a component of the given type.
+     *
+     * @param entity The entity.
+     * @param type The component type.
+     * @return True if the given entity has a component of the given type, otherwise false.
+     * @throws IllegalArgumentException If the given entity does not exist.
+     */
+    public boolean hasComponent(int entity, ComponentType type) {
+        this.checkAlive(entity);
+        return this.entityArchetypes[entity].has(type);
+    }
+
+    /**
+     * Returns a value of the component of the given type of the given entity.
+     *
+     * @param entity The entity.
+     * @param type A component type made of floats.
+     * @param index Index of the value in the component.
+     * @return The value at the given index.
+     * @throws IllegalArgumentException If the given entity does not exist or does not have a component of the given type.
+     * @throws IndexOutOfBoundsException If the given index is out of bounds for the component type.
+     */
+    public float getFloat(int entity, ComponentType type, int index) {
+        return this.floats(entity, type)[this.entityRows[entity] * type.size() + Objects.checkIndex(index, type.size())];
+    }
+
+    /**
+     * Sets a value of the component of the given type of the given entity.
+     *
+     * @param entity The entity.
+     * @param type A component type made of floats.
+     * @param index Index of the value in the component.
+     * @param value The value to set.
+     * @throws IllegalArgumentException If the given entity does not exist or does not have a component of the given type.
+     * @throws IndexOutOfBoundsException If the given index is out of bounds for the component type.
+     */
+    public void setFloat(int entity, ComponentType type, int index, float value) {
+        this.floats(entity, type)[this.entityRows[entity] * type.size() + Objects.checkIndex(index, type.size())] = value;
+    }
+
+    /**
+     * Returns a value of the component of the given type of the given entity.
+     *
+     * @param entity The entity.
+     * @param type A component type made of ints.
+     * @param index Index of the value in the component.
+     * @return The value at the given index.
+     * @throws IllegalArgumentException If the given entity does not exist or does not have a component of the given type.
+     * @throws IndexOutOfBoundsException If the given index is out of bounds for the component type.
+     */
+    public int getInt(int entity, ComponentType type, int index) {
+        return this.ints(entity, type)[this.entityRows[entity] * type.size() + Objects.checkIndex(index, type.size())];
+    }
+
+    /**
+     * Sets a value of the component of the given type of the given entity.
+     *
+     * @param entity The entity.
+     * @param type A component type made of ints.
+     * @param index Index of the value in the component.
+     * @param value The value to set.
+     * @throws IllegalArgumentException If the given entity does not exist or does not have a component of the given type.
+     * @throws IndexOutOfBoundsException If the given index is out of bounds for the component type.
+     */
+    public void setInt(int entity, ComponentType type, int index, int value) {
+        this.ints(entity, type)[this.entityRows[entity] * type.size() + Objects.checkIndex(index, type.size())] = value;
+    }
+
+    /**
+     * Returns a query that finds the entities that have all the given component types.
+     * Queries are cached, so calling this method multiple times with the same component types returns the same query.
+     *
+     * @param types The required component types.
+     * @return A query that finds the entities that have all the given component types.
+     */
+    public Query query(ComponentType... types) {
+        var mask = maskOf(types);
+        var query = this.queries.get(mask);
+        if(query == null) {
+            query = new Query(this, mask);
+            for(var archetype : this.archetypes.values()) {
+                query.addArchetype(archetype);
+            }
+            this.queries.put(mask, query);
+        }
+        return query;
+    }
+
+    /**
+     * Adds a function to call when a component of the given type is removed from an entity, either with {@link World#removeComponent(int, ComponentType)} or {@link World#destroyEntity(int)}.
+     * The function is called with the entity before the component is removed, so its values can still be read.
+     *
+     * @param type The component type.
+     * @param listener Function to call with the entity.
+     */
+    public void addRemovalListener(ComponentType type, IntConsumer listener) {
+        Objects.requireNonNull(listener, "Listener cannot be null");
+        while(this.removalListeners.size() <= type.id()) {
+            this.removalListeners.add(null);
+        }
+        if(this.removalListeners.get(type.id()) == null) {
+            this.removalListeners.set(type.id(), new ArrayList<>());
+        }
+        this.removalListeners.get(type.id()).add(listener);
+    }
+
+    /**
+     * Adds a system to this world.
+     * Systems are updated in the order in which they were added.
+     * Calls {@link WorldSystem#initialize(World)} on the given system.
+     *
+     * @param system The system to add.
+     * @throws NullPointerException If the given system is null.
+     */
+    public void addSystem(WorldSystem system) {
+        Objects.requireNonNull(system, "System cannot be null");
+        this.systems.add(system);
+        system.initialize(this);
+    }
+
+    /**
+     * Removes a system from this world.
+     * Calls {@link WorldSystem#release(World)} on the given system if it was in this world.
+     *
+     * @param system The system to remove.
+     */
+    public void removeSystem(WorldSystem system) {
+        if(this.systems.remove(system)) {
+            system.release(this);
+        }
+    }
+
+    /**
+     * Updates all the systems in this world in the order in which they were added.
+     *
+     * @param deltaTime The time elapsed since the previous frame.
+     */
+    public void update(float deltaTime) {
+        for(var i = 0; i < this.systems.size(); i++) {
+            this.systems.get(i).update(this, deltaTime);
+        }
+    }
+
+    /**
+     * Calls {@link WorldSystem#release(World)} on all the systems in this world.
+     * Called when this world stops being processed.
+     */
+    public void release() {
+        for(var i = 0; i < this.systems.size(); i++) {
+            this.systems.get(i).release(this);
+        }
+    }
+
+    /**
+     * Called by queries when they start being iterated.
+     */
+    void beginIteration() {
+        this.iterating++;
+    }
+
+    /**
+     * Called by queries when they are done being iterated.
+     * Once no query is being iterated anymore, moves the entities created during the iteration to their archetype and applies the deferred changes.
+     * <p>
+     *     The list of deferred changes is replaced before the changes are applied.
+     *     A change that iterates a query, for example from a removal listener, then only applies the changes it made itself,
+     *     and the changes that were already applied are not applied again if one of them throws.
+     * </p>
+     */
+    void endIteration() {
+        if(--this.iterating == 0) {
+            this.placeStagedEntities();
+            if(!this.deferredChanges.isEmpty()) {
+                var changes = this.deferredChanges;
+                this.deferredChanges = new ArrayList<>();
+                try {
+                    for(var i = 0; i < changes.size(); i++) {
+                        changes.get(i).run();
+                    }
+                } finally {
+                    changes.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the entities created during an iteration from their staging archetype to the archetype seen by queries, keeping their components.
+     */
+    private void placeStagedEntities() {
+        for(var i = 0; i < this.staged.size(); i++) {
+            var staging = this.staged.get(i);
+            var archetype = this.archetype(staging.types());
+            for(var row = 0; row < staging.size(); row++) {
+                var entity = staging.entity(row);
+                var toRow = archetype.add(entity);
+                staging.copy(row, archetype, toRow);
+                this.entityArchetypes[entity] = archetype;
+                this.entityRows[entity] = toRow;
+            }
+            staging.clear();
+        }
+        this.staged.clear();
+    }
+
+    /**
+     * Defers the given change if a query is being iterated.
+     *
+     * @param change The change.
+     * @return True if the change was deferred, false if it should be made immediately.
+     */
+    private boolean defer(Runnable change) {
+        if(this.iterating > 0) {
+            this.deferredChanges.add(change);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the archetype with the given component types.
+     * The archetype is created and added to the matching queries if it does not exist.
+     *
+     * @param types The component types. May contain duplicates.
+     * @return The archetype with the given component types.
+     */
+    private Archetype archetype(ComponentType... types) {
+        var mask = maskOf(types);
+        var archetype = this.archetypes.get(mask);
+        if(archetype == null) {
+            archetype = new Archetype(mask, Arrays.stream(types).distinct().toArray(ComponentType[]::new));
+            this.archetypes.put(mask, archetype);
+            for(var query : this.queries.values()) {
+                query.addArchetype(archetype);
+            }
+        }
+        return archetype;
+    }
+
+    /**
+     * Returns the staging archetype with the given component types, which is not seen by queries.
+     *
+     * @param types The component types. May contain duplicates.
+     * @return The staging archetype with the given component types.
+     */
+    private Archetype stagingArchetype(ComponentType... types) {
+        var mask = maskOf(types);
+        var archetype = this.stagingArchetypes.get(mask);
+        if(archetype == null) {
+            archetype = new Archetype(mask, Arrays.stream(types).distinct().toArray(ComponentType[]::new));
+            this.stagingArchetypes.put(mask, archetype);
+        }
+        return archetype;
+    }
+
+    /**
+     * Adds the given entity at the end of the given archetype.
+     *
+     * @param entity The entity.
+     * @param archetype The archetype.
+     */
+    private void place(int entity, Archetype archetype) {
+        this.entityArchetypes[entity] = archetype;
+        this.entityRows[entity] = archetype.add(entity);
+    }
+
+    /**
+     * Moves the given entity to a different archetype, keeping the components that are in both archetypes.
+     *
+     * @param entity The entity.
+     * @param to The archetype to move the entity to.
+     */
+    private void move(int entity, Archetype to) {
+        var from = this.entityArchetypes[entity];
+        var row = this.entityRows[entity];
+        var toRow = to.add(entity);
+        from.copy(row, to, toRow);
+        this.removeRow(from, row);
+        this.entityArchetypes[entity] = to;
+        this.entityRows[entity] = toRow;
+    }
+
+    /**
+     * Removes the given row from the given archetype and updates the row of the entity that was moved in its place.
+     *
+     * @param archetype The archetype.
+     * @param row The row.
+     */
+    private void removeRow(Archetype archetype, int row) {
+        var moved = archetype.remove(row);
+        if(moved >= 0) {
+            this.entityRows[moved] = row;
+        }
+    }
+
+    /**
+     * Calls the removal listeners of the given component type.
+     *
+     * @param entity The entity whose component is removed.
+     * @param type The component type.
+     */
+    private void notifyRemoval(int entity, ComponentType type) {
+        if(type.id() < this.removalListeners.size() && this.removalListeners.get(type.id()) != null) {
+            for(var listener : this.removalListeners.get(type.id())) {
+                listener.accept(entity);
+            }
+        }
+    }
+
+    /**
+     * Returns the array containing the component of the given type of the given entity.
+     *
+     * @param entity The entity.
+     * @param type A component type made of floats.
+     * @return The array containing the component.
+     */
+    private float[] floats(int entity, ComponentType type) {
+        this.checkAlive(entity);
+        if(type.isInteger()) {
+            throw new IllegalArgumentException("Component type " + type + " is made of ints");
+        }
+        return (float[]) this.entityArchetypes[entity].column(type);
+    }
+
+    /**
+     * Returns the array containing the component of the given type of the given entity.
+     *
+     * @param entity The entity.
+     * @param type A component type made of ints.
+     * @return The array containing the component.
+     */
+    private int[] ints(int entity, ComponentType type) {
+        this.checkAlive(entity);
+        if(!type.isInteger()) {
+            throw new IllegalArgumentException("Component type " + type + " is made of floats");
+        }
+        return (int[]) this.entityArchetypes[entity].column(type);
+    }
+
+    /**
+     * Checks that the given entity exists.
+     *
+     * @param entity The entity.
+     * @throws IllegalArgumentException If the given entity does not exist.
+     */
+    private void checkAlive(int entity) {
+        if(!this.isAlive(entity)) {
+            throw new IllegalArgumentException("Entity " + entity + " does not exist");
+        }
+    }
+
+    /**
+     * Returns the mask of the given component types.
+     *
+     * @param types The component types.
+     * @return A mask with the bits of the given component types.
+     */
+    private static long maskOf(ComponentType... types) {
+        var mask = 0L;
+        for(var type : types) {
+            mask |= type.bit();
+        }
+        return mask;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package io.github.ardentengine.core.ecs;
+
+/**
+ * A system that updates the entities of a {@link World}.
+ * <p>
+ *     Systems are added to a world with {@link World#addSystem(WorldSystem)} and are updated in the order in which they were added.
+ *     They usually iterate through the chunks of a {@link Query} to update the components of many entities at once.
+ * </p>
+ */
+public interface WorldSystem {
+
+    /**
+     * Called when this system is added to a world.
+     *
+     * @param world The world.
+     */
+    default void initialize(World world) {
+
+    }
+
+    /**
+     * Updates the entities of the given world.
+     * Called every frame while the world is processed.
+     *
+     * @param world The world.
+     * @param deltaTime The time elapsed since the previous frame.
+     */
+    void update(World world, float deltaTime);
+
+    /**
+     * Called when the given world stops being processed.
+     * Used to release resources held outside the world, such as instances in the rendering server.
+     *
+     * @param world The world.
+     */
+    default void release(World world) {
+
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.ardentengine.core.jobs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-thread queue of commands that cannot run on worker threads and are run on the main thread once the work is done.
+ * <p>
+ *     While a thread is recording, calls that are not thread-safe, such as calls to the rendering server or changes to the scene tree,
+ *     add a command to the queue instead of running immediately.
+ *     The main thread then submits the recorded commands, in a deterministic order, after it has joined the workers.
+ * </p>
+ */
+public final class DeferredCommands {
+
+    /** Queue in which the current thread is recording commands or null if the current thread is not recording. */
+    private static final ThreadLocal<ArrayList<Runnable>> QUEUE = new ThreadLocal<>();
+
+    private DeferredCommands() {
+
+    }
+
+    /**
+     * Checks if the current thread is recording commands.
+     *
+     * @return True if the current thread is recording commands, otherwise false.
+     */
+    public static boolean isRecording() {
+        return QUEUE.get() != null;
+    }
+
+    /**
+     * Adds the given command to the queue of the current thread if it is recording.
+     * Used as {@code if(DeferredCommands.defer(() -> ...)) return;} at the start of methods that are not thread-safe.
+     *
+     * @param command The command.
+     * @return True if the command was deferred, false if the current thread is not recording and the caller should run it now.
+     */
+    public static boolean defer(Runnable command) {
+        var queue = QUEUE.get();
+        if(queue != null) {
+            queue.add(command);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Runs the given work on the current thread while recording the commands it defers.
+     * Recording can be nested: the commands of the inner recording are returned separately from the outer one.
+     *
+     * @param work The work to run.
+     * @return The commands deferred by the given work.
+     */
+    public static List<Runnable> record(Runnable work) {
+        var previous = QUEUE.get();
+        var queue = new ArrayList<Runnable>();
+        QUEUE.set(queue);
+        try {
+            work.run();
+        } finally {
+            QUEUE.set(previous);
+        }
+        return queue;
+    }
+
+    /**
+     * Runs the given commands in order.
+     * If the current thread is itself recording, the commands are added to its queue instead, so that they only run once the outermost recording has been submitted.
+     *
+     * @param commands The commands returned by {@link DeferredCommands#record(Runnable)}.
+     */
+    public static void submit(List<Runnable> commands) {
+        var queue = QUEUE.get();
+        if(queue != null) {
+            queue.addAll(commands);
+        } else {
+            for(var command : commands) {
+                command.run();
+            }
+        }
+    }
+}
\ No newline at end of file
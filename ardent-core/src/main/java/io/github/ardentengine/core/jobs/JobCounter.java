@@ -0,0 +1,206 @@
+package io.github.ardentengine.core.jobs;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counter of the jobs that have not finished yet in a group of jobs scheduled by the {@link JobSystem}.
+ * <p>
+ *     A counter is complete when it reaches zero.
+ *     Counters can be used as fences: jobs can be scheduled to run after a counter is complete, and threads can wait for it with {@link JobCounter#join()}.
+ * </p>
+ * <p>
+ *     If a job throws an exception, the other jobs in the group still run and the first exception is rethrown by {@link JobCounter#join()}.
+ * </p>
+ */
+public final class JobCounter {
+
+    /** A counter that is already complete. */
+    public static final JobCounter COMPLETE = new JobCounter(0);
+
+    /** Number of jobs that have not finished yet. */
+    private final AtomicInteger count;
+    /** Actions to run when this counter reaches zero or null if it is already complete. Guarded by this counter. */
+    private ArrayList<Runnable> continuations = new ArrayList<>();
+    /** True once this counter has reached zero and all its continuations have run. */
+    private volatile boolean complete = false;
+    /** The first exception thrown by a job or null if no job has failed. */
+    private volatile Throwable exception = null;
+
+    /**
+     * Constructs a counter for the given number of jobs.
+     *
+     * @param count The number of jobs.
+     */
+    JobCounter(int count) {
+        this.count = new AtomicInteger(count);
+        if(count == 0) {
+            this.continuations = null;
+            this.complete = true;
+        }
+    }
+
+    /**
+     * Returns a counter that is complete when all the given counters are complete.
+     *
+     * @param counters The counters to wait for.
+     * @return A counter that is complete when all the given counters are complete.
+     */
+    public static JobCounter all(JobCounter... counters) {
+        var counter = new JobCounter(counters.length + 1);
+        for(var dependency : counters) {
+            dependency.onComplete(() -> {
+                if(dependency.exception != null) {
+                    counter.fail(dependency.exception);
+                }
+                counter.decrement();
+            });
+        }
+        counter.decrement();
+        return counter;
+    }
+
+    /**
+     * Checks if all the jobs counted by this counter have finished.
+     * A counter is only complete after the jobs that depend on it have been scheduled.
+     *
+     * @return True if this counter has reached zero, otherwise false.
+     */
+    public boolean isComplete() {
+        return this.complete;
+    }
+
+    /**
+     * Waits until all the jobs counted by this counter have finished.
+     * <p>
+     *     If this method is called from a worker thread of the job system, the pool may start another worker to keep all cores busy while this one is blocked.
+     * </p>
+     *
+     * @throws CompletionException If a job threw an exception.
+     */
+    public void join() {
+        if(!this.isComplete()) {
+            try {
+                ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                    @Override
+                    public boolean block() throws InterruptedException {
+                        synchronized(JobCounter.this) {
+                            while(!JobCounter.this.isComplete()) {
+                                JobCounter.this.wait();
+                            }
+                        }
+                        return true;
+                    }
+
+                    @Override
+                    public boolean isReleasable() {
+                        return JobCounter.this.isComplete();
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }
+        if(this.exception != null) {
+            throw new CompletionException(this.exception);
+        }
+    }
+
+    /**
+     * Returns the first exception thrown by a job counted by this counter.
+     *
+     * @return The first exception thrown by a job or null if no job has failed.
+     */
+    Throwable exception() {
+        return this.exception;
+    }
+
+    /**
+     * Runs the given action when this counter is complete.
+     * The action is run immediately on the calling thread if this counter is already complete,
+     * otherwise it is run on the thread that finishes the last job.
+     *
+     * @param action The action to run.
+     */
+    void onComplete(Runnable action) {
+        synchronized(this) {
+            if(this.continuations != null) {
+                this.continuations.add(action);
+                return;
+            }
+        }
+        action.run();
+    }
+
+    /**
+     * Stores the given exception if it is the first exception thrown by a job counted by this counter.
+     *
+     * @param exception The exception.
+     */
+    void fail(Throwable exception) {
+        synchronized(this) {
+            if(this.exception == null) {
+                this.exception = exception;
+            }
+        }
+    }
+
+    /**
+     * Decrements this counter when a job has finished.
+     * Wakes up the threads waiting for this counter and runs its continuations if it has reached zero.
+     */
+    void decrement() {
+        this.decrement(1);
+    }
+
+    /**
+     * Decrements this counter when the given number of jobs have finished or will never run.
+     * Wakes up the threads waiting for this counter and runs its continuations if it has reached zero.
+     * <p>
+     *     All continuations are run and the counter is completed even if a continuation throws an exception, so that threads waiting for it are never blocked.
+     *     The first exception thrown by a continuation is rethrown once the counter is complete.
+     * </p>
+     *
+     * @param jobs Number of jobs.
+     */
+    void decrement(int jobs) {
+        if(this.count.addAndGet(-jobs) == 0) {
+            Throwable failure = null;
+            while(true) {
+                ArrayList<Runnable> actions;
+                synchronized(this) {
+                    // Actions may be added while the previous ones are running, so the counter is only complete once there are none left
+                    if(this.continuations.isEmpty()) {
+                        this.continuations = null;
+                        this.complete = true;
+                        this.notifyAll();
+                        break;
+                    }
+                    actions = this.continuations;
+                    this.continuations = new ArrayList<>();
+                }
+                for(var action : actions) {
+                    try {
+                        action.run();
+                    } catch (Throwable e) {
+                        if(failure == null) {
+                            failure = e;
+                        } else {
+                            failure.addSuppressed(e);
+                        }
+                    }
+                }
+            }
+            if(failure instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if(failure instanceof Error error) {
+                throw error;
+            } else if(failure != null) {
+                throw new CompletionException(failure);
+            }
+        }
+    }
+}
\ No newline at end of file
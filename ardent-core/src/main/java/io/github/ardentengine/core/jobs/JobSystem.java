@@ -0,0 +1,253 @@
+package io.github.ardentengine.core.jobs;
+
+import io.github.ardentengine.core.Application;
+import io.github.ardentengine.core.ApplicationProperties;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
+/**
+ * Schedules jobs on a pool of worker threads that steal work from each other when they run out of jobs.
+ * <p>
+ *     Jobs return a {@link JobCounter} that is complete when they have finished.
+ *     Counters can be passed to other jobs to run them only after their dependencies have finished, or joined to wait for them.
+ *     Jobs whose dependency failed are not run and their counter fails with the same exception.
+ *     Work that needs to run on the main thread, such as calls to the rendering server, can be scheduled with {@link JobSystem#runOnMainThread(Runnable)}.
+ * </p>
+ * <p>
+ *     The number of worker threads is set with the {@code jobs.threads} property and defaults to the number of cores minus one, since the main thread also runs work.
+ *     If it is set to zero, jobs run immediately on the calling thread, which can be useful to debug them.
+ * </p>
+ */
+public final class JobSystem {
+
+    /** The pool of worker threads or null if it has not been created yet. Only written while holding the lock on this class. */
+    private static volatile ForkJoinPool pool;
+    /** Number of worker threads or -1 if it has not been read from the application properties yet. Only written while holding the lock on this class. */
+    private static volatile int threads = -1;
+    /** Jobs waiting to be run on the main thread. */
+    private static final ConcurrentLinkedQueue<Runnable> MAIN_THREAD_JOBS = new ConcurrentLinkedQueue<>();
+
+    private JobSystem() {
+
+    }
+
+    /**
+     * Returns the pool of worker threads.
+     * The pool is created the first time this method is called.
+     * Only the creation of the pool is synchronized, so that scheduling jobs does not contend for a lock.
+     *
+     * @return The pool of worker threads or null if jobs run on the calling thread.
+     */
+    private static ForkJoinPool pool() {
+        var pool = JobSystem.pool;
+        if(pool == null && threads != 0) {
+            pool = createPool();
+        }
+        return pool;
+    }
+
+    /**
+     * Reads the number of worker threads from the application properties and creates the pool if it has not been created yet.
+     *
+     * @return The pool of worker threads or null if jobs run on the calling thread.
+     */
+    private static synchronized ForkJoinPool createPool() {
+        if(threads == -1) {
+            threads = ApplicationProperties.getInt("jobs.threads", Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        }
+        if(pool == null && threads > 0) {
+            pool = new ForkJoinPool(threads, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        }
+        return pool;
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return The number of worker threads or zero if jobs run on the calling thread.
+     */
+    public static int threadCount() {
+        var pool = pool();
+        return pool != null ? pool.getParallelism() : 0;
+    }
+
+    /**
+     * Schedules the given job to run on a worker thread.
+     *
+     * @param job The job.
+     * @return A counter that is complete when the job has finished.
+     * @throws NullPointerException If the given job is null.
+     */
+    public static JobCounter run(Runnable job) {
+        return run(job, JobCounter.COMPLETE);
+    }
+
+    /**
+     * Schedules the given job to run on a worker thread after the given dependency is complete.
+     * The job is not run if a job counted by the dependency threw an exception, in which case the returned counter fails with the same exception.
+     *
+     * @param job The job.
+     * @param dependency Counter that must be complete before the job runs.
+     * @return A counter that is complete when the job has finished.
+     * @throws NullPointerException If the given job or dependency are null.
+     */
+    public static JobCounter run(Runnable job, JobCounter dependency) {
+        Objects.requireNonNull(job, "Job cannot be null");
+        var counter = new JobCounter(1);
+        dependency.onComplete(() -> {
+            if(dependency.exception() != null) {
+                counter.fail(dependency.exception());
+                counter.decrement();
+            } else {
+                execute(job, counter);
+            }
+        });
+        return counter;
+    }
+
+    /**
+     * Calls the given function for every index in the given range on worker threads.
+     * <p>
+     *     The range is split into batches of the given size, each of which is a job that can be stolen by an idle worker.
+     *     Batches should be large enough for the work in each of them to be greater than the cost of scheduling a job.
+     * </p>
+     *
+     * @param start The first index, inclusive.
+     * @param end The last index, exclusive.
+     * @param batchSize Number of indices in each job.
+     * @param body Function to call for every index.
+     * @return A counter that is complete when the function has been called for every index.
+     * @throws IllegalArgumentException If the batch size is not greater than zero.
+     * @throws NullPointerException If the given function is null.
+     */
+    public static JobCounter parallelFor(int start, int end, int batchSize, IntConsumer body) {
+        return parallelFor(start, end, batchSize, body, JobCounter.COMPLETE);
+    }
+
+    /**
+     * Calls the given function for every index in the given range on worker threads after the given dependency is complete.
+     * The function is not called if a job counted by the dependency threw an exception, in which case the returned counter fails with the same exception.
+     *
+     * @param start The first index, inclusive.
+     * @param end The last index, exclusive.
+     * @param batchSize Number of indices in each job.
+     * @param body Function to call for every index.
+     * @param dependency Counter that must be complete before the function is called.
+     * @return A counter that is complete when the function has been called for every index.
+     * @throws IllegalArgumentException If the batch size is not greater than zero.
+     * @throws NullPointerException If the given function or dependency are null.
+     *
+     * @see JobSystem#parallelFor(int, int, int, IntConsumer)
+     */
+    public static JobCounter parallelFor(int start, int end, int batchSize, IntConsumer body, JobCounter dependency) {
+        if(batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than zero");
+        }
+        Objects.requireNonNull(body, "Body cannot be null");
+        if(end <= start) {
+            return JobCounter.COMPLETE;
+        }
+        var batches = (int) (((long) end - start + batchSize - 1) / batchSize);
+        var counter = new JobCounter(batches);
+        dependency.onComplete(() -> {
+            if(dependency.exception() != null) {
+                counter.fail(dependency.exception());
+                counter.decrement(batches);
+                return;
+            }
+            for(var batch = 0; batch < batches; batch++) {
+                var from = start + batch * batchSize;
+                var to = (int) Math.min((long) from + batchSize, end);
+                execute(() -> {
+                    for(var i = from; i < to; i++) {
+                        body.accept(i);
+                    }
+                }, counter);
+            }
+        });
+        return counter;
+    }
+
+    /**
+     * Schedules the given job to run on the main thread at the start of the next frame.
+     *
+     * @param job The job.
+     * @throws NullPointerException If the given job is null.
+     */
+    public static void runOnMainThread(Runnable job) {
+        MAIN_THREAD_JOBS.add(Objects.requireNonNull(job, "Job cannot be null"));
+    }
+
+    /**
+     * Schedules the given job to run on the main thread at the start of the first frame after the given dependency is complete.
+     * Used to continue on the main thread after a job, for example to send its results to the rendering server.
+     *
+     * @param job The job.
+     * @param dependency Counter that must be complete before the job runs.
+     * @throws NullPointerException If the given job or dependency are null.
+     */
+    public static void runOnMainThread(Runnable job, JobCounter dependency) {
+        Objects.requireNonNull(job, "Job cannot be null");
+        dependency.onComplete(() -> MAIN_THREAD_JOBS.add(job));
+    }
+
+    /**
+     * Runs the jobs scheduled to run on the main thread.
+     * Called by the {@link Application} at the start of every frame.
+     * Jobs scheduled while this method is running are run in the next frame.
+     */
+    public static void processMainThreadJobs() {
+        for(var count = MAIN_THREAD_JOBS.size(); count > 0; count--) {
+            var job = MAIN_THREAD_JOBS.poll();
+            if(job == null) {
+                break;
+            }
+            job.run();
+        }
+    }
+
+    /**
+     * Stops the worker threads after the jobs that have already been scheduled have finished.
+     * Called by the {@link Application} when it is terminated.
+     */
+    public static synchronized void shutdown() {
+        if(pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+        MAIN_THREAD_JOBS.clear();
+    }
+
+    /**
+     * Runs the given job on a worker thread, or on the calling thread if there are no worker threads, and decrements the given counter when it has finished.
+     * If the job cannot be scheduled, for example because the pool is shutting down, the counter fails with the exception and is decremented immediately.
+     *
+     * @param job The job.
+     * @param counter The counter of the job.
+     */
+    private static void execute(Runnable job, JobCounter counter) {
+        Runnable task = () -> {
+            try {
+                job.run();
+            } catch (Throwable e) {
+                counter.fail(e);
+            } finally {
+                counter.decrement();
+            }
+        };
+        var pool = pool();
+        if(pool != null) {
+            try {
+                pool.execute(task);
+            } catch (RuntimeException e) {
+                counter.fail(e);
+                counter.decrement();
+            }
+        } else {
+            task.run();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+package io.github.ardentengine.core.math;
+
+import java.io.Serializable;
+
+/**
+ * An axis-aligned bounding box.
+ * <p>
+ *     Used to represent the bounds of meshes and objects in 3D space for culling and spatial queries.
+ * </p>
+ *
+ * @param min The corner of the box with the lowest coordinates.
+ * @param max The corner of the box with the highest coordinates.
+ */
+public record AABB(Vector3 min, Vector3 max) implements Serializable {
+
+    /** Shorthand for an empty box at the origin. */
+    public static final AABB ZERO = new AABB(Vector3.ZERO, Vector3.ZERO);
+
+    /**
+     * Constructs an axis-aligned bounding box from the coordinates of its corners.
+     *
+     * @param minX The lowest x coordinate.
+     * @param minY The lowest y coordinate.
+     * @param minZ The lowest z coordinate.
+     * @param maxX The highest x coordinate.
+     * @param maxY The highest y coordinate.
+     * @param maxZ The highest z coordinate.
+     */
+    public AABB(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        this(new Vector3(minX, minY, minZ), new Vector3(maxX, maxY, maxZ));
+    }
+
+    /**
+     * Returns the center of this box.
+     *
+     * @return The center of this box.
+     */
+    public Vector3 center() {
+        return this.min().plus(this.max()).multiply(0.5f);
+    }
+
+    /**
+     * Returns the size of this box.
+     *
+     * @return A vector containing the width, the height, and the depth of this box.
+     */
+    public Vector3 size() {
+        return this.max().minus(this.min());
+    }
+
+    /**
+     * Checks if the given point is inside this box.
+     * Points on the surface of the box are considered to be inside.
+     *
+     * @param point The point.
+     * @return True if the given point is inside this box, otherwise false.
+     */
+    public boolean contains(Vector3 point) {
+        return point.x() >= this.min().x() && point.x() <= this.max().x()
+            && point.y() >= this.min().y() && point.y() <= this.max().y()
+            && point.z() >= this.min().z() && point.z() <= this.max().z();
+    }
+
+    /**
+     * Checks if this box and the given one overlap.
+     * Boxes that only touch each other are considered to be overlapping.
+     *
+     * @param aabb The other box.
+     * @return True if the two boxes overlap, otherwise false.
+     */
+    public boolean intersects(AABB aabb) {
+        return this.min().x() <= aabb.max().x() && this.max().x() >= aabb.min().x()
+            && this.min().y() <= aabb.max().y() && this.max().y() >= aabb.min().y()
+            && this.min().z() <= aabb.max().z() && this.max().z() >= aabb.min().z();
+    }
+
+    /**
+     * Returns the smallest box that contains both this box and the given one.
+     *
+     * @param aabb The other box.
+     * @return The smallest box that contains both boxes.
+     */
+    public AABB merge(AABB aabb) {
+        return new AABB(
+            Math.min(this.min().x(), aabb.min().x()), Math.min(this.min().y(), aabb.min().y()), Math.min(this.min().z(), aabb.min().z()),
+            Math.max(this.max().x(), aabb.max().x()), Math.max(this.max().y(), aabb.max().y()), Math.max(this.max().z(), aabb.max().z())
+        );
+    }
+
+    /**
+     * Returns the smallest axis-aligned box that contains this box after it is transformed by the given transformation matrix.
+     * <p>
+     *     The center of the box is transformed by the matrix and the half-size is transformed by the absolute value of its rotation and scaling part.
+     * </p>
+     *
+     * @param transform A 3x4 transformation matrix.
+     * @return The transformed box.
+     */
+    public AABB transformed(Matrix3x4 transform) {
+        var center = transform.multiply(this.center(), 1.0f);
+        var extents = this.size().multiply(0.5f);
+        var x = Math.abs(transform.m00()) * extents.x() + Math.abs(transform.m01()) * extents.y() + Math.abs(transform.m02()) * extents.z();
+        var y = Math.abs(transform.m10()) * extents.x() + Math.abs(transform.m11()) * extents.y() + Math.abs(transform.m12()) * extents.z();
+        var z = Math.abs(transform.m20()) * extents.x() + Math.abs(transform.m21()) * extents.y() + Math.abs(transform.m22()) * extents.z();
+        return new AABB(center.minus(x, y, z), center.plus(x, y, z));
+    }
+
+    /**
+     * Returns the smallest box that contains all the given points.
+     *
+     * @param points Array containing the coordinates of the points.
+     * @param components Number of coordinates per point. Must be 2 for 2D points, whose z coordinate is zero, or 3 for 3D points.
+     * @return The smallest box that contains all the given points or {@link AABB#ZERO} if the array is null or empty.
+     */
+    public static AABB fromPoints(float[] points, int components) {
+        if(points == null || points.length < components) {
+            return ZERO;
+        }
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+        for(var i = 0; i + components <= points.length; i += components) {
+            minX = Math.min(minX, points[i]);
+            maxX = Math.max(maxX, points[i]);
+            minY = Math.min(minY, points[i + 1]);
+            maxY = Math.max(maxY, points[i + 1]);
+            var z = components > 2 ? points[i + 2] : 0.0f;
+            minZ = Math.min(minZ, z);
+            maxZ = Math.max(maxZ, z);
+        }
+        return new AABB(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+}
\ No newline at end of file
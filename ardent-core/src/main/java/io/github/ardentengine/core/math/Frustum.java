@@ -0,0 +1,102 @@
+package io.github.ardentengine.core.math;
+
+/**
+ * The six planes that delimit the volume visible from a camera.
+ * <p>
+ *     The planes are extracted from a combined projection and view matrix and point towards the inside of the frustum.
+ *     They are stored in a flat array, so that objects can be tested against the frustum without creating vectors.
+ * </p>
+ */
+public final class Frustum {
+
+    /** Coefficients of the left, right, bottom, top, near, and far planes, four per plane. */
+    private final float[] planes = new float[24];
+
+    /**
+     * Extracts the planes of the frustum from the given matrix.
+     * <p>
+     *     The matrix is usually the product of a camera's projection matrix and view matrix.
+     *     Points for which the matrix produces clip coordinates between {@code -w} and {@code w} are inside the frustum.
+     * </p>
+     *
+     * @param matrix The view-projection matrix.
+     */
+    public Frustum(Matrix4 matrix) {
+        var row0 = matrix.row0();
+        var row1 = matrix.row1();
+        var row2 = matrix.row2();
+        var row3 = matrix.row3();
+        this.setPlane(0, row3.plus(row0));
+        this.setPlane(1, row3.minus(row0));
+        this.setPlane(2, row3.plus(row1));
+        this.setPlane(3, row3.minus(row1));
+        this.setPlane(4, row3.plus(row2));
+        this.setPlane(5, row3.minus(row2));
+    }
+
+    /**
+     * Stores the given plane after normalizing it, so that the distance from the plane can be computed.
+     *
+     * @param index Index of the plane.
+     * @param plane Coefficients of the plane equation.
+     */
+    private void setPlane(int index, Vector4 plane) {
+        var length = (float) Math.sqrt(plane.x() * plane.x() + plane.y() * plane.y() + plane.z() * plane.z());
+        this.planes[4 * index] = plane.x() / length;
+        this.planes[4 * index + 1] = plane.y() / length;
+        this.planes[4 * index + 2] = plane.z() / length;
+        this.planes[4 * index + 3] = plane.w() / length;
+    }
+
+    /**
+     * Checks if a box with the given center and half-size is at least partially inside this frustum.
+     * <p>
+     *     This test is conservative: boxes near the corners of the frustum may be reported as inside even if they are not.
+     * </p>
+     *
+     * @param centerX The x coordinate of the center of the box.
+     * @param centerY The y coordinate of the center of the box.
+     * @param centerZ The z coordinate of the center of the box.
+     * @param extentX Half the width of the box.
+     * @param extentY Half the height of the box.
+     * @param extentZ Half the depth of the box.
+     * @return True if the box may be visible, false if it is completely outside of the frustum.
+     */
+    public boolean intersects(float centerX, float centerY, float centerZ, float extentX, float extentY, float extentZ) {
+        for(var i = 0; i < this.planes.length; i += 4) {
+            var a = this.planes[i];
+            var b = this.planes[i + 1];
+            var c = this.planes[i + 2];
+            var distance = a * centerX + b * centerY + c * centerZ + this.planes[i + 3];
+            var radius = Math.abs(a) * extentX + Math.abs(b) * extentY + Math.abs(c) * extentZ;
+            if(distance + radius < 0.0f) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the given box is at least partially inside this frustum.
+     *
+     * @param aabb The box.
+     * @return True if the box may be visible, false if it is completely outside of the frustum.
+     *
+     * @see Frustum#intersects(float, float, float, float, float, float)
+     */
+    public boolean intersects(AABB aabb) {
+        var center = aabb.center();
+        var size = aabb.size();
+        return this.intersects(center.x(), center.y(), center.z(), 0.5f * size.x(), 0.5f * size.y(), 0.5f * size.z());
+    }
+
+    /**
+     * Checks if the given point is inside this frustum.
+     *
+     * @param point The point.
+     * @return True if the point is inside this frustum, otherwise false.
+     */
+    public boolean contains(Vector3 point) {
+        return this.intersects(point.x(), point.y(), point.z(), 0.0f, 0.0f, 0.0f);
+    }
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package io.github.ardentengine.core.math;
 
 import java.io.Serializable;
+import java.nio.FloatBuffer;
 
 /**
  * A 2x3 (two rows and three columns) float matrix.
@@ -393,6 +394,37 @@ public record Matrix2x3(float m00, float m01, float m02, float m10, float m11, f
             && MathUtils.equalsApprox(this.m10(), m.m10()) && MathUtils.equalsApprox(this.m11(), m.m11()) && MathUtils.equalsApprox(this.m12(), m.m12());
     }
 
+    /**
+     * Writes the elements of this matrix into the given buffer in row-major order.
+     * The elements are written at the buffer's current position, which is then incremented by 6.
+     * <p>
+     *     Useful to upload the matrix to the GPU without allocating a new buffer.
+     * </p>
+     *
+     * @param buffer The buffer to write to. Must have at least 6 elements remaining.
+     * @return The given buffer.
+     */
+    public FloatBuffer writeTo(FloatBuffer buffer) {
+        buffer.put(this.m00()); buffer.put(this.m01()); buffer.put(this.m02());
+        buffer.put(this.m10()); buffer.put(this.m11()); buffer.put(this.m12());
+        return buffer;
+    }
+
+    /**
+     * Writes the elements of this matrix into the given array in row-major order.
+     *
+     * @param array The array to write to.
+     * @param offset Index at which the first element is written. The array must have at least 6 elements starting from this index.
+     */
+    public void writeTo(float[] array, int offset) {
+        array[offset] = this.m00();
+        array[offset + 1] = this.m01();
+        array[offset + 2] = this.m02();
+        array[offset + 3] = this.m10();
+        array[offset + 4] = this.m11();
+        array[offset + 5] = this.m12();
+    }
+
     /**
      * Returns a 2x3 matrix from the given rows.
      *
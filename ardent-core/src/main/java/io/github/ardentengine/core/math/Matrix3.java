@@ -1,6 +1,7 @@
 package io.github.ardentengine.core.math;
 
 import java.io.Serializable;
+import java.nio.FloatBuffer;
 
 /**
  * A 3x3 float matrix.
@@ -502,6 +503,41 @@ public record Matrix3(
             && MathUtils.equalsApprox(this.m20(), m.m20()) && MathUtils.equalsApprox(this.m21(), m.m21()) && MathUtils.equalsApprox(this.m22(), m.m22());
     }
 
+    /**
+     * Writes the elements of this matrix into the given buffer in row-major order.
+     * The elements are written at the buffer's current position, which is then incremented by 9.
+     * <p>
+     *     Useful to upload the matrix to the GPU without allocating a new buffer.
+     * </p>
+     *
+     * @param buffer The buffer to write to. Must have at least 9 elements remaining.
+     * @return The given buffer.
+     */
+    public FloatBuffer writeTo(FloatBuffer buffer) {
+        buffer.put(this.m00()); buffer.put(this.m01()); buffer.put(this.m02());
+        buffer.put(this.m10()); buffer.put(this.m11()); buffer.put(this.m12());
+        buffer.put(this.m20()); buffer.put(this.m21()); buffer.put(this.m22());
+        return buffer;
+    }
+
+    /**
+     * Writes the elements of this matrix into the given array in row-major order.
+     *
+     * @param array The array to write to.
+     * @param offset Index at which the first element is written. The array must have at least 9 elements starting from this index.
+     */
+    public void writeTo(float[] array, int offset) {
+        array[offset] = this.m00();
+        array[offset + 1] = this.m01();
+        array[offset + 2] = this.m02();
+        array[offset + 3] = this.m10();
+        array[offset + 4] = this.m11();
+        array[offset + 5] = this.m12();
+        array[offset + 6] = this.m20();
+        array[offset + 7] = this.m21();
+        array[offset + 8] = this.m22();
+    }
+
     /**
      * Returns a 2x2 matrix from the given rows.
      *
@@ -1,6 +1,7 @@
 package io.github.ardentengine.core.math;
 
 import java.io.Serializable;
+import java.nio.FloatBuffer;
 
 /**
  * A 3x4 (three rows and four columns) float matrix.
@@ -466,6 +467,44 @@ public record Matrix3x4(
             && MathUtils.equalsApprox(this.m20(), m.m20()) && MathUtils.equalsApprox(this.m21(), m.m21()) && MathUtils.equalsApprox(this.m22(), m.m22()) && MathUtils.equalsApprox(this.m23(), m.m23());
     }
 
+    /**
+     * Writes the elements of this matrix into the given buffer in row-major order.
+     * The elements are written at the buffer's current position, which is then incremented by 12.
+     * <p>
+     *     Useful to upload the matrix to the GPU without allocating a new buffer.
+     * </p>
+     *
+     * @param buffer The buffer to write to. Must have at least 12 elements remaining.
+     * @return The given buffer.
+     */
+    public FloatBuffer writeTo(FloatBuffer buffer) {
+        buffer.put(this.m00()); buffer.put(this.m01()); buffer.put(this.m02()); buffer.put(this.m03());
+        buffer.put(this.m10()); buffer.put(this.m11()); buffer.put(this.m12()); buffer.put(this.m13());
+        buffer.put(this.m20()); buffer.put(this.m21()); buffer.put(this.m22()); buffer.put(this.m23());
+        return buffer;
+    }
+
+    /**
+     * Writes the elements of this matrix into the given array in row-major order.
+     *
+     * @param array The array to write to.
+     * @param offset Index at which the first element is written. The array must have at least 12 elements starting from this index.
+     */
+    public void writeTo(float[] array, int offset) {
+        array[offset] = this.m00();
+        array[offset + 1] = this.m01();
+        array[offset + 2] = this.m02();
+        array[offset + 3] = this.m03();
+        array[offset + 4] = this.m10();
+        array[offset + 5] = this.m11();
+        array[offset + 6] = this.m12();
+        array[offset + 7] = this.m13();
+        array[offset + 8] = this.m20();
+        array[offset + 9] = this.m21();
+        array[offset + 10] = this.m22();
+        array[offset + 11] = this.m23();
+    }
+
     /**
      * Returns a 3x4 matrix from the given rows.
      *
@@ -662,4 +701,25 @@ public record Matrix3x4(
     public static Matrix3x4 scaling(Vector2 s) {
         return scaling(s.x(), s.y(), 1.0f);
     }
+
+    /**
+     * Returns a 3x4 matrix representing a scaling, followed by a rotation, followed by a translation in a 3D space.
+     * <p>
+     *     The result is the same as {@code translation(t).multiply(rotation(r), 0.0f, 0.0f, 0.0f, 1.0f).multiply(scaling(s), 0.0f, 0.0f, 0.0f, 1.0f)},
+     *     but the matrix is computed in a single step without creating the intermediate matrices.
+     * </p>
+     *
+     * @param t The translation vector.
+     * @param r The rotation quaternion. Must be a unit quaternion.
+     * @param s A vector representing the scale factor on the x, y, and z axes.
+     * @return A 3x4 matrix representing the given translation, rotation, and scaling.
+     */
+    public static Matrix3x4 transform(Vector3 t, Quaternion r, Vector3 s) {
+        var k = 2.0f / r.lengthSquared();
+        return new Matrix3x4(
+            (1.0f - k * (r.y() * r.y() + r.z() * r.z())) * s.x(), k * (r.x() * r.y() - r.z() * r.w()) * s.y(), k * (r.x() * r.z() + r.y() * r.w()) * s.z(), t.x(),
+            k * (r.x() * r.y() + r.z() * r.w()) * s.x(), (1.0f - k * (r.x() * r.x() + r.z() * r.z())) * s.y(), k * (r.y() * r.z() - r.x() * r.w()) * s.z(), t.y(),
+            k * (r.x() * r.z() - r.y() * r.w()) * s.x(), k * (r.y() * r.z() + r.x() * r.w()) * s.y(), (1.0f - k * (r.x() * r.x() + r.y() * r.y())) * s.z(), t.z()
+        );
+    }
 }
\ No newline at end of file
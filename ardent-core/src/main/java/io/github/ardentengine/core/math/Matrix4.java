@@ -1,6 +1,7 @@
 package io.github.ardentengine.core.math;
 
 import java.io.Serializable;
+import java.nio.FloatBuffer;
 
 /**
  * A 3x4 float matrix.
@@ -584,6 +585,49 @@ public record Matrix4(
             && MathUtils.equalsApprox(this.m30(), m.m30()) && MathUtils.equalsApprox(this.m31(), m.m31()) && MathUtils.equalsApprox(this.m32(), m.m32()) && MathUtils.equalsApprox(this.m33(), m.m33());
     }
 
+    /**
+     * Writes the elements of this matrix into the given buffer in row-major order.
+     * The elements are written at the buffer's current position, which is then incremented by 16.
+     * <p>
+     *     Useful to upload the matrix to the GPU without allocating a new buffer.
+     * </p>
+     *
+     * @param buffer The buffer to write to. Must have at least 16 elements remaining.
+     * @return The given buffer.
+     */
+    public FloatBuffer writeTo(FloatBuffer buffer) {
+        buffer.put(this.m00()); buffer.put(this.m01()); buffer.put(this.m02()); buffer.put(this.m03());
+        buffer.put(this.m10()); buffer.put(this.m11()); buffer.put(this.m12()); buffer.put(this.m13());
+        buffer.put(this.m20()); buffer.put(this.m21()); buffer.put(this.m22()); buffer.put(this.m23());
+        buffer.put(this.m30()); buffer.put(this.m31()); buffer.put(this.m32()); buffer.put(this.m33());
+        return buffer;
+    }
+
+    /**
+     * Writes the elements of this matrix into the given array in row-major order.
+     *
+     * @param array The array to write to.
+     * @param offset Index at which the first element is written. The array must have at least 16 elements starting from this index.
+     */
+    public void writeTo(float[] array, int offset) {
+        array[offset] = this.m00();
+        array[offset + 1] = this.m01();
+        array[offset + 2] = this.m02();
+        array[offset + 3] = this.m03();
+        array[offset + 4] = this.m10();
+        array[offset + 5] = this.m11();
+        array[offset + 6] = this.m12();
+        array[offset + 7] = this.m13();
+        array[offset + 8] = this.m20();
+        array[offset + 9] = this.m21();
+        array[offset + 10] = this.m22();
+        array[offset + 11] = this.m23();
+        array[offset + 12] = this.m30();
+        array[offset + 13] = this.m31();
+        array[offset + 14] = this.m32();
+        array[offset + 15] = this.m33();
+    }
+
     /**
      * Returns a 4x4 matrix from the given rows.
      *
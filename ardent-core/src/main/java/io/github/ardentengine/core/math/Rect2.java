@@ -0,0 +1,102 @@
+package io.github.ardentengine.core.math;
+
+import java.io.Serializable;
+
+/**
+ * An axis-aligned rectangle.
+ * <p>
+ *     Used to represent the bounds of objects in 2D space for culling and spatial queries.
+ * </p>
+ *
+ * @param min The corner of the rectangle with the lowest coordinates.
+ * @param max The corner of the rectangle with the highest coordinates.
+ */
+public record Rect2(Vector2 min, Vector2 max) implements Serializable {
+
+    /** Shorthand for an empty rectangle at the origin. */
+    public static final Rect2 ZERO = new Rect2(Vector2.ZERO, Vector2.ZERO);
+
+    /**
+     * Constructs an axis-aligned rectangle from the coordinates of its corners.
+     *
+     * @param minX The lowest x coordinate.
+     * @param minY The lowest y coordinate.
+     * @param maxX The highest x coordinate.
+     * @param maxY The highest y coordinate.
+     */
+    public Rect2(float minX, float minY, float maxX, float maxY) {
+        this(new Vector2(minX, minY), new Vector2(maxX, maxY));
+    }
+
+    /**
+     * Returns the center of this rectangle.
+     *
+     * @return The center of this rectangle.
+     */
+    public Vector2 center() {
+        return this.min().plus(this.max()).multiply(0.5f);
+    }
+
+    /**
+     * Returns the size of this rectangle.
+     *
+     * @return A vector containing the width and the height of this rectangle.
+     */
+    public Vector2 size() {
+        return this.max().minus(this.min());
+    }
+
+    /**
+     * Checks if the given point is inside this rectangle.
+     * Points on the edges of the rectangle are considered to be inside.
+     *
+     * @param point The point.
+     * @return True if the given point is inside this rectangle, otherwise false.
+     */
+    public boolean contains(Vector2 point) {
+        return point.x() >= this.min().x() && point.x() <= this.max().x()
+            && point.y() >= this.min().y() && point.y() <= this.max().y();
+    }
+
+    /**
+     * Checks if this rectangle and the given one overlap.
+     * Rectangles that only touch each other are considered to be overlapping.
+     *
+     * @param rect The other rectangle.
+     * @return True if the two rectangles overlap, otherwise false.
+     */
+    public boolean intersects(Rect2 rect) {
+        return this.min().x() <= rect.max().x() && this.max().x() >= rect.min().x()
+            && this.min().y() <= rect.max().y() && this.max().y() >= rect.min().y();
+    }
+
+    /**
+     * Returns the smallest rectangle that contains both this rectangle and the given one.
+     *
+     * @param rect The other rectangle.
+     * @return The smallest rectangle that contains both rectangles.
+     */
+    public Rect2 merge(Rect2 rect) {
+        return new Rect2(
+            Math.min(this.min().x(), rect.min().x()), Math.min(this.min().y(), rect.min().y()),
+            Math.max(this.max().x(), rect.max().x()), Math.max(this.max().y(), rect.max().y())
+        );
+    }
+
+    /**
+     * Returns the smallest axis-aligned rectangle that contains this rectangle after it is transformed by the given transformation matrix.
+     * <p>
+     *     The center of the rectangle is transformed by the matrix and the half-size is transformed by the absolute value of its rotation and scaling part.
+     * </p>
+     *
+     * @param transform A 2x3 transformation matrix.
+     * @return The transformed rectangle.
+     */
+    public Rect2 transformed(Matrix2x3 transform) {
+        var center = transform.multiply(this.center(), 1.0f);
+        var extents = this.size().multiply(0.5f);
+        var x = Math.abs(transform.m00()) * extents.x() + Math.abs(transform.m01()) * extents.y();
+        var y = Math.abs(transform.m10()) * extents.x() + Math.abs(transform.m11()) * extents.y();
+        return new Rect2(center.minus(x, y), center.plus(x, y));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package io.github.ardentengine.core.rendering;
+
+import io.github.ardentengine.core.jobs.DeferredCommands;
+import io.github.ardentengine.core.math.Color;
+import io.github.ardentengine.core.math.Matrix2x3;
+import io.github.ardentengine.core.math.Matrix3x4;
+import io.github.ardentengine.core.math.Vector2;
+import io.github.ardentengine.core.scene.Camera2D;
+import io.github.ardentengine.core.scene.Camera3D;
+import io.github.ardentengine.core.scene.PointLight3D;
+
+/**
+ * Rendering server returned by {@link RenderingServer#getInstance()} on threads that are recording {@link DeferredCommands}.
+ * Every call is deferred and forwarded to the actual rendering server on the main thread.
+ */
+final class DeferredRenderingServer extends RenderingServer {
+
+    /** The actual rendering server. */
+    private final RenderingServer renderingServer;
+
+    /**
+     * Constructs a deferred rendering server that forwards calls to the given one.
+     *
+     * @param renderingServer The actual rendering server.
+     */
+    DeferredRenderingServer(RenderingServer renderingServer) {
+        this.renderingServer = renderingServer;
+    }
+
+    /**
+     * Defers the given call or runs it immediately if the current thread is no longer recording.
+     *
+     * @param call The call to the actual rendering server.
+     */
+    private static void defer(Runnable call) {
+        if(!DeferredCommands.defer(call)) {
+            call.run();
+        }
+    }
+
+    @Override
+    public void setDefaultClearColor(float red, float green, float blue, float alpha) {
+        defer(() -> this.renderingServer.setDefaultClearColor(red, green, blue, alpha));
+    }
+
+    @Override
+    public void setCamera(Camera3D camera) {
+        defer(() -> this.renderingServer.setCamera(camera));
+    }
+
+    @Override
+    public void draw(Mesh mesh, Material materialOverride, Matrix3x4 transform) {
+        defer(() -> this.renderingServer.draw(mesh, materialOverride, transform));
+    }
+
+    @Override
+    public int createInstance() {
+        // The handle is needed immediately, so the instance is created while holding a lock instead
+        synchronized(this.renderingServer) {
+            return this.renderingServer.createInstance();
+        }
+    }
+
+    @Override
+    public void setInstanceMesh(int instance, Mesh mesh, Material materialOverride) {
+        defer(() -> this.renderingServer.setInstanceMesh(instance, mesh, materialOverride));
+    }
+
+    @Override
+    public void setInstanceTransform(int instance, Matrix3x4 transform) {
+        defer(() -> this.renderingServer.setInstanceTransform(instance, transform));
+    }
+
+    @Override
+    public void setInstanceVisible(int instance, boolean visible) {
+        defer(() -> this.renderingServer.setInstanceVisible(instance, visible));
+    }
+
+    @Override
+    public void setInstanceVisibilityRange(int instance, float begin, float end) {
+        defer(() -> this.renderingServer.setInstanceVisibilityRange(instance, begin, end));
+    }
+
+    @Override
+    public void setInstanceLayers(int instance, int layers) {
+        defer(() -> this.renderingServer.setInstanceLayers(instance, layers));
+    }
+
+    @Override
+    public void setInstanceOccluder(int instance, boolean occluder) {
+        defer(() -> this.renderingServer.setInstanceOccluder(instance, occluder));
+    }
+
+    @Override
+    public void freeInstance(int instance) {
+        defer(() -> this.renderingServer.freeInstance(instance));
+    }
+
+    @Override
+    public void setCamera(Camera2D camera) {
+        defer(() -> this.renderingServer.setCamera(camera));
+    }
+
+    @Override
+    public void draw(Texture texture, Material material, Vector2 vertexOffset, Vector2 vertexScale, Vector2 uvOffset, Vector2 uvScale, Matrix2x3 transform, int zIndex, Color modulate) {
+        defer(() -> this.renderingServer.draw(texture, material, vertexOffset, vertexScale, uvOffset, uvScale, transform, zIndex, modulate));
+    }
+
+    @Override
+    protected void updateMesh(Mesh mesh) {
+        defer(() -> this.renderingServer.updateMesh(mesh));
+    }
+
+    @Override
+    public void update(Texture texture) {
+        defer(() -> this.renderingServer.update(texture));
+    }
+
+    @Override
+    public void release(Material material) {
+        defer(() -> this.renderingServer.release(material));
+    }
+
+    @Override
+    public void updateLight(PointLight3D light) {
+        defer(() -> this.renderingServer.updateLight(light));
+    }
+}
\ No newline at end of file
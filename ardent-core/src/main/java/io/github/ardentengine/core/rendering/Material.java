@@ -18,6 +18,36 @@ public sealed class Material permits Material3D, ShaderMaterial {
      */
     protected final HashMap<String, Object> parameters = new HashMap<>();
 
+    /**
+     * Number of times the parameters of this material have been changed.
+     * Used by the rendering api to know when the material needs to be updated.
+     */
+    private int version = 0;
+
+    /**
+     * Sets the value of a parameter and increments the material's {@link Material#version()}.
+     * Subclasses must use this method to modify the material's parameters.
+     *
+     * @param name Name of the parameter.
+     * @param value Value of the parameter.
+     */
+    protected final void putParameter(String name, Object value) {
+        this.parameters.put(name, value);
+        this.version++;
+    }
+
+    /**
+     * Returns the number of times the parameters of this material have been changed.
+     * <p>
+     *     The rendering api can compare this value to the one it has seen last to know if the material needs to be updated.
+     * </p>
+     *
+     * @return The number of times the parameters of this material have been changed.
+     */
+    public final int version() {
+        return this.version;
+    }
+
     /**
      * Returns a map containing all the material's properties.
      * <p>
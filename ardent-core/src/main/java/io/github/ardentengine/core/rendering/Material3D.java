@@ -17,10 +17,10 @@ public final class Material3D extends Material {
      * Constructs a Material with the default properties.
      */
     public Material3D() {
-        this.parameters.put("ambient", new Color(0.2f, 0.2f, 0.2f, 1.0f));
-        this.parameters.put("diffuse", Color.WHITE);
-        this.parameters.put("specular", Color.WHITE);
-        this.parameters.put("shininess", 32.0f);
+        this.putParameter("ambient", new Color(0.2f, 0.2f, 0.2f, 1.0f));
+        this.putParameter("diffuse", Color.WHITE);
+        this.putParameter("specular", Color.WHITE);
+        this.putParameter("shininess", 32.0f);
     }
 
     /**
@@ -40,7 +40,7 @@ public final class Material3D extends Material {
      * @param ambient The material's ambient color.
      */
     public void setAmbient(Color ambient) {
-        this.parameters.put("ambient", ambient);
+        this.putParameter("ambient", ambient);
     }
 
     /**
@@ -60,7 +60,7 @@ public final class Material3D extends Material {
      * @param diffuse The material's diffuse color.
      */
     public void setDiffuse(Color diffuse) {
-        this.parameters.put("diffuse", diffuse);
+        this.putParameter("diffuse", diffuse);
     }
 
     /**
@@ -80,7 +80,7 @@ public final class Material3D extends Material {
      * @param specular The material's specular color.
      */
     public void setSpecular(Color specular) {
-        this.parameters.put("specular", specular);
+        this.putParameter("specular", specular);
     }
 
     /**
@@ -100,7 +100,7 @@ public final class Material3D extends Material {
      * @param shininess The material's shininess.
      */
     public void setShininess(float shininess) {
-        this.parameters.put("shininess", shininess);
+        this.putParameter("shininess", shininess);
     }
 
     /**
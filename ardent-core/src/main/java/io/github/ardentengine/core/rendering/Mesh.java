@@ -1,5 +1,7 @@
 package io.github.ardentengine.core.rendering;
 
+import io.github.ardentengine.core.math.AABB;
+
 /**
  * Base class for all types of mesh.
  * <p>
@@ -15,6 +17,9 @@ public abstract class Mesh {
      */
     private Material material;
 
+    /** Bounds of this mesh computed from its vertices or null if they need to be recomputed. */
+    private AABB aabb = null;
+
     /**
      * Returns an array representing the vertices of this mesh.
      * <p>
@@ -126,4 +131,27 @@ public abstract class Mesh {
     public final Material material() {
         return this.material;
     }
+
+    /**
+     * Returns the axis-aligned bounding box of this mesh in local coordinates.
+     * <p>
+     *     The bounds are computed from {@link Mesh#vertices()} the first time this method is called and are cached until the mesh is updated with {@link RenderingServer#update(Mesh)}.
+     * </p>
+     *
+     * @return The bounds of this mesh or {@link AABB#ZERO} if this mesh does not have any vertices.
+     */
+    public final AABB aabb() {
+        if(this.aabb == null) {
+            this.aabb = AABB.fromPoints(this.vertices(), this.is2D() ? 2 : 3);
+        }
+        return this.aabb;
+    }
+
+    /**
+     * Clears the cached bounds of this mesh.
+     * Called from {@link RenderingServer#update(Mesh)}.
+     */
+    final void clearAabb() {
+        this.aabb = null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,537 @@
+package io.github.ardentengine.core.rendering;
+
+import io.github.ardentengine.core.math.AABB;
+import io.github.ardentengine.core.math.Matrix3x4;
+import io.github.ardentengine.core.math.Matrix4;
+
+import java.util.Arrays;
+
+/**
+ * A low resolution depth buffer rendered on the CPU and used to skip objects that are hidden behind large occluders.
+ * <p>
+ *     The triangles of the occluders are rasterized into the depth buffer, then a hierarchy of smaller buffers is built,
+ *     where every texel contains the farthest depth of the four texels below it.
+ *     The bounding box of an object is projected on the screen and compared to the level of the hierarchy in which it covers at most a few texels.
+ *     An object is occluded if its nearest point is behind the farthest occluder in the area it covers.
+ * </p>
+ * <p>
+ *     Occluders are rasterized conservatively, so that a visible object is never considered occluded.
+ *     A texel is only written if the triangles of an occluder cover it completely and it receives the farthest depth of those triangles over the texel.
+ *     Triangles are not tested one by one, since the texels crossed by the edges shared by two triangles would never be written.
+ *     Instead, a texel is covered if its four corners are inside the triangles and no edge on the boundary of the triangles crosses it.
+ * </p>
+ * <p>
+ *     Objects that cross the near plane are always considered visible and triangles that cross the near plane are not rasterized.
+ *     Depth values go from zero on the near plane to one on the far plane.
+ * </p>
+ * <p>
+ *     This class does not depend on the rendering api, so it can be used without a window.
+ *     This class is not thread-safe.
+ * </p>
+ */
+public final class OcclusionBuffer {
+
+    /** Minimum value of the {@code w} clip coordinate for a point to be considered in front of the camera. */
+    private static final float MIN_W = 1e-5f;
+    /** Added to the depth of occluders to absorb rounding errors, so that an object lying on the surface of an occluder is not hidden by it. */
+    private static final float DEPTH_BIAS = 1e-6f;
+
+    /** Width in texels of each level of the hierarchy. */
+    private final int[] widths;
+    /** Height in texels of each level of the hierarchy. */
+    private final int[] heights;
+    /** Depth values of each level of the hierarchy, stored row by row. The first level is the one in which occluders are rasterized. */
+    private final float[][] levels;
+
+    /** The view-projection matrix set in the last call to {@link OcclusionBuffer#clear(Matrix4)}. */
+    private Matrix4 viewProjection = Matrix4.IDENTITY;
+    /** Screen coordinates and depth of the vertices of the last rasterized mesh, three floats per vertex. Vertices behind the camera are set to {@code NaN}. */
+    private float[] screenCoordinates = new float[3 * 64];
+    /** Vertices of the triangles of the last rasterized mesh that are in front of the camera and have a non-zero area on the screen, three per triangle. */
+    private int[] triangles = new int[3 * 64];
+    /** Orientation on the screen of each triangle, either 1 or -1. */
+    private float[] orientations = new float[64];
+    /** Number of triangles in {@link OcclusionBuffer#triangles}. */
+    private int triangleCount = 0;
+    /** Open addressing hash table containing the endpoints of the edges of the triangles being rasterized, four floats per edge. */
+    private float[] edges = new float[4 * 256];
+    /** Sides of each edge on which there is a triangle, 1 for the left side and 2 for the right side. Edges with triangles on one side only are on the boundary. */
+    private int[] edgeSides = new int[256];
+    /** Stamp of the group of triangles each edge belongs to. Entries with a different stamp are empty. */
+    private int[] edgeStamps = new int[256];
+    /** Stamp of the last group of triangles that covered each corner of the texels, stored row by row with one more row and column than the depth buffer. */
+    private final int[] cornerStamps;
+    /** Stamp of the last group of triangles that overlapped each texel. */
+    private final int[] overlapStamps;
+    /** Stamp of the last group of triangles whose boundary crossed each texel. */
+    private final int[] boundaryStamps;
+    /** Farthest depth over each texel of the triangles of the current group that overlap it. */
+    private final float[] groupDepths;
+    /** Stamp of the group of triangles being rasterized, used instead of clearing the arrays above for every group. */
+    private int stamp = 0;
+
+    /**
+     * Creates an occlusion buffer with the given resolution.
+     *
+     * @param width Width in texels of the depth buffer.
+     * @param height Height in texels of the depth buffer.
+     */
+    public OcclusionBuffer(int width, int height) {
+        var count = 1;
+        for(int w = width, h = height; w > 1 || h > 1; w = (w + 1) / 2, h = (h + 1) / 2) {
+            count++;
+        }
+        this.widths = new int[count];
+        this.heights = new int[count];
+        this.levels = new float[count][];
+        for(int level = 0, w = width, h = height; level < count; level++, w = (w + 1) / 2, h = (h + 1) / 2) {
+            this.widths[level] = w;
+            this.heights[level] = h;
+            this.levels[level] = new float[w * h];
+        }
+        this.cornerStamps = new int[(width + 1) * (height + 1)];
+        this.overlapStamps = new int[width * height];
+        this.boundaryStamps = new int[width * height];
+        this.groupDepths = new float[width * height];
+        this.clear(Matrix4.IDENTITY);
+    }
+
+    /**
+     * Clears the depth buffer and sets the matrix used to project occluders and occludees.
+     *
+     * @param viewProjection The product of the camera's projection matrix and view matrix.
+     */
+    public void clear(Matrix4 viewProjection) {
+        this.viewProjection = viewProjection;
+        for(var level : this.levels) {
+            Arrays.fill(level, 1.0f);
+        }
+    }
+
+    /**
+     * Rasterizes the triangles of a mesh into the depth buffer.
+     * Both sides of every triangle are rasterized, so the winding order of the mesh does not matter.
+     * <p>
+     *     Triangles are split in two groups by their orientation on the screen, which separates the front faces from the back faces of closed meshes,
+     *     and the texels completely covered by each group are written with the farthest depth of the group over them.
+     * </p>
+     * <p>
+     *     {@link OcclusionBuffer#buildHierarchy()} must be called after all occluders have been rasterized.
+     * </p>
+     *
+     * @param vertices The vertices of the mesh, three floats per vertex.
+     * @param indices The indices of the mesh or null if the vertices are not indexed.
+     * @param transform The global transform of the mesh.
+     */
+    public void rasterize(float[] vertices, int[] indices, Matrix3x4 transform) {
+        var vertexCount = vertices.length / 3;
+        if(this.screenCoordinates.length < 3 * vertexCount) {
+            this.screenCoordinates = new float[3 * vertexCount];
+        }
+        var m = this.viewProjection.multiply(new Matrix4(transform, 0.0f, 0.0f, 0.0f, 1.0f));
+        var screen = this.screenCoordinates;
+        var width = this.widths[0];
+        var height = this.heights[0];
+        for(var i = 0; i < vertexCount; i++) {
+            var x = vertices[3 * i];
+            var y = vertices[3 * i + 1];
+            var z = vertices[3 * i + 2];
+            var w = m.m30() * x + m.m31() * y + m.m32() * z + m.m33();
+            if(w < MIN_W) {
+                // Triangles that use this vertex cross the near plane and will be skipped
+                screen[3 * i] = Float.NaN;
+                screen[3 * i + 1] = Float.NaN;
+                screen[3 * i + 2] = Float.NaN;
+            } else {
+                screen[3 * i] = ((m.m00() * x + m.m01() * y + m.m02() * z + m.m03()) / w * 0.5f + 0.5f) * width;
+                screen[3 * i + 1] = ((m.m10() * x + m.m11() * y + m.m12() * z + m.m13()) / w * 0.5f + 0.5f) * height;
+                screen[3 * i + 2] = (m.m20() * x + m.m21() * y + m.m22() * z + m.m23()) / w * 0.5f + 0.5f;
+            }
+        }
+        this.triangleCount = 0;
+        var triangles = indices != null && indices.length > 0 ? indices.length / 3 : vertexCount / 3;
+        for(var i = 0; i < triangles; i++) {
+            if(indices != null && indices.length > 0) {
+                this.addTriangle(indices[3 * i], indices[3 * i + 1], indices[3 * i + 2]);
+            } else {
+                this.addTriangle(3 * i, 3 * i + 1, 3 * i + 2);
+            }
+        }
+        this.rasterizeGroup(1.0f);
+        this.rasterizeGroup(-1.0f);
+    }
+
+    /**
+     * Adds a triangle whose vertices have already been projected on the screen to the list of triangles to rasterize.
+     * Triangles that cross the near plane or that have no area on the screen are skipped.
+     *
+     * @param a Index of the first vertex.
+     * @param b Index of the second vertex.
+     * @param c Index of the third vertex.
+     */
+    private void addTriangle(int a, int b, int c) {
+        var s = this.screenCoordinates;
+        var area = edge(s[3 * a], s[3 * a + 1], s[3 * b], s[3 * b + 1], s[3 * c], s[3 * c + 1]);
+        if(area == 0.0f || Float.isNaN(area)) {
+            return;
+        }
+        if(this.triangleCount == this.orientations.length) {
+            this.triangles = Arrays.copyOf(this.triangles, 6 * this.triangleCount);
+            this.orientations = Arrays.copyOf(this.orientations, 2 * this.triangleCount);
+        }
+        this.triangles[3 * this.triangleCount] = a;
+        this.triangles[3 * this.triangleCount + 1] = b;
+        this.triangles[3 * this.triangleCount + 2] = c;
+        this.orientations[this.triangleCount] = area > 0.0f ? 1.0f : -1.0f;
+        this.triangleCount++;
+    }
+
+    /**
+     * Writes the texels that are completely covered by the triangles with the given orientation.
+     *
+     * @param orientation The orientation of the triangles, either 1 or -1.
+     */
+    private void rasterizeGroup(float orientation) {
+        var count = 0;
+        for(var t = 0; t < this.triangleCount; t++) {
+            if(this.orientations[t] == orientation) {
+                count++;
+            }
+        }
+        if(count == 0) {
+            return;
+        }
+        if(++this.stamp == Integer.MAX_VALUE) {
+            Arrays.fill(this.edgeStamps, 0);
+            Arrays.fill(this.cornerStamps, 0);
+            Arrays.fill(this.overlapStamps, 0);
+            Arrays.fill(this.boundaryStamps, 0);
+            this.stamp = 1;
+        }
+        // The hash table is kept at most half full
+        if(this.edgeStamps.length < 6 * count) {
+            var capacity = Integer.highestOneBit(6 * count) << 1;
+            this.edges = new float[4 * capacity];
+            this.edgeSides = new int[capacity];
+            this.edgeStamps = new int[capacity];
+        }
+        var s = this.screenCoordinates;
+        var minX = Float.POSITIVE_INFINITY;
+        var minY = Float.POSITIVE_INFINITY;
+        var maxX = Float.NEGATIVE_INFINITY;
+        var maxY = Float.NEGATIVE_INFINITY;
+        for(var t = 0; t < this.triangleCount; t++) {
+            if(this.orientations[t] == orientation) {
+                var a = this.triangles[3 * t];
+                var b = this.triangles[3 * t + 1];
+                var c = this.triangles[3 * t + 2];
+                this.addEdge(b, c, a);
+                this.addEdge(c, a, b);
+                this.addEdge(a, b, c);
+                this.coverTriangle(a, b, c, orientation);
+                minX = Math.min(minX, Math.min(s[3 * a], Math.min(s[3 * b], s[3 * c])));
+                minY = Math.min(minY, Math.min(s[3 * a + 1], Math.min(s[3 * b + 1], s[3 * c + 1])));
+                maxX = Math.max(maxX, Math.max(s[3 * a], Math.max(s[3 * b], s[3 * c])));
+                maxY = Math.max(maxY, Math.max(s[3 * a + 1], Math.max(s[3 * b + 1], s[3 * c + 1])));
+            }
+        }
+        // Edges shared by triangles on both of their sides are inside the group, the others are on its boundary
+        for(var slot = 0; slot < this.edgeStamps.length; slot++) {
+            if(this.edgeStamps[slot] == this.stamp && this.edgeSides[slot] != 3) {
+                this.markBoundary(slot);
+            }
+        }
+        var width = this.widths[0];
+        var height = this.heights[0];
+        var depth = this.levels[0];
+        var x0 = Math.max((int) Math.floor(minX), 0);
+        var y0 = Math.max((int) Math.floor(minY), 0);
+        var x1 = Math.min((int) Math.floor(maxX), width - 1);
+        var y1 = Math.min((int) Math.floor(maxY), height - 1);
+        for(var y = y0; y <= y1; y++) {
+            for(var x = x0; x <= x1; x++) {
+                var i = y * width + x;
+                var corner = y * (width + 1) + x;
+                if(this.overlapStamps[i] == this.stamp && this.boundaryStamps[i] != this.stamp
+                    && this.cornerStamps[corner] == this.stamp && this.cornerStamps[corner + 1] == this.stamp
+                    && this.cornerStamps[corner + width + 1] == this.stamp && this.cornerStamps[corner + width + 2] == this.stamp
+                    && this.groupDepths[i] < depth[i]
+                ) {
+                    depth[i] = Math.max(this.groupDepths[i], 0.0f);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds an edge of a triangle to the hash table of edges and records on which side of the edge the triangle is.
+     * Edges are identified by the screen coordinates of their endpoints, so that edges shared by triangles that do not share vertices are also found.
+     *
+     * @param p Index of the first vertex of the edge.
+     * @param q Index of the second vertex of the edge.
+     * @param r Index of the third vertex of the triangle.
+     */
+    private void addEdge(int p, int q, int r) {
+        var s = this.screenCoordinates;
+        var px = s[3 * p];
+        var py = s[3 * p + 1];
+        var qx = s[3 * q];
+        var qy = s[3 * q + 1];
+        // Endpoints are sorted so that the same edge has the same key regardless of the order of its vertices
+        if(qx < px || (qx == px && qy < py)) {
+            var x = px;
+            var y = py;
+            px = qx;
+            py = qy;
+            qx = x;
+            qy = y;
+        }
+        var side = edge(px, py, qx, qy, s[3 * r], s[3 * r + 1]) > 0.0f ? 1 : 2;
+        var hash = Float.floatToIntBits(px);
+        hash = 31 * hash + Float.floatToIntBits(py);
+        hash = 31 * hash + Float.floatToIntBits(qx);
+        hash = 31 * hash + Float.floatToIntBits(qy);
+        hash ^= hash >>> 16;
+        var mask = this.edgeStamps.length - 1;
+        for(var slot = hash & mask; ; slot = (slot + 1) & mask) {
+            if(this.edgeStamps[slot] != this.stamp) {
+                this.edges[4 * slot] = px;
+                this.edges[4 * slot + 1] = py;
+                this.edges[4 * slot + 2] = qx;
+                this.edges[4 * slot + 3] = qy;
+                this.edgeSides[slot] = side;
+                this.edgeStamps[slot] = this.stamp;
+                return;
+            }
+            if(this.edges[4 * slot] == px && this.edges[4 * slot + 1] == py && this.edges[4 * slot + 2] == qx && this.edges[4 * slot + 3] == qy) {
+                this.edgeSides[slot] |= side;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Marks the corners of the texels that are inside the given triangle and stores the farthest depth of the triangle over the texels it may overlap.
+     *
+     * @param a Index of the first vertex.
+     * @param b Index of the second vertex.
+     * @param c Index of the third vertex.
+     * @param orientation The orientation of the triangle, used to make the edge functions positive inside the triangle.
+     */
+    private void coverTriangle(int a, int b, int c, float orientation) {
+        var s = this.screenCoordinates;
+        var ax = s[3 * a];
+        var ay = s[3 * a + 1];
+        var az = s[3 * a + 2];
+        var bx = s[3 * b];
+        var by = s[3 * b + 1];
+        var bz = s[3 * b + 2];
+        var cx = s[3 * c];
+        var cy = s[3 * c + 1];
+        var cz = s[3 * c + 2];
+        var width = this.widths[0];
+        var height = this.heights[0];
+        var minX = Math.min(ax, Math.min(bx, cx));
+        var minY = Math.min(ay, Math.min(by, cy));
+        var maxX = Math.max(ax, Math.max(bx, cx));
+        var maxY = Math.max(ay, Math.max(by, cy));
+        // Corners are on integer coordinates and are inside the triangle if all edge functions are positive
+        for(var y = Math.max((int) Math.ceil(minY), 0); y <= Math.min((int) Math.floor(maxY), height); y++) {
+            for(var x = Math.max((int) Math.ceil(minX), 0); x <= Math.min((int) Math.floor(maxX), width); x++) {
+                if(orientation * edge(bx, by, cx, cy, x, y) >= 0.0f && orientation * edge(cx, cy, ax, ay, x, y) >= 0.0f && orientation * edge(ax, ay, bx, by, x, y) >= 0.0f) {
+                    this.cornerStamps[y * (width + 1) + x] = this.stamp;
+                }
+            }
+        }
+        // Edge functions and depth are linear, so their maximum over a texel is at the corner half a texel away from its center in the direction of their gradient
+        var offset0 = 0.5f * (Math.abs(cx - bx) + Math.abs(cy - by));
+        var offset1 = 0.5f * (Math.abs(ax - cx) + Math.abs(ay - cy));
+        var offset2 = 0.5f * (Math.abs(bx - ax) + Math.abs(by - ay));
+        var inverseArea = 1.0f / (orientation * edge(ax, ay, bx, by, cx, cy));
+        var depthGradientX = orientation * ((by - cy) * az + (cy - ay) * bz + (ay - by) * cz) * inverseArea;
+        var depthGradientY = orientation * ((cx - bx) * az + (ax - cx) * bz + (bx - ax) * cz) * inverseArea;
+        var depthOffset = 0.5f * (Math.abs(depthGradientX) + Math.abs(depthGradientY));
+        var farthest = Math.max(az, Math.max(bz, cz));
+        for(var y = Math.max((int) Math.floor(minY), 0); y <= Math.min((int) Math.floor(maxY), height - 1); y++) {
+            var py = y + 0.5f;
+            for(var x = Math.max((int) Math.floor(minX), 0); x <= Math.min((int) Math.floor(maxX), width - 1); x++) {
+                var px = x + 0.5f;
+                var e0 = orientation * edge(bx, by, cx, cy, px, py);
+                var e1 = orientation * edge(cx, cy, ax, ay, px, py);
+                var e2 = orientation * edge(ax, ay, bx, by, px, py);
+                // The triangle may overlap the texel only if no edge function is negative in the whole texel
+                if(e0 + offset0 >= 0.0f && e1 + offset1 >= 0.0f && e2 + offset2 >= 0.0f) {
+                    var z = Math.min((e0 * az + e1 * bz + e2 * cz) * inverseArea + depthOffset, farthest) + DEPTH_BIAS;
+                    var i = y * width + x;
+                    if(this.overlapStamps[i] != this.stamp) {
+                        this.overlapStamps[i] = this.stamp;
+                        this.groupDepths[i] = z;
+                    } else {
+                        this.groupDepths[i] = Math.max(this.groupDepths[i], z);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks the texels crossed by the given edge, which is on the boundary of the group of triangles being rasterized.
+     *
+     * @param slot The slot of the edge in the hash table of edges.
+     */
+    private void markBoundary(int slot) {
+        var px = this.edges[4 * slot];
+        var py = this.edges[4 * slot + 1];
+        var qx = this.edges[4 * slot + 2];
+        var qy = this.edges[4 * slot + 3];
+        var width = this.widths[0];
+        var height = this.heights[0];
+        // The line crosses a texel if its distance from the center is at most half a texel in the direction of its gradient
+        var offset = 0.5f * (Math.abs(qx - px) + Math.abs(qy - py));
+        for(var y = Math.max((int) Math.floor(Math.min(py, qy)), 0); y <= Math.min((int) Math.floor(Math.max(py, qy)), height - 1); y++) {
+            for(var x = Math.max((int) Math.floor(px), 0); x <= Math.min((int) Math.floor(qx), width - 1); x++) {
+                if(Math.abs(edge(px, py, qx, qy, x + 0.5f, y + 0.5f)) <= offset) {
+                    this.boundaryStamps[y * width + x] = this.stamp;
+                }
+            }
+        }
+    }
+
+    /**
+     * Evaluates the edge function of the line going from the first point to the second point.
+     * The result is positive if the third point is on the left of the line and is twice the area of the triangle formed by the three points.
+     *
+     * @param x0 The x coordinate of the first point.
+     * @param y0 The y coordinate of the first point.
+     * @param x1 The x coordinate of the second point.
+     * @param y1 The y coordinate of the second point.
+     * @param x The x coordinate of the third point.
+     * @param y The y coordinate of the third point.
+     * @return The value of the edge function.
+     */
+    private static float edge(float x0, float y0, float x1, float y1, float x, float y) {
+        return (x1 - x0) * (y - y0) - (y1 - y0) * (x - x0);
+    }
+
+    /**
+     * Builds the hierarchy of depth buffers from the rasterized occluders.
+     * Every texel of a level contains the farthest depth of the corresponding texels in the previous level.
+     */
+    public void buildHierarchy() {
+        for(var level = 1; level < this.levels.length; level++) {
+            var source = this.levels[level - 1];
+            var sourceWidth = this.widths[level - 1];
+            var sourceHeight = this.heights[level - 1];
+            var destination = this.levels[level];
+            var width = this.widths[level];
+            var height = this.heights[level];
+            for(var y = 0; y < height; y++) {
+                var y0 = 2 * y;
+                var y1 = Math.min(y0 + 1, sourceHeight - 1);
+                for(var x = 0; x < width; x++) {
+                    var x0 = 2 * x;
+                    var x1 = Math.min(x0 + 1, sourceWidth - 1);
+                    destination[y * width + x] = Math.max(
+                        Math.max(source[y0 * sourceWidth + x0], source[y0 * sourceWidth + x1]),
+                        Math.max(source[y1 * sourceWidth + x0], source[y1 * sourceWidth + x1])
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if a box with the given center and half-size is completely hidden behind the rasterized occluders.
+     * {@link OcclusionBuffer#buildHierarchy()} must be called before this method.
+     *
+     * @param centerX The x coordinate of the center of the box.
+     * @param centerY The y coordinate of the center of the box.
+     * @param centerZ The z coordinate of the center of the box.
+     * @param extentX Half the width of the box.
+     * @param extentY Half the height of the box.
+     * @param extentZ Half the depth of the box.
+     * @return True if the box is occluded, false if it may be visible.
+     */
+    public boolean isOccluded(float centerX, float centerY, float centerZ, float extentX, float extentY, float extentZ) {
+        var m = this.viewProjection;
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for(var corner = 0; corner < 8; corner++) {
+            var x = centerX + ((corner & 1) == 0 ? -extentX : extentX);
+            var y = centerY + ((corner & 2) == 0 ? -extentY : extentY);
+            var z = centerZ + ((corner & 4) == 0 ? -extentZ : extentZ);
+            var w = m.m30() * x + m.m31() * y + m.m32() * z + m.m33();
+            if(w < MIN_W) {
+                return false;
+            }
+            var screenX = (m.m00() * x + m.m01() * y + m.m02() * z + m.m03()) / w;
+            var screenY = (m.m10() * x + m.m11() * y + m.m12() * z + m.m13()) / w;
+            var depth = (m.m20() * x + m.m21() * y + m.m22() * z + m.m23()) / w;
+            minX = Math.min(minX, screenX);
+            minY = Math.min(minY, screenY);
+            minZ = Math.min(minZ, depth);
+            maxX = Math.max(maxX, screenX);
+            maxY = Math.max(maxY, screenY);
+        }
+        var width = this.widths[0];
+        var height = this.heights[0];
+        var x0 = Math.max((int) Math.floor((minX * 0.5f + 0.5f) * width), 0);
+        var y0 = Math.max((int) Math.floor((minY * 0.5f + 0.5f) * height), 0);
+        var x1 = Math.min((int) Math.floor((maxX * 0.5f + 0.5f) * width), width - 1);
+        var y1 = Math.min((int) Math.floor((maxY * 0.5f + 0.5f) * height), height - 1);
+        if(x0 > x1 || y0 > y1) {
+            return false;
+        }
+        var nearest = minZ * 0.5f + 0.5f;
+        // Use the level in which the box covers at most two texels in each direction
+        var level = 0;
+        while(level + 1 < this.levels.length && ((x1 >> level) - (x0 >> level) > 1 || (y1 >> level) - (y0 >> level) > 1)) {
+            level++;
+        }
+        var levelWidth = this.widths[level];
+        var depth = this.levels[level];
+        for(var y = y0 >> level; y <= y1 >> level; y++) {
+            for(var x = x0 >> level; x <= x1 >> level; x++) {
+                if(depth[y * levelWidth + x] >= nearest) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the given box is completely hidden behind the rasterized occluders.
+     *
+     * @param aabb The box.
+     * @return True if the box is occluded, false if it may be visible.
+     *
+     * @see OcclusionBuffer#isOccluded(float, float, float, float, float, float)
+     */
+    public boolean isOccluded(AABB aabb) {
+        var center = aabb.center();
+        var size = aabb.size();
+        return this.isOccluded(center.x(), center.y(), center.z(), 0.5f * size.x(), 0.5f * size.y(), 0.5f * size.z());
+    }
+
+    /**
+     * Returns the depth stored in the given texel of the given level of the hierarchy.
+     *
+     * @param level The level of the hierarchy. The first level is the one in which occluders are rasterized.
+     * @param x The column of the texel.
+     * @param y The row of the texel.
+     * @return The depth stored in the given texel, between zero on the near plane and one on the far plane.
+     */
+    public float depth(int level, int x, int y) {
+        return this.levels[level][y * this.widths[level] + x];
+    }
+
+    /**
+     * Returns the number of levels in the hierarchy.
+     *
+     * @return The number of levels in the hierarchy.
+     */
+    public int levelCount() {
+        return this.levels.length;
+    }
+}
\ No newline at end of file
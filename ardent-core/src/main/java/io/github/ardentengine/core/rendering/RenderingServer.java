@@ -1,5 +1,6 @@
 package io.github.ardentengine.core.rendering;
 
+import io.github.ardentengine.core.jobs.DeferredCommands;
 import io.github.ardentengine.core.math.Color;
 import io.github.ardentengine.core.math.Matrix2x3;
 import io.github.ardentengine.core.math.Matrix3x4;
@@ -28,8 +29,10 @@ import java.util.ServiceLoader;
  */
 public abstract class RenderingServer {
 
-    /** Singleton instance. */
-    private static RenderingServer instance;
+    /** Singleton instance. Volatile because it may be read from worker threads. */
+    private static volatile RenderingServer instance;
+    /** Rendering server that defers calls made by threads that are recording {@link DeferredCommands}. */
+    private static RenderingServer deferredInstance;
 
     /**
      * Returns the singleton instance of the {@link RenderingServer}.
@@ -38,12 +41,32 @@ public abstract class RenderingServer {
      *     Logs a warning if there are multiple implementations of the {@code RenderingServer}.
      *     Returns a default implementation if there are none.
      * </p>
+     * <p>
+     *     If the calling thread is recording {@link DeferredCommands}, for example while updating nodes in parallel,
+     *     the returned rendering server defers all calls so that they are made on the main thread.
+     * </p>
+     *
+     * @return The {@code RenderingServer} singleton instance.
+     */
+    public static RenderingServer getInstance() {
+        var renderingServer = instance != null ? instance : loadInstance();
+        return renderingServer != null && DeferredCommands.isRecording() ? deferredInstance : renderingServer;
+    }
+
+    /**
+     * Loads the rendering server the first time this method is called.
      *
      * @return The {@code RenderingServer} singleton instance.
      */
-    public static synchronized RenderingServer getInstance() {
+    private static synchronized RenderingServer loadInstance() {
         // TODO: Log a warning if there are more than one and add a default implementation
-        return instance == null ? instance = ServiceLoader.load(RenderingServer.class).findFirst().orElse(null) : instance;
+        if(instance == null) {
+            var renderingServer = ServiceLoader.load(RenderingServer.class).findFirst().orElse(null);
+            // The deferred instance is set first so that it is visible to threads that see the instance
+            deferredInstance = renderingServer != null ? new DeferredRenderingServer(renderingServer) : null;
+            instance = renderingServer;
+        }
+        return instance;
     }
 
     // TODO: Change these methods so that they don't require nodes
@@ -86,11 +109,99 @@ public abstract class RenderingServer {
         this.draw(mesh, null, transform);
     }
 
+    /**
+     * Creates a new render instance.
+     * Render instances are retained by the rendering api and are drawn every frame until they are freed with {@link RenderingServer#freeInstance(int)}.
+     * <p>
+     *     Render instances are visible by default, but nothing will be drawn until a mesh is set with {@link RenderingServer#setInstanceMesh(int, Mesh, Material)}.
+     * </p>
+     *
+     * @return The handle of the new instance.
+     */
+    public abstract int createInstance();
+
+    /**
+     * Sets the mesh drawn by the given render instance.
+     *
+     * @param instance The handle of the instance returned by {@link RenderingServer#createInstance()}.
+     * @param mesh The mesh to draw. Can be null to not draw anything.
+     * @param materialOverride Material override for the whole mesh. Can be null to use the material set in the mesh.
+     */
+    public abstract void setInstanceMesh(int instance, Mesh mesh, Material materialOverride);
+
+    /**
+     * Sets the global transform of the given render instance.
+     * This method should only be called when the transform of the instance changes.
+     *
+     * @param instance The handle of the instance returned by {@link RenderingServer#createInstance()}.
+     * @param transform The global transform of the instance.
+     */
+    public abstract void setInstanceTransform(int instance, Matrix3x4 transform);
+
+    /**
+     * Sets whether the given render instance should be drawn.
+     *
+     * @param instance The handle of the instance returned by {@link RenderingServer#createInstance()}.
+     * @param visible True if the instance should be drawn, otherwise false.
+     */
+    public abstract void setInstanceVisible(int instance, boolean visible);
+
+    /**
+     * Sets the range of distances from the camera at which the given render instance is drawn.
+     * The distance is measured from the camera to the center of the instance's bounds.
+     * <p>
+     *     Can be used to cull objects that are too far from the camera or to switch between different levels of detail by giving adjacent ranges to different instances.
+     * </p>
+     *
+     * @param instance The handle of the instance returned by {@link RenderingServer#createInstance()}.
+     * @param begin The distance from which the instance is drawn. Can be zero to draw the instance however close it is to the camera.
+     * @param end The distance from which the instance is no longer drawn. Can be zero to draw the instance however far it is from the camera.
+     */
+    public abstract void setInstanceVisibilityRange(int instance, float begin, float end);
+
+    /**
+     * Sets the render layers the given render instance belongs to.
+     * The instance is only drawn by cameras whose cull mask shares at least one bit with the given layers.
+     * Render instances belong to the first layer by default.
+     *
+     * @param instance The handle of the instance returned by {@link RenderingServer#createInstance()}.
+     * @param layers Bitmask of the render layers.
+     */
+    public abstract void setInstanceLayers(int instance, int layers);
+
+    /**
+     * Sets whether the given render instance is used as an occluder.
+     * <p>
+     *     The meshes of occluders are rendered into a low resolution depth buffer on the CPU before drawing.
+     *     Objects hidden behind occluders are not drawn.
+     *     Only large objects with simple meshes, such as walls and buildings, should be used as occluders.
+     * </p>
+     *
+     * @param instance The handle of the instance returned by {@link RenderingServer#createInstance()}.
+     * @param occluder True if the instance should be used as an occluder, otherwise false.
+     *
+     * @see OcclusionBuffer
+     */
+    public abstract void setInstanceOccluder(int instance, boolean occluder);
+
+    /**
+     * Frees the given render instance.
+     * The instance will no longer be drawn and its handle may be reused by instances created later.
+     *
+     * @param instance The handle of the instance returned by {@link RenderingServer#createInstance()}.
+     * @throws IllegalArgumentException If the given instance does not exist or has already been freed.
+     */
+    public abstract void freeInstance(int instance);
+
     public abstract void setCamera(Camera2D camera);
 
     // TODO: Use two rectangles instead of four vectors
 
-    public abstract void draw(Texture texture, Material material, Vector2 vertexOffset, Vector2 vertexScale, Vector2 uvOffset, Vector2 uvScale, Matrix2x3 transform);
+    public abstract void draw(Texture texture, Material material, Vector2 vertexOffset, Vector2 vertexScale, Vector2 uvOffset, Vector2 uvScale, Matrix2x3 transform, int zIndex, Color modulate);
+
+    public final void draw(Texture texture, Material material, Vector2 vertexOffset, Vector2 vertexScale, Vector2 uvOffset, Vector2 uvScale, Matrix2x3 transform, int zIndex) {
+        this.draw(texture, material, vertexOffset, vertexScale, uvOffset, uvScale, transform, zIndex, Color.WHITE);
+    }
 
     // TODO: Add overloaded methods
 
@@ -101,9 +212,24 @@ public abstract class RenderingServer {
      *     The rendering api may defer the update until the next frame or until the mesh is drawn again, therefore it is safe to call this method multiple times per frame.
      * </p>
      *
+     * <p>
+     *     The cached bounds of the mesh are cleared, so that they are recomputed the next time {@link Mesh#aabb()} is called.
+     * </p>
+     *
+     * @param mesh The mesh to update.
+     */
+    public final void update(Mesh mesh) {
+        mesh.clearAabb();
+        this.updateMesh(mesh);
+    }
+
+    /**
+     * Updates the given mesh in the rendering api.
+     * Called from {@link RenderingServer#update(Mesh)}.
+     *
      * @param mesh The mesh to update.
      */
-    public abstract void update(Mesh mesh);
+    protected abstract void updateMesh(Mesh mesh);
 
     /**
      * Requests the rendering api to update the given texture.
@@ -116,5 +242,16 @@ public abstract class RenderingServer {
      */
     public abstract void update(Texture texture);
 
+    /**
+     * Releases the resources created by the rendering api for the given material.
+     * Should be called when the material is no longer used, otherwise its resources are only released when the application is terminated.
+     * <p>
+     *     The material can still be used after being released, in which case its resources are created again.
+     * </p>
+     *
+     * @param material The material to release.
+     */
+    public abstract void release(Material material);
+
     public abstract void updateLight(PointLight3D light);
 }
\ No newline at end of file
@@ -44,7 +44,7 @@ public final class ShaderMaterial extends Material {
      * @param value Value of the parameter to set.
      */
     public void setParameter(String name, float value) {
-        this.parameters.put("u_" + name, value);
+        this.putParameter("u_" + name, value);
     }
 
     /**
@@ -54,7 +54,7 @@ public final class ShaderMaterial extends Material {
      * @param value Value of the parameter to set.
      */
     public void setParameter(String name, Vector2 value) {
-        this.parameters.put("u_" + name, value);
+        this.putParameter("u_" + name, value);
     }
 
     /**
@@ -64,7 +64,7 @@ public final class ShaderMaterial extends Material {
      * @param value Value of the parameter to set.
      */
     public void setParameter(String name, Vector3 value) {
-        this.parameters.put("u_" + name, value);
+        this.putParameter("u_" + name, value);
     }
 
     /**
@@ -74,7 +74,7 @@ public final class ShaderMaterial extends Material {
      * @param value Value of the parameter to set.
      */
     public void setParameter(String name, Vector4 value) {
-        this.parameters.put("u_" + name, value);
+        this.putParameter("u_" + name, value);
     }
 
     /**
@@ -84,7 +84,7 @@ public final class ShaderMaterial extends Material {
      * @param value Value of the parameter to set.
      */
     public void setParameter(String name, int value) {
-        this.parameters.put("u_" + name, value);
+        this.putParameter("u_" + name, value);
     }
 
     /**
@@ -94,7 +94,7 @@ public final class ShaderMaterial extends Material {
      * @param value Value of the parameter to set.
      */
     public void setParameter(String name, Vector2i value) {
-        this.parameters.put("u_" + name, value);
+        this.putParameter("u_" + name, value);
     }
 
     /**
@@ -104,7 +104,7 @@ public final class ShaderMaterial extends Material {
      * @param value Value of the parameter to set.
      */
     public void setParameter(String name, Vector3i value) {
-        this.parameters.put("u_" + name, value);
+        this.putParameter("u_" + name, value);
     }
 
     /**
@@ -114,7 +114,7 @@ public final class ShaderMaterial extends Material {
      * @param value Value of the parameter to set.
      */
     public void setParameter(String name, Vector4i value) {
-        this.parameters.put("u_" + name, value);
+        this.putParameter("u_" + name, value);
     }
 
     /**
@@ -124,7 +124,7 @@ public final class ShaderMaterial extends Material {
      * @param value Value of the parameter to set.
      */
     public void setParameter(String name, boolean value) {
-        this.parameters.put("u_" + name, value);
+        this.putParameter("u_" + name, value);
     }
 
     /**
@@ -134,7 +134,7 @@ public final class ShaderMaterial extends Material {
      * @param value Value of the parameter to set.
      */
     public void setParameter(String name, Color value) {
-        this.parameters.put("u_" + name, value);
+        this.putParameter("u_" + name, value);
     }
 
     /**
@@ -144,7 +144,7 @@ public final class ShaderMaterial extends Material {
      * @param value Value of the parameter to set.
      */
     public void setParameter(String name, Texture value) {
-        this.parameters.put("u_" + name, value);
+        this.putParameter("u_" + name, value);
     }
 
     /**
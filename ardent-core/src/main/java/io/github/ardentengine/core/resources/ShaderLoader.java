@@ -5,6 +5,8 @@ import io.github.ardentengine.core.rendering.Shader;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -20,6 +22,12 @@ public class ShaderLoader implements ResourceLoader {
      * Used to get the shader type from the shader code.
      */
     private static final Pattern SHADER_TYPE_REGEX = Pattern.compile("#define\\s+SHADER_TYPE\\s+(\\w+)");
+    /**
+     * Regex used to match the declaration of one or more uniform variables written by the user.
+     * User-defined uniform variables are prefixed with {@code u_} when the shader is processed.
+     * Matches array types, array variables, and comma-separated declarations such as {@code uniform float u_a, u_b[4];}.
+     */
+    private static final Pattern USER_UNIFORM_REGEX = Pattern.compile("uniform\\s+(\\w+(?:\\s*\\[\\s*\\w*\\s*])?)\\s+(u_\\w+(?:\\s*\\[\\s*\\w*\\s*])?(?:\\s*,\\s*u_\\w+(?:\\s*\\[\\s*\\w*\\s*])?)*)\\s*;");
 
     /**
      * Maps shader files to the contained shader code to ensure the same shader file is not loaded more than once.
@@ -107,13 +115,64 @@ public class ShaderLoader implements ResourceLoader {
         });
     }
 
+    /**
+     * Moves the declarations of uniform variables written by the user into a {@code Material} uniform block.
+     * <p>
+     *     This allows the rendering api to store the parameters of a {@link io.github.ardentengine.core.rendering.ShaderMaterial} in a single buffer.
+     *     The uniform variables of all shader stages are merged into a single block, which is placed in every stage that has user code.
+     *     Uniform blocks with the same name must have the same layout in all stages, otherwise the shader program cannot be linked.
+     *     The block is placed where the first uniform variable was declared in each stage, or at the start of the code if the stage declares none.
+     * </p>
+     * <p>
+     *     Samplers and images cannot be placed in a uniform block and are left unchanged.
+     * </p>
+     *
+     * @param shaderCodes The shader code written by the user for each stage. Empty strings are left unchanged.
+     * @return The resulting shader code for each stage, in the same order as the given one.
+     */
+    static String[] moveUniformsToBlock(String... shaderCodes) {
+        var declarations = new LinkedHashMap<String, String>();
+        var results = new StringBuilder[shaderCodes.length];
+        var blockStarts = new int[shaderCodes.length];
+        for(var i = 0; i < shaderCodes.length; i++) {
+            var matcher = USER_UNIFORM_REGEX.matcher(shaderCodes[i]);
+            results[i] = new StringBuilder();
+            blockStarts[i] = -1;
+            while(matcher.find()) {
+                var type = matcher.group(1);
+                if(!type.startsWith("sampler") && !type.startsWith("image")) {
+                    // Split comma-separated declarations and use the name without the array size to merge declarations from different stages
+                    for(var declarator : matcher.group(2).split(",")) {
+                        declarator = declarator.strip();
+                        var name = declarator.split("[\\s\\[]", 2)[0];
+                        declarations.putIfAbsent(name, type + ' ' + declarator + ';');
+                    }
+                    matcher.appendReplacement(results[i], "");
+                    if(blockStarts[i] == -1) {
+                        blockStarts[i] = results[i].length();
+                    }
+                }
+            }
+            matcher.appendTail(results[i]);
+        }
+        var block = "layout(std140) uniform Material{" + String.join("", declarations.values()) + "};";
+        var output = new String[shaderCodes.length];
+        for(var i = 0; i < shaderCodes.length; i++) {
+            if(!declarations.isEmpty() && !shaderCodes[i].isEmpty()) {
+                results[i].insert(Math.max(blockStarts[i], 0), blockStarts[i] == -1 ? block + "\n" : block);
+            }
+            output[i] = results[i].toString();
+        }
+        return output;
+    }
+
     /**
      * Returns the final shader code that will be used in the shader.
      * <p>
      *     The resulting shader code may correspond to the builtin shader code or have the additional code written by the user.
      * </p>
      *
-     * @param shaderCode The shader code written by the user. Can be an empty string if the final shader code to use is the builtin shader.
+     * @param shaderCode The shader code written by the user, with its uniform variables already moved into a block. Can be an empty string if the final shader code to use is the builtin shader.
      * @param shaderType The shader type with the extension indicating the shader stage.
      * @return The final shader code to be used in the shader.
      */
@@ -125,7 +184,7 @@ public class ShaderLoader implements ResourceLoader {
             return builtinShader;
         }
         // Place the code before the main function or before the first #ifdef preprocessor
-        return builtinShader.replaceFirst("(void\\s+main\\s*\\(\\)\\s*\\{|#ifdef\\s+\\w+)", shaderCode + "\n$1");
+        return builtinShader.replaceFirst("(void\\s+main\\s*\\(\\)\\s*\\{|#ifdef\\s+\\w+)", Matcher.quoteReplacement(shaderCode + "\n") + "$1");
     }
 
     // TODO: Get the shader version from ApplicationProperties and add it here
@@ -139,7 +198,10 @@ public class ShaderLoader implements ResourceLoader {
         // Get the shader type from the first non-empty shader code
         var shaderType = this.getShaderType(vertexCode, fragmentCode);
         if(!shaderType.isEmpty()) {
-            // Paste the shader code into the builtin one or use the builtin one only
+            // Merge the uniform variables of both stages into the same block, then paste the shader code into the builtin one or use the builtin one only
+            var stages = moveUniformsToBlock(vertexCode, fragmentCode);
+            vertexCode = stages[0];
+            fragmentCode = stages[1];
             vertexCode = this.getFinalShaderCode(vertexCode, shaderType + ".vert");
             fragmentCode = this.getFinalShaderCode(fragmentCode, shaderType + ".frag");
             // Return the created shader if there was no error while loading it
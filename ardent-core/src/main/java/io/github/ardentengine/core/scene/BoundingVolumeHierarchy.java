@@ -0,0 +1,561 @@
+package io.github.ardentengine.core.scene;
+
+import io.github.ardentengine.core.math.AABB;
+import io.github.ardentengine.core.math.Frustum;
+import io.github.ardentengine.core.math.Vector3;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A dynamic bounding volume hierarchy used to find objects in 3D space without scanning all of them.
+ * <p>
+ *     Objects are stored in the leaves of a binary tree of axis-aligned bounding boxes.
+ *     Every internal node contains the bounds of its two children, so that whole subtrees can be skipped when they are outside of the queried volume.
+ * </p>
+ * <p>
+ *     Leaves are inserted next to the sibling that increases the surface area of the tree the least, and the tree is rebalanced with rotations after every insertion.
+ *     The bounds stored in leaves are enlarged by a small margin, so that objects that move by a small amount do not need to be reinserted.
+ *     When an object moves outside of its enlarged bounds, it is removed and reinserted and the bounds of its ancestors are refit.
+ * </p>
+ * <p>
+ *     Nodes are stored in primitive arrays and are reused after being removed, so that the tree does not allocate memory once it is big enough.
+ *     This class is not thread-safe.
+ * </p>
+ *
+ * @param <T> Type of the objects stored in the tree.
+ */
+public final class BoundingVolumeHierarchy<T> {
+
+    /** Amount by which the bounds of leaves are enlarged on each side. */
+    private static final float MARGIN = 0.1f;
+    /** Value used to mark the absence of a node. */
+    private static final int NULL = -1;
+
+    /** Bounds of every node stored as six consecutive floats: min x, min y, min z, max x, max y, max z. */
+    private float[] bounds = new float[6 * 16];
+    /** Parent of every node. Used as the next free node for nodes in the free list. */
+    private int[] parents = new int[16];
+    /** First child of every node or {@link BoundingVolumeHierarchy#NULL} if the node is a leaf. */
+    private int[] children1 = new int[16];
+    /** Second child of every node or {@link BoundingVolumeHierarchy#NULL} if the node is a leaf. */
+    private int[] children2 = new int[16];
+    /** Height of every node in the tree. Leaves have a height of zero and free nodes have a height of -1. */
+    private int[] heights = new int[16];
+    /** Objects stored in leaves. */
+    private Object[] objects = new Object[16];
+
+    /** The root of the tree or {@link BoundingVolumeHierarchy#NULL} if the tree is empty. */
+    private int root = NULL;
+    /** Head of the list of free nodes. */
+    private int freeList = NULL;
+    /** Number of nodes that have been used at least once. */
+    private int nodeCount = 0;
+    /** Number of objects in the tree. */
+    private int size = 0;
+    /** Stack used to traverse the tree during queries. */
+    private int[] stack = new int[64];
+
+    /**
+     * Inserts an object in the tree.
+     *
+     * @param object The object to insert.
+     * @param aabb The bounds of the object.
+     * @return A handle used to update or remove the object.
+     */
+    public int insert(T object, AABB aabb) {
+        var leaf = this.allocateNode();
+        this.setFatBounds(leaf, aabb);
+        this.objects[leaf] = object;
+        this.heights[leaf] = 0;
+        this.insertLeaf(leaf);
+        this.size++;
+        return leaf;
+    }
+
+    /**
+     * Updates the bounds of the object with the given handle.
+     * The object is only moved in the tree if the new bounds are not contained in the enlarged bounds stored in the tree.
+     *
+     * @param handle The handle returned by {@link BoundingVolumeHierarchy#insert(Object, AABB)}.
+     * @param aabb The new bounds of the object.
+     * @return True if the object was moved in the tree, otherwise false.
+     */
+    public boolean update(int handle, AABB aabb) {
+        var i = 6 * handle;
+        if(this.bounds[i] <= aabb.min().x() && this.bounds[i + 1] <= aabb.min().y() && this.bounds[i + 2] <= aabb.min().z()
+            && this.bounds[i + 3] >= aabb.max().x() && this.bounds[i + 4] >= aabb.max().y() && this.bounds[i + 5] >= aabb.max().z()) {
+            return false;
+        }
+        this.removeLeaf(handle);
+        this.setFatBounds(handle, aabb);
+        this.insertLeaf(handle);
+        return true;
+    }
+
+    /**
+     * Removes the object with the given handle from the tree.
+     * The handle may be reused by objects inserted later.
+     *
+     * @param handle The handle returned by {@link BoundingVolumeHierarchy#insert(Object, AABB)}.
+     */
+    public void remove(int handle) {
+        this.removeLeaf(handle);
+        this.freeNode(handle);
+        this.size--;
+    }
+
+    /**
+     * Returns the object with the given handle.
+     *
+     * @param handle The handle returned by {@link BoundingVolumeHierarchy#insert(Object, AABB)}.
+     * @return The object with the given handle.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int handle) {
+        return (T) this.objects[handle];
+    }
+
+    /**
+     * Returns the enlarged bounds stored in the tree for the object with the given handle.
+     *
+     * @param handle The handle returned by {@link BoundingVolumeHierarchy#insert(Object, AABB)}.
+     * @return The bounds of the object enlarged by a small margin.
+     */
+    public AABB fatBounds(int handle) {
+        var i = 6 * handle;
+        return new AABB(this.bounds[i], this.bounds[i + 1], this.bounds[i + 2], this.bounds[i + 3], this.bounds[i + 4], this.bounds[i + 5]);
+    }
+
+    /**
+     * Returns the number of objects in the tree.
+     *
+     * @return The number of objects in the tree.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the height of the tree.
+     *
+     * @return The height of the tree or zero if the tree is empty or only contains one object.
+     */
+    public int height() {
+        return this.root == NULL ? 0 : this.heights[this.root];
+    }
+
+    /**
+     * Calls the given action for all objects whose bounds may overlap with the given box.
+     *
+     * @param aabb The box.
+     * @param action Action called for every object found.
+     */
+    public void query(AABB aabb, Consumer<? super T> action) {
+        var minX = aabb.min().x();
+        var minY = aabb.min().y();
+        var minZ = aabb.min().z();
+        var maxX = aabb.max().x();
+        var maxY = aabb.max().y();
+        var maxZ = aabb.max().z();
+        var top = this.pushRoot();
+        while(top > 0) {
+            var node = this.stack[--top];
+            var i = 6 * node;
+            if(this.bounds[i] <= maxX && this.bounds[i + 3] >= minX && this.bounds[i + 1] <= maxY && this.bounds[i + 4] >= minY && this.bounds[i + 2] <= maxZ && this.bounds[i + 5] >= minZ) {
+                top = this.visit(node, top, action);
+            }
+        }
+    }
+
+    /**
+     * Calls the given action for all objects whose bounds may be inside the given frustum.
+     *
+     * @param frustum The frustum.
+     * @param action Action called for every object found.
+     */
+    public void query(Frustum frustum, Consumer<? super T> action) {
+        var top = this.pushRoot();
+        while(top > 0) {
+            var node = this.stack[--top];
+            var i = 6 * node;
+            var extentX = 0.5f * (this.bounds[i + 3] - this.bounds[i]);
+            var extentY = 0.5f * (this.bounds[i + 4] - this.bounds[i + 1]);
+            var extentZ = 0.5f * (this.bounds[i + 5] - this.bounds[i + 2]);
+            if(frustum.intersects(this.bounds[i] + extentX, this.bounds[i + 1] + extentY, this.bounds[i + 2] + extentZ, extentX, extentY, extentZ)) {
+                top = this.visit(node, top, action);
+            }
+        }
+    }
+
+    /**
+     * Calls the given action for all objects whose bounds may overlap with the given sphere.
+     *
+     * @param center The center of the sphere.
+     * @param radius The radius of the sphere.
+     * @param action Action called for every object found.
+     */
+    public void query(Vector3 center, float radius, Consumer<? super T> action) {
+        var radiusSquared = radius * radius;
+        var top = this.pushRoot();
+        while(top > 0) {
+            var node = this.stack[--top];
+            var i = 6 * node;
+            // Distance between the center of the sphere and the closest point in the box
+            var dx = Math.max(0.0f, Math.max(this.bounds[i] - center.x(), center.x() - this.bounds[i + 3]));
+            var dy = Math.max(0.0f, Math.max(this.bounds[i + 1] - center.y(), center.y() - this.bounds[i + 4]));
+            var dz = Math.max(0.0f, Math.max(this.bounds[i + 2] - center.z(), center.z() - this.bounds[i + 5]));
+            if(dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                top = this.visit(node, top, action);
+            }
+        }
+    }
+
+    /**
+     * Calls the given action for all objects whose bounds may be hit by the given ray.
+     * Objects are not sorted by their distance from the origin of the ray.
+     *
+     * @param origin The origin of the ray.
+     * @param direction The direction of the ray. Does not need to be normalized.
+     * @param maxDistance Maximum distance along the ray, measured in multiples of the length of the direction.
+     * @param action Action called for every object found.
+     */
+    public void raycast(Vector3 origin, Vector3 direction, float maxDistance, Consumer<? super T> action) {
+        var inverseX = 1.0f / direction.x();
+        var inverseY = 1.0f / direction.y();
+        var inverseZ = 1.0f / direction.z();
+        var top = this.pushRoot();
+        while(top > 0) {
+            var node = this.stack[--top];
+            var i = 6 * node;
+            // Slab test, divisions by zero produce infinities that are handled correctly
+            var t1 = (this.bounds[i] - origin.x()) * inverseX;
+            var t2 = (this.bounds[i + 3] - origin.x()) * inverseX;
+            var near = Math.min(t1, t2);
+            var far = Math.max(t1, t2);
+            t1 = (this.bounds[i + 1] - origin.y()) * inverseY;
+            t2 = (this.bounds[i + 4] - origin.y()) * inverseY;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+            t1 = (this.bounds[i + 2] - origin.z()) * inverseZ;
+            t2 = (this.bounds[i + 5] - origin.z()) * inverseZ;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+            if(far >= Math.max(near, 0.0f) && near <= maxDistance) {
+                top = this.visit(node, top, action);
+            }
+        }
+    }
+
+    /**
+     * Pushes the root of the tree on the traversal stack.
+     *
+     * @return The size of the stack.
+     */
+    private int pushRoot() {
+        if(this.root == NULL) {
+            return 0;
+        }
+        this.stack[0] = this.root;
+        return 1;
+    }
+
+    /**
+     * Calls the given action if the given node is a leaf or pushes its children on the traversal stack.
+     *
+     * @param node The node whose bounds passed the query test.
+     * @param top The size of the stack.
+     * @param action Action called if the node is a leaf.
+     * @return The new size of the stack.
+     */
+    @SuppressWarnings("unchecked")
+    private int visit(int node, int top, Consumer<? super T> action) {
+        if(this.children1[node] == NULL) {
+            action.accept((T) this.objects[node]);
+            return top;
+        }
+        if(top + 2 > this.stack.length) {
+            this.stack = Arrays.copyOf(this.stack, 2 * this.stack.length);
+        }
+        this.stack[top] = this.children1[node];
+        this.stack[top + 1] = this.children2[node];
+        return top + 2;
+    }
+
+    /**
+     * Stores the given bounds in the given leaf after enlarging them by {@link BoundingVolumeHierarchy#MARGIN}.
+     *
+     * @param leaf The leaf.
+     * @param aabb The bounds of the object.
+     */
+    private void setFatBounds(int leaf, AABB aabb) {
+        var i = 6 * leaf;
+        this.bounds[i] = aabb.min().x() - MARGIN;
+        this.bounds[i + 1] = aabb.min().y() - MARGIN;
+        this.bounds[i + 2] = aabb.min().z() - MARGIN;
+        this.bounds[i + 3] = aabb.max().x() + MARGIN;
+        this.bounds[i + 4] = aabb.max().y() + MARGIN;
+        this.bounds[i + 5] = aabb.max().z() + MARGIN;
+    }
+
+    /**
+     * Takes a node from the free list or creates a new one if the free list is empty.
+     *
+     * @return The index of the node.
+     */
+    private int allocateNode() {
+        int node;
+        if(this.freeList != NULL) {
+            node = this.freeList;
+            this.freeList = this.parents[node];
+        } else {
+            if(this.nodeCount == this.parents.length) {
+                var capacity = 2 * this.nodeCount;
+                this.bounds = Arrays.copyOf(this.bounds, 6 * capacity);
+                this.parents = Arrays.copyOf(this.parents, capacity);
+                this.children1 = Arrays.copyOf(this.children1, capacity);
+                this.children2 = Arrays.copyOf(this.children2, capacity);
+                this.heights = Arrays.copyOf(this.heights, capacity);
+                this.objects = Arrays.copyOf(this.objects, capacity);
+            }
+            node = this.nodeCount++;
+        }
+        this.parents[node] = NULL;
+        this.children1[node] = NULL;
+        this.children2[node] = NULL;
+        this.heights[node] = 0;
+        return node;
+    }
+
+    /**
+     * Adds the given node to the free list.
+     *
+     * @param node The node to free.
+     */
+    private void freeNode(int node) {
+        this.parents[node] = this.freeList;
+        this.heights[node] = -1;
+        this.objects[node] = null;
+        this.freeList = node;
+    }
+
+    /**
+     * Inserts the given leaf in the tree.
+     * The sibling of the new leaf is chosen by descending the tree towards the child that minimizes the increase in surface area.
+     *
+     * @param leaf The leaf to insert.
+     */
+    private void insertLeaf(int leaf) {
+        if(this.root == NULL) {
+            this.root = leaf;
+            this.parents[leaf] = NULL;
+            return;
+        }
+        var sibling = this.root;
+        while(this.children1[sibling] != NULL) {
+            var child1 = this.children1[sibling];
+            var child2 = this.children2[sibling];
+            var area = this.area(sibling);
+            var combinedArea = this.combinedArea(sibling, leaf);
+            // Cost of creating a new parent for this node and the new leaf
+            var cost = 2.0f * combinedArea;
+            // Minimum cost of pushing the leaf further down the tree
+            var inheritanceCost = 2.0f * (combinedArea - area);
+            var cost1 = this.descendCost(child1, leaf) + inheritanceCost;
+            var cost2 = this.descendCost(child2, leaf) + inheritanceCost;
+            if(cost < cost1 && cost < cost2) {
+                break;
+            }
+            sibling = cost1 < cost2 ? child1 : child2;
+        }
+        // Create a new parent for the sibling and the new leaf
+        var oldParent = this.parents[sibling];
+        var newParent = this.allocateNode();
+        this.parents[newParent] = oldParent;
+        this.setCombinedBounds(newParent, sibling, leaf);
+        this.heights[newParent] = this.heights[sibling] + 1;
+        this.children1[newParent] = sibling;
+        this.children2[newParent] = leaf;
+        this.parents[sibling] = newParent;
+        this.parents[leaf] = newParent;
+        if(oldParent != NULL) {
+            if(this.children1[oldParent] == sibling) {
+                this.children1[oldParent] = newParent;
+            } else {
+                this.children2[oldParent] = newParent;
+            }
+        } else {
+            this.root = newParent;
+        }
+        this.refit(this.parents[leaf]);
+    }
+
+    /**
+     * Returns the cost of inserting the given leaf in the subtree of the given node.
+     *
+     * @param node The root of the subtree.
+     * @param leaf The leaf to insert.
+     * @return The increase in surface area caused by the insertion.
+     */
+    private float descendCost(int node, int leaf) {
+        if(this.children1[node] == NULL) {
+            return this.combinedArea(node, leaf);
+        }
+        return this.combinedArea(node, leaf) - this.area(node);
+    }
+
+    /**
+     * Removes the given leaf from the tree without freeing it.
+     * The parent of the leaf is freed and its sibling takes its place.
+     *
+     * @param leaf The leaf to remove.
+     */
+    private void removeLeaf(int leaf) {
+        if(leaf == this.root) {
+            this.root = NULL;
+            return;
+        }
+        var parent = this.parents[leaf];
+        var grandParent = this.parents[parent];
+        var sibling = this.children1[parent] == leaf ? this.children2[parent] : this.children1[parent];
+        if(grandParent != NULL) {
+            if(this.children1[grandParent] == parent) {
+                this.children1[grandParent] = sibling;
+            } else {
+                this.children2[grandParent] = sibling;
+            }
+            this.parents[sibling] = grandParent;
+            this.freeNode(parent);
+            this.refit(grandParent);
+        } else {
+            this.root = sibling;
+            this.parents[sibling] = NULL;
+            this.freeNode(parent);
+        }
+    }
+
+    /**
+     * Walks up the tree from the given node, rebalancing it and recomputing the bounds and the height of every node.
+     *
+     * @param node The first node to refit.
+     */
+    private void refit(int node) {
+        while(node != NULL) {
+            node = this.balance(node);
+            var child1 = this.children1[node];
+            var child2 = this.children2[node];
+            this.heights[node] = 1 + Math.max(this.heights[child1], this.heights[child2]);
+            this.setCombinedBounds(node, child1, child2);
+            node = this.parents[node];
+        }
+    }
+
+    /**
+     * Performs a left or right rotation if the subtree of the given node is unbalanced.
+     *
+     * @param a The root of the subtree.
+     * @return The new root of the subtree.
+     */
+    private int balance(int a) {
+        if(this.children1[a] == NULL || this.heights[a] < 2) {
+            return a;
+        }
+        var b = this.children1[a];
+        var c = this.children2[a];
+        var difference = this.heights[c] - this.heights[b];
+        if(difference > 1) {
+            return this.rotate(a, c, b);
+        } else if(difference < -1) {
+            return this.rotate(a, b, c);
+        }
+        return a;
+    }
+
+    /**
+     * Promotes the given child of the given node, which is higher than its sibling.
+     *
+     * @param a The node to rotate.
+     * @param high The higher child of {@code a}, which becomes the new root of the subtree.
+     * @param low The lower child of {@code a}.
+     * @return The new root of the subtree.
+     */
+    private int rotate(int a, int high, int low) {
+        var f = this.children1[high];
+        var g = this.children2[high];
+        // Swap a and high
+        this.children1[high] = a;
+        this.parents[high] = this.parents[a];
+        this.parents[a] = high;
+        if(this.parents[high] != NULL) {
+            if(this.children1[this.parents[high]] == a) {
+                this.children1[this.parents[high]] = high;
+            } else {
+                this.children2[this.parents[high]] = high;
+            }
+        } else {
+            this.root = high;
+        }
+        // Keep the higher grandchild under the promoted node and move the lower one under a
+        var keep = this.heights[f] > this.heights[g] ? f : g;
+        var move = keep == f ? g : f;
+        this.children2[high] = keep;
+        if(this.children1[a] == high) {
+            this.children1[a] = move;
+        } else {
+            this.children2[a] = move;
+        }
+        this.parents[move] = a;
+        this.setCombinedBounds(a, low, move);
+        this.setCombinedBounds(high, a, keep);
+        this.heights[a] = 1 + Math.max(this.heights[low], this.heights[move]);
+        this.heights[high] = 1 + Math.max(this.heights[a], this.heights[keep]);
+        return high;
+    }
+
+    /**
+     * Sets the bounds of the given node to contain the bounds of the other two nodes.
+     *
+     * @param node The node whose bounds are set.
+     * @param a The first node.
+     * @param b The second node.
+     */
+    private void setCombinedBounds(int node, int a, int b) {
+        var i = 6 * node;
+        var j = 6 * a;
+        var k = 6 * b;
+        for(var axis = 0; axis < 3; axis++) {
+            this.bounds[i + axis] = Math.min(this.bounds[j + axis], this.bounds[k + axis]);
+            this.bounds[i + axis + 3] = Math.max(this.bounds[j + axis + 3], this.bounds[k + axis + 3]);
+        }
+    }
+
+    /**
+     * Returns the surface area of the bounds of the given node.
+     *
+     * @param node The node.
+     * @return The surface area of the node's bounds.
+     */
+    private float area(int node) {
+        var i = 6 * node;
+        var x = this.bounds[i + 3] - this.bounds[i];
+        var y = this.bounds[i + 4] - this.bounds[i + 1];
+        var z = this.bounds[i + 5] - this.bounds[i + 2];
+        return 2.0f * (x * y + y * z + z * x);
+    }
+
+    /**
+     * Returns the surface area of the smallest box that contains the bounds of both the given nodes.
+     *
+     * @param a The first node.
+     * @param b The second node.
+     * @return The surface area of the combined bounds.
+     */
+    private float combinedArea(int a, int b) {
+        var i = 6 * a;
+        var j = 6 * b;
+        var x = Math.max(this.bounds[i + 3], this.bounds[j + 3]) - Math.min(this.bounds[i], this.bounds[j]);
+        var y = Math.max(this.bounds[i + 4], this.bounds[j + 4]) - Math.min(this.bounds[i + 1], this.bounds[j + 1]);
+        var z = Math.max(this.bounds[i + 5], this.bounds[j + 5]) - Math.min(this.bounds[i + 2], this.bounds[j + 2]);
+        return 2.0f * (x * y + y * z + z * x);
+    }
+}
\ No newline at end of file
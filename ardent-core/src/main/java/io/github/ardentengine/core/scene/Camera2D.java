@@ -3,6 +3,7 @@ package io.github.ardentengine.core.scene;
 import io.github.ardentengine.core.display.DisplayServer;
 import io.github.ardentengine.core.math.Matrix3;
 import io.github.ardentengine.core.math.Matrix4;
+import io.github.ardentengine.core.math.Rect2;
 import io.github.ardentengine.core.math.Vector2;
 import io.github.ardentengine.core.rendering.RenderingServer;
 
@@ -22,15 +23,28 @@ public class Camera2D extends Node2D {
      */
     public Vector2 zoom = Vector2.ONE;
 
+    /**
+     * Bitmask of the render layers seen by this camera.
+     * Only visual instances whose layers share at least one bit with this mask are rendered.
+     */
+    public int cullMask = 0xFFFFFFFF;
+
     /** True if the camera is enabled, otherwise false. */
     private boolean enabled = true;
 
     // TODO: Limits, drag, smoothing
 
     @Override
-    void update(float deltaTime) {
+    void updateSelf(float deltaTime) {
         RenderingServer.getInstance().setCamera(this);
-        super.update(deltaTime);
+        this.sceneTree().setCamera2D(this);
+        super.updateSelf(deltaTime);
+    }
+
+    @Override
+    void exitTree() {
+        this.sceneTree().clearCamera2D(this);
+        super.exitTree();
     }
 
     public final Matrix4 projectionMatrix() {
@@ -40,7 +54,7 @@ public class Camera2D extends Node2D {
     }
 
     public final Matrix3 viewMatrix() {
-        var pos = this.globalPosition();
+        var pos = this.interpolatedTransform().column2();
         var cos = (float) Math.cos(this.rotation());
         var sin = (float) Math.sin(this.rotation());
         return new Matrix3(
@@ -50,5 +64,34 @@ public class Camera2D extends Node2D {
         );
     }
 
+    /**
+     * Returns the area visible from this camera in global coordinates.
+     * <p>
+     *     The area is computed by transforming the corners of the viewport by the inverse of the view and projection matrices,
+     *     so it takes into account the position, rotation, offset, and zoom of the camera.
+     *     If the camera is rotated, the returned rectangle is the smallest axis-aligned rectangle that contains the visible area.
+     * </p>
+     *
+     * @return The smallest axis-aligned rectangle that contains the area visible from this camera.
+     */
+    public final Rect2 viewRect() {
+        var projection = this.projectionMatrix();
+        var inverse = new Matrix3(
+            projection.m00(), projection.m01(), projection.m03(),
+            projection.m10(), projection.m11(), projection.m13(),
+            0.0f, 0.0f, 1.0f
+        ).multiply(this.viewMatrix()).inverse();
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for(var i = 0; i < 4; i++) {
+            var corner = inverse.multiply(i % 2 == 0 ? -1.0f : 1.0f, i < 2 ? -1.0f : 1.0f, 1.0f);
+            minX = Math.min(minX, corner.x());
+            minY = Math.min(minY, corner.y());
+            maxX = Math.max(maxX, corner.x());
+            maxY = Math.max(maxY, corner.y());
+        }
+        return new Rect2(minX, minY, maxX, maxY);
+    }
+
     // FIXME: Reimplement the ability to switch between cameras
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package io.github.ardentengine.core.scene;
 
 import io.github.ardentengine.core.display.DisplayServer;
+import io.github.ardentengine.core.math.Frustum;
 import io.github.ardentengine.core.math.Matrix4;
 import io.github.ardentengine.core.rendering.RenderingServer;
 
@@ -21,13 +22,19 @@ public class Camera3D extends Node3D {
     /** Distance to the camera's far plane. Higher values allow the camera to see further away. */
     public float farPlane = 1000.0f;
 
+    /**
+     * Bitmask of the render layers seen by this camera.
+     * Only visual instances whose layers share at least one bit with this mask are rendered.
+     */
+    public int cullMask = 0xFFFFFFFF;
+
     /** True if the camera is enabled, otherwise false. */
     private boolean enabled = true;
 
     @Override
-    void update(float deltaTime) {
+    void updateSelf(float deltaTime) {
         RenderingServer.getInstance().setCamera(this);
-        super.update(deltaTime);
+        super.updateSelf(deltaTime);
     }
 
     public final float yaw() {
@@ -71,7 +78,17 @@ public class Camera3D extends Node3D {
      * @return The camera's view matrix.
      */
     public final Matrix4 viewMatrix() {
-        return Matrix4.rotation(this.rotation()).multiply(Matrix4.translation(this.globalPosition().negated()));
+        return Matrix4.rotation(this.rotation()).multiply(Matrix4.translation(this.interpolatedTransform().column3().negated()));
+    }
+
+    /**
+     * Returns the volume visible from this camera.
+     * Used to skip objects that are outside of the camera's view.
+     *
+     * @return The camera's frustum.
+     */
+    public final Frustum frustum() {
+        return new Frustum(this.projectionMatrix().multiply(this.viewMatrix()));
     }
 
     // FIXME: Reimplement the ability to switch between cameras
@@ -0,0 +1,370 @@
+package io.github.ardentengine.core.scene;
+
+import io.github.ardentengine.core.math.Rect2;
+import io.github.ardentengine.core.math.Vector2;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A loose quadtree used to find objects in 2D space without scanning all of them.
+ * <p>
+ *     The tree covers a fixed area that is split into a grid of cells at every level, each level having twice as many rows and columns as the previous one.
+ *     Every object is stored in a single cell, chosen from the deepest level whose cells are at least as big as the object and from the position of the object's center.
+ *     Cells are loose: the area they cover is enlarged by half of their size on every side, so that objects that overlap the edges of a cell do not need to be moved to a bigger one.
+ *     Objects whose center is outside of the area covered by the tree are stored in the root cell.
+ * </p>
+ * <p>
+ *     Every cell keeps track of the number of objects in its subtree, so that empty parts of the tree are skipped during queries.
+ *     The exact bounds of objects are tested before they are returned, so queries do not return objects that do not overlap with the queried area.
+ * </p>
+ * <p>
+ *     Objects are stored in primitive arrays and are reused after being removed, so that the tree does not allocate memory once it is big enough.
+ *     This class is not thread-safe.
+ * </p>
+ *
+ * @param <T> Type of the objects stored in the tree.
+ */
+public final class LooseQuadtree<T> {
+
+    /** Value used to mark the absence of an object. */
+    private static final int NULL = -1;
+
+    /** The lowest x coordinate of the area covered by the tree. */
+    private final float minX;
+    /** The lowest y coordinate of the area covered by the tree. */
+    private final float minY;
+    /** Width of the area covered by the tree. */
+    private final float width;
+    /** Height of the area covered by the tree. */
+    private final float height;
+    /** Index of the deepest level of the tree. */
+    private final int depth;
+
+    /** First object in every cell or {@link LooseQuadtree#NULL} if the cell is empty. */
+    private final int[] cellHeads;
+    /** Number of objects in every cell and in all its descendants. */
+    private final int[] cellCounts;
+
+    /** Bounds of every object stored as four consecutive floats: min x, min y, max x, max y. */
+    private float[] bounds = new float[4 * 16];
+    /** Cell containing every object or {@link LooseQuadtree#NULL} if the handle is free. */
+    private int[] cells = new int[16];
+    /** Next object in the same cell. Used as the next free handle for handles in the free list. */
+    private int[] next = new int[16];
+    /** Previous object in the same cell. */
+    private int[] previous = new int[16];
+    /** Objects stored in the tree. */
+    private Object[] objects = new Object[16];
+
+    /** Head of the list of free handles. */
+    private int freeList = NULL;
+    /** Number of handles that have been used at least once. */
+    private int handleCount = 0;
+    /** Number of objects in the tree. */
+    private int size = 0;
+
+    /**
+     * Creates an empty loose quadtree.
+     *
+     * @param area The area covered by the tree. Objects outside of this area can still be inserted, but are stored in the root cell.
+     * @param depth Index of the deepest level of the tree. The cells of the deepest level are {@code 2^depth} times smaller than the area covered by the tree.
+     */
+    public LooseQuadtree(Rect2 area, int depth) {
+        this.minX = area.min().x();
+        this.minY = area.min().y();
+        this.width = area.max().x() - area.min().x();
+        this.height = area.max().y() - area.min().y();
+        this.depth = depth;
+        this.cellHeads = new int[levelOffset(depth + 1)];
+        this.cellCounts = new int[this.cellHeads.length];
+        Arrays.fill(this.cellHeads, NULL);
+    }
+
+    /**
+     * Inserts an object in the tree.
+     *
+     * @param object The object to insert.
+     * @param rect The bounds of the object.
+     * @return A handle used to update or remove the object.
+     */
+    public int insert(T object, Rect2 rect) {
+        var handle = this.allocateHandle();
+        this.setBounds(handle, rect);
+        this.objects[handle] = object;
+        this.link(handle, this.findCell(handle));
+        this.size++;
+        return handle;
+    }
+
+    /**
+     * Updates the bounds of the object with the given handle.
+     * The object is only moved to a different cell if its new bounds do not fit in the one it is in.
+     *
+     * @param handle The handle returned by {@link LooseQuadtree#insert(Object, Rect2)}.
+     * @param rect The new bounds of the object.
+     * @return True if the object was moved to a different cell, otherwise false.
+     */
+    public boolean update(int handle, Rect2 rect) {
+        this.setBounds(handle, rect);
+        var cell = this.findCell(handle);
+        if(cell == this.cells[handle]) {
+            return false;
+        }
+        this.unlink(handle);
+        this.link(handle, cell);
+        return true;
+    }
+
+    /**
+     * Removes the object with the given handle from the tree.
+     * The handle may be reused by objects inserted later.
+     *
+     * @param handle The handle returned by {@link LooseQuadtree#insert(Object, Rect2)}.
+     */
+    public void remove(int handle) {
+        this.unlink(handle);
+        this.objects[handle] = null;
+        this.cells[handle] = NULL;
+        this.next[handle] = this.freeList;
+        this.freeList = handle;
+        this.size--;
+    }
+
+    /**
+     * Returns the object with the given handle.
+     *
+     * @param handle The handle returned by {@link LooseQuadtree#insert(Object, Rect2)}.
+     * @return The object with the given handle.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int handle) {
+        return (T) this.objects[handle];
+    }
+
+    /**
+     * Returns the bounds stored in the tree for the object with the given handle.
+     *
+     * @param handle The handle returned by {@link LooseQuadtree#insert(Object, Rect2)}.
+     * @return The bounds of the object.
+     */
+    public Rect2 bounds(int handle) {
+        var i = 4 * handle;
+        return new Rect2(this.bounds[i], this.bounds[i + 1], this.bounds[i + 2], this.bounds[i + 3]);
+    }
+
+    /**
+     * Returns the number of objects in the tree.
+     *
+     * @return The number of objects in the tree.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Calls the given action for all objects whose bounds overlap with the given rectangle.
+     *
+     * @param rect The rectangle.
+     * @param action Action called for every object found.
+     */
+    public void query(Rect2 rect, Consumer<? super T> action) {
+        this.query(0, 0, 0, rect.min().x(), rect.min().y(), rect.max().x(), rect.max().y(), action);
+    }
+
+    /**
+     * Calls the given action for all objects whose bounds contain the given point.
+     *
+     * @param point The point.
+     * @param action Action called for every object found.
+     */
+    public void query(Vector2 point, Consumer<? super T> action) {
+        this.query(0, 0, 0, point.x(), point.y(), point.x(), point.y(), action);
+    }
+
+    /**
+     * Calls the given action for all objects in the tree.
+     *
+     * @param action Action called for every object.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        for(var handle = 0; handle < this.handleCount; handle++) {
+            if(this.cells[handle] != NULL) {
+                action.accept((T) this.objects[handle]);
+            }
+        }
+    }
+
+    /**
+     * Visits the cell at the given level and coordinates and all its children whose loose bounds overlap with the given rectangle.
+     * The root cell is always visited because it also contains objects outside of the area covered by the tree.
+     *
+     * @param level Level of the cell.
+     * @param x Column of the cell.
+     * @param y Row of the cell.
+     * @param minX The lowest x coordinate of the queried rectangle.
+     * @param minY The lowest y coordinate of the queried rectangle.
+     * @param maxX The highest x coordinate of the queried rectangle.
+     * @param maxY The highest y coordinate of the queried rectangle.
+     * @param action Action called for every object found.
+     */
+    @SuppressWarnings("unchecked")
+    private void query(int level, int x, int y, float minX, float minY, float maxX, float maxY, Consumer<? super T> action) {
+        var cell = levelOffset(level) + (y << level) + x;
+        if(this.cellCounts[cell] == 0) {
+            return;
+        }
+        if(level > 0) {
+            var cellWidth = this.width / (1 << level);
+            var cellHeight = this.height / (1 << level);
+            var cellMinX = this.minX + (x - 0.5f) * cellWidth;
+            var cellMinY = this.minY + (y - 0.5f) * cellHeight;
+            if(cellMinX > maxX || cellMinX + 2.0f * cellWidth < minX || cellMinY > maxY || cellMinY + 2.0f * cellHeight < minY) {
+                return;
+            }
+        }
+        for(var handle = this.cellHeads[cell]; handle != NULL; handle = this.next[handle]) {
+            var i = 4 * handle;
+            if(this.bounds[i] <= maxX && this.bounds[i + 2] >= minX && this.bounds[i + 1] <= maxY && this.bounds[i + 3] >= minY) {
+                action.accept((T) this.objects[handle]);
+            }
+        }
+        if(level < this.depth) {
+            this.query(level + 1, 2 * x, 2 * y, minX, minY, maxX, maxY, action);
+            this.query(level + 1, 2 * x + 1, 2 * y, minX, minY, maxX, maxY, action);
+            this.query(level + 1, 2 * x, 2 * y + 1, minX, minY, maxX, maxY, action);
+            this.query(level + 1, 2 * x + 1, 2 * y + 1, minX, minY, maxX, maxY, action);
+        }
+    }
+
+    /**
+     * Finds the cell in which the object with the given handle should be stored based on its bounds.
+     *
+     * @param handle Handle of the object.
+     * @return Index of the cell.
+     */
+    private int findCell(int handle) {
+        var i = 4 * handle;
+        var centerX = 0.5f * (this.bounds[i] + this.bounds[i + 2]) - this.minX;
+        var centerY = 0.5f * (this.bounds[i + 1] + this.bounds[i + 3]) - this.minY;
+        // Objects whose center is outside of the tree or whose bounds are not numbers can only be stored in the root cell
+        if(!(centerX >= 0.0f && centerX < this.width && centerY >= 0.0f && centerY < this.height)) {
+            return 0;
+        }
+        var level = this.depth;
+        var sizeX = this.bounds[i + 2] - this.bounds[i];
+        var sizeY = this.bounds[i + 3] - this.bounds[i + 1];
+        while(level > 0 && (this.width / (1 << level) < sizeX || this.height / (1 << level) < sizeY)) {
+            level--;
+        }
+        var cells = 1 << level;
+        var x = Math.min((int) (centerX / this.width * cells), cells - 1);
+        var y = Math.min((int) (centerY / this.height * cells), cells - 1);
+        return levelOffset(level) + y * cells + x;
+    }
+
+    /**
+     * Adds the object with the given handle to the given cell and updates the object count of the cell and of its ancestors.
+     *
+     * @param handle Handle of the object.
+     * @param cell Index of the cell.
+     */
+    private void link(int handle, int cell) {
+        var head = this.cellHeads[cell];
+        this.next[handle] = head;
+        this.previous[handle] = NULL;
+        if(head != NULL) {
+            this.previous[head] = handle;
+        }
+        this.cellHeads[cell] = handle;
+        this.cells[handle] = cell;
+        this.updateCounts(cell, 1);
+    }
+
+    /**
+     * Removes the object with the given handle from its cell and updates the object count of the cell and of its ancestors.
+     *
+     * @param handle Handle of the object.
+     */
+    private void unlink(int handle) {
+        var cell = this.cells[handle];
+        var previous = this.previous[handle];
+        var next = this.next[handle];
+        if(previous != NULL) {
+            this.next[previous] = next;
+        } else {
+            this.cellHeads[cell] = next;
+        }
+        if(next != NULL) {
+            this.previous[next] = previous;
+        }
+        this.updateCounts(cell, -1);
+    }
+
+    /**
+     * Adds the given amount to the object count of the given cell and of all its ancestors.
+     *
+     * @param cell Index of the cell.
+     * @param amount Amount to add.
+     */
+    private void updateCounts(int cell, int amount) {
+        var level = 0;
+        while(levelOffset(level + 1) <= cell) {
+            level++;
+        }
+        var index = cell - levelOffset(level);
+        var x = index & ((1 << level) - 1);
+        var y = index >> level;
+        for(; level >= 0; level--, x >>= 1, y >>= 1) {
+            this.cellCounts[levelOffset(level) + (y << level) + x] += amount;
+        }
+    }
+
+    /**
+     * Stores the given bounds for the object with the given handle.
+     *
+     * @param handle Handle of the object.
+     * @param rect The bounds of the object.
+     */
+    private void setBounds(int handle, Rect2 rect) {
+        var i = 4 * handle;
+        this.bounds[i] = rect.min().x();
+        this.bounds[i + 1] = rect.min().y();
+        this.bounds[i + 2] = rect.max().x();
+        this.bounds[i + 3] = rect.max().y();
+    }
+
+    /**
+     * Takes a handle from the free list or uses a new one, growing the arrays if they are full.
+     *
+     * @return The handle.
+     */
+    private int allocateHandle() {
+        if(this.freeList != NULL) {
+            var handle = this.freeList;
+            this.freeList = this.next[handle];
+            return handle;
+        }
+        if(this.handleCount == this.cells.length) {
+            var capacity = 2 * this.cells.length;
+            this.bounds = Arrays.copyOf(this.bounds, 4 * capacity);
+            this.cells = Arrays.copyOf(this.cells, capacity);
+            this.next = Arrays.copyOf(this.next, capacity);
+            this.previous = Arrays.copyOf(this.previous, capacity);
+            this.objects = Arrays.copyOf(this.objects, capacity);
+        }
+        return this.handleCount++;
+    }
+
+    /**
+     * Returns the index of the first cell of the given level.
+     * Level {@code n} has {@code 4^n} cells, so this is the number of cells in all the previous levels.
+     *
+     * @param level The level.
+     * @return Index of the first cell of the given level.
+     */
+    private static int levelOffset(int level) {
+        return ((1 << (2 * level)) - 1) / 3;
+    }
+}
\ No newline at end of file
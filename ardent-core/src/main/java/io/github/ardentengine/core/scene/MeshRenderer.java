@@ -1,7 +1,10 @@
 package io.github.ardentengine.core.scene;
 
 import io.github.ardentengine.core.rendering.Mesh;
-import io.github.ardentengine.core.rendering.RenderingServer;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * Node used to render a single mesh.
@@ -15,13 +18,30 @@ public class MeshRenderer extends VisualInstance3D {
      */
     private Mesh mesh;
 
+    /**
+     * Simpler meshes drawn instead of {@link MeshRenderer#mesh} when this mesh renderer is far from the camera.
+     * Sorted by ascending distance.
+     */
+    private List<Lod> lods = List.of();
+
     @Override
-    void update(float deltaTime) {
-        if(this.mesh != null && this.visible()) {
-            // TODO: Don't render objects that are outside of the camera's frustum
-            RenderingServer.getInstance().draw(this.mesh, this.materialOverride(), this.globalTransform());
-        }
-        super.update(deltaTime);
+    Mesh instanceMesh() {
+        return this.mesh;
+    }
+
+    @Override
+    int lodCount() {
+        return this.lods.size();
+    }
+
+    @Override
+    Mesh lodMesh(int index) {
+        return this.lods.get(index).mesh();
+    }
+
+    @Override
+    float lodDistance(int index) {
+        return this.lods.get(index).distance();
     }
 
     /**
@@ -40,5 +60,53 @@ public class MeshRenderer extends VisualInstance3D {
      */
     public final void setMesh(Mesh mesh) {
         this.mesh = mesh;
+        this.updateInstanceMesh();
+    }
+
+    /**
+     * Getter method for {@link MeshRenderer#lods}.
+     *
+     * @return The levels of detail of this mesh renderer sorted by ascending distance.
+     */
+    public final List<Lod> lods() {
+        return this.lods;
+    }
+
+    /**
+     * Setter method for {@link MeshRenderer#lods}.
+     * <p>
+     *     Each level of detail is drawn from its distance from the camera until the distance of the next one.
+     *     The last level of detail is drawn until the end of the {@link VisualInstance3D#visibilityRangeEnd()}.
+     *     The levels of detail are sorted by distance, so they can be given in any order.
+     * </p>
+     *
+     * @param lods The levels of detail of this mesh renderer. Can be empty to always draw the same mesh.
+     */
+    public final void setLods(List<Lod> lods) {
+        Objects.requireNonNull(lods, "Levels of detail cannot be null");
+        this.lods = lods.stream().sorted(Comparator.comparingDouble(Lod::distance)).toList();
+        this.updateInstanceMesh();
+    }
+
+    /**
+     * A level of detail of a mesh renderer.
+     *
+     * @param mesh The mesh drawn by this level of detail. Can be null to not draw anything from the given distance.
+     * @param distance Distance from the camera from which this level of detail is drawn. Must be greater than zero.
+     */
+    public record Lod(Mesh mesh, float distance) {
+
+        /**
+         * Constructs a level of detail.
+         *
+         * @param mesh The mesh drawn by this level of detail. Can be null to not draw anything from the given distance.
+         * @param distance Distance from the camera from which this level of detail is drawn. Must be greater than zero.
+         * @throws IllegalArgumentException If the given distance is not greater than zero.
+         */
+        public Lod {
+            if(!(distance > 0.0f)) {
+                throw new IllegalArgumentException("Level of detail distance must be greater than zero");
+            }
+        }
     }
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package io.github.ardentengine.core.scene;
 
 import io.github.ardentengine.core.input.InputEvent;
+import io.github.ardentengine.core.jobs.DeferredCommands;
+import io.github.ardentengine.core.jobs.JobSystem;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.CompletionException;
 import java.util.function.Predicate;
 
 /**
@@ -17,6 +21,7 @@ import java.util.function.Predicate;
  * <ul>
  *     <li>The method {@link Node#onEnter()} is called when the node enters the scene tree.</li>
  *     <li>The method {@link Node#onUpdate(float)} is called every frame.</li>
+ *     <li>The method {@link Node#onFixedUpdate(float)} is called at a fixed rate.</li>
  *     <li>The method {@link Node#onInput(InputEvent)} is called every time there is an input event.</li>
  *     <li>The method {@link Node#onExit()} is called when the node exits the scene tree.</li>
  * </ul>
@@ -28,10 +33,14 @@ public class Node {
 
     /** List of child nodes. */
     private final ArrayList<Node> children = new ArrayList<>();
+    /** Read-only view of this node's children returned by {@link Node#children()}. */
+    private final List<Node> childrenView = Collections.unmodifiableList(this.children);
     /** Reference to the {@link SceneTree} this node is in. */
     private SceneTree sceneTree = null;
     /** The parent of this node. */
     private Node parent = null;
+    /** True if the children of this node should be updated in parallel. */
+    private boolean parallelChildren = false;
 
     // TODO: Add pause mode and the ability to pause the scene
 
@@ -59,6 +68,7 @@ public class Node {
      */
     void enterTree(SceneTree sceneTree) {
         this.sceneTree = sceneTree;
+        sceneTree.nodeEntered(this);
         for(var child : this.children) {
             child.enterTree(sceneTree);
         }
@@ -75,44 +85,101 @@ public class Node {
     }
 
     /**
-     * Called every frame while this node is inside the scene tree.
-     * Iterates through the children of this node and calls {@code update} on each of them.
+     * Updates this node and its whole subtree.
+     * Iterates through the children of this node and calls {@code update} on each of them, then calls {@link Node#updateSelf(float)}.
      * <p>
-     *     This method is package-protected to ensure users cannot replace a node's functionality when overriding {@link Node#onUpdate(float)}.
+     *     The scene tree normally only updates the nodes that need to be updated using {@code updateSelf}.
+     *     This method is used to update the subtrees of nodes whose children are updated in parallel.
      * </p>
      *
      * @param deltaTime The time elapsed since the previous frame.
      */
     void update(float deltaTime) {
-        for(var child : this.children) {
-            child.update(deltaTime);
+        if(this.parallelChildren && this.children.size() > 1) {
+            this.updateChildrenInParallel(deltaTime);
+        } else {
+            for(var child : this.children) {
+                child.update(deltaTime);
+            }
         }
-        this.onUpdate(deltaTime);
+        this.updateSelf(deltaTime);
     }
 
     /**
-     * Called every time there is an input event while this node is inside the scene tree.
+     * Called every frame while this node is inside the scene tree, after its children have been updated.
+     * <p>
+     *     This method is package-protected to ensure users cannot replace a node's functionality when overriding {@link Node#onUpdate(float)}.
+     *     Internal nodes that need to be updated every frame override this method instead of {@code onUpdate}, so that the scene tree knows it needs to update them.
+     * </p>
      *
-     * @param event The input event.
+     * @param deltaTime The time elapsed since the previous frame.
      */
-    protected void onInput(InputEvent event) {
+    void updateSelf(float deltaTime) {
+        this.onUpdate(deltaTime);
+    }
 
+    /**
+     * Updates every child of this node and its subtree as a separate job of the {@link JobSystem} and waits for all of them to finish.
+     * <p>
+     *     Calls to the rendering server and changes to the scene tree made by the children are deferred while they are updated.
+     *     The deferred commands of each child are then run in the order of the children, so that the result does not depend on the order in which the jobs finished.
+     * </p>
+     *
+     * @param deltaTime The time elapsed since the previous frame.
+     */
+    private void updateChildrenInParallel(float deltaTime) {
+        var children = this.children.toArray(new Node[0]);
+        var commands = new ArrayList<List<Runnable>>(children.length);
+        for(var i = 0; i < children.length; i++) {
+            commands.add(null);
+        }
+        // Transforms are brought up to date before the children start using their slots from different threads
+        var transformStore = this.sceneTree().transformStore();
+        if(transformStore != null && !DeferredCommands.isRecording()) {
+            transformStore.update();
+        } else if(this instanceof Node3D node) {
+            // The store cannot be updated inside another parallel subtree, so only the transforms shared by the children are resolved
+            node.globalTransform();
+        }
+        try {
+            JobSystem.parallelFor(0, children.length, 1, i -> commands.set(i, DeferredCommands.record(() -> children[i].update(deltaTime)))).join();
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof RuntimeException exception) {
+                throw exception;
+            } else if(e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+        for(var childCommands : commands) {
+            DeferredCommands.submit(childCommands);
+        }
     }
 
     /**
-     * Called every time there is an input event while this node is inside the scene tree.
-     * Iterates through the children of this node and calls {@code input} on each of them.
+     * Called at a fixed rate while this node is inside the scene tree.
+     * The rate is set with the {@code application.run.fixedTickRate} property.
      * <p>
-     *     This method is package-protected to ensure users cannot replace a node's functionality when overriding {@link Node#onInput(InputEvent)}.
+     *     Unlike {@link Node#onUpdate(float)}, this method is always called with the same delta time, which makes it suitable for code that needs to be deterministic, such as physics.
+     *     It may be called more than once or not at all in a single frame.
      * </p>
+     * <p>
+     *     Changes to the transform of 2D and 3D nodes made in this method are interpolated between the last two fixed updates when the node is rendered.
+     * </p>
+     *
+     * @param deltaTime The time between two fixed updates.
+     */
+    protected void onFixedUpdate(float deltaTime) {
+
+    }
+
+    /**
+     * Called every time there is an input event while this node is inside the scene tree.
      *
      * @param event The input event.
      */
-    void input(InputEvent event) {
-        for(var child : this.children) {
-            child.input(event);
-        }
-        this.onInput(event);
+    protected void onInput(InputEvent event) {
+
     }
 
     /**
@@ -137,6 +204,7 @@ public class Node {
      * </p>
      */
     void exitTree() {
+        this.sceneTree.nodeExited();
         for(var child : this.children) {
             child.exitTree();
         }
@@ -223,6 +291,9 @@ public class Node {
      */
     public final void addChild(Node node) {
         this.checkValidChild(node);
+        if(DeferredCommands.defer(() -> this.addChild(node))) {
+            return;
+        }
         this.children.add(node);
         node.parent = this;
         if(this.isInsideTree()) {
@@ -231,13 +302,28 @@ public class Node {
     }
 
     /**
-     * Returns a view of the children of this node.
-     * If nodes are added or removed from the returned list, they won't be removed from the scene or added to it.
+     * Returns a read-only view of the children of this node.
+     * The returned list reflects later changes to the children of this node and cannot be modified.
+     * <p>
+     *     Use {@link Node#addChild(Node)} and {@link Node#removeFromTree()} to add or remove children.
+     *     Adding or removing children while iterating the returned list throws a {@link java.util.ConcurrentModificationException}.
+     * </p>
      *
-     * @return A view of the children of this node.
+     * @return A read-only view of the children of this node.
      */
     public final List<Node> children() {
-        return new ArrayList<>(this.children);
+        return this.childrenView;
+    }
+
+    /**
+     * Returns the child at the given index without checking for negative indices.
+     * Used internally to iterate through the children of a node without allocating an iterator or a list.
+     *
+     * @param index The index of the child.
+     * @return The child at the given index.
+     */
+    Node childAt(int index) {
+        return this.children.get(index);
     }
 
     /**
@@ -268,6 +354,9 @@ public class Node {
      */
     public final void addChild(Node node, int index) {
         this.checkValidChild(node);
+        if(DeferredCommands.defer(() -> this.addChild(node, index))) {
+            return;
+        }
         if(index > this.childCount() || index < -this.childCount() - 1) {
             throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + this.childCount());
         }
@@ -290,6 +379,9 @@ public class Node {
      * </p>
      */
     public final void removeFromTree() {
+        if(DeferredCommands.defer(this::removeFromTree)) {
+            return;
+        }
         // Remove this node from the scene tree
         if(this.isInsideTree()) {
             this.exitTree();
@@ -306,6 +398,7 @@ public class Node {
      * <p>
      *     This method is equivalent to removing the node from the scene and adding it again to the given parent.
      *     Calls {@link Node#removeFromTree()} and {@link Node#addChild(Node)} in this order.
+     *     If the current thread is recording deferred commands, both calls are deferred together.
      * </p>
      *
      * @param parent The new parent of this node.
@@ -313,6 +406,10 @@ public class Node {
      * @throws IllegalArgumentException If this node cannot be added as a child of the given node.
      */
     public final void setParent(Node parent) {
+        Objects.requireNonNull(parent, "Cannot set the parent of " + this + " to null");
+        if(DeferredCommands.defer(() -> this.setParent(parent))) {
+            return;
+        }
         this.removeFromTree();
         parent.addChild(this);
     }
@@ -409,6 +506,36 @@ public class Node {
         this.name = Objects.requireNonNull(name, "The given name cannot be null");
     }
 
+    /**
+     * Sets whether the children of this node should be updated in parallel.
+     * <p>
+     *     If enabled, every child of this node and its subtree is updated as a separate job on a worker thread of the {@link JobSystem}.
+     *     This node's {@link Node#onUpdate(float)} is still called after all its children have been updated.
+     *     Fixed updates and input events are not affected.
+     * </p>
+     * <p>
+     *     Only enable this if the subtrees are independent from each other: their {@code onUpdate} methods must only access the state of their own subtree.
+     *     Calls to the rendering server and changes to the scene tree are deferred and run on the main thread once all children have been updated.
+     * </p>
+     *
+     * @param parallelChildren True to update the children of this node in parallel, otherwise false.
+     */
+    public final void setParallelChildren(boolean parallelChildren) {
+        this.parallelChildren = parallelChildren;
+        if(this.isInsideTree()) {
+            this.sceneTree.subtreeChanged(this);
+        }
+    }
+
+    /**
+     * Checks if the children of this node are updated in parallel.
+     *
+     * @return True if the children of this node are updated in parallel, otherwise false.
+     */
+    public final boolean parallelChildren() {
+        return this.parallelChildren;
+    }
+
     /**
      * Getter method for {@link Node#name}.
      * Can be an empty string.
@@ -488,11 +615,17 @@ public class Node {
      * @throws IndexOutOfBoundsException If the given index is out of range.
      */
     public final boolean setSiblingIndex(int index) {
+        if(this.parent != null && DeferredCommands.defer(() -> this.setSiblingIndex(index))) {
+            return true;
+        }
         if(this.parent != null) {
             if(index >= this.parent.childCount() || index < -this.parent.childCount()) {
                 throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + this.parent.childCount());
             }
             this.parent.children.remove(this);
+            if(this.isInsideTree()) {
+                this.sceneTree.subtreeChanged(this);
+            }
             if(index < 0) {
                 this.parent.children.add(this.parent.childCount() + 1 + index, this);
             } else {
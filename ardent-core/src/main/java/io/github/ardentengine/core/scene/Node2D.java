@@ -1,5 +1,6 @@
 package io.github.ardentengine.core.scene;
 
+import io.github.ardentengine.core.jobs.DeferredCommands;
 import io.github.ardentengine.core.math.Matrix2x3;
 import io.github.ardentengine.core.math.Vector2;
 
@@ -35,11 +36,17 @@ public class Node2D extends Node {
     private Matrix2x3 localTransform = null;
     /** Cached global transform. */
     private Matrix2x3 globalTransform = null;
+    /** Global transform before the last fixed update that changed it or null if this node's transform is not interpolated. */
+    private Matrix2x3 previousTransform = null;
 
     @Override
     void exitTree() {
         this.localTransform = null;
         this.globalTransform = null;
+        if(this.previousTransform != null) {
+            this.sceneTree().removeInterpolatedNode(this);
+            this.previousTransform = null;
+        }
         super.exitTree();
     }
 
@@ -57,16 +64,32 @@ public class Node2D extends Node {
      */
     private void invalidateTransform() {
         if(this.globalTransform != null) {
+            // The transform before the first change in a fixed update is kept to interpolate from it
+            if(this.previousTransform == null && this.isInsideTree() && this.sceneTree().isInFixedUpdate()) {
+                this.previousTransform = this.globalTransform;
+                this.sceneTree().addInterpolatedNode(this);
+            }
             this.localTransform = null;
             this.globalTransform = null;
-            for(var child : this.children()) {
-                if(child instanceof Node2D) {
-                    ((Node2D) child).invalidateTransform();
+            this.transformChanged();
+            for(var i = 0; i < this.childCount(); i++) {
+                if(this.childAt(i) instanceof Node2D child) {
+                    child.invalidateTransform();
                 }
             }
         }
     }
 
+    /**
+     * Called when this node's global transform is invalidated.
+     * <p>
+     *     This method is package-protected to allow internal nodes to be notified when their transform changes.
+     * </p>
+     */
+    void transformChanged() {
+
+    }
+
     /**
      * Getter method for {@link Node2D#position)}.
      * Returns the position of this node relative to its parent.
@@ -344,6 +367,52 @@ public class Node2D extends Node {
         return this.globalTransform = this.localTransform();
     }
 
+    /**
+     * Returns this node's global transform interpolated between the last two fixed updates.
+     * <p>
+     *     If this node's transform was changed during the last fixed update, the returned transform is interpolated between the transform before and after that update,
+     *     according to the time elapsed since then, so that the node moves smoothly even if fixed updates run at a lower rate than frames.
+     *     Otherwise, this method is equivalent to {@link Node2D#globalTransform()}.
+     * </p>
+     * <p>
+     *     Used when the node is rendered.
+     *     The matrices are interpolated component-wise, which is accurate for the small changes that happen in a single fixed update.
+     * </p>
+     *
+     * @return This node's interpolated global transform.
+     */
+    public final Matrix2x3 interpolatedTransform() {
+        if(this.previousTransform != null && this.isInsideTree()) {
+            return this.previousTransform.lerp(this.globalTransform(), this.sceneTree().interpolationFraction());
+        }
+        return this.globalTransform();
+    }
+
+    /**
+     * Starts interpolating this node's transform from its current global transform or stops interpolating it if it did not change.
+     * <p>
+     *     Called by the scene tree before every fixed update on the nodes whose transform was changed during the previous one.
+     *     The transform at the start of the fixed update is kept even if it is not read before the node changes again,
+     *     so that nodes keep moving smoothly on frames that run more than one fixed update.
+     * </p>
+     *
+     * @return True if this node's transform is still interpolated, otherwise false.
+     */
+    boolean restartInterpolation() {
+        if(this.previousTransform == null || !this.isInsideTree()) {
+            this.previousTransform = null;
+            return false;
+        }
+        var transform = this.globalTransform();
+        // The cached transform is the same instance if it did not change during the previous fixed update
+        if(transform == this.previousTransform) {
+            this.previousTransform = null;
+            return false;
+        }
+        this.previousTransform = transform;
+        return true;
+    }
+
     /**
      * Returns the global position of this node.
      *
@@ -568,6 +637,7 @@ public class Node2D extends Node {
      * </p>
      * <p>
      *     If {@code keepTransform} is true, this node will preserve its global transform.
+     *     If the current thread is recording deferred commands, the whole change is deferred.
      * </p>
      *
      * @param parent The new parent of this node.
@@ -576,6 +646,11 @@ public class Node2D extends Node {
      * @throws IllegalArgumentException If this node cannot be added as a child of the given node.
      */
     public final void setParent(Node parent, boolean keepTransform) {
+        Objects.requireNonNull(parent, "Cannot set the parent of " + this + " to null");
+        // The global transform is only read once the node is moved, so that it is not applied before the node is removed from its current parent
+        if(DeferredCommands.defer(() -> this.setParent(parent, keepTransform))) {
+            return;
+        }
         if(keepTransform) {
             var transform = this.globalTransform();
             this.setParent(parent);
@@ -1,5 +1,6 @@
 package io.github.ardentengine.core.scene;
 
+import io.github.ardentengine.core.jobs.DeferredCommands;
 import io.github.ardentengine.core.math.*;
 
 import java.util.Objects;
@@ -12,8 +13,10 @@ public class Node3D extends Node {
 
     /** Position of this node relative to its parent. */
     private Vector3 position = Vector3.ZERO;
-    /**Rotation in radians of this node relative to its parent. */
-    private Vector3 rotation = Vector3.ZERO;
+    /** Rotation of this node relative to its parent. */
+    private Quaternion rotation = Quaternion.IDENTITY;
+    /** Rotation in radians of this node as euler angles in the {@code XYZ} order or null if it needs to be computed from the quaternion. */
+    private Vector3 eulerRotation = Vector3.ZERO;
     /** Scale of this node. */
     private Vector3 scale = Vector3.ONE;
 
@@ -21,6 +24,13 @@ public class Node3D extends Node {
     private Matrix3x4 localTransform = null;
     /** Cached global transform. */
     private Matrix3x4 globalTransform = null;
+    /** Global transform before the last fixed update that changed it or null if this node's transform is not interpolated. */
+    private Matrix3x4 previousTransform = null;
+
+    /** The store that holds this node's transform while it is inside a scene tree with batched transforms or null if its transform is held by this node. */
+    private TransformStore transformStore = null;
+    /** This node's slot in the transform store. */
+    private int transformSlot = -1;
 
     /**
      * Private method used to invalidate this node's transform when its position, rotation, or scale are changed.
@@ -32,26 +42,157 @@ public class Node3D extends Node {
      * </p>
      * <p>
      *     Calling this method has no effect if this node's transform is already invalid.
+     *     If this node's transform is held by a {@link TransformStore}, its slot is marked as changed and its descendants are updated when the store is updated.
      * </p>
      */
     private void invalidateTransform() {
-        if(this.globalTransform != null) {
+        if(this.transformStore != null) {
+            this.transformStore.markChanged(this.transformSlot);
+        } else if(this.globalTransform != null) {
+            // The transform before the first change in a fixed update is kept to interpolate from it
+            if(this.previousTransform == null && this.isInsideTree() && this.sceneTree().isInFixedUpdate()) {
+                this.previousTransform = this.globalTransform;
+                this.sceneTree().addInterpolatedNode(this);
+            }
             this.localTransform = null;
             this.globalTransform = null;
-            for(var child : this.children()) {
-                if(child instanceof Node3D) {
-                    ((Node3D) child).invalidateTransform();
+            this.transformChanged();
+            for(var i = 0; i < this.childCount(); i++) {
+                if(this.childAt(i) instanceof Node3D child) {
+                    child.invalidateTransform();
                 }
             }
         }
     }
 
+    /**
+     * Called when this node's global transform is invalidated.
+     * <p>
+     *     This method is package-protected to allow internal nodes to be notified when their transform changes.
+     * </p>
+     */
+    void transformChanged() {
+
+    }
+
+    /**
+     * Called by the transform store when this node's transform is recomputed.
+     * Clears the cached transforms.
+     */
+    void storedTransformRecomputed() {
+        this.localTransform = null;
+        this.globalTransform = null;
+    }
+
+    /**
+     * Called by the transform store when it is updated if this node's transform has changed since the previous update.
+     * Clears the cached transforms and notifies internal nodes.
+     */
+    void storedTransformChanged() {
+        this.storedTransformRecomputed();
+        this.transformChanged();
+    }
+
+    /**
+     * Called by the transform store when this node's transform changes during a fixed update.
+     * Keeps the transform before the first change to interpolate from it.
+     *
+     * @param transform The global transform before the change.
+     */
+    void keepPreviousTransform(Matrix3x4 transform) {
+        if(this.previousTransform == null && this.isInsideTree()) {
+            this.previousTransform = transform;
+            this.sceneTree().addInterpolatedNode(this);
+        }
+    }
+
+    /**
+     * Called by the transform store when this node is moved to a different slot.
+     *
+     * @param slot The new slot.
+     */
+    void setTransformSlot(int slot) {
+        this.transformSlot = slot;
+    }
+
+    @Override
+    void enterTree(SceneTree sceneTree) {
+        var store = sceneTree.transformStore();
+        if(store != null) {
+            var parentSlot = this.parent() instanceof Node3D parent && parent.transformStore == store ? parent.transformSlot : -1;
+            this.transformSlot = store.add(this, parentSlot, this.position, this.rotation, this.scale);
+            this.transformStore = store;
+        }
+        super.enterTree(sceneTree);
+    }
+
     @Override
     void exitTree() {
-        this.invalidateTransform();
+        if(this.transformStore != null) {
+            // The transform is held by this node again once it leaves the store
+            this.position = this.transformStore.position(this.transformSlot);
+            this.rotation = this.transformStore.rotation(this.transformSlot);
+            this.scale = this.transformStore.scale(this.transformSlot);
+            this.transformStore.remove(this.transformSlot);
+            this.transformStore = null;
+            this.transformSlot = -1;
+            this.storedTransformChanged();
+        } else {
+            this.invalidateTransform();
+        }
+        if(this.previousTransform != null) {
+            this.sceneTree().removeInterpolatedNode(this);
+            this.previousTransform = null;
+        }
         super.exitTree();
     }
 
+    /**
+     * Private method used to set this node's position and invalidate its transform.
+     *
+     * @param x Position on the x axis.
+     * @param y Position on the y axis.
+     * @param z Position on the z axis.
+     */
+    private void updatePosition(float x, float y, float z) {
+        if(this.transformStore != null) {
+            this.transformStore.setPosition(this.transformSlot, x, y, z);
+        } else {
+            this.position = new Vector3(x, y, z);
+            this.invalidateTransform();
+        }
+    }
+
+    /**
+     * Private method used to set this node's rotation and invalidate its transform.
+     *
+     * @param rotation Rotation quaternion.
+     */
+    private void updateRotation(Quaternion rotation) {
+        if(this.transformStore != null) {
+            this.transformStore.setRotation(this.transformSlot, rotation);
+        } else {
+            this.rotation = rotation;
+            this.invalidateTransform();
+        }
+    }
+
+    /**
+     * Private method used to set this node's scale and invalidate its transform.
+     *
+     * @param x Scale on the x axis.
+     * @param y Scale on the y axis.
+     * @param z Scale on the z axis.
+     */
+    private void updateScale(float x, float y, float z) {
+        if(this.transformStore != null) {
+            this.transformStore.setScale(this.transformSlot, x, y, z);
+        } else {
+            this.scale = new Vector3(x, y, z);
+            this.invalidateTransform();
+        }
+    }
+
     /**
      * Getter method for {@link Node3D#position)}.
      * Returns the position of this node relative to its parent.
@@ -59,7 +200,7 @@ public class Node3D extends Node {
      * @return The position of this node relative to its parent.
      */
     public final Vector3 position() {
-        return this.position;
+        return this.transformStore != null ? this.transformStore.position(this.transformSlot) : this.position;
     }
 
     /**
@@ -73,9 +214,8 @@ public class Node3D extends Node {
      */
     public final void setPosition(Vector3 position) {
         Objects.requireNonNull(position, "Position cannot be null");
-        if(!this.position.equals(position)) {
-            this.position = position;
-            this.invalidateTransform();
+        if(!this.position().equals(position)) {
+            this.updatePosition(position.x(), position.y(), position.z());
         }
     }
 
@@ -90,9 +230,8 @@ public class Node3D extends Node {
      * @see Node3D#setPosition(Vector3)
      */
     public final void setPosition(float x, float y, float z) {
-        if(!this.position.equals(x, y, z)) {
-            this.position = new Vector3(x, y, z);
-            this.invalidateTransform();
+        if(!this.position().equals(x, y, z)) {
+            this.updatePosition(x, y, z);
         }
     }
 
@@ -107,8 +246,8 @@ public class Node3D extends Node {
     public final void translate(Vector3 offset) {
         Objects.requireNonNull(offset, "Offset cannot be null");
         if(!offset.equals(0.0f, 0.0f, 0.0f)) {
-            this.position = this.position.plus(offset);
-            this.invalidateTransform();
+            var position = this.position();
+            this.updatePosition(position.x() + offset.x(), position.y() + offset.y(), position.z() + offset.z());
         }
     }
 
@@ -123,13 +262,16 @@ public class Node3D extends Node {
      */
     public final void translate(float x, float y, float z) {
         if(x != 0.0f || y != 0.0f || z != 0.0f) {
-            this.position = this.position.plus(x, y, z);
-            this.invalidateTransform();
+            var position = this.position();
+            this.updatePosition(position.x() + x, position.y() + y, position.z() + z);
         }
     }
 
     public final Vector3 rotation() {
-        return this.rotation;
+        if(this.eulerRotation == null) {
+            this.eulerRotation = EulerOrder.XYZ.toEulerAngles(this.quaternion());
+        }
+        return this.eulerRotation;
     }
 
     public final Vector3 rotationDegrees() {
@@ -140,28 +282,35 @@ public class Node3D extends Node {
         );
     }
 
-    // TODO: Rotation quaternion
+    /**
+     * Returns the rotation of this node relative to its parent as a quaternion.
+     *
+     * @return The rotation of this node relative to its parent.
+     */
+    public final Quaternion quaternion() {
+        return this.transformStore != null ? this.transformStore.rotation(this.transformSlot) : this.rotation;
+    }
 
     public final void setRotation(float x, float y, float z) {
-        if(!this.rotation.equals(x, y, z)) {
-            this.rotation = new Vector3(x, y, z);
-            this.invalidateTransform();
+        if(!this.rotation().equals(x, y, z)) {
+            this.eulerRotation = new Vector3(x, y, z);
+            this.updateRotation(EulerOrder.XYZ.toQuaternion(x, y, z));
         }
     }
 
     public final void setRotation(Vector3 rotation) {
         Objects.requireNonNull(rotation, "Rotation cannot be null");
-        if(!this.rotation.equals(rotation)) {
-            this.rotation = rotation;
-            this.invalidateTransform();
+        if(!this.rotation().equals(rotation)) {
+            this.eulerRotation = rotation;
+            this.updateRotation(EulerOrder.XYZ.toQuaternion(rotation));
         }
     }
 
     public final void setRotationDegrees(float x, float y, float z) {
         this.setRotation(
-            (float) Math.toDegrees(x),
-            (float) Math.toDegrees(y),
-            (float) Math.toDegrees(z)
+            (float) Math.toRadians(x),
+            (float) Math.toRadians(y),
+            (float) Math.toRadians(z)
         );
     }
 
@@ -170,28 +319,38 @@ public class Node3D extends Node {
         this.setRotationDegrees(rotation.x(), rotation.y(), rotation.z());
     }
 
-    // TODO: Set quaternion
+    /**
+     * Sets the rotation of this node relative to its parent as a quaternion.
+     *
+     * @param rotation The rotation of this node relative to its parent. Must be a unit quaternion.
+     * @throws NullPointerException If the given rotation is null.
+     */
+    public final void setQuaternion(Quaternion rotation) {
+        Objects.requireNonNull(rotation, "Rotation cannot be null");
+        if(!this.quaternion().equals(rotation)) {
+            this.eulerRotation = null;
+            this.updateRotation(rotation);
+        }
+    }
 
     public final void rotate(float x, float y, float z) {
         if(x != 0.0f || y != 0.0f || z != 0.0f) {
-            this.rotation = this.rotation.plus(x, y, z);
-            this.invalidateTransform();
+            this.setRotation(this.rotation().plus(x, y, z));
         }
     }
 
     public final void rotate(Vector3 rotation) {
         Objects.requireNonNull(rotation, "Rotation cannot be null");
         if(!rotation.equals(0.0f, 0.0f, 0.0f)) {
-            this.rotation = this.rotation.plus(rotation);
-            this.invalidateTransform();
+            this.setRotation(this.rotation().plus(rotation));
         }
     }
 
     public final void rotateDegrees(float x, float y, float z) {
         this.rotate(
-            (float) Math.toDegrees(x),
-            (float) Math.toDegrees(y),
-            (float) Math.toDegrees(z)
+            (float) Math.toRadians(x),
+            (float) Math.toRadians(y),
+            (float) Math.toRadians(z)
         );
     }
 
@@ -200,7 +359,19 @@ public class Node3D extends Node {
         this.rotateDegrees(rotation.x(), rotation.y(), rotation.z());
     }
 
-    // TODO: Rotate quaternion
+    /**
+     * Rotates this node by the given quaternion.
+     * The rotation is applied in the parent's coordinates, after this node's current rotation.
+     *
+     * @param rotation The rotation to apply. Must be a unit quaternion.
+     * @throws NullPointerException If the given rotation is null.
+     */
+    public final void rotate(Quaternion rotation) {
+        Objects.requireNonNull(rotation, "Rotation cannot be null");
+        if(!rotation.equals(Quaternion.IDENTITY)) {
+            this.setQuaternion(rotation.multiply(this.quaternion()).normalized());
+        }
+    }
 
     /**
      * Getter method for {@link Node3D#scale}.
@@ -209,7 +380,7 @@ public class Node3D extends Node {
      * @return The scale of this node.
      */
     public final Vector3 scale() {
-        return this.scale;
+        return this.transformStore != null ? this.transformStore.scale(this.transformSlot) : this.scale;
     }
 
     /**
@@ -223,9 +394,8 @@ public class Node3D extends Node {
      */
     public final void setScale(Vector3 scale) {
         Objects.requireNonNull(scale, "Scale cannot be null");
-        if(!this.scale.equals(scale)) {
-            this.scale = scale;
-            this.invalidateTransform();
+        if(!this.scale().equals(scale)) {
+            this.updateScale(scale.x(), scale.y(), scale.z());
         }
     }
 
@@ -240,9 +410,8 @@ public class Node3D extends Node {
      * @see Node3D#setScale(Vector3)
      */
     public final void setScale(float x, float y, float z) {
-        if(!this.scale.equals(x, y, z)) {
-            this.scale = new Vector3(x, y, z);
-            this.invalidateTransform();
+        if(!this.scale().equals(x, y, z)) {
+            this.updateScale(x, y, z);
         }
     }
 
@@ -257,8 +426,8 @@ public class Node3D extends Node {
     public final void applyScale(Vector3 scale) {
         Objects.requireNonNull(scale, "Scale cannot be null");
         if(!scale.equals(1.0f, 1.0f, 1.0f)) {
-            this.scale = this.scale.multiply(scale);
-            this.invalidateTransform();
+            var current = this.scale();
+            this.updateScale(current.x() * scale.x(), current.y() * scale.y(), current.z() * scale.z());
         }
     }
 
@@ -273,8 +442,8 @@ public class Node3D extends Node {
      */
     public final void applyScale(float x, float y, float z) {
         if(x != 1.0f || y != 1.0f || z != 1.0f) {
-            this.scale = this.scale.multiply(x, y, z);
-            this.invalidateTransform();
+            var current = this.scale();
+            this.updateScale(current.x() * x, current.y() * y, current.z() * z);
         }
     }
 
@@ -284,12 +453,16 @@ public class Node3D extends Node {
      * @return This node's local transform as a 3x4 transformation matrix.
      */
     public final Matrix3x4 localTransform() {
+        if(this.transformStore != null) {
+            // Resolving the slot clears the cached transforms of this node and its ancestors if they have changed
+            this.transformStore.resolve(this.transformSlot);
+        }
         if(this.localTransform != null) {
             return this.localTransform;
+        } else if(this.transformStore != null) {
+            return this.localTransform = this.transformStore.localTransform(this.transformSlot);
         }
-        return this.localTransform = Matrix3x4.translation(this.position())
-            .multiply(Matrix4.rotation(this.rotation()))
-            .multiply(Matrix4.scaling(this.scale()));
+        return this.localTransform = Matrix3x4.transform(this.position(), this.quaternion(), this.scale());
     }
 
     /**
@@ -301,14 +474,68 @@ public class Node3D extends Node {
      * @return This node's global transform as a 3x4 transformation matrix.
      */
     public final Matrix3x4 globalTransform() {
+        if(this.transformStore != null) {
+            // Resolving the slot clears the cached transforms of this node and its ancestors if they have changed
+            this.transformStore.resolve(this.transformSlot);
+        }
         if(this.globalTransform != null) {
             return this.globalTransform;
+        } else if(this.transformStore != null) {
+            return this.globalTransform = this.transformStore.globalTransform(this.transformSlot);
         } else if(this.parent() instanceof Node3D parent) {
             return this.globalTransform = parent.globalTransform().multiply(this.localTransform(), 0.0f, 0.0f, 0.0f, 1.0f);
         }
         return this.globalTransform = this.localTransform();
     }
 
+    /**
+     * Returns this node's global transform interpolated between the last two fixed updates.
+     * <p>
+     *     If this node's transform was changed during the last fixed update, the returned transform is interpolated between the transform before and after that update,
+     *     according to the time elapsed since then, so that the node moves smoothly even if fixed updates run at a lower rate than frames.
+     *     Otherwise, this method is equivalent to {@link Node3D#globalTransform()}.
+     * </p>
+     * <p>
+     *     Used when the node is rendered.
+     *     The matrices are interpolated component-wise, which is accurate for the small changes that happen in a single fixed update.
+     * </p>
+     *
+     * @return This node's interpolated global transform.
+     */
+    public final Matrix3x4 interpolatedTransform() {
+        if(this.previousTransform != null && this.isInsideTree()) {
+            return this.previousTransform.lerp(this.globalTransform(), this.sceneTree().interpolationFraction());
+        }
+        return this.globalTransform();
+    }
+
+    /**
+     * Starts interpolating this node's transform from its current global transform or stops interpolating it if it did not change.
+     * <p>
+     *     Called by the scene tree before every fixed update on the nodes whose transform was changed during the previous one.
+     *     The transform at the start of the fixed update is kept even if it is not read before the node changes again,
+     *     so that nodes keep moving smoothly on frames that run more than one fixed update.
+     *     Internal nodes are notified so that the exact transform is sent to the rendering server once the node stops being interpolated.
+     * </p>
+     *
+     * @return True if this node's transform is still interpolated, otherwise false.
+     */
+    boolean restartInterpolation() {
+        if(this.previousTransform == null || !this.isInsideTree()) {
+            this.previousTransform = null;
+            return false;
+        }
+        var transform = this.globalTransform();
+        // The cached transform is the same instance if it did not change during the previous fixed update
+        if(transform == this.previousTransform) {
+            this.previousTransform = null;
+            this.transformChanged();
+            return false;
+        }
+        this.previousTransform = transform;
+        return true;
+    }
+
     /**
      * Returns the global position of this node.
      *
@@ -375,10 +602,12 @@ public class Node3D extends Node {
         Objects.requireNonNull(transform, "Transform cannot be null");
         this.setPosition(transform.m03(), transform.m13(), transform.m23());
         var basis = new Matrix3(transform.m00(), transform.m01(), transform.m02(), transform.m10(), transform.m11(), transform.m12(), transform.m20(), transform.m21(), transform.m22());
-        // TODO: Add a better implementation for this
-        this.setRotation(EulerOrder.ZYX.toEulerAngles(basis));
         var sign = Math.signum(basis.determinant());
-        this.setScale(basis.column0().length() * sign, basis.column1().length() * sign, basis.column2().length() * sign);
+        var scale = new Vector3(basis.column0().length() * sign, basis.column1().length() * sign, basis.column2().length() * sign);
+        // The scale is removed from the basis to get a pure rotation matrix
+        var rotation = Matrix3.fromColumns(basis.column0().divide(scale.x()), basis.column1().divide(scale.y()), basis.column2().divide(scale.z()));
+        this.setQuaternion(EulerOrder.XYZ.toQuaternion(rotation));
+        this.setScale(scale);
     }
 
     /**
@@ -410,6 +639,7 @@ public class Node3D extends Node {
      * </p>
      * <p>
      *     If {@code keepTransform} is true, this node will preserve its global transform.
+     *     If the current thread is recording deferred commands, the whole change is deferred.
      * </p>
      *
      * @param parent The new parent of this node.
@@ -418,6 +648,11 @@ public class Node3D extends Node {
      * @throws IllegalArgumentException If this node cannot be added as a child of the given node.
      */
     public final void setParent(Node parent, boolean keepTransform) {
+        Objects.requireNonNull(parent, "Cannot set the parent of " + this + " to null");
+        // The global transform is only read once the node is moved, so that it is not applied before the node is removed from its current parent
+        if(DeferredCommands.defer(() -> this.setParent(parent, keepTransform))) {
+            return;
+        }
         if(keepTransform) {
             var transform = this.globalTransform();
             this.setParent(parent);
@@ -493,8 +728,7 @@ public class Node3D extends Node {
         // TODO: The target vector and up vector can't be parallel to each other
         var vy = vz.cross(vx);
         var basis = Matrix3.fromColumns(vx, vy, vz);
-        // TODO: Add a Quatf#fromEuler(Matrix3) method
-        this.rotation = EulerOrder.ZYX.toEulerAngles(basis);
+        this.setQuaternion(EulerOrder.XYZ.toQuaternion(basis));
     }
 
     public final void lookAtFromPosition(Vector3 position, Vector3 target) {
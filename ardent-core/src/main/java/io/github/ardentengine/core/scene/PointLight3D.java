@@ -10,8 +10,8 @@ public class PointLight3D extends Node3D {
     // TODO: Finish 3D lighting
 
     @Override
-    void update(float deltaTime) {
+    void updateSelf(float deltaTime) {
         RenderingServer.getInstance().updateLight(this);
-        super.update(deltaTime);
+        super.updateSelf(deltaTime);
     }
 }
\ No newline at end of file
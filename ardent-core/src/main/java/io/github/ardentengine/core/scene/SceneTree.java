@@ -5,21 +5,99 @@ import io.github.ardentengine.core.ApplicationProperties;
 import io.github.ardentengine.core.EngineSystem;
 import io.github.ardentengine.core.input.Input;
 import io.github.ardentengine.core.input.InputEvent;
+import io.github.ardentengine.core.jobs.DeferredCommands;
+import io.github.ardentengine.core.math.Rect2;
 import io.github.ardentengine.core.resources.SceneResource;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
 /**
  * Class representing the currently running scene.
  */
 public final class SceneTree extends EngineSystem {
 
+    /** Comparator used to draw 2D visual instances in the order in which they entered the scene tree. */
+    private static final Comparator<VisualInstance2D> DRAW_ORDER = Comparator.comparingInt(VisualInstance2D::drawOrder);
+
+    /** Caches whether nodes of a class need to be updated every frame because the class overrides {@link Node#onUpdate(float)}. */
+    private static final ClassValue<Boolean> NEEDS_UPDATE = overrides(float.class, "onUpdate", "updateSelf");
+    /** Caches whether nodes of a class need fixed updates because the class overrides {@link Node#onFixedUpdate(float)}. */
+    private static final ClassValue<Boolean> NEEDS_FIXED_UPDATE = overrides(float.class, "onFixedUpdate");
+    /** Caches whether nodes of a class need to receive input events because the class overrides {@link Node#onInput(InputEvent)}. */
+    private static final ClassValue<Boolean> NEEDS_INPUT = overrides(InputEvent.class, "onInput");
+
     /** The root of the current scene. */
     private Node root = null;
     /** Time elapsed since the previous update in nanoseconds. */
     private long previousTime = 0L;
 
+    /** Time between two fixed updates in nanoseconds or zero if fixed updates are disabled. */
+    private long fixedTimeStep = 1_000_000_000L / 60;
+    /** Maximum number of fixed updates per frame. Time that could not be simulated is dropped to keep the application from falling further behind. */
+    private int maxFixedUpdates = 8;
+    /** Time in nanoseconds accumulated since the last fixed update. */
+    private long accumulatedTime = 0L;
+    /** True while fixed updates are running. */
+    private boolean inFixedUpdate = false;
+    /** Fraction of the fixed time step elapsed since the last fixed update. */
+    private float interpolationFraction = 1.0f;
+    /** 2D nodes whose transform was changed during the last fixed update. */
+    private final ArrayList<Node2D> interpolatedNodes2D = new ArrayList<>();
+    /** 3D nodes whose transform was changed during the last fixed update. */
+    private final ArrayList<Node3D> interpolatedNodes3D = new ArrayList<>();
+
+    /** Nodes that need to be updated every frame in the order in which they are updated. */
+    private ArrayList<Node> updateList = new ArrayList<>();
+    /** Nodes that need fixed updates in the order in which they are updated. */
+    private ArrayList<Node> fixedUpdateList = new ArrayList<>();
+    /** Nodes that need to receive input events in the order in which they receive them. */
+    private ArrayList<Node> inputList = new ArrayList<>();
+    /** The node from which the update lists were built or null if they have not been built yet. */
+    private Node nodeListsRoot = null;
+    /** True if a node has exited the scene tree since the update lists were built. */
+    private boolean nodeListsDirty = false;
+    /** Nodes that have entered the scene tree since the update lists were built. */
+    private final ArrayList<Node> enteredNodes = new ArrayList<>();
+    /** Nodes whose subtree has moved or whose children have changed between sequential and parallel updates since the update lists were built. */
+    private final ArrayList<Node> changedSubtrees = new ArrayList<>();
+
+    /** Store holding the transforms of all 3D nodes in the scene or null if transforms are held by the nodes themselves. */
+    private TransformStore transformStore = null;
+
     /** Scene to change to when {@link SceneTree#changeScene(SceneResource)} is called. */
     private SceneResource nextScene = null;
 
+    /** Visual instances whose transform has changed and needs to be sent to the rendering server at the end of the frame. */
+    private final ArrayList<VisualInstance3D> transformUpdates = new ArrayList<>();
+    /** Spatial index containing the bounds of all visual instances in the scene. */
+    private final BoundingVolumeHierarchy<VisualInstance3D> spatialIndex3D = new BoundingVolumeHierarchy<>();
+
+    /** 2D visual instances whose bounds have changed and need to be updated in the spatial index at the end of the frame. */
+    private final ArrayList<VisualInstance2D> boundsUpdates = new ArrayList<>();
+    /** Spatial index containing the bounds of all 2D visual instances in the scene. */
+    private final LooseQuadtree<VisualInstance2D> spatialIndex2D = new LooseQuadtree<>(new Rect2(-32768.0f, -32768.0f, 32768.0f, 32768.0f), 7);
+    /** 2D visual instances inside the camera's view rectangle that are drawn at the end of the current frame. */
+    private final ArrayList<VisualInstance2D> visibleInstances = new ArrayList<>();
+    /** Bitmask of the render layers seen by the 2D camera during the current frame. */
+    private int cullMask2D = 0xFFFFFFFF;
+    /** Action used to collect the visual instances found in the spatial index that are in the camera's layers without creating a lambda every frame. */
+    private final Consumer<VisualInstance2D> addVisibleInstance = visualInstance -> {
+        if((visualInstance.layers() & this.cullMask2D) != 0) {
+            this.visibleInstances.add(visualInstance);
+        }
+    };
+    /** The 2D camera that was updated last or null if there is no 2D camera in the scene. */
+    private Camera2D camera2D = null;
+    /** Draw order assigned to the next 2D visual instance that enters the scene tree. */
+    private int nextDrawOrder = 0;
+
     // TODO: Tags/groups system
 
     /**
@@ -39,6 +117,9 @@ public final class SceneTree extends EngineSystem {
      * @param sceneResource The scene resource.
      */
     public void changeScene(SceneResource sceneResource) {
+        if(DeferredCommands.defer(() -> this.changeScene(sceneResource))) {
+            return;
+        }
         this.nextScene = sceneResource;
     }
 
@@ -68,6 +149,9 @@ public final class SceneTree extends EngineSystem {
         if(!mainScene.isEmpty()) {
             this.changeScene(mainScene);
         }
+        this.setFixedTickRate(ApplicationProperties.getInt("application.run.fixedTickRate", 60));
+        this.maxFixedUpdates = ApplicationProperties.getInt("application.run.maxFixedUpdates", 8);
+        this.setBatchedTransforms(ApplicationProperties.getBoolean("scene.transforms.batched", false));
         this.previousTime = System.nanoTime();
     }
 
@@ -83,8 +167,29 @@ public final class SceneTree extends EngineSystem {
             }
         }
         if(this.root != null && this.root.isInsideTree()) {
+            // Run the fixed updates before the frame update so that the interpolation fraction is up to date
+            this.fixedUpdate(this.root, time - this.previousTime);
             // Update the current scene
-            this.root.update((time - this.previousTime) / 1_000_000_000.0f);
+            this.update(this.root, (time - this.previousTime) / 1_000_000_000.0f);
+            // Recompute the transforms that have changed during this frame in a single pass
+            if(this.transformStore != null) {
+                this.transformStore.update();
+            }
+            // Interpolated visual instances are sent to the rendering server every frame until the next fixed update
+            for(var i = 0; i < this.interpolatedNodes3D.size(); i++) {
+                this.interpolatedNodes3D.get(i).transformChanged();
+            }
+            // Send the transforms that have changed during this frame to the rendering server
+            for(var i = 0; i < this.transformUpdates.size(); i++) {
+                this.transformUpdates.get(i).updateInstanceTransform();
+            }
+            this.transformUpdates.clear();
+            // Update the bounds of 2D visual instances that have changed during this frame
+            for(var i = 0; i < this.boundsUpdates.size(); i++) {
+                this.boundsUpdates.get(i).updateBounds();
+            }
+            this.boundsUpdates.clear();
+            this.draw2D();
             // Exit the current scene if it was requested to change
             if(this.nextScene != null) {
                 this.root.exitTree();
@@ -96,14 +201,580 @@ public final class SceneTree extends EngineSystem {
         this.previousTime = time;
     }
 
+    /**
+     * Updates the nodes in the subtree of the given node that need to be updated every frame.
+     * <p>
+     *     Nodes are updated in the same order as if the tree was visited recursively, children first, then their parent.
+     *     Nodes that do not override {@link Node#onUpdate(float)} are skipped.
+     * </p>
+     *
+     * @param node The node to update.
+     * @param deltaTime The time elapsed since the previous frame.
+     */
+    void update(Node node, float deltaTime) {
+        this.updateNodeLists(node);
+        var nodes = this.updateList;
+        for(var i = 0; i < nodes.size(); i++) {
+            var current = nodes.get(i);
+            // Nodes may be removed from the scene by nodes that were updated before them
+            if(current.isInsideTree()) {
+                if(current.parallelChildren()) {
+                    current.update(deltaTime);
+                } else {
+                    current.updateSelf(deltaTime);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calls {@link Node#onFixedUpdate(float)} on the nodes in the subtree of the given node as many times as needed to catch up with the given elapsed time.
+     * <p>
+     *     The elapsed time is added to an accumulator from which one fixed time step is subtracted for every fixed update.
+     *     At most {@code application.run.maxFixedUpdates} fixed updates are run per frame.
+     *     If the application falls further behind, the remaining time is dropped instead of running more and more fixed updates every frame.
+     * </p>
+     *
+     * @param node The node to update.
+     * @param elapsedTime Time in nanoseconds elapsed since the previous frame.
+     */
+    void fixedUpdate(Node node, long elapsedTime) {
+        if(this.fixedTimeStep > 0L) {
+            this.accumulatedTime += elapsedTime;
+            var updates = 0;
+            while(this.accumulatedTime >= this.fixedTimeStep && updates < this.maxFixedUpdates) {
+                this.restartInterpolation();
+                this.inFixedUpdate = true;
+                this.updateNodeLists(node);
+                var nodes = this.fixedUpdateList;
+                for(var i = 0; i < nodes.size(); i++) {
+                    if(nodes.get(i).isInsideTree()) {
+                        nodes.get(i).onFixedUpdate(this.fixedTimeStep / 1_000_000_000.0f);
+                    }
+                }
+                // Transforms are recomputed before the end of the fixed update so that the previous ones are kept for interpolation
+                if(this.transformStore != null) {
+                    this.transformStore.update();
+                }
+                this.inFixedUpdate = false;
+                this.accumulatedTime -= this.fixedTimeStep;
+                updates++;
+            }
+            if(this.accumulatedTime >= this.fixedTimeStep) {
+                this.accumulatedTime %= this.fixedTimeStep;
+            }
+            this.interpolationFraction = (float) this.accumulatedTime / this.fixedTimeStep;
+        }
+    }
+
+    /**
+     * Records a node that has entered the scene tree so that it is added to the update lists.
+     * Called by nodes when they enter the scene tree.
+     *
+     * @param node The node that has entered the scene tree.
+     */
+    void nodeEntered(Node node) {
+        this.enteredNodes.add(node);
+    }
+
+    /**
+     * Marks the update lists as containing nodes that have exited the scene tree.
+     * Called by nodes when they exit the scene tree.
+     */
+    void nodeExited() {
+        this.nodeListsDirty = true;
+    }
+
+    /**
+     * Records a node whose subtree needs to be moved in the update lists.
+     * Called by nodes when their sibling index changes or when their children change between sequential and parallel updates.
+     *
+     * @param node The root of the subtree that has changed.
+     */
+    void subtreeChanged(Node node) {
+        this.changedSubtrees.add(node);
+    }
+
+    /**
+     * Updates the lists of nodes that need to be updated if the scene tree has changed since they were last updated.
+     * <p>
+     *     Only nodes whose class overrides {@link Node#onUpdate(float)}, {@link Node#onFixedUpdate(float)}, or {@link Node#onInput(InputEvent)} are added to the corresponding list.
+     *     This avoids visiting every node in the scene every frame when only a few of them need to be updated.
+     *     Nodes are added in the order in which they would be visited when updating the tree recursively, which is children first, then their parent.
+     * </p>
+     * <p>
+     *     The lists are only built from the whole tree when the root changes.
+     *     After that, nodes that have exited the tree are removed from the lists and nodes that have entered or moved are inserted at their position in the tree order,
+     *     without visiting the rest of the tree.
+     *     New lists are created every time so that lists that are being iterated are not changed.
+     * </p>
+     *
+     * @param root The node whose subtree should be in the lists.
+     */
+    private void updateNodeLists(Node root) {
+        if(this.nodeListsRoot != root) {
+            this.updateList = new ArrayList<>();
+            this.fixedUpdateList = new ArrayList<>();
+            this.inputList = new ArrayList<>();
+            this.addToNodeLists(root, false);
+            this.nodeListsRoot = root;
+            this.nodeListsDirty = false;
+            this.enteredNodes.clear();
+            this.changedSubtrees.clear();
+        } else if(this.nodeListsDirty || !this.enteredNodes.isEmpty() || !this.changedSubtrees.isEmpty()) {
+            var changed = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+            changed.addAll(this.enteredNodes);
+            for(var node : this.changedSubtrees) {
+                if(node.sceneTree() == this) {
+                    addSubtree(node, changed);
+                }
+            }
+            // Nodes that are still in the tree are inserted in the order in which they are updated
+            var added = new ArrayList<Node>();
+            for(var node : changed) {
+                if(node.sceneTree() == this && isInSubtree(node, root)) {
+                    added.add(node);
+                }
+            }
+            added.sort(SceneTree::compareTreeOrder);
+            this.updateList = this.mergeNodeList(this.updateList, changed, added, node -> (node.parallelChildren() || NEEDS_UPDATE.get(node.getClass())) && !isInParallelSubtree(node, root));
+            this.fixedUpdateList = this.mergeNodeList(this.fixedUpdateList, changed, added, node -> NEEDS_FIXED_UPDATE.get(node.getClass()));
+            this.inputList = this.mergeNodeList(this.inputList, changed, added, node -> NEEDS_INPUT.get(node.getClass()));
+            this.nodeListsDirty = false;
+            this.enteredNodes.clear();
+            this.changedSubtrees.clear();
+        }
+    }
+
+    /**
+     * Creates a new node list from the given one without the nodes that have exited the tree or changed, then inserts the changed nodes that belong to the list.
+     *
+     * @param list The current node list.
+     * @param changed Nodes that have entered the tree or moved since the list was created.
+     * @param added Changed nodes that are still in the tree, sorted in tree order.
+     * @param filter Predicate used to check if a changed node belongs to the list.
+     * @return The new node list.
+     */
+    private ArrayList<Node> mergeNodeList(ArrayList<Node> list, Set<Node> changed, List<Node> added, Predicate<Node> filter) {
+        var kept = new ArrayList<Node>(list.size());
+        for(var node : list) {
+            if(node.sceneTree() == this && !changed.contains(node)) {
+                kept.add(node);
+            }
+        }
+        var result = new ArrayList<Node>(kept.size() + added.size());
+        var from = 0;
+        for(var node : added) {
+            if(filter.test(node)) {
+                // Binary search for the first kept node that comes after this one
+                var low = from;
+                var high = kept.size();
+                while(low < high) {
+                    var middle = (low + high) >>> 1;
+                    if(compareTreeOrder(kept.get(middle), node) < 0) {
+                        low = middle + 1;
+                    } else {
+                        high = middle;
+                    }
+                }
+                result.addAll(kept.subList(from, low));
+                result.add(node);
+                from = low;
+            }
+        }
+        result.addAll(kept.subList(from, kept.size()));
+        return result;
+    }
+
+    /**
+     * Adds the given node and all its descendants to the given set.
+     *
+     * @param node The root of the subtree.
+     * @param nodes The set to add the nodes to.
+     */
+    private static void addSubtree(Node node, Set<Node> nodes) {
+        nodes.add(node);
+        for(var i = 0; i < node.childCount(); i++) {
+            addSubtree(node.childAt(i), nodes);
+        }
+    }
+
+    /**
+     * Checks if the given node is the given root or one of its descendants.
+     *
+     * @param node The node.
+     * @param root The root.
+     * @return True if the node is in the subtree of the root, otherwise false.
+     */
+    private static boolean isInSubtree(Node node, Node root) {
+        for(var current = node; current != null; current = current.parent()) {
+            if(current == root) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if one of the ancestors of the given node up to the given root updates its children in parallel.
+     * Such nodes are updated by their ancestor instead of being in the update list.
+     *
+     * @param node The node.
+     * @param root The root of the update lists.
+     * @return True if the node is in the subtree of a node whose children are updated in parallel, otherwise false.
+     */
+    private static boolean isInParallelSubtree(Node node, Node root) {
+        for(var current = node; current != root; ) {
+            current = current.parent();
+            if(current.parallelChildren()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compares two nodes in the same tree by the order in which they are updated, which is children first, then their parent.
+     *
+     * @param a The first node.
+     * @param b The second node.
+     * @return A negative value if the first node is updated before the second one, a positive value if it is updated after, or zero if they are the same node.
+     */
+    private static int compareTreeOrder(Node a, Node b) {
+        var depthA = depth(a);
+        var depthB = depth(b);
+        var ancestorA = a;
+        var ancestorB = b;
+        for(; depthA > depthB; depthA--) {
+            ancestorA = ancestorA.parent();
+        }
+        for(; depthB > depthA; depthB--) {
+            ancestorB = ancestorB.parent();
+        }
+        if(ancestorA == ancestorB) {
+            // One of the nodes is an ancestor of the other one, which is updated after its descendants
+            return a == b ? 0 : (ancestorA == a ? 1 : -1);
+        }
+        while(ancestorA.parent() != ancestorB.parent()) {
+            ancestorA = ancestorA.parent();
+            ancestorB = ancestorB.parent();
+        }
+        return Integer.compare(ancestorA.siblingIndex(), ancestorB.siblingIndex());
+    }
+
+    /**
+     * Returns the number of ancestors of the given node.
+     *
+     * @param node The node.
+     * @return The depth of the node in its tree.
+     */
+    private static int depth(Node node) {
+        var depth = 0;
+        for(var current = node.parent(); current != null; current = current.parent()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * Adds the given node and its subtree to the update lists.
+     * <p>
+     *     Nodes whose children are updated in parallel are added to the update list as a whole subtree.
+     *     Their children are not added to the update list, since they are updated by their parent.
+     * </p>
+     *
+     * @param node The node to add.
+     * @param parallelSubtree True if the node is in the subtree of a node whose children are updated in parallel.
+     */
+    private void addToNodeLists(Node node, boolean parallelSubtree) {
+        var parallel = parallelSubtree || node.parallelChildren();
+        for(var i = 0; i < node.childCount(); i++) {
+            this.addToNodeLists(node.childAt(i), parallel);
+        }
+        var type = node.getClass();
+        if(!parallelSubtree && (node.parallelChildren() || NEEDS_UPDATE.get(type))) {
+            this.updateList.add(node);
+        }
+        if(NEEDS_FIXED_UPDATE.get(type)) {
+            this.fixedUpdateList.add(node);
+        }
+        if(NEEDS_INPUT.get(type)) {
+            this.inputList.add(node);
+        }
+    }
+
+    /**
+     * Creates a cache that checks if a subclass of {@link Node} overrides one of the methods with the given names and parameter type.
+     * The check is only done once per class.
+     *
+     * @param parameterType Type of the methods' parameter.
+     * @param names Names of the methods.
+     * @return A class value that stores whether each class overrides one of the methods.
+     */
+    private static ClassValue<Boolean> overrides(Class<?> parameterType, String... names) {
+        return new ClassValue<>() {
+            @Override
+            protected Boolean computeValue(Class<?> type) {
+                for(var current = type; current != Node.class && current != null; current = current.getSuperclass()) {
+                    for(var name : names) {
+                        try {
+                            current.getDeclaredMethod(name, parameterType);
+                            return true;
+                        } catch(NoSuchMethodException e) {
+                            // Check the next method or the superclass
+                        }
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Restarts the interpolation of the nodes that were changed during the previous fixed update.
+     * Nodes that did not change during the previous fixed update are no longer interpolated and are removed from the lists.
+     */
+    private void restartInterpolation() {
+        this.interpolatedNodes2D.removeIf(node -> !node.restartInterpolation());
+        this.interpolatedNodes3D.removeIf(node -> !node.restartInterpolation());
+    }
+
+    /**
+     * Sets the number of fixed updates per second.
+     *
+     * @param ticksPerSecond The number of fixed updates per second or zero to disable fixed updates.
+     * @throws IllegalArgumentException If the given value is negative.
+     */
+    public void setFixedTickRate(int ticksPerSecond) {
+        if(ticksPerSecond < 0) {
+            throw new IllegalArgumentException("Fixed tick rate cannot be negative");
+        }
+        this.fixedTimeStep = ticksPerSecond > 0 ? 1_000_000_000L / ticksPerSecond : 0L;
+        this.accumulatedTime = 0L;
+        this.interpolationFraction = 1.0f;
+    }
+
+    /**
+     * Sets whether the transforms of 3D nodes should be kept in a single store and recomputed in batches.
+     * <p>
+     *     If enabled, the position, rotation, scale, and transforms of all 3D nodes inside the scene tree are kept in contiguous arrays sorted so that parents come before their children.
+     *     Changing the transform of a node only marks it as changed, then all changed transforms are recomputed in a single pass at the end of the frame,
+     *     and reading the global transform of a node earlier only recomputes the node and its ancestors.
+     *     This avoids invalidating every descendant of a node each time it moves, which is faster in scenes with many 3D nodes that move every frame.
+     * </p>
+     * <p>
+     *     Can be set from the {@code scene.transforms.batched} property.
+     *     Must be set while there are no 3D nodes in the scene tree.
+     * </p>
+     *
+     * @param enabled True to enable batched transforms, false to let nodes hold their own transform.
+     * @throws IllegalStateException If there are 3D nodes in the scene tree.
+     */
+    public void setBatchedTransforms(boolean enabled) {
+        if(this.transformStore != null && this.transformStore.size() > 0) {
+            throw new IllegalStateException("Batched transforms cannot be changed while there are 3D nodes in the scene tree");
+        }
+        this.transformStore = enabled ? new TransformStore(this) : null;
+    }
+
+    /**
+     * Checks if the transforms of 3D nodes are kept in a single store and recomputed in batches.
+     *
+     * @return True if batched transforms are enabled, otherwise false.
+     */
+    public boolean batchedTransforms() {
+        return this.transformStore != null;
+    }
+
+    /**
+     * Returns the store holding the transforms of all 3D nodes in the scene.
+     * Used by 3D nodes when they enter the scene tree.
+     *
+     * @return The transform store or null if batched transforms are disabled.
+     */
+    TransformStore transformStore() {
+        return this.transformStore;
+    }
+
+    /**
+     * Checks if fixed updates are running.
+     * Used by 2D and 3D nodes to know if their transform should be interpolated.
+     *
+     * @return True if fixed updates are running, otherwise false.
+     */
+    boolean isInFixedUpdate() {
+        return this.inFixedUpdate;
+    }
+
+    /**
+     * Adds a 2D node whose transform was changed during the current fixed update.
+     *
+     * @param node The node.
+     */
+    void addInterpolatedNode(Node2D node) {
+        this.interpolatedNodes2D.add(node);
+    }
+
+    /**
+     * Adds a 3D node whose transform was changed during the current fixed update.
+     *
+     * @param node The node.
+     */
+    void addInterpolatedNode(Node3D node) {
+        this.interpolatedNodes3D.add(node);
+    }
+
+    /**
+     * Removes a 2D node that is no longer interpolated because it exited the scene tree.
+     *
+     * @param node The node.
+     */
+    void removeInterpolatedNode(Node2D node) {
+        this.interpolatedNodes2D.remove(node);
+    }
+
+    /**
+     * Removes a 3D node that is no longer interpolated because it exited the scene tree.
+     *
+     * @param node The node.
+     */
+    void removeInterpolatedNode(Node3D node) {
+        this.interpolatedNodes3D.remove(node);
+    }
+
+    /**
+     * Returns the fraction of the fixed time step elapsed since the last fixed update.
+     * Used to interpolate the transform of nodes between the last two fixed updates.
+     *
+     * @return A value between zero and one.
+     */
+    public float interpolationFraction() {
+        return this.interpolationFraction;
+    }
+
+    /**
+     * Queues the given visual instance for its transform to be sent to the rendering server at the end of the current frame.
+     * Called by visual instances when their transform changes.
+     *
+     * @param visualInstance The visual instance whose transform has changed.
+     */
+    void queueTransformUpdate(VisualInstance3D visualInstance) {
+        if(DeferredCommands.defer(() -> this.queueTransformUpdate(visualInstance))) {
+            return;
+        }
+        this.transformUpdates.add(visualInstance);
+    }
+
+    /**
+     * Returns the spatial index containing the bounds of all visual instances in the scene.
+     * Can be used to find the visual instances inside a frustum, a box, a sphere, or along a ray without scanning the whole scene.
+     * <p>
+     *     The bounds of visual instances are updated at the end of every frame, after all nodes have been updated.
+     * </p>
+     *
+     * @return The spatial index of 3D visual instances.
+     */
+    public BoundingVolumeHierarchy<VisualInstance3D> spatialIndex3D() {
+        return this.spatialIndex3D;
+    }
+
+    /**
+     * Queues the given visual instance for its bounds to be updated in the spatial index at the end of the current frame.
+     * Called by visual instances when their transform or their bounds change.
+     *
+     * @param visualInstance The visual instance whose bounds have changed.
+     */
+    void queueBoundsUpdate(VisualInstance2D visualInstance) {
+        if(DeferredCommands.defer(() -> this.queueBoundsUpdate(visualInstance))) {
+            return;
+        }
+        this.boundsUpdates.add(visualInstance);
+    }
+
+    /**
+     * Returns the spatial index containing the bounds of all 2D visual instances in the scene.
+     * Can be used to find the visual instances inside a rectangle or at a point without scanning the whole scene.
+     * <p>
+     *     The bounds of visual instances are updated at the end of every frame, after all nodes have been updated.
+     * </p>
+     *
+     * @return The spatial index of 2D visual instances.
+     */
+    public LooseQuadtree<VisualInstance2D> spatialIndex2D() {
+        return this.spatialIndex2D;
+    }
+
+    /**
+     * Returns the draw order for a 2D visual instance that is entering the scene tree.
+     *
+     * @return A draw order greater than the one of all the visual instances that entered the scene tree before.
+     */
+    int nextDrawOrder() {
+        return this.nextDrawOrder++;
+    }
+
+    /**
+     * Sets the 2D camera whose view rectangle is used to cull 2D visual instances.
+     * Called by 2D cameras when they are updated.
+     *
+     * @param camera The camera.
+     */
+    void setCamera2D(Camera2D camera) {
+        if(DeferredCommands.defer(() -> this.setCamera2D(camera))) {
+            return;
+        }
+        this.camera2D = camera;
+    }
+
+    /**
+     * Stops using the given camera to cull 2D visual instances if it is the current camera.
+     * Called by 2D cameras when they exit the scene tree.
+     *
+     * @param camera The camera.
+     */
+    void clearCamera2D(Camera2D camera) {
+        if(this.camera2D == camera) {
+            this.camera2D = null;
+        }
+    }
+
+    /**
+     * Draws the visible 2D visual instances that are inside the current camera's view rectangle and in the camera's layers.
+     * All 2D visual instances are considered if there is no camera.
+     * Visual instances are drawn in the order in which they entered the scene tree.
+     */
+    private void draw2D() {
+        if(this.camera2D != null) {
+            this.cullMask2D = this.camera2D.cullMask;
+            this.spatialIndex2D.query(this.camera2D.viewRect(), this.addVisibleInstance);
+        } else {
+            this.cullMask2D = 0xFFFFFFFF;
+            this.spatialIndex2D.forEach(this.addVisibleInstance);
+        }
+        this.visibleInstances.sort(DRAW_ORDER);
+        for(var i = 0; i < this.visibleInstances.size(); i++) {
+            var visualInstance = this.visibleInstances.get(i);
+            if(visualInstance.visible()) {
+                visualInstance.draw();
+            }
+        }
+        this.visibleInstances.clear();
+    }
+
     /**
      * Private method used for the input event dispatch function.
      *
      * @param event The input event.
      */
     private void input(InputEvent event) {
-        if(this.root != null) {
-            this.root.input(event);
+        if(this.root != null && this.root.isInsideTree()) {
+            this.updateNodeLists(this.root);
+            var nodes = this.inputList;
+            for(var i = 0; i < nodes.size(); i++) {
+                if(nodes.get(i).isInsideTree()) {
+                    nodes.get(i).onInput(event);
+                }
+            }
         }
     }
 
@@ -1,5 +1,6 @@
 package io.github.ardentengine.core.scene;
 
+import io.github.ardentengine.core.math.Rect2;
 import io.github.ardentengine.core.math.Vector2;
 import io.github.ardentengine.core.rendering.RenderingServer;
 import io.github.ardentengine.core.rendering.Texture;
@@ -50,15 +51,45 @@ public class Sprite2D extends VisualInstance2D {
 
     // TODO: Region enabled and region rect
 
+    /** Texture used the last time the bounds of this sprite were computed. */
+    private Texture boundsTexture = null;
+    /** Offset used the last time the bounds of this sprite were computed. */
+    private Vector2 boundsOffset = Vector2.ZERO;
+    /** Number of columns used the last time the bounds of this sprite were computed. */
+    private int boundsHFrames = 1;
+    /** Number of rows used the last time the bounds of this sprite were computed. */
+    private int boundsVFrames = 1;
+
+    @Override
+    void updateSelf(float deltaTime) {
+        // Properties are public, so changes to the bounds of the sprite can only be detected here
+        if(this.spriteTexture != this.boundsTexture || !this.offset.equals(this.boundsOffset) || this.hFrames != this.boundsHFrames || this.vFrames != this.boundsVFrames) {
+            this.queueBoundsUpdate();
+        }
+        super.updateSelf(deltaTime);
+    }
+
+    @Override
+    Rect2 localRect() {
+        this.boundsTexture = this.spriteTexture;
+        this.boundsOffset = this.offset;
+        this.boundsHFrames = this.hFrames;
+        this.boundsVFrames = this.vFrames;
+        if(this.spriteTexture == null) {
+            return null;
+        }
+        var halfWidth = 0.5f * this.spriteTexture.width() / this.hFrames;
+        var halfHeight = 0.5f * this.spriteTexture.height() / this.vFrames;
+        return new Rect2(this.offset.minus(halfWidth, halfHeight), this.offset.plus(halfWidth, halfHeight));
+    }
+
     @Override
-    void update(float deltaTime) {
+    void draw() {
         if(this.spriteTexture != null) {
-            // TODO: Check if this thing is inside the camera's view rect
             var vertexScale = new Vector2(1.0f / this.hFrames, 1.0f / this.vFrames);
             var uvScale = new Vector2((this.flipH ? -1.0f : 1.0f) / this.hFrames, (this.flipV ? -1.0f : 1.0f) / this.vFrames);
             var uvOffset = new Vector2((float) (this.frame % this.hFrames) / this.hFrames, (float) this.frame / this.hFrames / this.vFrames);
-            RenderingServer.getInstance().draw(this.spriteTexture, this.material(), this.offset, vertexScale, uvOffset, uvScale, this.globalTransform());
+            RenderingServer.getInstance().draw(this.spriteTexture, this.material(), this.offset, vertexScale, uvOffset, uvScale, this.interpolatedTransform(), this.zIndex(), this.modulate());
         }
-        super.update(deltaTime);
     }
 }
\ No newline at end of file
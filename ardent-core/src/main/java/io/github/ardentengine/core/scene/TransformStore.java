@@ -0,0 +1,501 @@
+package io.github.ardentengine.core.scene;
+
+import io.github.ardentengine.core.math.Matrix3x4;
+import io.github.ardentengine.core.math.Quaternion;
+import io.github.ardentengine.core.math.Vector3;
+
+import java.util.Arrays;
+
+/**
+ * Stores the transforms of all the 3D nodes in the scene tree in contiguous arrays.
+ * <p>
+ *     Every {@link Node3D} inside the scene tree is given a slot in which its position, rotation, scale, local transform, and global transform are stored.
+ *     Slots are kept in an order in which parents always come before their children.
+ *     New nodes are always added at the end, after their parent, and removed slots are compacted without changing the order of the remaining ones.
+ * </p>
+ * <p>
+ *     Changing the transform of a node only marks its slot as changed.
+ *     When the global transform of a node is needed, only the slots on the path from its root to the node that are out of date are recomputed.
+ *     Every slot keeps a version that is incremented when its global transform is recomputed and the version of its parent it was computed from,
+ *     so that a slot whose ancestor has changed is known to be out of date without visiting the ancestor's other descendants.
+ *     The remaining changed nodes and their descendants are recomputed and notified in a single linear pass over the arrays when the scene tree updates the store.
+ * </p>
+ * <p>
+ *     Nodes in subtrees that are updated in parallel may change and read their transforms from different threads without locking.
+ *     The store is updated before the subtrees start, and nodes cannot enter or exit the tree while they are updated,
+ *     so each thread only writes the slots of its own subtree and only reads the slots of their ancestors that are already up to date.
+ * </p>
+ * <p>
+ *     Matrices are stored in row-major order with 12 floats per slot, rotations are stored as quaternions with 4 floats per slot, and vectors are stored with 3 floats per slot.
+ * </p>
+ */
+final class TransformStore {
+
+    /** Flag set on slots whose transform has changed since the last update. */
+    private static final byte CHANGED = 1;
+    /** Flag set on slots whose position, rotation, or scale have changed since their local transform was computed. */
+    private static final byte LOCAL_CHANGED = 2;
+    /** Flag set on slots whose global transform has been computed at least once. */
+    private static final byte COMPUTED = 4;
+
+    /** The scene tree this store belongs to. */
+    private final SceneTree sceneTree;
+
+    /** Nodes in each slot or null for slots that were removed and not compacted yet. */
+    private Node3D[] nodes = new Node3D[64];
+    /** Slot of the parent of the node in each slot or -1 if its parent is not a 3D node. */
+    private int[] parents = new int[64];
+    /** Flags of each slot. */
+    private byte[] flags = new byte[64];
+    /** Positions relative to the parent, three floats per slot. */
+    private float[] positions = new float[64 * 3];
+    /** Rotation quaternions relative to the parent, four floats per slot in the order w, x, y, z. */
+    private float[] rotations = new float[64 * 4];
+    /** Scales, three floats per slot. */
+    private float[] scales = new float[64 * 3];
+    /** Local transforms, twelve floats per slot. */
+    private float[] localTransforms = new float[64 * 12];
+    /** Global transforms, twelve floats per slot. */
+    private float[] globalTransforms = new float[64 * 12];
+    /** Number of times the global transform in each slot was computed. */
+    private int[] versions = new int[64];
+    /** Version of the parent of each slot when the global transform in that slot was computed. */
+    private int[] parentVersions = new int[64];
+    /** Array used to map slots to their index after compacting. */
+    private int[] remap = new int[64];
+
+    /** Number of slots in use, including the ones that were removed and not compacted yet. */
+    private int count = 0;
+    /** Number of slots that were removed and not compacted yet. */
+    private int removed = 0;
+    /** True if at least one slot has changed since the last update. */
+    private volatile boolean changed = false;
+
+    /**
+     * Creates a transform store for the given scene tree.
+     *
+     * @param sceneTree The scene tree this store belongs to.
+     */
+    TransformStore(SceneTree sceneTree) {
+        this.sceneTree = sceneTree;
+    }
+
+    /**
+     * Adds a node to this store.
+     * The node's parent must be added before the node itself.
+     *
+     * @param node The node to add.
+     * @param parent Slot of the node's parent or -1 if its parent is not in this store.
+     * @param position The node's position.
+     * @param rotation The node's rotation.
+     * @param scale The node's scale.
+     * @return The slot of the added node.
+     */
+    int add(Node3D node, int parent, Vector3 position, Quaternion rotation, Vector3 scale) {
+        if(this.count == this.nodes.length) {
+            this.grow();
+        }
+        var slot = this.count++;
+        this.nodes[slot] = node;
+        this.parents[slot] = parent;
+        this.flags[slot] = CHANGED | LOCAL_CHANGED;
+        this.versions[slot] = 0;
+        this.parentVersions[slot] = 0;
+        set(this.positions, slot, position.x(), position.y(), position.z());
+        this.setQuaternion(slot, rotation);
+        set(this.scales, slot, scale.x(), scale.y(), scale.z());
+        this.changed = true;
+        return slot;
+    }
+
+    /**
+     * Doubles the capacity of this store.
+     */
+    private void grow() {
+        var capacity = this.nodes.length * 2;
+        this.nodes = Arrays.copyOf(this.nodes, capacity);
+        this.parents = Arrays.copyOf(this.parents, capacity);
+        this.flags = Arrays.copyOf(this.flags, capacity);
+        this.positions = Arrays.copyOf(this.positions, capacity * 3);
+        this.rotations = Arrays.copyOf(this.rotations, capacity * 4);
+        this.scales = Arrays.copyOf(this.scales, capacity * 3);
+        this.localTransforms = Arrays.copyOf(this.localTransforms, capacity * 12);
+        this.globalTransforms = Arrays.copyOf(this.globalTransforms, capacity * 12);
+        this.versions = Arrays.copyOf(this.versions, capacity);
+        this.parentVersions = Arrays.copyOf(this.parentVersions, capacity);
+        this.remap = new int[capacity];
+    }
+
+    /**
+     * Removes the node in the given slot from this store.
+     * The slot is only reused after the store is compacted during the next update.
+     *
+     * @param slot The slot of the node to remove.
+     */
+    void remove(int slot) {
+        this.nodes[slot] = null;
+        this.removed++;
+        this.changed = true;
+    }
+
+    /**
+     * Returns the number of nodes in this store.
+     *
+     * @return The number of nodes in this store.
+     */
+    int size() {
+        return this.count - this.removed;
+    }
+
+    /**
+     * Returns the position of the node in the given slot.
+     *
+     * @param slot The slot of the node.
+     * @return The position of the node relative to its parent.
+     */
+    Vector3 position(int slot) {
+        return get(this.positions, slot);
+    }
+
+    /**
+     * Returns the rotation of the node in the given slot.
+     *
+     * @param slot The slot of the node.
+     * @return The rotation of the node relative to its parent.
+     */
+    Quaternion rotation(int slot) {
+        var o = slot * 4;
+        return new Quaternion(this.rotations[o], this.rotations[o + 1], this.rotations[o + 2], this.rotations[o + 3]);
+    }
+
+    /**
+     * Returns the scale of the node in the given slot.
+     *
+     * @param slot The slot of the node.
+     * @return The scale of the node.
+     */
+    Vector3 scale(int slot) {
+        return get(this.scales, slot);
+    }
+
+    /**
+     * Sets the position of the node in the given slot and marks it as changed.
+     *
+     * @param slot The slot of the node.
+     * @param x Position on the x axis.
+     * @param y Position on the y axis.
+     * @param z Position on the z axis.
+     */
+    void setPosition(int slot, float x, float y, float z) {
+        set(this.positions, slot, x, y, z);
+        this.markChanged(slot);
+    }
+
+    /**
+     * Sets the rotation of the node in the given slot and marks it as changed.
+     *
+     * @param slot The slot of the node.
+     * @param rotation The rotation quaternion.
+     */
+    void setRotation(int slot, Quaternion rotation) {
+        this.setQuaternion(slot, rotation);
+        this.markChanged(slot);
+    }
+
+    /**
+     * Private method used to copy the given quaternion into the given slot.
+     *
+     * @param slot The slot.
+     * @param rotation The rotation quaternion.
+     */
+    private void setQuaternion(int slot, Quaternion rotation) {
+        var o = slot * 4;
+        this.rotations[o] = rotation.w();
+        this.rotations[o + 1] = rotation.x();
+        this.rotations[o + 2] = rotation.y();
+        this.rotations[o + 3] = rotation.z();
+    }
+
+    /**
+     * Sets the scale of the node in the given slot and marks it as changed.
+     *
+     * @param slot The slot of the node.
+     * @param x Scale on the x axis.
+     * @param y Scale on the y axis.
+     * @param z Scale on the z axis.
+     */
+    void setScale(int slot, float x, float y, float z) {
+        set(this.scales, slot, x, y, z);
+        this.markChanged(slot);
+    }
+
+    /**
+     * Marks the local transform of the node in the given slot as changed.
+     *
+     * @param slot The slot of the node.
+     */
+    void markChanged(int slot) {
+        this.flags[slot] |= CHANGED | LOCAL_CHANGED;
+        this.changed = true;
+    }
+
+    /**
+     * Returns the local transform of the node in the given slot.
+     * The slot must be resolved first with {@link TransformStore#resolve(int)}.
+     *
+     * @param slot The slot of the node.
+     * @return The local transform of the node.
+     */
+    Matrix3x4 localTransform(int slot) {
+        return matrix(this.localTransforms, slot);
+    }
+
+    /**
+     * Returns the global transform of the node in the given slot.
+     * The slot must be resolved first with {@link TransformStore#resolve(int)}.
+     *
+     * @param slot The slot of the node.
+     * @return The global transform of the node.
+     */
+    Matrix3x4 globalTransform(int slot) {
+        return matrix(this.globalTransforms, slot);
+    }
+
+    /**
+     * Recomputes the transforms in the given slot and in the slots of its ancestors that are out of date.
+     * <p>
+     *     Only the path from the node's root to the node is visited, so reading the transform of a node does not depend on the number of nodes in the store.
+     *     The nodes whose transform is recomputed are only notified when the store is updated.
+     * </p>
+     * <p>
+     *     This method has no effect if no transform has changed since the last update.
+     * </p>
+     *
+     * @param slot The slot of the node.
+     */
+    void resolve(int slot) {
+        if(this.changed) {
+            this.resolveChain(slot, this.sceneTree.isInFixedUpdate());
+        }
+    }
+
+    /**
+     * Recursively recomputes the transforms in the given slot and in its ancestors, starting from its root.
+     *
+     * @param slot The slot.
+     * @param interpolate True if the previous global transforms should be kept for interpolation.
+     */
+    private void resolveChain(int slot, boolean interpolate) {
+        var parent = this.parents[slot];
+        if(parent >= 0) {
+            this.resolveChain(parent, interpolate);
+        }
+        if(this.isOutOfDate(slot, parent)) {
+            this.recompute(slot, parent, interpolate);
+        }
+    }
+
+    /**
+     * Recomputes the transforms of the nodes that have changed and of their descendants in a single pass.
+     * <p>
+     *     Since parents come before their children, the global transform of a node's parent is always up to date when the node is reached.
+     *     Nodes whose transform has changed since the last update are notified with {@link Node3D#storedTransformChanged()},
+     *     including the ones whose transform was already recomputed by {@link TransformStore#resolve(int)}.
+     * </p>
+     * <p>
+     *     Must only be called from the thread that runs the scene tree, outside of subtrees that are updated in parallel.
+     *     This method has no effect if no transform has changed since the last update.
+     * </p>
+     */
+    void update() {
+        if(!this.changed) {
+            return;
+        }
+        if(this.removed > 0) {
+            this.compact();
+        }
+        var interpolate = this.sceneTree.isInFixedUpdate();
+        for(var i = 0; i < this.count; i++) {
+            var parent = this.parents[i];
+            if((this.flags[i] & CHANGED) == 0 && (parent < 0 || (this.flags[parent] & CHANGED) == 0)) {
+                continue;
+            }
+            if(this.isOutOfDate(i, parent)) {
+                this.recompute(i, parent, interpolate);
+            }
+            this.flags[i] |= CHANGED;
+            this.nodes[i].storedTransformChanged();
+        }
+        for(var i = 0; i < this.count; i++) {
+            this.flags[i] &= ~CHANGED;
+        }
+        this.changed = false;
+    }
+
+    /**
+     * Checks if the global transform in the given slot needs to be recomputed.
+     * The parent's slot must be up to date.
+     *
+     * @param slot The slot.
+     * @param parent The slot of the parent or -1 if the node has no parent in the store.
+     * @return True if the node's position, rotation, or scale have changed or if its parent was recomputed since the slot was computed.
+     */
+    private boolean isOutOfDate(int slot, int parent) {
+        return (this.flags[slot] & LOCAL_CHANGED) != 0 || (parent >= 0 && this.parentVersions[slot] != this.versions[parent]);
+    }
+
+    /**
+     * Recomputes the local transform in the given slot if needed and its global transform.
+     * If the scene tree is running fixed updates, the previous global transform of the node is kept to interpolate from it.
+     *
+     * @param slot The slot.
+     * @param parent The slot of the parent or -1 if the node has no parent in the store.
+     * @param interpolate True if the previous global transform should be kept for interpolation.
+     */
+    private void recompute(int slot, int parent, boolean interpolate) {
+        if((this.flags[slot] & LOCAL_CHANGED) != 0) {
+            this.computeLocalTransform(slot);
+        }
+        if(interpolate && (this.flags[slot] & COMPUTED) != 0) {
+            this.nodes[slot].keepPreviousTransform(matrix(this.globalTransforms, slot));
+        }
+        this.computeGlobalTransform(slot, parent);
+        this.versions[slot]++;
+        this.parentVersions[slot] = parent >= 0 ? this.versions[parent] : 0;
+        this.flags[slot] = (byte) ((this.flags[slot] & CHANGED) | COMPUTED);
+        this.nodes[slot].storedTransformRecomputed();
+    }
+
+    /**
+     * Moves the remaining slots over the removed ones without changing their order.
+     * Nodes whose parent was removed no longer have a parent in the store.
+     */
+    private void compact() {
+        var next = 0;
+        for(var i = 0; i < this.count; i++) {
+            var node = this.nodes[i];
+            if(node == null) {
+                this.remap[i] = -1;
+                continue;
+            }
+            this.remap[i] = next;
+            if(next != i) {
+                this.nodes[next] = node;
+                this.flags[next] = this.flags[i];
+                System.arraycopy(this.positions, i * 3, this.positions, next * 3, 3);
+                System.arraycopy(this.rotations, i * 4, this.rotations, next * 4, 4);
+                System.arraycopy(this.scales, i * 3, this.scales, next * 3, 3);
+                System.arraycopy(this.localTransforms, i * 12, this.localTransforms, next * 12, 12);
+                System.arraycopy(this.globalTransforms, i * 12, this.globalTransforms, next * 12, 12);
+                this.versions[next] = this.versions[i];
+                this.parentVersions[next] = this.parentVersions[i];
+                node.setTransformSlot(next);
+            }
+            // Parents always come before their children, so they have already been remapped
+            this.parents[next] = this.parents[i] >= 0 ? this.remap[this.parents[i]] : -1;
+            next++;
+        }
+        Arrays.fill(this.nodes, next, this.count, null);
+        this.count = next;
+        this.removed = 0;
+    }
+
+    /**
+     * Computes the local transform in the given slot from its position, rotation, and scale.
+     * The result is the same as {@link Matrix3x4#transform(Vector3, Quaternion, Vector3)}.
+     *
+     * @param slot The slot.
+     */
+    private void computeLocalTransform(int slot) {
+        var v = slot * 3;
+        var q = slot * 4;
+        var w = this.rotations[q];
+        var x = this.rotations[q + 1];
+        var y = this.rotations[q + 2];
+        var z = this.rotations[q + 3];
+        var k = 2.0f / (w * w + x * x + y * y + z * z);
+        var scaleX = this.scales[v];
+        var scaleY = this.scales[v + 1];
+        var scaleZ = this.scales[v + 2];
+        var m = this.localTransforms;
+        var o = slot * 12;
+        m[o] = (1.0f - k * (y * y + z * z)) * scaleX;
+        m[o + 1] = k * (x * y - z * w) * scaleY;
+        m[o + 2] = k * (x * z + y * w) * scaleZ;
+        m[o + 3] = this.positions[v];
+        m[o + 4] = k * (x * y + z * w) * scaleX;
+        m[o + 5] = (1.0f - k * (x * x + z * z)) * scaleY;
+        m[o + 6] = k * (y * z - x * w) * scaleZ;
+        m[o + 7] = this.positions[v + 1];
+        m[o + 8] = k * (x * z - y * w) * scaleX;
+        m[o + 9] = k * (y * z + x * w) * scaleY;
+        m[o + 10] = (1.0f - k * (x * x + y * y)) * scaleZ;
+        m[o + 11] = this.positions[v + 2];
+    }
+
+    /**
+     * Computes the global transform in the given slot by multiplying the global transform of its parent by its local transform.
+     *
+     * @param slot The slot.
+     * @param parent The slot of the parent or -1 if the node has no parent in the store.
+     */
+    private void computeGlobalTransform(int slot, int parent) {
+        var o = slot * 12;
+        if(parent < 0) {
+            System.arraycopy(this.localTransforms, o, this.globalTransforms, o, 12);
+            return;
+        }
+        var p = parent * 12;
+        var a = this.globalTransforms;
+        var b = this.localTransforms;
+        for(var row = 0; row < 3; row++) {
+            var r = row * 4;
+            for(var column = 0; column < 4; column++) {
+                var value = a[p + r] * b[o + column] + a[p + r + 1] * b[o + 4 + column] + a[p + r + 2] * b[o + 8 + column];
+                a[o + r + column] = column == 3 ? value + a[p + r + 3] : value;
+            }
+        }
+    }
+
+    /**
+     * Sets the vector in the given slot of the given array.
+     *
+     * @param array Array with three floats per slot.
+     * @param slot The slot.
+     * @param x The x component.
+     * @param y The y component.
+     * @param z The z component.
+     */
+    private static void set(float[] array, int slot, float x, float y, float z) {
+        array[slot * 3] = x;
+        array[slot * 3 + 1] = y;
+        array[slot * 3 + 2] = z;
+    }
+
+    /**
+     * Returns the vector in the given slot of the given array.
+     *
+     * @param array Array with three floats per slot.
+     * @param slot The slot.
+     * @return The vector in the given slot.
+     */
+    private static Vector3 get(float[] array, int slot) {
+        return new Vector3(array[slot * 3], array[slot * 3 + 1], array[slot * 3 + 2]);
+    }
+
+    /**
+     * Returns the matrix in the given slot of the given array.
+     *
+     * @param array Array with twelve floats per slot.
+     * @param slot The slot.
+     * @return The matrix in the given slot.
+     */
+    private static Matrix3x4 matrix(float[] array, int slot) {
+        var o = slot * 12;
+        return new Matrix3x4(
+            array[o], array[o + 1], array[o + 2], array[o + 3],
+            array[o + 4], array[o + 5], array[o + 6], array[o + 7],
+            array[o + 8], array[o + 9], array[o + 10], array[o + 11]
+        );
+    }
+}
\ No newline at end of file
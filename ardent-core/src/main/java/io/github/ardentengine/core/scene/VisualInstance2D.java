@@ -1,7 +1,11 @@
 package io.github.ardentengine.core.scene;
 
+import io.github.ardentengine.core.math.Color;
+import io.github.ardentengine.core.math.Rect2;
 import io.github.ardentengine.core.rendering.Material;
 
+import java.util.Objects;
+
 /**
  * Base class for all visual 2D nodes.
  */
@@ -24,7 +28,123 @@ public class VisualInstance2D extends Node2D {
 
     // TODO: Add an "inherit material" option to allow visual instances to use their ancestor's material
 
-    // TODO: Add modulate color
+    /**
+     * Color multiplied with the color of this visual instance when it is drawn.
+     * Only affects this visual instance, not its children.
+     */
+    private Color modulate = Color.WHITE;
+
+    /**
+     * Bitmask of the render layers this visual instance belongs to.
+     * The visual instance is only rendered by cameras whose {@code cullMask} shares at least one bit with this mask.
+     */
+    private int layers = 1;
+
+    /**
+     * Handle of this visual instance in the scene tree's spatial index.
+     * Equal to -1 if this node is not inside the scene tree.
+     */
+    private int spatialHandle = -1;
+    /** True if this node is already queued in the scene tree for its bounds to be updated in the spatial index. */
+    private boolean boundsQueued = false;
+    /**
+     * Order in which this visual instance entered the scene tree.
+     * Visual instances found in the spatial index are drawn in this order, so that nodes added later are drawn on top of the previous ones.
+     */
+    private int drawOrder = 0;
+
+    /**
+     * Adds this node to the scene tree's spatial index when it enters the scene tree.
+     */
+    @Override
+    void enterTree(SceneTree sceneTree) {
+        this.spatialHandle = sceneTree.spatialIndex2D().insert(this, this.globalRect());
+        this.drawOrder = sceneTree.nextDrawOrder();
+        super.enterTree(sceneTree);
+    }
+
+    @Override
+    void transformChanged() {
+        this.queueBoundsUpdate();
+    }
+
+    /**
+     * Queues this node in the scene tree for its bounds to be updated in the spatial index at the end of the current frame.
+     * Nodes that extend this class should call this method when the rectangle returned by {@link VisualInstance2D#localRect()} changes.
+     * Has no effect if this node is not inside the scene tree.
+     */
+    final void queueBoundsUpdate() {
+        if(!this.boundsQueued && this.isInsideTree()) {
+            this.boundsQueued = true;
+            this.sceneTree().queueBoundsUpdate(this);
+        }
+    }
+
+    /**
+     * Updates the bounds of this node in the spatial index.
+     * Called by the scene tree at the end of the frame if this node's transform or bounds have changed.
+     */
+    void updateBounds() {
+        this.boundsQueued = false;
+        if(this.spatialHandle != -1) {
+            this.sceneTree().spatialIndex2D().update(this.spatialHandle, this.globalRect());
+        }
+    }
+
+    /**
+     * Returns the bounds of this visual instance in global coordinates.
+     * <p>
+     *     The bounds are computed from the rectangle returned by {@link VisualInstance2D#localRect()} transformed by this node's global transform.
+     *     Visual instances without a rectangle are represented by an empty rectangle at their global position.
+     * </p>
+     *
+     * @return The axis-aligned bounding rectangle of this visual instance.
+     */
+    public final Rect2 globalRect() {
+        var rect = this.localRect();
+        if(rect == null) {
+            var position = this.globalPosition();
+            return new Rect2(position, position);
+        }
+        return rect.transformed(this.globalTransform());
+    }
+
+    /**
+     * Returns the area covered by this visual instance in local coordinates.
+     * Nodes that extend this class should override this method and call {@link VisualInstance2D#queueBoundsUpdate()} when their area changes.
+     *
+     * @return The area covered by this visual instance or null if this visual instance does not draw anything.
+     */
+    Rect2 localRect() {
+        return null;
+    }
+
+    /**
+     * Sends the draw requests for this visual instance to the rendering server.
+     * Called by the scene tree at the end of the frame if this visual instance is visible and inside the camera's view rectangle.
+     */
+    void draw() {
+
+    }
+
+    /**
+     * Getter method for {@link VisualInstance2D#drawOrder}.
+     *
+     * @return The order in which this visual instance entered the scene tree.
+     */
+    final int drawOrder() {
+        return this.drawOrder;
+    }
+
+    /**
+     * Removes this node from the spatial index when this node exits the scene tree.
+     */
+    @Override
+    void exitTree() {
+        this.sceneTree().spatialIndex2D().remove(this.spatialHandle);
+        this.spatialHandle = -1;
+        super.exitTree();
+    }
 
     /**
      * Getter method for {@link VisualInstance2D#visible}.
@@ -44,6 +164,43 @@ public class VisualInstance2D extends Node2D {
         this.visible = visible;
     }
 
+    /**
+     * Getter method for {@link VisualInstance2D#layers}.
+     *
+     * @return Bitmask of the render layers this visual instance belongs to.
+     */
+    public final int layers() {
+        return this.layers;
+    }
+
+    /**
+     * Setter method for {@link VisualInstance2D#layers}.
+     *
+     * @param layers Bitmask of the render layers this visual instance belongs to.
+     */
+    public final void setLayers(int layers) {
+        this.layers = layers;
+    }
+
+    /**
+     * Getter method for {@link VisualInstance2D#modulate}.
+     *
+     * @return The color multiplied with the color of this visual instance.
+     */
+    public final Color modulate() {
+        return this.modulate;
+    }
+
+    /**
+     * Setter method for {@link VisualInstance2D#modulate}.
+     *
+     * @param modulate The color multiplied with the color of this visual instance. Can be set to white to draw this visual instance with its own colors.
+     * @throws NullPointerException If the given color is null.
+     */
+    public final void setModulate(Color modulate) {
+        this.modulate = Objects.requireNonNull(modulate, "Modulate color cannot be null");
+    }
+
     /**
      * Getter method for {@link VisualInstance2D#material}.
      *
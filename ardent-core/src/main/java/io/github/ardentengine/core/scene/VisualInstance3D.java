@@ -1,6 +1,9 @@
 package io.github.ardentengine.core.scene;
 
+import io.github.ardentengine.core.math.AABB;
 import io.github.ardentengine.core.rendering.Material;
+import io.github.ardentengine.core.rendering.Mesh;
+import io.github.ardentengine.core.rendering.RenderingServer;
 
 /**
  * Base class for all visual 3D nodes.
@@ -21,9 +24,227 @@ public class VisualInstance3D extends Node3D {
      */
     private Material materialOverride = null;
 
-    // TODO: Visibility range to cull objects far from the camera
+    /**
+     * Handle of the render instance used by the rendering server to draw this visual instance.
+     * Equal to -1 if this node is not inside the scene tree.
+     */
+    private int renderInstance = -1;
+    /** True if this node is already queued in the scene tree for its transform to be sent to the rendering server. */
+    private boolean transformQueued = false;
+    /**
+     * Handle of this visual instance in the scene tree's spatial index.
+     * Equal to -1 if this node is not inside the scene tree.
+     */
+    private int spatialHandle = -1;
+
+    /**
+     * Distance from the camera from which this visual instance is drawn.
+     * Can be zero to draw this visual instance however close it is to the camera.
+     */
+    private float visibilityRangeBegin = 0.0f;
+    /**
+     * Distance from the camera from which this visual instance is no longer drawn.
+     * Can be zero to draw this visual instance however far it is from the camera.
+     */
+    private float visibilityRangeEnd = 0.0f;
+    /** Handles of the render instances used to draw the levels of detail returned by {@link VisualInstance3D#lodMesh(int)}. */
+    private int[] lodInstances = new int[0];
 
-    // TODO: Cull layers to only render objects in the same layer as the camera
+    /**
+     * Bitmask of the render layers this visual instance belongs to.
+     * The visual instance is only rendered by cameras whose {@code cullMask} shares at least one bit with this mask.
+     */
+    private int layers = 1;
+    /**
+     * True if this visual instance is used as an occluder.
+     * Objects hidden behind occluders are not rendered.
+     * Should only be used for large objects with simple meshes, such as walls and buildings.
+     */
+    private boolean occluder = false;
+
+    /**
+     * Creates a render instance when this node enters the scene tree.
+     * The render instance is retained by the rendering server and is only updated when this node changes.
+     */
+    @Override
+    void enterTree(SceneTree sceneTree) {
+        this.renderInstance = this.createRenderInstance(this.instanceMesh());
+        this.lodInstances = new int[this.lodCount()];
+        for(var i = 0; i < this.lodInstances.length; i++) {
+            this.lodInstances[i] = this.createRenderInstance(this.lodMesh(i));
+        }
+        this.updateVisibilityRanges();
+        RenderingServer.getInstance().setInstanceOccluder(this.renderInstance, this.occluder);
+        this.spatialHandle = sceneTree.spatialIndex3D().insert(this, this.globalAabb());
+        super.enterTree(sceneTree);
+    }
+
+    /**
+     * Creates a render instance with this node's transform, visibility, and material override.
+     *
+     * @param mesh The mesh drawn by the render instance.
+     * @return The handle of the render instance.
+     */
+    private int createRenderInstance(Mesh mesh) {
+        var renderingServer = RenderingServer.getInstance();
+        var instance = renderingServer.createInstance();
+        renderingServer.setInstanceTransform(instance, this.globalTransform());
+        renderingServer.setInstanceVisible(instance, this.visible);
+        renderingServer.setInstanceLayers(instance, this.layers);
+        renderingServer.setInstanceMesh(instance, mesh, this.materialOverride);
+        return instance;
+    }
+
+    /**
+     * Sends the visibility range of every render instance to the rendering server.
+     * <p>
+     *     Each level of detail is drawn from its own distance until the distance of the next one.
+     *     The mesh returned by {@link VisualInstance3D#instanceMesh()} is drawn until the distance of the first level of detail.
+     *     All ranges are limited to this node's visibility range.
+     * </p>
+     */
+    private void updateVisibilityRanges() {
+        var renderingServer = RenderingServer.getInstance();
+        var begin = this.visibilityRangeBegin;
+        for(var i = -1; i < this.lodInstances.length; i++) {
+            var end = i + 1 < this.lodInstances.length ? this.lodDistance(i + 1) : this.visibilityRangeEnd;
+            if(this.visibilityRangeEnd > 0.0f) {
+                end = Math.min(end, this.visibilityRangeEnd);
+            }
+            renderingServer.setInstanceVisibilityRange(i == -1 ? this.renderInstance : this.lodInstances[i], begin, end);
+            if(i + 1 < this.lodInstances.length) {
+                begin = Math.max(begin, this.lodDistance(i + 1));
+            }
+        }
+    }
+
+    @Override
+    void transformChanged() {
+        if(!this.transformQueued && this.isInsideTree()) {
+            this.transformQueued = true;
+            this.sceneTree().queueTransformUpdate(this);
+        }
+    }
+
+    /**
+     * Sends this node's interpolated global transform to the rendering server and updates its bounds in the spatial index.
+     * Called by the scene tree at the end of the frame if this node's transform has changed or is being interpolated.
+     */
+    void updateInstanceTransform() {
+        this.transformQueued = false;
+        if(this.renderInstance != -1) {
+            var renderingServer = RenderingServer.getInstance();
+            var transform = this.interpolatedTransform();
+            renderingServer.setInstanceTransform(this.renderInstance, transform);
+            for(var lodInstance : this.lodInstances) {
+                renderingServer.setInstanceTransform(lodInstance, transform);
+            }
+            this.sceneTree().spatialIndex3D().update(this.spatialHandle, this.globalAabb());
+        }
+    }
+
+    /**
+     * Returns the bounds of this visual instance in global coordinates.
+     * <p>
+     *     The bounds are computed from the bounds of the mesh returned by {@link VisualInstance3D#instanceMesh()} transformed by this node's global transform.
+     *     Visual instances without a mesh are represented by an empty box at their global position.
+     * </p>
+     *
+     * @return The axis-aligned bounding box of this visual instance.
+     */
+    public final AABB globalAabb() {
+        var mesh = this.instanceMesh();
+        if(mesh == null) {
+            var position = this.globalPosition();
+            return new AABB(position, position);
+        }
+        return mesh.aabb().transformed(this.globalTransform());
+    }
+
+    /**
+     * Returns the mesh that should be drawn by this visual instance.
+     * Nodes that extend this class should override this method and call {@link VisualInstance3D#updateInstanceMesh()} when their mesh changes.
+     *
+     * @return The mesh that should be drawn by this visual instance or null if no mesh should be drawn.
+     */
+    Mesh instanceMesh() {
+        return null;
+    }
+
+    /**
+     * Returns the number of levels of detail of this visual instance.
+     * Nodes that extend this class can override this method to draw simpler meshes when they are far from the camera.
+     *
+     * @return The number of levels of detail, not counting the mesh returned by {@link VisualInstance3D#instanceMesh()}.
+     */
+    int lodCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the mesh drawn by the given level of detail.
+     *
+     * @param index Index of the level of detail, between zero and {@link VisualInstance3D#lodCount()}.
+     * @return The mesh drawn by the given level of detail or null if nothing should be drawn.
+     */
+    Mesh lodMesh(int index) {
+        return null;
+    }
+
+    /**
+     * Returns the distance from the camera from which the given level of detail is drawn.
+     * Distances must be in ascending order.
+     *
+     * @param index Index of the level of detail, between zero and {@link VisualInstance3D#lodCount()}.
+     * @return The distance from which the given level of detail is drawn.
+     */
+    float lodDistance(int index) {
+        return 0.0f;
+    }
+
+    /**
+     * Sends this node's meshes and material override to the rendering server and updates its bounds in the spatial index.
+     * Nodes that extend this class should call this method when their mesh or their levels of detail change.
+     * Has no effect if this node is not inside the scene tree.
+     */
+    final void updateInstanceMesh() {
+        if(this.renderInstance != -1) {
+            var renderingServer = RenderingServer.getInstance();
+            renderingServer.setInstanceMesh(this.renderInstance, this.instanceMesh(), this.materialOverride);
+            if(this.lodInstances.length != this.lodCount()) {
+                for(var lodInstance : this.lodInstances) {
+                    renderingServer.freeInstance(lodInstance);
+                }
+                this.lodInstances = new int[this.lodCount()];
+                for(var i = 0; i < this.lodInstances.length; i++) {
+                    this.lodInstances[i] = this.createRenderInstance(this.lodMesh(i));
+                }
+            } else {
+                for(var i = 0; i < this.lodInstances.length; i++) {
+                    renderingServer.setInstanceMesh(this.lodInstances[i], this.lodMesh(i), this.materialOverride);
+                }
+            }
+            this.updateVisibilityRanges();
+            this.sceneTree().spatialIndex3D().update(this.spatialHandle, this.globalAabb());
+        }
+    }
+
+    /**
+     * Frees the render instances and removes this node from the spatial index when this node exits the scene tree.
+     */
+    @Override
+    void exitTree() {
+        this.sceneTree().spatialIndex3D().remove(this.spatialHandle);
+        this.spatialHandle = -1;
+        super.exitTree();
+        var renderingServer = RenderingServer.getInstance();
+        renderingServer.freeInstance(this.renderInstance);
+        this.renderInstance = -1;
+        for(var lodInstance : this.lodInstances) {
+            renderingServer.freeInstance(lodInstance);
+        }
+        this.lodInstances = new int[0];
+    }
 
     /**
      * Getter method for {@link VisualInstance3D#visible}.
@@ -41,6 +262,102 @@ public class VisualInstance3D extends Node3D {
      */
     public final void setVisible(boolean visible) {
         this.visible = visible;
+        if(this.renderInstance != -1) {
+            var renderingServer = RenderingServer.getInstance();
+            renderingServer.setInstanceVisible(this.renderInstance, visible);
+            for(var lodInstance : this.lodInstances) {
+                renderingServer.setInstanceVisible(lodInstance, visible);
+            }
+        }
+    }
+
+    /**
+     * Getter method for {@link VisualInstance3D#layers}.
+     *
+     * @return Bitmask of the render layers this visual instance belongs to.
+     */
+    public final int layers() {
+        return this.layers;
+    }
+
+    /**
+     * Setter method for {@link VisualInstance3D#layers}.
+     *
+     * @param layers Bitmask of the render layers this visual instance belongs to.
+     */
+    public final void setLayers(int layers) {
+        this.layers = layers;
+        if(this.renderInstance != -1) {
+            var renderingServer = RenderingServer.getInstance();
+            renderingServer.setInstanceLayers(this.renderInstance, layers);
+            for(var lodInstance : this.lodInstances) {
+                renderingServer.setInstanceLayers(lodInstance, layers);
+            }
+        }
+    }
+
+    /**
+     * Getter method for {@link VisualInstance3D#occluder}.
+     *
+     * @return True if this visual instance is used as an occluder, otherwise false.
+     */
+    public final boolean occluder() {
+        return this.occluder;
+    }
+
+    /**
+     * Setter method for {@link VisualInstance3D#occluder}.
+     * Only the mesh returned by {@link VisualInstance3D#instanceMesh()} is used as an occluder, not the levels of detail.
+     *
+     * @param occluder True if this visual instance should be used as an occluder, otherwise false.
+     */
+    public final void setOccluder(boolean occluder) {
+        this.occluder = occluder;
+        if(this.renderInstance != -1) {
+            RenderingServer.getInstance().setInstanceOccluder(this.renderInstance, occluder);
+        }
+    }
+
+    /**
+     * Getter method for {@link VisualInstance3D#visibilityRangeBegin}.
+     *
+     * @return The distance from the camera from which this visual instance is drawn.
+     */
+    public final float visibilityRangeBegin() {
+        return this.visibilityRangeBegin;
+    }
+
+    /**
+     * Setter method for {@link VisualInstance3D#visibilityRangeBegin}.
+     *
+     * @param visibilityRangeBegin The distance from the camera from which this visual instance is drawn. Can be zero for no minimum distance.
+     */
+    public final void setVisibilityRangeBegin(float visibilityRangeBegin) {
+        this.visibilityRangeBegin = visibilityRangeBegin;
+        if(this.renderInstance != -1) {
+            this.updateVisibilityRanges();
+        }
+    }
+
+    /**
+     * Getter method for {@link VisualInstance3D#visibilityRangeEnd}.
+     *
+     * @return The distance from the camera from which this visual instance is no longer drawn.
+     */
+    public final float visibilityRangeEnd() {
+        return this.visibilityRangeEnd;
+    }
+
+    /**
+     * Setter method for {@link VisualInstance3D#visibilityRangeEnd}.
+     *
+     * @param visibilityRangeEnd The distance from the camera from which this visual instance is no longer drawn. Can be zero for no maximum distance.
+     */
+    public final void setVisibilityRangeEnd(float visibilityRangeEnd) {
+        this.visibilityRangeEnd = visibilityRangeEnd;
+        if(this.renderInstance != -1) {
+            this.updateVisibilityRanges();
+        }
     }
 
     /**
@@ -59,5 +376,6 @@ public class VisualInstance3D extends Node3D {
      */
     public final void setMaterialOverride(Material materialOverride) {
         this.materialOverride = materialOverride;
+        this.updateInstanceMesh();
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package io.github.ardentengine.core.scene;
+
+import io.github.ardentengine.core.ecs.EcsSystem;
+import io.github.ardentengine.core.ecs.World;
+
+/**
+ * A node that hosts an entity component system {@link World} inside the scene tree.
+ * <p>
+ *     The world is updated by the {@link EcsSystem} every frame while this node is inside the scene tree.
+ *     Its systems are released when this node exits the scene tree, so the resources they hold are freed together with the scene.
+ * </p>
+ * <p>
+ *     Entities in the world are not nodes and are not part of the scene tree.
+ *     Subclasses usually add systems and create entities in {@link Node#onEnter()}.
+ * </p>
+ */
+public class WorldNode extends Node {
+
+    /** The world hosted by this node. */
+    private final World world = new World();
+
+    /**
+     * Returns the world hosted by this node.
+     *
+     * @return The world hosted by this node.
+     */
+    public final World world() {
+        return this.world;
+    }
+
+    /**
+     * Starts updating the world when this node enters the scene tree.
+     */
+    @Override
+    void enterTree(SceneTree sceneTree) {
+        super.enterTree(sceneTree);
+        EcsSystem.addWorld(this.world);
+    }
+
+    /**
+     * Stops updating the world and releases its systems when this node exits the scene tree.
+     */
+    @Override
+    void exitTree() {
+        EcsSystem.removeWorld(this.world);
+        super.exitTree();
+    }
+}
\ No newline at end of file
@@ -2,16 +2,16 @@
 
 in vec2 vertex;
 in vec2 uv;
+in vec4 color;
 
 out vec4 frag_color;
 
 uniform ivec2 texture_size;
-// TODO: Implement modulate color
 uniform sampler2D color_texture;
 // TODO: Implement normal map
 
 void main() {
-    frag_color = texture(color_texture, uv);
+    frag_color = texture(color_texture, uv) * color;
 #ifdef SHADER_TYPE
     fragment_shader();
 #endif
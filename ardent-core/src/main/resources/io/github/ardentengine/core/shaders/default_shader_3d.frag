@@ -18,10 +18,12 @@ vec3 specular = vec3(1.0);
 float shininess = 32.0;
 #else
 // TODO: Implement textures here
-uniform vec3 ambient;
-uniform vec3 diffuse;
-uniform vec3 specular;
-uniform float shininess;
+layout(std140) uniform Material {
+    vec3 ambient;
+    vec3 diffuse;
+    vec3 specular;
+    float shininess;
+};
 #endif
 
 void compute_lighting();
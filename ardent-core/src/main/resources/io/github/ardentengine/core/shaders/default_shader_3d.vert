@@ -4,11 +4,16 @@ layout(location = 0) in vec3 in_vertex;
 layout(location = 1) in vec2 in_uv;
 layout(location = 2) in vec3 in_normal;
 
+// Rows of the transformation matrix, advanced once per instance
+layout(location = 3) in vec4 in_transform_row0;
+layout(location = 4) in vec4 in_transform_row1;
+layout(location = 5) in vec4 in_transform_row2;
+
 out vec3 vertex;
 out vec2 uv;
 out vec3 normal;
 
-uniform mat4x3 transformation_matrix;
+mat4x3 transformation_matrix;
 
 layout(std140) uniform Camera3D {
     mat4 view_matrix;
@@ -21,6 +26,7 @@ void main() {
     vertex=in_vertex;
     uv=in_uv;
     normal=in_normal;
+    transformation_matrix = transpose(mat3x4(in_transform_row0, in_transform_row1, in_transform_row2));
 #ifdef SHADER_TYPE
     vertex_shader();
 #endif
@@ -0,0 +1,66 @@
+package io.github.ardentengine.core;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestFrameLimiter {
+
+    @Test
+    public void testWaitsForTheFrameTime() {
+        var frameLimiter = new FrameLimiter();
+        frameLimiter.setTargetFrameRate(200);
+        var start = System.nanoTime();
+        for(var i = 0; i <= 5; i++) {
+            frameLimiter.waitForNextFrame();
+        }
+        // The first call starts the first frame, the following five wait for five frames of 5ms each
+        Assertions.assertTrue(System.nanoTime() - start >= 25_000_000L);
+    }
+
+    @Test
+    public void testUnlimitedFrameRateDoesNotWait() {
+        var frameLimiter = new FrameLimiter();
+        frameLimiter.setTargetFrameRate(0);
+        var start = System.nanoTime();
+        for(var i = 0; i < 1000; i++) {
+            frameLimiter.waitForNextFrame();
+        }
+        Assertions.assertTrue(System.nanoTime() - start < 100_000_000L);
+        Assertions.assertEquals(0, frameLimiter.missedDeadlines());
+    }
+
+    @Test
+    public void testMissedDeadlines() throws InterruptedException {
+        var frameLimiter = new FrameLimiter();
+        frameLimiter.setTargetFrameRate(1000);
+        frameLimiter.waitForNextFrame();
+        Thread.sleep(5);
+        frameLimiter.waitForNextFrame();
+        Thread.sleep(5);
+        frameLimiter.waitForNextFrame();
+        Assertions.assertEquals(2, frameLimiter.missedDeadlines());
+    }
+
+    @Test
+    public void testTargetFrameRate() {
+        var frameLimiter = new FrameLimiter();
+        frameLimiter.setTargetFrameRate(60);
+        Assertions.assertEquals(60, frameLimiter.targetFrameRate());
+        frameLimiter.setTargetFrameRate(0);
+        Assertions.assertEquals(0, frameLimiter.targetFrameRate());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> frameLimiter.setTargetFrameRate(-1));
+    }
+
+    @Test
+    public void testAdaptivePacingLowersTheFrameRate() throws InterruptedException {
+        var frameLimiter = new FrameLimiter();
+        frameLimiter.setTargetFrameRate(1000);
+        frameLimiter.setAdaptive(true);
+        // Every frame takes longer than the frame time, so the frame time is made longer after a full window
+        for(var i = 0; i <= 120; i++) {
+            frameLimiter.waitForNextFrame();
+            Thread.sleep(2);
+        }
+        Assertions.assertEquals(500, frameLimiter.targetFrameRate());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,186 @@
+package io.github.ardentengine.core.ecs;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+public class TestWorld {
+
+    private static final ComponentType POSITION = ComponentType.floats("Position", 3);
+    private static final ComponentType VELOCITY = ComponentType.floats("Velocity", 3);
+    private static final ComponentType TAG = ComponentType.ints("Tag", 1);
+
+    @Test
+    public void testQueryFindsMatchingEntities() {
+        var world = new World();
+        for(var i = 0; i < 10; i++) {
+            var entity = world.createEntity(POSITION, TAG);
+            world.setInt(entity, TAG, 0, i);
+        }
+        for(var i = 0; i < 5; i++) {
+            world.createEntity(POSITION, VELOCITY, TAG);
+        }
+        world.createEntity(VELOCITY);
+        Assertions.assertEquals(16, world.entityCount());
+        Assertions.assertEquals(15, world.query(POSITION).count());
+        Assertions.assertEquals(6, world.query(VELOCITY).count());
+        Assertions.assertEquals(5, world.query(POSITION, VELOCITY).count());
+        var sum = new int[1];
+        world.query(TAG).forEachChunk(chunk -> {
+            var tags = chunk.ints(TAG);
+            for(var row = chunk.start(); row < chunk.end(); row++) {
+                sum[0] += tags[row];
+            }
+        });
+        Assertions.assertEquals(45, sum[0]);
+    }
+
+    @Test
+    public void testAddAndRemoveComponentKeepsValues() {
+        var world = new World();
+        var entity = world.createEntity(POSITION);
+        world.setFloat(entity, POSITION, 1, 2.0f);
+        world.addComponent(entity, VELOCITY);
+        Assertions.assertTrue(world.hasComponent(entity, VELOCITY));
+        Assertions.assertEquals(2.0f, world.getFloat(entity, POSITION, 1));
+        Assertions.assertEquals(0.0f, world.getFloat(entity, VELOCITY, 1));
+        world.setFloat(entity, VELOCITY, 2, 3.0f);
+        world.removeComponent(entity, POSITION);
+        Assertions.assertFalse(world.hasComponent(entity, POSITION));
+        Assertions.assertEquals(3.0f, world.getFloat(entity, VELOCITY, 2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> world.getFloat(entity, POSITION, 0));
+    }
+
+    @Test
+    public void testDestroyEntityKeepsOtherEntities() {
+        var world = new World();
+        var first = world.createEntity(TAG);
+        var second = world.createEntity(TAG);
+        var third = world.createEntity(TAG);
+        world.setInt(first, TAG, 0, 1);
+        world.setInt(second, TAG, 0, 2);
+        world.setInt(third, TAG, 0, 3);
+        world.destroyEntity(first);
+        Assertions.assertFalse(world.isAlive(first));
+        Assertions.assertEquals(2, world.getInt(second, TAG, 0));
+        Assertions.assertEquals(3, world.getInt(third, TAG, 0));
+        Assertions.assertEquals(2, world.query(TAG).count());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> world.destroyEntity(first));
+        var reused = world.createEntity(TAG);
+        Assertions.assertEquals(first, reused);
+        Assertions.assertEquals(0, world.getInt(reused, TAG, 0));
+    }
+
+    @Test
+    public void testChangesDuringIterationAreDeferred() {
+        var world = new World();
+        for(var i = 0; i < 3; i++) {
+            world.createEntity(POSITION);
+        }
+        var created = new ArrayList<Integer>();
+        var visited = new int[1];
+        world.query(POSITION).forEachChunk(chunk -> {
+            for(var row = chunk.start(); row < chunk.end(); row++) {
+                visited[0]++;
+                world.destroyEntity(chunk.entity(row));
+                created.add(world.createEntity(POSITION, VELOCITY));
+            }
+        });
+        Assertions.assertEquals(3, visited[0]);
+        Assertions.assertEquals(3, world.query(POSITION).count());
+        Assertions.assertEquals(3, world.query(POSITION, VELOCITY).count());
+        for(var entity : created) {
+            Assertions.assertTrue(world.isAlive(entity));
+        }
+    }
+
+    @Test
+    public void testParallelIteration() {
+        var world = new World();
+        var count = Query.CHUNK_SIZE * 4 + 10;
+        for(var i = 0; i < count; i++) {
+            var entity = world.createEntity(POSITION, VELOCITY);
+            world.setFloat(entity, VELOCITY, 0, 1.0f);
+        }
+        world.query(POSITION, VELOCITY).forEachChunkParallel(chunk -> {
+            var positions = chunk.floats(POSITION);
+            var velocities = chunk.floats(VELOCITY);
+            for(var i = chunk.start() * 3; i < chunk.end() * 3; i++) {
+                positions[i] += velocities[i] * 2.0f;
+            }
+        });
+        for(var entity = 0; entity < count; entity++) {
+            Assertions.assertEquals(2.0f, world.getFloat(entity, POSITION, 0));
+        }
+    }
+
+    @Test
+    public void testRemovalListener() {
+        var world = new World();
+        var removed = new ArrayList<Integer>();
+        world.addRemovalListener(TAG, entity -> removed.add(world.getInt(entity, TAG, 0)));
+        var first = world.createEntity(TAG);
+        var second = world.createEntity(POSITION, TAG);
+        world.setInt(first, TAG, 0, 1);
+        world.setInt(second, TAG, 0, 2);
+        world.removeComponent(first, TAG);
+        world.destroyEntity(second);
+        Assertions.assertEquals(2, removed.size());
+        Assertions.assertEquals(1, removed.get(0));
+        Assertions.assertEquals(2, removed.get(1));
+    }
+
+    @Test
+    public void testEntitiesCreatedDuringIterationCanBeWritten() {
+        var world = new World();
+        world.createEntity(POSITION);
+        var created = new int[1];
+        world.query(POSITION).forEachChunk(chunk -> {
+            created[0] = world.createEntity(POSITION, TAG);
+            world.setFloat(created[0], POSITION, 2, 5.0f);
+            world.setInt(created[0], TAG, 0, 7);
+            Assertions.assertTrue(world.isAlive(created[0]));
+            Assertions.assertTrue(world.hasComponent(created[0], TAG));
+            Assertions.assertEquals(5.0f, world.getFloat(created[0], POSITION, 2));
+        });
+        Assertions.assertEquals(2, world.query(POSITION).count());
+        Assertions.assertEquals(5.0f, world.getFloat(created[0], POSITION, 2));
+        Assertions.assertEquals(7, world.getInt(created[0], TAG, 0));
+    }
+
+    @Test
+    public void testDeferredChangesAreAppliedOnce() {
+        var world = new World();
+        var first = world.createEntity(TAG);
+        var second = world.createEntity(TAG);
+        world.createEntity(POSITION);
+        var removed = new ArrayList<Integer>();
+        world.addRemovalListener(TAG, entity -> {
+            removed.add(entity);
+            world.query(POSITION).forEachChunk(chunk -> {});
+        });
+        world.query(TAG).forEachChunk(chunk -> {
+            world.destroyEntity(first);
+            world.destroyEntity(second);
+        });
+        Assertions.assertEquals(2, removed.size());
+        Assertions.assertFalse(world.isAlive(first));
+        Assertions.assertFalse(world.isAlive(second));
+        Assertions.assertEquals(1, world.entityCount());
+    }
+
+    @Test
+    public void testDeferredChangesAreDroppedIfOneThrows() {
+        var world = new World();
+        var entity = world.createEntity(TAG);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> world.query(TAG).forEachChunk(chunk -> {
+            world.destroyEntity(entity);
+            world.destroyEntity(entity);
+        }));
+        var other = world.createEntity(TAG);
+        world.query(TAG).forEachChunk(chunk -> {});
+        Assertions.assertTrue(world.isAlive(other));
+        Assertions.assertEquals(1, world.entityCount());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package io.github.ardentengine.core.jobs;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class TestJobSystem {
+
+    @Test
+    public void testRun() {
+        var done = new AtomicBoolean(false);
+        var counter = JobSystem.run(() -> done.set(true));
+        counter.join();
+        Assertions.assertTrue(counter.isComplete());
+        Assertions.assertTrue(done.get());
+    }
+
+    @Test
+    public void testRunAfterDependency() {
+        var value = new AtomicInteger(0);
+        var first = JobSystem.run(() -> {
+            sleep();
+            value.compareAndSet(0, 1);
+        });
+        var second = JobSystem.run(() -> value.compareAndSet(1, 2), first);
+        second.join();
+        Assertions.assertEquals(2, value.get());
+    }
+
+    @Test
+    public void testParallelFor() {
+        var visits = new AtomicIntegerArray(1000);
+        JobSystem.parallelFor(0, 1000, 64, visits::incrementAndGet).join();
+        for(var i = 0; i < visits.length(); i++) {
+            Assertions.assertEquals(1, visits.get(i));
+        }
+    }
+
+    @Test
+    public void testParallelForEmptyRange() {
+        Assertions.assertTrue(JobSystem.parallelFor(10, 10, 4, i -> Assertions.fail()).isComplete());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JobSystem.parallelFor(0, 10, 0, i -> {}));
+    }
+
+    @Test
+    public void testAll() {
+        var sum = new AtomicInteger(0);
+        var first = JobSystem.run(() -> sum.addAndGet(1));
+        var second = JobSystem.parallelFor(0, 10, 3, i -> sum.addAndGet(2));
+        JobCounter.all(first, second, JobCounter.COMPLETE).join();
+        Assertions.assertEquals(21, sum.get());
+    }
+
+    @Test
+    public void testExceptionIsRethrownByJoin() {
+        var counter = JobSystem.run(() -> {
+            throw new IllegalStateException("Test");
+        });
+        var exception = Assertions.assertThrows(CompletionException.class, counter::join);
+        Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+        Assertions.assertThrows(CompletionException.class, JobCounter.all(counter)::join);
+    }
+
+    @Test
+    public void testRunOnMainThread() {
+        var thread = new Thread[1];
+        var counter = JobSystem.run(TestJobSystem::sleep);
+        JobSystem.runOnMainThread(() -> thread[0] = Thread.currentThread(), counter);
+        counter.join();
+        JobSystem.processMainThreadJobs();
+        Assertions.assertEquals(Thread.currentThread(), thread[0]);
+    }
+
+    @Test
+    public void testDependencyFailureIsPropagated() {
+        var ran = new AtomicInteger(0);
+        var dependency = JobSystem.run(() -> {
+            sleep();
+            throw new IllegalStateException("Test");
+        });
+        var job = JobSystem.run(ran::incrementAndGet, dependency);
+        var loop = JobSystem.parallelFor(0, 10, 3, i -> ran.incrementAndGet(), dependency);
+        var exception = Assertions.assertThrows(CompletionException.class, job::join);
+        Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+        exception = Assertions.assertThrows(CompletionException.class, loop::join);
+        Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+        Assertions.assertEquals(0, ran.get());
+    }
+
+    @Test
+    public void testThrowingContinuationCompletesCounter() {
+        var counter = new JobCounter(1);
+        var ran = new AtomicInteger(0);
+        counter.onComplete(() -> {
+            throw new IllegalStateException("Test");
+        });
+        counter.onComplete(ran::incrementAndGet);
+        Assertions.assertThrows(IllegalStateException.class, counter::decrement);
+        Assertions.assertTrue(counter.isComplete());
+        Assertions.assertEquals(1, ran.get());
+        counter.join();
+    }
+
+    @Test
+    public void testRunAfterShutdown() {
+        JobSystem.run(TestJobSystem::sleep).join();
+        JobSystem.shutdown();
+        var sum = new AtomicInteger(0);
+        JobSystem.parallelFor(0, 100, 10, i -> sum.addAndGet(i)).join();
+        Assertions.assertEquals(4950, sum.get());
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package io.github.ardentengine.core.math;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestAABB {
+
+    @Test
+    public void testCenterAndSize() {
+        var aabb = new AABB(-1.0f, 0.0f, 1.0f, 3.0f, 2.0f, 5.0f);
+        Assertions.assertEquals(new Vector3(1.0f, 1.0f, 3.0f), aabb.center());
+        Assertions.assertEquals(new Vector3(4.0f, 2.0f, 4.0f), aabb.size());
+    }
+
+    @Test
+    public void testContainsPoint() {
+        var aabb = new AABB(-1.0f, -1.0f, -1.0f, 1.0f, 1.0f, 1.0f);
+        Assertions.assertTrue(aabb.contains(new Vector3(0.5f, -0.5f, 1.0f)));
+        Assertions.assertFalse(aabb.contains(new Vector3(0.5f, -1.5f, 0.0f)));
+    }
+
+    @Test
+    public void testIntersects() {
+        var aabb = new AABB(0.0f, 0.0f, 0.0f, 2.0f, 2.0f, 2.0f);
+        Assertions.assertTrue(aabb.intersects(new AABB(1.0f, 1.0f, 1.0f, 3.0f, 3.0f, 3.0f)));
+        Assertions.assertTrue(aabb.intersects(new AABB(2.0f, 0.0f, 0.0f, 3.0f, 1.0f, 1.0f)));
+        Assertions.assertFalse(aabb.intersects(new AABB(0.0f, 3.0f, 0.0f, 1.0f, 4.0f, 1.0f)));
+    }
+
+    @Test
+    public void testMerge() {
+        var aabb1 = new AABB(0.0f, 0.0f, 0.0f, 1.0f, 1.0f, 1.0f);
+        var aabb2 = new AABB(-1.0f, 0.5f, 2.0f, 0.5f, 3.0f, 4.0f);
+        Assertions.assertEquals(new AABB(-1.0f, 0.0f, 0.0f, 1.0f, 3.0f, 4.0f), aabb1.merge(aabb2));
+    }
+
+    @Test
+    public void testTransformedByTranslationAndScaling() {
+        var aabb = new AABB(-1.0f, -1.0f, -1.0f, 1.0f, 1.0f, 1.0f);
+        var transform = Matrix3x4.translation(1.0f, 2.0f, 3.0f).multiply(Matrix4.scaling(2.0f, 1.0f, 3.0f));
+        Assertions.assertEquals(new AABB(-1.0f, 1.0f, 0.0f, 3.0f, 3.0f, 6.0f), aabb.transformed(transform));
+    }
+
+    @Test
+    public void testTransformedByRotation() {
+        var aabb = new AABB(-1.0f, -1.0f, -1.0f, 1.0f, 1.0f, 1.0f);
+        var result = aabb.transformed(Matrix3x4.rotationY(Math.PI / 4.0));
+        var extent = (float) Math.sqrt(2.0);
+        Assertions.assertTrue(result.min().equalsApprox(-extent, -1.0f, -extent));
+        Assertions.assertTrue(result.max().equalsApprox(extent, 1.0f, extent));
+    }
+
+    @Test
+    public void testFromPoints3D() {
+        var points = new float[] {1.0f, -2.0f, 0.5f, -3.0f, 4.0f, 2.0f, 0.0f, 0.0f, -1.0f};
+        Assertions.assertEquals(new AABB(-3.0f, -2.0f, -1.0f, 1.0f, 4.0f, 2.0f), AABB.fromPoints(points, 3));
+    }
+
+    @Test
+    public void testFromPoints2D() {
+        var points = new float[] {1.0f, -2.0f, -3.0f, 4.0f};
+        Assertions.assertEquals(new AABB(-3.0f, -2.0f, 0.0f, 1.0f, 4.0f, 0.0f), AABB.fromPoints(points, 2));
+    }
+
+    @Test
+    public void testFromNoPoints() {
+        Assertions.assertEquals(AABB.ZERO, AABB.fromPoints(null, 3));
+        Assertions.assertEquals(AABB.ZERO, AABB.fromPoints(new float[0], 3));
+    }
+}
\ No newline at end of file
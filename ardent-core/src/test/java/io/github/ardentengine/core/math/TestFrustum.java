@@ -0,0 +1,54 @@
+package io.github.ardentengine.core.math;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestFrustum {
+
+    private static Frustum cameraFrustum() {
+        // Camera at the origin looking towards negative z
+        return new Frustum(Matrix4.perspectiveProjection(Math.PI / 2.0, 1.0f, 0.1f, 100.0f));
+    }
+
+    @Test
+    public void testContainsPointInFront() {
+        Assertions.assertTrue(cameraFrustum().contains(new Vector3(0.0f, 0.0f, -10.0f)));
+    }
+
+    @Test
+    public void testDoesNotContainPointBehind() {
+        Assertions.assertFalse(cameraFrustum().contains(new Vector3(0.0f, 0.0f, 10.0f)));
+    }
+
+    @Test
+    public void testDoesNotContainPointBeyondFarPlane() {
+        Assertions.assertFalse(cameraFrustum().contains(new Vector3(0.0f, 0.0f, -200.0f)));
+    }
+
+    @Test
+    public void testDoesNotContainPointOutsideOfSides() {
+        var frustum = cameraFrustum();
+        Assertions.assertFalse(frustum.contains(new Vector3(20.0f, 0.0f, -10.0f)));
+        Assertions.assertFalse(frustum.contains(new Vector3(0.0f, -20.0f, -10.0f)));
+    }
+
+    @Test
+    public void testIntersectsBoxCrossingPlane() {
+        var frustum = cameraFrustum();
+        Assertions.assertTrue(frustum.intersects(new AABB(9.0f, -1.0f, -11.0f, 12.0f, 1.0f, -9.0f)));
+        Assertions.assertFalse(frustum.intersects(new AABB(12.0f, -1.0f, -11.0f, 14.0f, 1.0f, -9.0f)));
+    }
+
+    @Test
+    public void testIntersectsBoxBehindCamera() {
+        Assertions.assertFalse(cameraFrustum().intersects(new AABB(-1.0f, -1.0f, 1.0f, 1.0f, 1.0f, 3.0f)));
+    }
+
+    @Test
+    public void testFrustumWithViewMatrix() {
+        // Camera moved to (0, 0, 20) still looking towards negative z
+        var frustum = new Frustum(Matrix4.perspectiveProjection(Math.PI / 2.0, 1.0f, 0.1f, 100.0f).multiply(Matrix4.translation(0.0f, 0.0f, -20.0f)));
+        Assertions.assertTrue(frustum.contains(new Vector3(0.0f, 0.0f, 10.0f)));
+        Assertions.assertFalse(frustum.contains(new Vector3(0.0f, 0.0f, 30.0f)));
+    }
+}
\ No newline at end of file
@@ -3,6 +3,8 @@ package io.github.ardentengine.core.math;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.nio.FloatBuffer;
+
 public class TestMatrix2x3 {
 
     @Test
@@ -186,6 +188,21 @@ public class TestMatrix2x3 {
         Assertions.assertTrue(m1.equalsApprox(m2));
     }
 
+    @Test
+    public void testMatrixWriteToBuffer() {
+        var m = new Matrix2x3(1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f);
+        var buffer = m.writeTo(FloatBuffer.allocate(6)).flip();
+        Assertions.assertEquals(FloatBuffer.wrap(new float[] {1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f}), buffer);
+    }
+
+    @Test
+    public void testMatrixWriteToArray() {
+        var m = new Matrix2x3(1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f);
+        var array = new float[7];
+        m.writeTo(array, 1);
+        Assertions.assertArrayEquals(new float[] {0.0f, 1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f}, array);
+    }
+
     @Test
     public void testMatrixFromRows() {
         var m = new Matrix2x3(1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f);
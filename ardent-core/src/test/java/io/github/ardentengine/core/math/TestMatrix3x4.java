@@ -3,6 +3,8 @@ package io.github.ardentengine.core.math;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.nio.FloatBuffer;
+
 public class TestMatrix3x4 {
 
     @Test
@@ -192,6 +194,21 @@ public class TestMatrix3x4 {
         Assertions.assertTrue(m1.equalsApprox(m2));
     }
 
+    @Test
+    public void testMatrixWriteToBuffer() {
+        var m = new Matrix3x4(1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f, 9.0f, 10.0f, 11.0f, 12.0f);
+        var buffer = m.writeTo(FloatBuffer.allocate(12)).flip();
+        Assertions.assertEquals(FloatBuffer.wrap(new float[] {1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f, 9.0f, 10.0f, 11.0f, 12.0f}), buffer);
+    }
+
+    @Test
+    public void testMatrixWriteToArray() {
+        var m = new Matrix3x4(1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f, 9.0f, 10.0f, 11.0f, 12.0f);
+        var array = new float[13];
+        m.writeTo(array, 1);
+        Assertions.assertArrayEquals(new float[] {0.0f, 1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f, 9.0f, 10.0f, 11.0f, 12.0f}, array);
+    }
+
     @Test
     public void testMatrixFromRows() {
         var m = new Matrix3x4(1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f, 9.0f, 10.0f, 11.0f, 12.0f);
@@ -268,6 +285,15 @@ public class TestMatrix3x4 {
         Assertions.assertEquals(v.multiply(s), m.multiply(v, 1.0f));
     }
 
+    @Test
+    public void testTransformMatrix() {
+        var t = new Vector3(1.0f, -2.0f, 3.0f);
+        var r = new Quaternion(new Vector3(1.0f, 2.0f, -1.0f).normalized(), 0.8);
+        var s = new Vector3(2.0f, 0.5f, -1.5f);
+        var expected = Matrix3x4.translation(t).multiply(Matrix3x4.rotation(r), 0.0f, 0.0f, 0.0f, 1.0f).multiply(Matrix3x4.scaling(s), 0.0f, 0.0f, 0.0f, 1.0f);
+        Assertions.assertTrue(expected.equalsApprox(Matrix3x4.transform(t, r, s)));
+    }
+
 //    @Test
 //    public void testScaling matrix from 2D vector() {
 //        var v = new Vector2(1.5f, 1.5f);
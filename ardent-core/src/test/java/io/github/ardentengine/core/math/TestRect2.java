@@ -0,0 +1,52 @@
+package io.github.ardentengine.core.math;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestRect2 {
+
+    @Test
+    public void testCenterAndSize() {
+        var rect = new Rect2(-1.0f, 0.0f, 3.0f, 2.0f);
+        Assertions.assertEquals(new Vector2(1.0f, 1.0f), rect.center());
+        Assertions.assertEquals(new Vector2(4.0f, 2.0f), rect.size());
+    }
+
+    @Test
+    public void testContainsPoint() {
+        var rect = new Rect2(-1.0f, -1.0f, 1.0f, 1.0f);
+        Assertions.assertTrue(rect.contains(new Vector2(0.5f, 1.0f)));
+        Assertions.assertFalse(rect.contains(new Vector2(0.5f, -1.5f)));
+    }
+
+    @Test
+    public void testIntersects() {
+        var rect = new Rect2(0.0f, 0.0f, 2.0f, 2.0f);
+        Assertions.assertTrue(rect.intersects(new Rect2(1.0f, 1.0f, 3.0f, 3.0f)));
+        Assertions.assertTrue(rect.intersects(new Rect2(2.0f, 0.0f, 3.0f, 1.0f)));
+        Assertions.assertFalse(rect.intersects(new Rect2(0.0f, 3.0f, 1.0f, 4.0f)));
+    }
+
+    @Test
+    public void testMerge() {
+        var rect1 = new Rect2(0.0f, 0.0f, 1.0f, 1.0f);
+        var rect2 = new Rect2(-1.0f, 0.5f, 0.5f, 3.0f);
+        Assertions.assertEquals(new Rect2(-1.0f, 0.0f, 1.0f, 3.0f), rect1.merge(rect2));
+    }
+
+    @Test
+    public void testTransformedByTranslationAndScaling() {
+        var rect = new Rect2(-1.0f, -1.0f, 1.0f, 1.0f);
+        var transform = Matrix2x3.transformation(1.0f, 2.0f, 0.0, 2.0f, 3.0f);
+        Assertions.assertEquals(new Rect2(-1.0f, -1.0f, 3.0f, 5.0f), rect.transformed(transform));
+    }
+
+    @Test
+    public void testTransformedByRotation() {
+        var rect = new Rect2(-1.0f, -1.0f, 1.0f, 1.0f);
+        var result = rect.transformed(Matrix2x3.rotation(Math.PI / 4.0));
+        var extent = (float) Math.sqrt(2.0);
+        Assertions.assertTrue(result.min().equalsApprox(new Vector2(-extent, -extent)));
+        Assertions.assertTrue(result.max().equalsApprox(new Vector2(extent, extent)));
+    }
+}
\ No newline at end of file
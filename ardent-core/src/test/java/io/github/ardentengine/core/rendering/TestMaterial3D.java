@@ -36,4 +36,12 @@ public class TestMaterial3D {
         material.setShininess(0.75f);
         Assertions.assertEquals(0.75f, material.shininess());
     }
+
+    @Test
+    public void testVersionIncreasesWhenParameterChanges() {
+        var material = new Material3D();
+        var version = material.version();
+        material.setShininess(0.75f);
+        Assertions.assertNotEquals(version, material.version());
+    }
 }
\ No newline at end of file
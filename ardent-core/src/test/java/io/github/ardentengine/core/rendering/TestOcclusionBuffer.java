@@ -0,0 +1,126 @@
+package io.github.ardentengine.core.rendering;
+
+import io.github.ardentengine.core.math.AABB;
+import io.github.ardentengine.core.math.Matrix3x4;
+import io.github.ardentengine.core.math.Matrix4;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestOcclusionBuffer {
+
+    /** A square of size 4 facing the camera. */
+    private static final float[] WALL_VERTICES = {-2.0f, -2.0f, 0.0f, 2.0f, -2.0f, 0.0f, 2.0f, 2.0f, 0.0f, -2.0f, 2.0f, 0.0f};
+    private static final int[] WALL_INDICES = {0, 1, 2, 0, 2, 3};
+
+    private static OcclusionBuffer createBufferWithWall(float distance) {
+        var occlusionBuffer = new OcclusionBuffer(64, 64);
+        // The camera is at the origin and looks towards negative z
+        occlusionBuffer.clear(Matrix4.perspectiveProjection(Math.PI / 2.0, 1.0f, 0.1f, 100.0f));
+        occlusionBuffer.rasterize(WALL_VERTICES, WALL_INDICES, Matrix3x4.translation(0.0f, 0.0f, -distance));
+        occlusionBuffer.buildHierarchy();
+        return occlusionBuffer;
+    }
+
+    @Test
+    public void testEmptyBufferDoesNotOcclude() {
+        var occlusionBuffer = new OcclusionBuffer(64, 64);
+        occlusionBuffer.clear(Matrix4.perspectiveProjection(Math.PI / 2.0, 1.0f, 0.1f, 100.0f));
+        occlusionBuffer.buildHierarchy();
+        Assertions.assertFalse(occlusionBuffer.isOccluded(new AABB(-0.5f, -0.5f, -10.5f, 0.5f, 0.5f, -9.5f)));
+    }
+
+    @Test
+    public void testBoxBehindWallIsOccluded() {
+        var occlusionBuffer = createBufferWithWall(5.0f);
+        Assertions.assertTrue(occlusionBuffer.isOccluded(new AABB(-0.5f, -0.5f, -10.5f, 0.5f, 0.5f, -9.5f)));
+    }
+
+    @Test
+    public void testBoxInFrontOfWallIsNotOccluded() {
+        var occlusionBuffer = createBufferWithWall(5.0f);
+        Assertions.assertFalse(occlusionBuffer.isOccluded(new AABB(-0.5f, -0.5f, -3.5f, 0.5f, 0.5f, -2.5f)));
+    }
+
+    @Test
+    public void testBoxIntersectingWallIsNotOccluded() {
+        var occlusionBuffer = createBufferWithWall(5.0f);
+        Assertions.assertFalse(occlusionBuffer.isOccluded(new AABB(-0.5f, -0.5f, -5.5f, 0.5f, 0.5f, -4.5f)));
+    }
+
+    @Test
+    public void testBoxBesideWallIsNotOccluded() {
+        var occlusionBuffer = createBufferWithWall(5.0f);
+        // Partially behind the wall
+        Assertions.assertFalse(occlusionBuffer.isOccluded(new AABB(2.0f, -0.5f, -10.5f, 6.0f, 0.5f, -9.5f)));
+        // Completely beside the wall
+        Assertions.assertFalse(occlusionBuffer.isOccluded(new AABB(6.0f, -0.5f, -10.5f, 7.0f, 0.5f, -9.5f)));
+    }
+
+    @Test
+    public void testBoxCrossingNearPlaneIsNotOccluded() {
+        var occlusionBuffer = createBufferWithWall(5.0f);
+        Assertions.assertFalse(occlusionBuffer.isOccluded(new AABB(-0.5f, -0.5f, -10.0f, 0.5f, 0.5f, 1.0f)));
+    }
+
+    @Test
+    public void testTrianglesCrossingNearPlaneAreSkipped() {
+        var occlusionBuffer = new OcclusionBuffer(64, 64);
+        occlusionBuffer.clear(Matrix4.perspectiveProjection(Math.PI / 2.0, 1.0f, 0.1f, 100.0f));
+        // A floor that goes from behind the camera to in front of it
+        var vertices = new float[] {-10.0f, -1.0f, 5.0f, 10.0f, -1.0f, 5.0f, 0.0f, -1.0f, -50.0f};
+        occlusionBuffer.rasterize(vertices, null, Matrix3x4.translation(0.0f, 0.0f, 0.0f));
+        occlusionBuffer.buildHierarchy();
+        Assertions.assertEquals(1.0f, occlusionBuffer.depth(occlusionBuffer.levelCount() - 1, 0, 0));
+    }
+
+    @Test
+    public void testHierarchyStoresFarthestDepth() {
+        var occlusionBuffer = createBufferWithWall(5.0f);
+        var lastLevel = occlusionBuffer.levelCount() - 1;
+        // The wall does not cover the whole screen, so the farthest depth is the far plane
+        Assertions.assertEquals(1.0f, occlusionBuffer.depth(lastLevel, 0, 0));
+        Assertions.assertTrue(occlusionBuffer.depth(0, 32, 32) < 1.0f);
+        Assertions.assertEquals(1.0f, occlusionBuffer.depth(0, 0, 0));
+    }
+
+    @Test
+    public void testBoxSeenThroughGapNarrowerThanTexelIsNotOccluded() {
+        var occlusionBuffer = new OcclusionBuffer(64, 64);
+        occlusionBuffer.clear(Matrix4.perspectiveProjection(Math.PI / 2.0, 1.0f, 0.1f, 100.0f));
+        // Two walls at a distance of 5 with a gap of less than a texel between them, centered on the boundary between two columns of texels
+        var left = new float[] {-3.0f, -2.0f, -5.0f, -0.05f, -2.0f, -5.0f, -0.05f, 2.0f, -5.0f, -3.0f, 2.0f, -5.0f};
+        var right = new float[] {0.05f, -2.0f, -5.0f, 3.0f, -2.0f, -5.0f, 3.0f, 2.0f, -5.0f, 0.05f, 2.0f, -5.0f};
+        occlusionBuffer.rasterize(left, WALL_INDICES, Matrix3x4.translation(0.0f, 0.0f, 0.0f));
+        occlusionBuffer.rasterize(right, WALL_INDICES, Matrix3x4.translation(0.0f, 0.0f, 0.0f));
+        occlusionBuffer.buildHierarchy();
+        Assertions.assertEquals(1.0f, occlusionBuffer.depth(0, 31, 32));
+        Assertions.assertEquals(1.0f, occlusionBuffer.depth(0, 32, 32));
+        Assertions.assertTrue(occlusionBuffer.depth(0, 29, 32) < 1.0f);
+        Assertions.assertFalse(occlusionBuffer.isOccluded(new AABB(-0.02f, -0.5f, -10.5f, 0.02f, 0.5f, -9.5f)));
+        Assertions.assertTrue(occlusionBuffer.isOccluded(new AABB(-3.0f, -0.5f, -10.5f, -2.0f, 0.5f, -9.5f)));
+    }
+
+    @Test
+    public void testDepthIsNeverNearerThanTheOccluder() {
+        var occlusionBuffer = new OcclusionBuffer(64, 64);
+        var viewProjection = Matrix4.perspectiveProjection(Math.PI / 2.0, 1.0f, 0.1f, 100.0f);
+        occlusionBuffer.clear(viewProjection);
+        // A wall that goes from a distance of 3 on the left to a distance of 8 on the right
+        var vertices = new float[] {-2.0f, -2.0f, -3.0f, 2.0f, -2.0f, -8.0f, 2.0f, 2.0f, -8.0f, -2.0f, 2.0f, -3.0f};
+        occlusionBuffer.rasterize(vertices, WALL_INDICES, Matrix3x4.translation(0.0f, 0.0f, 0.0f));
+        for(var y = 0; y < 64; y++) {
+            for(var x = 0; x < 64; x++) {
+                var depth = occlusionBuffer.depth(0, x, y);
+                if(depth < 1.0f) {
+                    // The wall is at z = -5.5 - 1.25 * x and the ray through a point at the given normalized x coordinate is x = -ndcX * z
+                    for(var corner = 0; corner <= 1; corner++) {
+                        var ndcX = (x + corner) / 32.0f - 1.0f;
+                        var z = -5.5f / (1.0f - 1.25f * ndcX);
+                        var clip = viewProjection.multiply(-ndcX * z, 0.0f, z, 1.0f);
+                        Assertions.assertTrue(clip.z() / clip.w() * 0.5f + 0.5f <= depth + 1e-6f);
+                    }
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package io.github.ardentengine.core.resources;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestShaderLoader {
+
+    @Test
+    public void testMoveUniformsToBlock() {
+        var shaderCode = "uniform float u_speed;\nuniform vec4 u_color;\nvoid f_main(){}";
+        var expected = "layout(std140) uniform Material{float u_speed;vec4 u_color;};\n\nvoid f_main(){}";
+        Assertions.assertEquals(expected, ShaderLoader.moveUniformsToBlock(shaderCode)[0]);
+    }
+
+    @Test
+    public void testSamplersAreNotMovedToBlock() {
+        var shaderCode = "uniform sampler2D u_texture;\nuniform float u_speed;\nvoid f_main(){}";
+        var expected = "uniform sampler2D u_texture;\nlayout(std140) uniform Material{float u_speed;};\nvoid f_main(){}";
+        Assertions.assertEquals(expected, ShaderLoader.moveUniformsToBlock(shaderCode)[0]);
+    }
+
+    @Test
+    public void testCodeWithoutUniformsIsUnchanged() {
+        var shaderCode = "uniform sampler2D u_texture;\nvoid f_main(){}";
+        Assertions.assertEquals(shaderCode, ShaderLoader.moveUniformsToBlock(shaderCode)[0]);
+    }
+
+    @Test
+    public void testStagesShareTheSameBlock() {
+        var vertexCode = "uniform float u_speed;\nvoid v_main(){}";
+        var fragmentCode = "uniform vec4 u_color;\nuniform float u_speed;\nvoid f_main(){}";
+        var block = "layout(std140) uniform Material{float u_speed;vec4 u_color;};";
+        var result = ShaderLoader.moveUniformsToBlock(vertexCode, fragmentCode);
+        Assertions.assertEquals(block + "\nvoid v_main(){}", result[0]);
+        Assertions.assertEquals(block + "\n\nvoid f_main(){}", result[1]);
+    }
+
+    @Test
+    public void testBlockIsAddedToStagesWithoutUniforms() {
+        var vertexCode = "void v_main(){}";
+        var fragmentCode = "uniform vec4 u_color;\nvoid f_main(){}";
+        var block = "layout(std140) uniform Material{vec4 u_color;};";
+        var result = ShaderLoader.moveUniformsToBlock(vertexCode, fragmentCode, "");
+        Assertions.assertEquals(block + "\nvoid v_main(){}", result[0]);
+        Assertions.assertEquals(block + "\nvoid f_main(){}", result[1]);
+        Assertions.assertEquals("", result[2]);
+    }
+
+    @Test
+    public void testArrayAndCommaSeparatedUniforms() {
+        var shaderCode = "uniform float u_weights[4];\nuniform vec2 u_a, u_b[2];\nuniform float[3] u_c;\nvoid f_main(){}";
+        var expected = "layout(std140) uniform Material{float u_weights[4];vec2 u_a;vec2 u_b[2];float[3] u_c;};\n\n\nvoid f_main(){}";
+        Assertions.assertEquals(expected, ShaderLoader.moveUniformsToBlock(shaderCode)[0]);
+    }
+}
\ No newline at end of file
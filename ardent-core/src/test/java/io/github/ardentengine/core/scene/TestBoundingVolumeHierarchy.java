@@ -0,0 +1,158 @@
+package io.github.ardentengine.core.scene;
+
+import io.github.ardentengine.core.math.AABB;
+import io.github.ardentengine.core.math.Frustum;
+import io.github.ardentengine.core.math.Matrix4;
+import io.github.ardentengine.core.math.Vector3;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+
+public class TestBoundingVolumeHierarchy {
+
+    private static AABB randomBox(Random random) {
+        var x = random.nextFloat() * 200.0f - 100.0f;
+        var y = random.nextFloat() * 200.0f - 100.0f;
+        var z = random.nextFloat() * 200.0f - 100.0f;
+        var size = random.nextFloat() * 4.0f;
+        return new AABB(x, y, z, x + size, y + size, z + size);
+    }
+
+    private static ArrayList<AABB> randomBoxes(Random random, int count) {
+        var boxes = new ArrayList<AABB>();
+        for(var i = 0; i < count; i++) {
+            boxes.add(randomBox(random));
+        }
+        return boxes;
+    }
+
+    private static BoundingVolumeHierarchy<Integer> createTree(ArrayList<AABB> boxes) {
+        var bvh = new BoundingVolumeHierarchy<Integer>();
+        for(var i = 0; i < boxes.size(); i++) {
+            bvh.insert(i, boxes.get(i));
+        }
+        return bvh;
+    }
+
+    @Test
+    public void testInsertAndGet() {
+        var bvh = new BoundingVolumeHierarchy<String>();
+        var handle = bvh.insert("test", new AABB(0.0f, 0.0f, 0.0f, 1.0f, 1.0f, 1.0f));
+        Assertions.assertEquals("test", bvh.get(handle));
+        Assertions.assertEquals(1, bvh.size());
+    }
+
+    @Test
+    public void testTreeIsBalanced() {
+        var bvh = new BoundingVolumeHierarchy<Integer>();
+        // Inserting boxes in order is the worst case for an unbalanced tree
+        for(var i = 0; i < 1024; i++) {
+            bvh.insert(i, new AABB(i, 0.0f, 0.0f, i + 0.5f, 0.5f, 0.5f));
+        }
+        Assertions.assertTrue(bvh.height() < 30);
+    }
+
+    @Test
+    public void testBoxQueryFindsTheSameObjectsAsLinearScan() {
+        var random = new Random(1);
+        var boxes = randomBoxes(random, 1000);
+        var bvh = createTree(boxes);
+        var query = new AABB(-20.0f, -20.0f, -20.0f, 20.0f, 20.0f, 20.0f);
+        var found = new HashSet<Integer>();
+        bvh.query(query, found::add);
+        for(var i = 0; i < boxes.size(); i++) {
+            if(boxes.get(i).intersects(query)) {
+                Assertions.assertTrue(found.contains(i));
+            }
+        }
+    }
+
+    @Test
+    public void testFrustumQueryFindsTheSameObjectsAsLinearScan() {
+        var random = new Random(2);
+        var boxes = randomBoxes(random, 1000);
+        var bvh = createTree(boxes);
+        var frustum = new Frustum(Matrix4.perspectiveProjection(Math.PI / 2.0, 1.0f, 0.1f, 50.0f));
+        var found = new HashSet<Integer>();
+        bvh.query(frustum, found::add);
+        var expected = 0;
+        for(var i = 0; i < boxes.size(); i++) {
+            if(frustum.intersects(boxes.get(i))) {
+                Assertions.assertTrue(found.contains(i));
+                expected++;
+            }
+        }
+        // Enlarged bounds may report a few more objects, but most of them should be skipped
+        Assertions.assertTrue(found.size() >= expected && found.size() < boxes.size() / 2);
+    }
+
+    @Test
+    public void testSphereQuery() {
+        var bvh = new BoundingVolumeHierarchy<String>();
+        bvh.insert("near", new AABB(2.0f, 0.0f, 0.0f, 3.0f, 1.0f, 1.0f));
+        bvh.insert("far", new AABB(10.0f, 0.0f, 0.0f, 11.0f, 1.0f, 1.0f));
+        var found = new ArrayList<String>();
+        bvh.query(Vector3.ZERO, 3.0f, found::add);
+        Assertions.assertEquals(1, found.size());
+        Assertions.assertEquals("near", found.get(0));
+    }
+
+    @Test
+    public void testRaycast() {
+        var bvh = new BoundingVolumeHierarchy<String>();
+        bvh.insert("hit", new AABB(-1.0f, -1.0f, 5.0f, 1.0f, 1.0f, 6.0f));
+        bvh.insert("behind", new AABB(-1.0f, -1.0f, -6.0f, 1.0f, 1.0f, -5.0f));
+        bvh.insert("aside", new AABB(5.0f, 5.0f, 5.0f, 6.0f, 6.0f, 6.0f));
+        bvh.insert("too far", new AABB(-1.0f, -1.0f, 50.0f, 1.0f, 1.0f, 51.0f));
+        var found = new ArrayList<String>();
+        bvh.raycast(Vector3.ZERO, Vector3.FORWARD, 20.0f, found::add);
+        Assertions.assertEquals(1, found.size());
+        Assertions.assertEquals("hit", found.get(0));
+    }
+
+    @Test
+    public void testUpdateMovesObject() {
+        var bvh = new BoundingVolumeHierarchy<String>();
+        var handle = bvh.insert("test", new AABB(0.0f, 0.0f, 0.0f, 1.0f, 1.0f, 1.0f));
+        bvh.insert("other", new AABB(-10.0f, -10.0f, -10.0f, -9.0f, -9.0f, -9.0f));
+        Assertions.assertTrue(bvh.update(handle, new AABB(20.0f, 0.0f, 0.0f, 21.0f, 1.0f, 1.0f)));
+        var found = new ArrayList<String>();
+        bvh.query(new AABB(19.0f, -1.0f, -1.0f, 22.0f, 2.0f, 2.0f), found::add);
+        Assertions.assertEquals(1, found.size());
+        Assertions.assertEquals("test", found.get(0));
+        found.clear();
+        bvh.query(new AABB(-1.0f, -1.0f, -1.0f, 2.0f, 2.0f, 2.0f), found::add);
+        Assertions.assertTrue(found.isEmpty());
+    }
+
+    @Test
+    public void testSmallUpdateDoesNotMoveObject() {
+        var bvh = new BoundingVolumeHierarchy<String>();
+        var handle = bvh.insert("test", new AABB(0.0f, 0.0f, 0.0f, 1.0f, 1.0f, 1.0f));
+        Assertions.assertFalse(bvh.update(handle, new AABB(0.05f, 0.0f, 0.0f, 1.05f, 1.0f, 1.0f)));
+    }
+
+    @Test
+    public void testRemove() {
+        var random = new Random(3);
+        var boxes = randomBoxes(random, 200);
+        var bvh = new BoundingVolumeHierarchy<Integer>();
+        var handles = new int[boxes.size()];
+        for(var i = 0; i < boxes.size(); i++) {
+            handles[i] = bvh.insert(i, boxes.get(i));
+        }
+        for(var i = 0; i < boxes.size(); i += 2) {
+            bvh.remove(handles[i]);
+        }
+        Assertions.assertEquals(100, bvh.size());
+        var found = new HashSet<Integer>();
+        bvh.query(new AABB(-200.0f, -200.0f, -200.0f, 200.0f, 200.0f, 200.0f), found::add);
+        Assertions.assertEquals(100, found.size());
+        for(var i = 0; i < boxes.size(); i++) {
+            Assertions.assertEquals(i % 2 == 1, found.contains(i));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package io.github.ardentengine.core.scene;
+
+import io.github.ardentengine.core.math.Rect2;
+import io.github.ardentengine.core.math.Vector2;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+public class TestLooseQuadtree {
+
+    private static final Rect2 AREA = new Rect2(-128.0f, -128.0f, 128.0f, 128.0f);
+
+    private static Rect2 randomRect(Random random) {
+        var x = random.nextFloat() * 300.0f - 150.0f;
+        var y = random.nextFloat() * 300.0f - 150.0f;
+        var width = random.nextFloat() * 40.0f;
+        var height = random.nextFloat() * 10.0f;
+        return new Rect2(x, y, x + width, y + height);
+    }
+
+    private static ArrayList<Rect2> randomRects(Random random, int count) {
+        var rects = new ArrayList<Rect2>();
+        for(var i = 0; i < count; i++) {
+            rects.add(randomRect(random));
+        }
+        return rects;
+    }
+
+    private static LooseQuadtree<Integer> createTree(ArrayList<Rect2> rects) {
+        var quadtree = new LooseQuadtree<Integer>(AREA, 5);
+        for(var i = 0; i < rects.size(); i++) {
+            quadtree.insert(i, rects.get(i));
+        }
+        return quadtree;
+    }
+
+    @Test
+    public void testInsertAndGet() {
+        var quadtree = new LooseQuadtree<String>(AREA, 5);
+        var handle = quadtree.insert("test", new Rect2(0.0f, 0.0f, 1.0f, 1.0f));
+        Assertions.assertEquals("test", quadtree.get(handle));
+        Assertions.assertEquals(new Rect2(0.0f, 0.0f, 1.0f, 1.0f), quadtree.bounds(handle));
+        Assertions.assertEquals(1, quadtree.size());
+    }
+
+    @Test
+    public void testRectQueryFindsTheSameObjectsAsLinearScan() {
+        var random = new Random(1);
+        var rects = randomRects(random, 500);
+        var quadtree = createTree(rects);
+        for(var i = 0; i < 50; i++) {
+            var query = randomRect(random);
+            var expected = new HashSet<Integer>();
+            for(var j = 0; j < rects.size(); j++) {
+                if(rects.get(j).intersects(query)) {
+                    expected.add(j);
+                }
+            }
+            var found = new HashSet<Integer>();
+            quadtree.query(query, found::add);
+            Assertions.assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    public void testPointQuery() {
+        var quadtree = new LooseQuadtree<String>(AREA, 5);
+        quadtree.insert("a", new Rect2(0.0f, 0.0f, 2.0f, 2.0f));
+        quadtree.insert("b", new Rect2(1.0f, 1.0f, 3.0f, 3.0f));
+        quadtree.insert("c", new Rect2(10.0f, 10.0f, 11.0f, 11.0f));
+        var found = new HashSet<String>();
+        quadtree.query(new Vector2(1.5f, 1.5f), found::add);
+        Assertions.assertEquals(new HashSet<>(List.of("a", "b")), found);
+    }
+
+    @Test
+    public void testObjectsOutsideOfTheAreaAreFound() {
+        var quadtree = new LooseQuadtree<String>(AREA, 5);
+        quadtree.insert("far", new Rect2(1000.0f, 1000.0f, 1001.0f, 1001.0f));
+        quadtree.insert("big", new Rect2(-500.0f, -500.0f, 1500.0f, 1500.0f));
+        var found = new HashSet<String>();
+        quadtree.query(new Vector2(1000.5f, 1000.5f), found::add);
+        Assertions.assertEquals(new HashSet<>(List.of("far", "big")), found);
+    }
+
+    @Test
+    public void testUpdateMovesObject() {
+        var quadtree = new LooseQuadtree<String>(AREA, 5);
+        var handle = quadtree.insert("test", new Rect2(0.0f, 0.0f, 1.0f, 1.0f));
+        Assertions.assertFalse(quadtree.update(handle, new Rect2(0.1f, 0.1f, 1.1f, 1.1f)));
+        Assertions.assertTrue(quadtree.update(handle, new Rect2(50.0f, 50.0f, 51.0f, 51.0f)));
+        var found = new ArrayList<String>();
+        quadtree.query(new Rect2(-1.0f, -1.0f, 2.0f, 2.0f), found::add);
+        Assertions.assertTrue(found.isEmpty());
+        quadtree.query(new Vector2(50.5f, 50.5f), found::add);
+        Assertions.assertEquals(List.of("test"), found);
+    }
+
+    @Test
+    public void testRemoveAndReuseHandle() {
+        var quadtree = new LooseQuadtree<String>(AREA, 5);
+        var handle = quadtree.insert("a", new Rect2(0.0f, 0.0f, 1.0f, 1.0f));
+        quadtree.insert("b", new Rect2(0.0f, 0.0f, 1.0f, 1.0f));
+        quadtree.remove(handle);
+        Assertions.assertEquals(1, quadtree.size());
+        var found = new ArrayList<String>();
+        quadtree.query(new Vector2(0.5f, 0.5f), found::add);
+        Assertions.assertEquals(List.of("b"), found);
+        Assertions.assertEquals(handle, quadtree.insert("c", new Rect2(5.0f, 5.0f, 6.0f, 6.0f)));
+    }
+
+    @Test
+    public void testForEach() {
+        var rects = randomRects(new Random(2), 100);
+        var quadtree = createTree(rects);
+        quadtree.remove(10);
+        var found = new HashSet<Integer>();
+        quadtree.forEach(found::add);
+        Assertions.assertEquals(99, found.size());
+        Assertions.assertFalse(found.contains(10));
+    }
+
+    @Test
+    public void testVisualInstancesAreAddedToTheSpatialIndex() {
+        var sceneTree = new SceneTree();
+        var parent = new Node2D();
+        var child = new VisualInstance2D();
+        child.setPosition(10.0f, 20.0f);
+        parent.addChild(child);
+        parent.enterTree(sceneTree);
+        var found = new ArrayList<VisualInstance2D>();
+        sceneTree.spatialIndex2D().query(new Vector2(10.0f, 20.0f), found::add);
+        Assertions.assertEquals(List.of(child), found);
+        parent.setPosition(100.0f, 0.0f);
+        child.updateBounds();
+        found.clear();
+        sceneTree.spatialIndex2D().query(new Vector2(110.0f, 20.0f), found::add);
+        Assertions.assertEquals(List.of(child), found);
+        parent.exitTree();
+        Assertions.assertEquals(0, sceneTree.spatialIndex2D().size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package io.github.ardentengine.core.scene;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class TestMeshRenderer {
+
+    @Test
+    public void testLodsAreSortedByDistance() {
+        var meshRenderer = new MeshRenderer();
+        meshRenderer.setLods(List.of(new MeshRenderer.Lod(null, 50.0f), new MeshRenderer.Lod(null, 10.0f), new MeshRenderer.Lod(null, 20.0f)));
+        Assertions.assertEquals(3, meshRenderer.lodCount());
+        Assertions.assertEquals(10.0f, meshRenderer.lodDistance(0));
+        Assertions.assertEquals(20.0f, meshRenderer.lodDistance(1));
+        Assertions.assertEquals(50.0f, meshRenderer.lodDistance(2));
+    }
+
+    @Test
+    public void testLodDistanceMustBePositive() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new MeshRenderer.Lod(null, 0.0f));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new MeshRenderer.Lod(null, Float.NaN));
+    }
+
+    @Test
+    public void testVisibilityRange() {
+        var meshRenderer = new MeshRenderer();
+        meshRenderer.setVisibilityRangeBegin(5.0f);
+        meshRenderer.setVisibilityRangeEnd(100.0f);
+        Assertions.assertEquals(5.0f, meshRenderer.visibilityRangeBegin());
+        Assertions.assertEquals(100.0f, meshRenderer.visibilityRangeEnd());
+    }
+
+    @Test
+    public void testLayers() {
+        var meshRenderer = new MeshRenderer();
+        Assertions.assertEquals(1, meshRenderer.layers());
+        meshRenderer.setLayers(0b110);
+        Assertions.assertEquals(0b110, meshRenderer.layers());
+    }
+}
\ No newline at end of file
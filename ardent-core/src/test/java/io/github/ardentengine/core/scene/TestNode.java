@@ -1,10 +1,13 @@
 package io.github.ardentengine.core.scene;
 
+import io.github.ardentengine.core.math.Vector3;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class TestNode {
 
@@ -373,4 +376,104 @@ public class TestNode {
         node.setName("Josh");
         Assertions.assertTrue(node.toString().startsWith("Josh@"));
     }
+
+    @Test
+    public void testParallelChildren() {
+        var updated = new AtomicInteger(0);
+        var root = new Node() {
+            @Override
+            protected void onUpdate(float deltaTime) {
+                // The parent is updated after all its children
+                Assertions.assertEquals(32, updated.get());
+                updated.incrementAndGet();
+            }
+        };
+        root.setParallelChildren(true);
+        Assertions.assertTrue(root.parallelChildren());
+        for(var i = 0; i < 16; i++) {
+            var child = new Node() {
+                @Override
+                protected void onUpdate(float deltaTime) {
+                    updated.incrementAndGet();
+                }
+            };
+            child.addChild(new Node() {
+                @Override
+                protected void onUpdate(float deltaTime) {
+                    updated.incrementAndGet();
+                }
+            });
+            root.addChild(child);
+        }
+        root.enterTree(new SceneTree());
+        root.update(0.1f);
+        Assertions.assertEquals(33, updated.get());
+    }
+
+    @Test
+    public void testParallelChildrenDeferTreeChanges() {
+        var sceneTree = new SceneTree();
+        var root = new Node();
+        root.setParallelChildren(true);
+        var added = new ArrayList<Node>();
+        for(var i = 0; i < 8; i++) {
+            var node = new Node();
+            added.add(node);
+            root.addChild(new Node() {
+                @Override
+                protected void onUpdate(float deltaTime) {
+                    root.addChild(node);
+                    // The node is only added once all children have been updated
+                    Assertions.assertNull(node.parent());
+                }
+            });
+        }
+        root.enterTree(sceneTree);
+        root.update(0.1f);
+        // Deferred changes are applied in the order of the children that made them
+        Assertions.assertIterableEquals(added, root.children().subList(8, 16));
+        Assertions.assertTrue(added.get(0).isInsideTree());
+    }
+
+    @Test
+    public void testParallelChildrenCanChangeParent() {
+        var sceneTree = new SceneTree();
+        var root = new Node3D();
+        root.setParallelChildren(true);
+        var target = new Node3D();
+        target.setPosition(1.0f, 0.0f, 0.0f);
+        var moved = new ArrayList<Node3D>();
+        for(var i = 0; i < 4; i++) {
+            var node = new Node3D();
+            node.setPosition(i, 2.0f, 0.0f);
+            moved.add(node);
+            root.addChild(new Node() {
+                @Override
+                protected void onUpdate(float deltaTime) {
+                    node.setParent(target, true);
+                    // The node is only moved once all children have been updated
+                    Assertions.assertSame(this, node.parent());
+                }
+            });
+            root.getChild(i).addChild(node);
+        }
+        root.addChild(target);
+        root.enterTree(sceneTree);
+        root.update(0.1f);
+        Assertions.assertIterableEquals(moved, target.children());
+        for(var i = 0; i < moved.size(); i++) {
+            Assertions.assertEquals(new Vector3(i - 1.0f, 2.0f, 0.0f), moved.get(i).position());
+        }
+    }
+
+    @Test
+    public void testChildrenIsReadOnlyView() {
+        var parent = new Node();
+        var children = parent.children();
+        var child = new Node();
+        parent.addChild(child);
+        Assertions.assertIterableEquals(List.of(child), children);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> children.add(new Node()));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> children.remove(child));
+    }
 }
\ No newline at end of file
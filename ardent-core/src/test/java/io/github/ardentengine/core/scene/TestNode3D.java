@@ -0,0 +1,54 @@
+package io.github.ardentengine.core.scene;
+
+import io.github.ardentengine.core.math.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestNode3D {
+
+    @Test
+    public void testLocalTransform() {
+        var node = new Node3D();
+        node.setPosition(1.0f, 2.0f, 3.0f);
+        node.setRotation(0.3f, -1.2f, 2.5f);
+        node.setScale(2.0f, 0.5f, 1.5f);
+        var expected = Matrix3x4.translation(1.0f, 2.0f, 3.0f)
+            .multiply(Matrix4.rotation(0.3f, -1.2f, 2.5f))
+            .multiply(Matrix4.scaling(2.0f, 0.5f, 1.5f));
+        Assertions.assertTrue(expected.equalsApprox(node.localTransform()));
+    }
+
+    @Test
+    public void testEulerRotationIsKept() {
+        var node = new Node3D();
+        node.setRotation(0.0f, 4.0f, 0.0f);
+        node.rotate(0.0f, 1.0f, 0.0f);
+        Assertions.assertEquals(new Vector3(0.0f, 5.0f, 0.0f), node.rotation());
+        node.setRotationDegrees(90.0f, 0.0f, 0.0f);
+        Assertions.assertTrue(node.rotation().equalsApprox(new Vector3((float) Math.PI / 2.0f, 0.0f, 0.0f)));
+    }
+
+    @Test
+    public void testSetQuaternion() {
+        var node = new Node3D();
+        var rotation = new Quaternion(Vector3.UP, 1.0);
+        node.setQuaternion(rotation);
+        Assertions.assertEquals(rotation, node.quaternion());
+        Assertions.assertTrue(node.rotation().equalsApprox(new Vector3(0.0f, 1.0f, 0.0f)));
+        node.rotate(rotation);
+        Assertions.assertTrue(node.quaternion().equalsApprox(new Quaternion(Vector3.UP, 2.0)));
+    }
+
+    @Test
+    public void testSetLocalTransform() {
+        var expected = new Node3D();
+        expected.setPosition(1.0f, 2.0f, 3.0f);
+        expected.setRotation(0.3f, -0.5f, 0.7f);
+        expected.setScale(2.0f, 0.5f, 1.5f);
+        var node = new Node3D();
+        node.setLocalTransform(expected.localTransform());
+        Assertions.assertTrue(node.quaternion().equalsApprox(expected.quaternion()));
+        Assertions.assertTrue(node.scale().equalsApprox(expected.scale()));
+        Assertions.assertTrue(node.localTransform().equalsApprox(expected.localTransform()));
+    }
+}
\ No newline at end of file
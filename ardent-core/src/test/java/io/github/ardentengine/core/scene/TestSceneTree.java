@@ -0,0 +1,231 @@
+package io.github.ardentengine.core.scene;
+
+import io.github.ardentengine.core.math.MathUtils;
+import io.github.ardentengine.core.math.Vector2;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestSceneTree {
+
+    /** Time step of ten fixed updates per second in nanoseconds. */
+    private static final long TIME_STEP = 100_000_000L;
+
+    @Test
+    public void testFixedUpdateRunsOncePerTimeStep() {
+        var sceneTree = new SceneTree();
+        sceneTree.setFixedTickRate(10);
+        var node = new CountingNode();
+        node.enterTree(sceneTree);
+        sceneTree.fixedUpdate(node, TIME_STEP * 5 / 2);
+        Assertions.assertEquals(2, node.fixedUpdates);
+        Assertions.assertEquals(0.1f, node.deltaTime, MathUtils.EPSILON);
+        Assertions.assertEquals(0.5f, sceneTree.interpolationFraction(), MathUtils.EPSILON);
+        sceneTree.fixedUpdate(node, TIME_STEP / 4);
+        Assertions.assertEquals(2, node.fixedUpdates);
+        Assertions.assertEquals(0.75f, sceneTree.interpolationFraction(), MathUtils.EPSILON);
+        sceneTree.fixedUpdate(node, TIME_STEP / 4);
+        Assertions.assertEquals(3, node.fixedUpdates);
+        Assertions.assertEquals(0.0f, sceneTree.interpolationFraction(), MathUtils.EPSILON);
+    }
+
+    @Test
+    public void testFixedUpdatesAreLimitedPerFrame() {
+        var sceneTree = new SceneTree();
+        sceneTree.setFixedTickRate(10);
+        var node = new CountingNode();
+        node.enterTree(sceneTree);
+        sceneTree.fixedUpdate(node, TIME_STEP * 100 + TIME_STEP / 2);
+        Assertions.assertEquals(8, node.fixedUpdates);
+        Assertions.assertEquals(0.5f, sceneTree.interpolationFraction(), MathUtils.EPSILON);
+        // The time that could not be simulated is dropped
+        sceneTree.fixedUpdate(node, TIME_STEP / 4);
+        Assertions.assertEquals(8, node.fixedUpdates);
+    }
+
+    @Test
+    public void testFixedUpdatesCanBeDisabled() {
+        var sceneTree = new SceneTree();
+        sceneTree.setFixedTickRate(0);
+        var node = new CountingNode();
+        node.enterTree(sceneTree);
+        sceneTree.fixedUpdate(node, TIME_STEP * 10);
+        Assertions.assertEquals(0, node.fixedUpdates);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sceneTree.setFixedTickRate(-1));
+    }
+
+    @Test
+    public void testTransformIsInterpolatedBetweenFixedUpdates() {
+        var sceneTree = new SceneTree();
+        sceneTree.setFixedTickRate(10);
+        var node = new MovingNode2D();
+        node.enterTree(sceneTree);
+        node.globalTransform();
+        sceneTree.fixedUpdate(node, TIME_STEP * 3 / 2);
+        Assertions.assertEquals(new Vector2(10.0f, 0.0f), node.globalPosition());
+        Assertions.assertTrue(node.interpolatedTransform().column2().equalsApprox(new Vector2(5.0f, 0.0f)));
+        sceneTree.fixedUpdate(node, TIME_STEP / 4);
+        Assertions.assertTrue(node.interpolatedTransform().column2().equalsApprox(new Vector2(7.5f, 0.0f)));
+        // The node is no longer interpolated after a fixed update in which it did not move
+        node.speed = 0.0f;
+        sceneTree.fixedUpdate(node, TIME_STEP / 2);
+        Assertions.assertTrue(node.interpolatedTransform().column2().equalsApprox(new Vector2(10.0f, 0.0f)));
+    }
+
+    @Test
+    public void testTransformIsInterpolatedFromLastFixedUpdateOfTheFrame() {
+        var sceneTree = new SceneTree();
+        sceneTree.setFixedTickRate(10);
+        var node = new MovingNode2D();
+        node.enterTree(sceneTree);
+        node.globalTransform();
+        // The node moves in both fixed updates without its transform being read in between
+        sceneTree.fixedUpdate(node, TIME_STEP * 5 / 2);
+        Assertions.assertEquals(new Vector2(20.0f, 0.0f), node.globalPosition());
+        Assertions.assertTrue(node.interpolatedTransform().column2().equalsApprox(new Vector2(15.0f, 0.0f)));
+        node.removeFromTree();
+        Assertions.assertTrue(node.interpolatedTransform().column2().equalsApprox(new Vector2(20.0f, 0.0f)));
+    }
+
+    @Test
+    public void testTransformChangedInUpdateIsNotInterpolated() {
+        var sceneTree = new SceneTree();
+        sceneTree.setFixedTickRate(10);
+        var node = new Node2D();
+        node.enterTree(sceneTree);
+        node.globalTransform();
+        sceneTree.fixedUpdate(node, TIME_STEP * 3 / 2);
+        node.setPosition(10.0f, 0.0f);
+        Assertions.assertEquals(node.globalTransform(), node.interpolatedTransform());
+    }
+
+    private static class CountingNode extends Node {
+
+        private int fixedUpdates = 0;
+        private float deltaTime = 0.0f;
+
+        @Override
+        protected void onFixedUpdate(float deltaTime) {
+            this.fixedUpdates++;
+            this.deltaTime = deltaTime;
+        }
+    }
+
+    private static class MovingNode2D extends Node2D {
+
+        private float speed = 100.0f;
+
+        @Override
+        protected void onFixedUpdate(float deltaTime) {
+            this.translate(this.speed * deltaTime, 0.0f);
+        }
+    }
+
+    @Test
+    public void testOnlyNodesThatOverrideUpdateAreInUpdateList() {
+        var sceneTree = new SceneTree();
+        var updated = new ArrayList<Node>();
+        var root = new Node();
+        var child1 = new UpdatingNode(updated);
+        var child2 = new Node();
+        var grandchild = new UpdatingNode(updated);
+        root.addChild(child1);
+        root.addChild(child2);
+        child2.addChild(grandchild);
+        child2.addChild(new Node());
+        root.enterTree(sceneTree);
+        sceneTree.update(root, 0.1f);
+        // Children are updated before their parent, in the same order as the tree
+        Assertions.assertEquals(List.of(child1, grandchild), updated);
+        child1.setSiblingIndex(1);
+        updated.clear();
+        sceneTree.update(root, 0.1f);
+        Assertions.assertEquals(List.of(grandchild, child1), updated);
+    }
+
+    @Test
+    public void testUpdateListFollowsTreeChanges() {
+        var sceneTree = new SceneTree();
+        var updated = new ArrayList<Node>();
+        var root = new Node();
+        var child = new UpdatingNode(updated);
+        root.enterTree(sceneTree);
+        sceneTree.update(root, 0.1f);
+        Assertions.assertTrue(updated.isEmpty());
+        root.addChild(child);
+        sceneTree.update(root, 0.1f);
+        Assertions.assertEquals(List.of(child), updated);
+        child.removeFromTree();
+        sceneTree.update(root, 0.1f);
+        Assertions.assertEquals(List.of(child), updated);
+    }
+
+    @Test
+    public void testUpdateListKeepsTreeOrderWhenSubtreesEnterAndMove() {
+        var sceneTree = new SceneTree();
+        var updated = new ArrayList<Node>();
+        var root = new Node();
+        var child1 = new UpdatingNode(updated);
+        var child2 = new Node();
+        var grandchild1 = new UpdatingNode(updated);
+        root.addChild(child1);
+        root.addChild(child2);
+        child2.addChild(grandchild1);
+        root.enterTree(sceneTree);
+        sceneTree.update(root, 0.1f);
+        var grandchild2 = new UpdatingNode(updated);
+        var child3 = new UpdatingNode(updated);
+        child2.addChild(grandchild2, 0);
+        root.addChild(child3, 1);
+        child2.setSiblingIndex(0);
+        updated.clear();
+        sceneTree.update(root, 0.1f);
+        Assertions.assertEquals(List.of(grandchild2, grandchild1, child1, child3), updated);
+        // Children of nodes that update them in parallel are updated by their parent and not by the scene tree
+        child2.setParallelChildren(true);
+        child1.removeFromTree();
+        grandchild1.removeFromTree();
+        updated.clear();
+        sceneTree.update(root, 0.1f);
+        Assertions.assertEquals(List.of(grandchild2, child3), updated);
+        child2.setParallelChildren(false);
+        child2.addChild(grandchild1);
+        updated.clear();
+        sceneTree.update(root, 0.1f);
+        Assertions.assertEquals(List.of(grandchild2, grandchild1, child3), updated);
+    }
+
+    @Test
+    public void testNodeRemovedDuringUpdateIsNotUpdated() {
+        var sceneTree = new SceneTree();
+        var updated = new ArrayList<Node>();
+        var root = new Node();
+        var removed = new UpdatingNode(updated);
+        root.addChild(new Node() {
+            @Override
+            protected void onUpdate(float deltaTime) {
+                removed.removeFromTree();
+            }
+        });
+        root.addChild(removed);
+        root.enterTree(sceneTree);
+        sceneTree.update(root, 0.1f);
+        Assertions.assertTrue(updated.isEmpty());
+    }
+
+    private static class UpdatingNode extends Node {
+
+        private final List<Node> updated;
+
+        private UpdatingNode(List<Node> updated) {
+            this.updated = updated;
+        }
+
+        @Override
+        protected void onUpdate(float deltaTime) {
+            this.updated.add(this);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,188 @@
+package io.github.ardentengine.core.scene;
+
+import io.github.ardentengine.core.math.Vector3;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestTransformStore {
+
+    private static Node3D createTree() {
+        var root = new Node3D();
+        root.setPosition(1.0f, 2.0f, 3.0f);
+        root.setRotation(0.3f, 0.5f, 0.7f);
+        var child = new Node3D();
+        child.setPosition(-2.0f, 0.5f, 1.0f);
+        child.setScale(2.0f, 1.0f, 0.5f);
+        root.addChild(child);
+        var grandchild = new Node3D();
+        grandchild.setPosition(0.0f, 1.0f, 0.0f);
+        grandchild.setRotation(1.0f, 0.0f, -0.4f);
+        child.addChild(grandchild);
+        return root;
+    }
+
+    private static Node3D grandchild(Node3D root) {
+        return (Node3D) root.getChild(0).getChild(0);
+    }
+
+    @Test
+    public void testBatchedTransformsMatchNodeTransforms() {
+        var expected = createTree();
+        var sceneTree = new SceneTree();
+        sceneTree.setBatchedTransforms(true);
+        var actual = createTree();
+        actual.enterTree(sceneTree);
+        Assertions.assertTrue(grandchild(expected).localTransform().equalsApprox(grandchild(actual).localTransform()));
+        Assertions.assertTrue(grandchild(expected).globalTransform().equalsApprox(grandchild(actual).globalTransform()));
+    }
+
+    @Test
+    public void testMovingParentUpdatesDescendants() {
+        var expected = createTree();
+        var sceneTree = new SceneTree();
+        sceneTree.setBatchedTransforms(true);
+        var actual = createTree();
+        actual.enterTree(sceneTree);
+        grandchild(actual).globalTransform();
+        expected.translate(5.0f, 0.0f, 0.0f);
+        expected.rotate(0.0f, 1.0f, 0.0f);
+        actual.translate(5.0f, 0.0f, 0.0f);
+        actual.rotate(0.0f, 1.0f, 0.0f);
+        Assertions.assertEquals(new Vector3(6.0f, 2.0f, 3.0f), actual.position());
+        Assertions.assertTrue(grandchild(expected).globalTransform().equalsApprox(grandchild(actual).globalTransform()));
+    }
+
+    @Test
+    public void testReadingTransformOnlyResolvesItsAncestors() {
+        var sceneTree = new SceneTree();
+        sceneTree.setBatchedTransforms(true);
+        var notified = new ArrayList<Node3D>();
+        var root = new NotifiedNode3D(notified);
+        var child1 = new NotifiedNode3D(notified);
+        var child2 = new NotifiedNode3D(notified);
+        child1.setPosition(0.0f, 1.0f, 0.0f);
+        child2.setPosition(0.0f, 0.0f, 1.0f);
+        root.addChild(child1);
+        root.addChild(child2);
+        root.enterTree(sceneTree);
+        sceneTree.transformStore().update();
+        notified.clear();
+        root.translate(1.0f, 0.0f, 0.0f);
+        Assertions.assertEquals(new Vector3(1.0f, 1.0f, 0.0f), child1.globalPosition());
+        root.translate(1.0f, 0.0f, 0.0f);
+        Assertions.assertEquals(new Vector3(2.0f, 1.0f, 0.0f), child1.globalPosition());
+        // Nodes are only notified when the store is updated, including the ones that were already resolved
+        Assertions.assertTrue(notified.isEmpty());
+        sceneTree.transformStore().update();
+        Assertions.assertEquals(List.of(root, child1, child2), notified);
+        Assertions.assertEquals(new Vector3(2.0f, 0.0f, 1.0f), child2.globalPosition());
+    }
+
+    private static class NotifiedNode3D extends Node3D {
+
+        private final List<Node3D> notified;
+
+        private NotifiedNode3D(List<Node3D> notified) {
+            this.notified = notified;
+        }
+
+        @Override
+        void transformChanged() {
+            this.notified.add(this);
+        }
+    }
+
+    @Test
+    public void testTransformIsKeptWhenNodesExitTree() {
+        var sceneTree = new SceneTree();
+        sceneTree.setBatchedTransforms(true);
+        var root = createTree();
+        var other = new Node3D();
+        other.enterTree(sceneTree);
+        root.enterTree(sceneTree);
+        var transform = grandchild(root).globalTransform();
+        other.exitTree();
+        root.translate(1.0f, 0.0f, 0.0f);
+        // Removed slots are only compacted when the store is updated
+        sceneTree.transformStore().update();
+        Assertions.assertFalse(transform.equalsApprox(grandchild(root).globalTransform()));
+        root.translate(-1.0f, 0.0f, 0.0f);
+        root.exitTree();
+        Assertions.assertEquals(new Vector3(1.0f, 2.0f, 3.0f), root.position());
+        Assertions.assertTrue(transform.equalsApprox(grandchild(root).globalTransform()));
+        Assertions.assertEquals(0, sceneTree.transformStore().size());
+    }
+
+    @Test
+    public void testBatchedTransformIsInterpolated() {
+        var sceneTree = new SceneTree();
+        sceneTree.setFixedTickRate(10);
+        sceneTree.setBatchedTransforms(true);
+        var node = new Node3D() {
+            @Override
+            protected void onFixedUpdate(float deltaTime) {
+                this.translate(100.0f * deltaTime, 0.0f, 0.0f);
+            }
+        };
+        node.enterTree(sceneTree);
+        node.globalTransform();
+        sceneTree.fixedUpdate(node, 150_000_000L);
+        Assertions.assertEquals(new Vector3(10.0f, 0.0f, 0.0f), node.globalPosition());
+        Assertions.assertTrue(node.interpolatedTransform().column3().equalsApprox(new Vector3(5.0f, 0.0f, 0.0f)));
+    }
+
+    @Test
+    public void testBatchedTransformsCannotChangeWithNodesInTree() {
+        var sceneTree = new SceneTree();
+        sceneTree.setBatchedTransforms(true);
+        var node = new Node3D();
+        node.enterTree(sceneTree);
+        Assertions.assertThrows(IllegalStateException.class, () -> sceneTree.setBatchedTransforms(false));
+        node.exitTree();
+        sceneTree.setBatchedTransforms(false);
+        Assertions.assertFalse(sceneTree.batchedTransforms());
+    }
+
+    @Test
+    public void testConcurrentChangesAreNotLost() throws InterruptedException {
+        var sceneTree = new SceneTree();
+        sceneTree.setBatchedTransforms(true);
+        var root = new Node3D();
+        root.setPosition(1.0f, 0.0f, 0.0f);
+        var children = new Node3D[4];
+        for(var i = 0; i < children.length; i++) {
+            children[i] = new Node3D();
+            // Descendants make every update of the store long enough for other threads to change transforms during it
+            for(var j = 0; j < 100; j++) {
+                children[i].addChild(new Node3D());
+            }
+            root.addChild(children[i]);
+        }
+        root.enterTree(sceneTree);
+        // The store is updated before subtrees are updated in parallel
+        sceneTree.transformStore().update();
+        // Every child is changed and read by its own thread without locking, as it would be in a subtree updated in parallel
+        var failures = new AtomicInteger();
+        var threads = new Thread[children.length];
+        for(var i = 0; i < threads.length; i++) {
+            var child = children[i];
+            threads[i] = new Thread(() -> {
+                for(var j = 0; j < 20000; j++) {
+                    child.setPosition(j, 0.0f, 0.0f);
+                    if(child.globalPosition().x() != j + 1.0f) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for(var thread : threads) {
+            thread.join();
+        }
+        Assertions.assertEquals(0, failures.get());
+    }
+}
\ No newline at end of file
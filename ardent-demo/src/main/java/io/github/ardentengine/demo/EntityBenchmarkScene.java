@@ -0,0 +1,91 @@
+package io.github.ardentengine.demo;
+
+import io.github.ardentengine.core.Application;
+import io.github.ardentengine.core.ecs.ComponentType;
+import io.github.ardentengine.core.ecs.MeshRenderingSystem;
+import io.github.ardentengine.core.input.InputEvent;
+import io.github.ardentengine.core.input.InputEventKey;
+import io.github.ardentengine.core.logging.Logger;
+import io.github.ardentengine.core.math.Color;
+import io.github.ardentengine.core.rendering.BoxMesh;
+import io.github.ardentengine.core.rendering.Material3D;
+import io.github.ardentengine.core.rendering.RenderingServer;
+import io.github.ardentengine.core.scene.WorldNode;
+
+/**
+ * Scene used to measure the cost of simulating many objects as entities instead of nodes.
+ * <p>
+ *     A grid of boxes is created as entities that move up and down every frame.
+ *     Movement is computed in parallel chunks and the boxes are drawn by the {@link MeshRenderingSystem}.
+ *     The average frame time is logged every second.
+ * </p>
+ */
+public class EntityBenchmarkScene extends WorldNode {
+
+    private static final ComponentType VELOCITY = ComponentType.floats("Velocity", 1);
+
+    /** Number of boxes in each row and column of the grid. */
+    public int gridSize = 200;
+
+    private float elapsedTime = 0.0f;
+    private int frames = 0;
+
+    @Override
+    protected void onEnter() {
+        RenderingServer.getInstance().setDefaultClearColor(0.3f, 0.3f, 0.3f);
+        var boxMesh = new BoxMesh(0.5f, 0.5f, 0.5f);
+        var boxMaterial = new Material3D();
+        boxMaterial.setDiffuse(new Color(0.0f, 0.0f, 1.0f));
+        boxMesh.setMaterial(boxMaterial);
+        var world = this.world();
+        world.addSystem((w, deltaTime) -> w.query(MeshRenderingSystem.TRANSFORM, VELOCITY).forEachChunkParallel(chunk -> {
+            var transforms = chunk.floats(MeshRenderingSystem.TRANSFORM);
+            var velocities = chunk.floats(VELOCITY);
+            for(var row = chunk.start(); row < chunk.end(); row++) {
+                var y = transforms[row * 12 + 7] + velocities[row] * deltaTime;
+                if(y > 2.0f || y < -2.0f) {
+                    velocities[row] = -velocities[row];
+                }
+                transforms[row * 12 + 7] = y;
+            }
+        }));
+        var meshRenderingSystem = new MeshRenderingSystem();
+        var meshId = meshRenderingSystem.addMesh(boxMesh);
+        world.addSystem(meshRenderingSystem);
+        for(var x = 0; x < this.gridSize; x++) {
+            for(var z = 0; z < this.gridSize; z++) {
+                var entity = world.createEntity(MeshRenderingSystem.TRANSFORM, MeshRenderingSystem.MESH, VELOCITY);
+                world.setFloat(entity, MeshRenderingSystem.TRANSFORM, 0, 1.0f);
+                world.setFloat(entity, MeshRenderingSystem.TRANSFORM, 5, 1.0f);
+                world.setFloat(entity, MeshRenderingSystem.TRANSFORM, 10, 1.0f);
+                world.setFloat(entity, MeshRenderingSystem.TRANSFORM, 3, x - this.gridSize / 2.0f);
+                world.setFloat(entity, MeshRenderingSystem.TRANSFORM, 11, -10.0f - z);
+                world.setFloat(entity, VELOCITY, 0, 0.5f + (x * 7 + z * 13) % 10 / 5.0f);
+                world.setInt(entity, MeshRenderingSystem.MESH, 0, meshId);
+            }
+        }
+        Logger.info("Entity benchmark: " + world.entityCount() + " moving boxes");
+    }
+
+    @Override
+    protected void onUpdate(float deltaTime) {
+        this.elapsedTime += deltaTime;
+        this.frames++;
+        if(this.elapsedTime >= 1.0f) {
+            Logger.info("Moving " + this.world().entityCount() + " entities: " + String.format("%.3f", 1000.0f * this.elapsedTime / this.frames) + " ms per frame");
+            this.elapsedTime = 0.0f;
+            this.frames = 0;
+        }
+    }
+
+    @Override
+    protected void onInput(InputEvent event) {
+        if(event.isPressed() && !event.isEcho() && event instanceof InputEventKey eventKey) {
+            if(eventKey.keyCode() == InputEventKey.KEY_ESCAPE) {
+                Application.quit();
+            } else if(eventKey.keyCode() == InputEventKey.KEY_PAGE_UP || eventKey.keyCode() == InputEventKey.KEY_PAGE_DOWN) {
+                this.sceneTree().changeScene("scenes/example_scene_3d.yaml");
+            }
+        }
+    }
+}
\ No newline at end of file
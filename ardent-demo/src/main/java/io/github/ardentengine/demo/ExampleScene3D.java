@@ -20,6 +20,14 @@ public class ExampleScene3D extends Node3D {
                 Application.quit();
             } else if(inputEventKey.keyCode() == InputEventKey.KEY_PAGE_UP || inputEventKey.keyCode() == InputEventKey.KEY_PAGE_DOWN) {
                 this.sceneTree().changeScene("scenes/example_scene_2d.yaml");
+            } else if(inputEventKey.keyCode() == InputEventKey.KEY_B) {
+                this.sceneTree().changeScene("scenes/occlusion_benchmark.yaml");
+            } else if(inputEventKey.keyCode() == InputEventKey.KEY_T) {
+                this.sceneTree().changeScene("scenes/transform_benchmark.yaml");
+            } else if(inputEventKey.keyCode() == InputEventKey.KEY_E) {
+                this.sceneTree().changeScene("scenes/entity_benchmark.yaml");
+            } else if(inputEventKey.keyCode() == InputEventKey.KEY_H) {
+                this.sceneTree().changeScene("scenes/spatial_index_benchmark.yaml");
             }
         }
     }
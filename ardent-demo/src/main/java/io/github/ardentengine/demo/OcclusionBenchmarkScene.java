@@ -0,0 +1,89 @@
+package io.github.ardentengine.demo;
+
+import io.github.ardentengine.core.Application;
+import io.github.ardentengine.core.input.InputEvent;
+import io.github.ardentengine.core.input.InputEventKey;
+import io.github.ardentengine.core.logging.Logger;
+import io.github.ardentengine.core.math.Color;
+import io.github.ardentengine.core.rendering.BoxMesh;
+import io.github.ardentengine.core.rendering.Material3D;
+import io.github.ardentengine.core.rendering.RenderingServer;
+import io.github.ardentengine.core.scene.MeshRenderer;
+import io.github.ardentengine.core.scene.Node3D;
+
+import java.util.ArrayList;
+
+/**
+ * Scene used to measure the effect of occlusion culling.
+ * <p>
+ *     A grid of small boxes is placed behind a row of large walls that are used as occluders.
+ *     The average frame time is logged every second.
+ *     Press {@code O} to toggle occlusion culling and compare the frame times.
+ * </p>
+ */
+public class OcclusionBenchmarkScene extends Node3D {
+
+    /** Number of boxes in each row and column of the grid. */
+    public int gridSize = 60;
+
+    private final ArrayList<MeshRenderer> walls = new ArrayList<>();
+    private float elapsedTime = 0.0f;
+    private int frames = 0;
+
+    @Override
+    protected void onEnter() {
+        RenderingServer.getInstance().setDefaultClearColor(0.3f, 0.3f, 0.3f);
+        var wallMesh = new BoxMesh(10.0f, 8.0f, 0.5f);
+        var wallMaterial = new Material3D();
+        wallMaterial.setDiffuse(new Color(0.6f, 0.6f, 0.6f));
+        wallMesh.setMaterial(wallMaterial);
+        for(var i = -3; i <= 3; i++) {
+            var wall = new MeshRenderer();
+            wall.setMesh(wallMesh);
+            wall.setPosition(10.0f * i, 0.0f, -5.0f);
+            wall.setOccluder(true);
+            this.addChild(wall);
+            this.walls.add(wall);
+        }
+        var boxMesh = new BoxMesh(0.5f, 0.5f, 0.5f);
+        var boxMaterial = new Material3D();
+        boxMaterial.setDiffuse(new Color(0.0f, 0.0f, 1.0f));
+        boxMesh.setMaterial(boxMaterial);
+        for(var x = 0; x < this.gridSize; x++) {
+            for(var z = 0; z < this.gridSize; z++) {
+                var box = new MeshRenderer();
+                box.setMesh(boxMesh);
+                box.setPosition(x - this.gridSize / 2.0f, 0.0f, -10.0f - z);
+                this.addChild(box);
+            }
+        }
+        Logger.info("Occlusion benchmark: " + this.gridSize * this.gridSize + " boxes behind " + this.walls.size() + " occluders, press O to toggle occlusion culling");
+    }
+
+    @Override
+    protected void onUpdate(float deltaTime) {
+        this.elapsedTime += deltaTime;
+        this.frames++;
+        if(this.elapsedTime >= 1.0f) {
+            var occlusion = this.walls.get(0).occluder() ? "on" : "off";
+            Logger.info("Occlusion culling " + occlusion + ": " + String.format("%.3f", 1000.0f * this.elapsedTime / this.frames) + " ms per frame");
+            this.elapsedTime = 0.0f;
+            this.frames = 0;
+        }
+    }
+
+    @Override
+    protected void onInput(InputEvent event) {
+        if(event.isPressed() && !event.isEcho() && event instanceof InputEventKey eventKey) {
+            if(eventKey.keyCode() == InputEventKey.KEY_ESCAPE) {
+                Application.quit();
+            } else if(eventKey.keyCode() == InputEventKey.KEY_O) {
+                for(var wall : this.walls) {
+                    wall.setOccluder(!wall.occluder());
+                }
+            } else if(eventKey.keyCode() == InputEventKey.KEY_PAGE_UP || eventKey.keyCode() == InputEventKey.KEY_PAGE_DOWN) {
+                this.sceneTree().changeScene("scenes/example_scene_3d.yaml");
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package io.github.ardentengine.demo;
+
+import io.github.ardentengine.core.Application;
+import io.github.ardentengine.core.input.InputEvent;
+import io.github.ardentengine.core.input.InputEventKey;
+import io.github.ardentengine.core.logging.Logger;
+import io.github.ardentengine.core.math.AABB;
+import io.github.ardentengine.core.math.Frustum;
+import io.github.ardentengine.core.math.Matrix4;
+import io.github.ardentengine.core.scene.BoundingVolumeHierarchy;
+import io.github.ardentengine.core.scene.Node3D;
+
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Scene used to compare frustum queries in a {@link BoundingVolumeHierarchy} with linear scans.
+ * <p>
+ *     Random boxes are scattered in a large cube and are queried with the frustums of cameras placed at random positions.
+ *     Every frame, the same frustums are tested against every box one by one and against the bounding volume hierarchy.
+ *     The average time per query of both methods is logged every second, then the benchmark moves on to the next number of boxes.
+ * </p>
+ */
+public class SpatialIndexBenchmarkScene extends Node3D {
+
+    /** Numbers of boxes to measure, in the order in which they are measured. */
+    public int[] sizes = {1000, 10000, 100000};
+    /** Number of frustums queried every frame. */
+    public int queriesPerFrame = 20;
+    /** Length of the sides of the cube in which boxes are placed. */
+    public float worldSize = 1000.0f;
+
+    private final Random random = new Random(1);
+    private final Matrix4 projection = Matrix4.perspectiveProjection(Math.PI / 2.0, 16.0f / 9.0f, 0.1f, 100.0f);
+    private final BoundingVolumeHierarchy<AABB> bvh = new BoundingVolumeHierarchy<>();
+    private final int[] found = new int[1];
+    private final Consumer<AABB> countFound = aabb -> this.found[0]++;
+    private float[] centers = new float[0];
+    private float[] extents = new float[0];
+    private int[] handles = new int[0];
+    private int sizeIndex = -1;
+    private long linearTime = 0L;
+    private long bvhTime = 0L;
+    private int linearFound = 0;
+    private int bvhFound = 0;
+    private int queries = 0;
+    private float elapsedTime = 0.0f;
+
+    @Override
+    protected void onEnter() {
+        Logger.info("Spatial index benchmark: comparing frustum queries in a bounding volume hierarchy with linear scans");
+        this.nextSize();
+    }
+
+    /**
+     * Replaces the boxes with the next number of boxes.
+     */
+    private void nextSize() {
+        this.sizeIndex = (this.sizeIndex + 1) % this.sizes.length;
+        var count = this.sizes[this.sizeIndex];
+        for(var handle : this.handles) {
+            this.bvh.remove(handle);
+        }
+        this.handles = new int[count];
+        this.centers = new float[3 * count];
+        this.extents = new float[3 * count];
+        for(var i = 0; i < count; i++) {
+            var x = (this.random.nextFloat() - 0.5f) * this.worldSize;
+            var y = (this.random.nextFloat() - 0.5f) * this.worldSize;
+            var z = (this.random.nextFloat() - 0.5f) * this.worldSize;
+            var extent = 0.5f + this.random.nextFloat() * 2.0f;
+            this.centers[3 * i] = x;
+            this.centers[3 * i + 1] = y;
+            this.centers[3 * i + 2] = z;
+            this.extents[3 * i] = this.extents[3 * i + 1] = this.extents[3 * i + 2] = extent;
+            var aabb = new AABB(x - extent, y - extent, z - extent, x + extent, y + extent, z + extent);
+            this.handles[i] = this.bvh.insert(aabb, aabb);
+        }
+    }
+
+    @Override
+    protected void onUpdate(float deltaTime) {
+        for(var i = 0; i < this.queriesPerFrame; i++) {
+            var x = (this.random.nextFloat() - 0.5f) * this.worldSize;
+            var y = (this.random.nextFloat() - 0.5f) * this.worldSize;
+            var z = (this.random.nextFloat() - 0.5f) * this.worldSize;
+            var frustum = new Frustum(this.projection.multiply(Matrix4.translation(-x, -y, -z)));
+            var start = System.nanoTime();
+            for(var box = 0; box < this.handles.length; box++) {
+                var j = 3 * box;
+                if(frustum.intersects(this.centers[j], this.centers[j + 1], this.centers[j + 2], this.extents[j], this.extents[j + 1], this.extents[j + 2])) {
+                    this.linearFound++;
+                }
+            }
+            var middle = System.nanoTime();
+            this.found[0] = 0;
+            this.bvh.query(frustum, this.countFound);
+            this.bvhTime += System.nanoTime() - middle;
+            this.linearTime += middle - start;
+            this.bvhFound += this.found[0];
+            this.queries++;
+        }
+        this.elapsedTime += deltaTime;
+        if(this.elapsedTime >= 1.0f) {
+            Logger.info(this.sizes[this.sizeIndex] + " boxes: "
+                + String.format("linear scan %.1f us (%d found), bounding volume hierarchy %.1f us (%d found) per query",
+                this.linearTime / 1000.0f / this.queries, this.linearFound / this.queries, this.bvhTime / 1000.0f / this.queries, this.bvhFound / this.queries));
+            this.linearTime = 0L;
+            this.bvhTime = 0L;
+            this.linearFound = 0;
+            this.bvhFound = 0;
+            this.queries = 0;
+            this.elapsedTime = 0.0f;
+            this.nextSize();
+        }
+    }
+
+    @Override
+    protected void onInput(InputEvent event) {
+        if(event.isPressed() && !event.isEcho() && event instanceof InputEventKey eventKey) {
+            if(eventKey.keyCode() == InputEventKey.KEY_ESCAPE) {
+                Application.quit();
+            } else if(eventKey.keyCode() == InputEventKey.KEY_PAGE_UP || eventKey.keyCode() == InputEventKey.KEY_PAGE_DOWN) {
+                this.sceneTree().changeScene("scenes/example_scene_3d.yaml");
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package io.github.ardentengine.demo;
+
+import io.github.ardentengine.core.Application;
+import io.github.ardentengine.core.input.InputEvent;
+import io.github.ardentengine.core.input.InputEventKey;
+import io.github.ardentengine.core.logging.Logger;
+import io.github.ardentengine.core.scene.Node;
+import io.github.ardentengine.core.scene.Node3D;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Scene used to measure the memory allocated when a node with many descendants is moved.
+ * <p>
+ *     A tree of nodes is added to a parent node that is moved every frame.
+ *     The global transform of every node is recomputed after each move, then the bytes allocated by moving the parent are measured.
+ *     The average number of bytes allocated per moved subtree is logged every second.
+ * </p>
+ */
+public class TransformBenchmarkScene extends Node3D {
+
+    /** Number of children of each node in the tree. */
+    public int branches = 10;
+    /** Number of levels of the tree below the parent node. */
+    public int depth = 3;
+
+    private final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final Node3D parent = new Node3D();
+    private int descendants = 0;
+    private long allocatedBytes = 0L;
+    private float elapsedTime = 0.0f;
+    private int frames = 0;
+
+    @Override
+    protected void onEnter() {
+        this.addChildren(this.parent, this.depth);
+        this.addChild(this.parent);
+        Logger.info("Transform benchmark: moving a node with " + this.descendants + " descendants every frame");
+    }
+
+    private void addChildren(Node3D node, int levels) {
+        if(levels > 0) {
+            for(var i = 0; i < this.branches; i++) {
+                var child = new Node3D();
+                this.addChildren(child, levels - 1);
+                node.addChild(child);
+                this.descendants++;
+            }
+        }
+    }
+
+    private static void computeTransforms(Node node) {
+        if(node instanceof Node3D node3D) {
+            node3D.globalTransform();
+        }
+        for(var child : node.children()) {
+            computeTransforms(child);
+        }
+    }
+
+    @Override
+    protected void onUpdate(float deltaTime) {
+        computeTransforms(this.parent);
+        var threadId = Thread.currentThread().getId();
+        var before = this.threadBean.getThreadAllocatedBytes(threadId);
+        this.parent.translate(0.0f, 0.0f, deltaTime);
+        this.allocatedBytes += this.threadBean.getThreadAllocatedBytes(threadId) - before;
+        this.elapsedTime += deltaTime;
+        this.frames++;
+        if(this.elapsedTime >= 1.0f) {
+            Logger.info("Moving " + this.descendants + " descendants: " + this.allocatedBytes / this.frames + " bytes allocated per move");
+            this.allocatedBytes = 0L;
+            this.elapsedTime = 0.0f;
+            this.frames = 0;
+        }
+    }
+
+    @Override
+    protected void onInput(InputEvent event) {
+        if(event.isPressed() && !event.isEcho() && event instanceof InputEventKey eventKey) {
+            if(eventKey.keyCode() == InputEventKey.KEY_ESCAPE) {
+                Application.quit();
+            } else if(eventKey.keyCode() == InputEventKey.KEY_PAGE_UP || eventKey.keyCode() == InputEventKey.KEY_PAGE_DOWN) {
+                this.sceneTree().changeScene("scenes/example_scene_3d.yaml");
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -109,6 +109,26 @@ public class GlfwDisplayServer extends DisplayServer {
         GLFW.glfwSwapInterval(enabled ? 1 : 0);
     }
 
+    @Override
+    public int getRefreshRate() {
+        return MainWindow.getInstance().getRefreshRate();
+    }
+
+    @Override
+    public void makeContextCurrent() {
+        MainWindow.getInstance().makeContextCurrent();
+    }
+
+    @Override
+    public void detachContext() {
+        GLFW.glfwMakeContextCurrent(MemoryUtil.NULL);
+    }
+
+    @Override
+    public void swapBuffers() {
+        MainWindow.getInstance().update();
+    }
+
     @Override
     public String getKeyLabel(int key) {
         var keyName = GLFW.glfwGetKeyName(key, 0);
@@ -20,7 +20,7 @@ public class GlfwSystem extends EngineSystem {
     @Override
     protected void process() {
         if(!MainWindow.getInstance().shouldClose()) {
-            MainWindow.getInstance().update();
+            // Buffers are swapped by the rendering system after the frame is rendered
             GLFW.glfwPollEvents();
         } else {
             Application.quit();
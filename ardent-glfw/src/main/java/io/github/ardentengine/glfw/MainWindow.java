@@ -205,6 +205,16 @@ public class MainWindow {
         return GLFW.glfwWindowShouldClose(this.handle);
     }
 
+    public int getRefreshRate() {
+        var monitor = GLFW.glfwGetWindowMonitor(this.handle);
+        var videoMode = GLFW.glfwGetVideoMode(monitor != MemoryUtil.NULL ? monitor : GLFW.glfwGetPrimaryMonitor());
+        return videoMode != null ? videoMode.refreshRate() : 0;
+    }
+
+    public void makeContextCurrent() {
+        GLFW.glfwMakeContextCurrent(this.handle);
+    }
+
     public void update() {
         GLFW.glfwSwapBuffers(this.handle);
     }
@@ -0,0 +1,157 @@
+package io.github.ardentengine.opengl;
+
+import io.github.ardentengine.core.math.*;
+
+import java.util.ArrayList;
+
+/**
+ * Everything the renderer needs to draw a frame, recorded by the {@link OpenGLServer} while the scene is updated.
+ * <p>
+ *     Calls to the rendering server are recorded as commands that are executed before rendering, in the same order in which they were made.
+ *     The matrices of the cameras and the lights are copied when the frame is finished, so that the renderer never reads from nodes that are being updated.
+ * </p>
+ * <p>
+ *     A packet is not modified once the frame is finished, so it can be rendered on a different thread while the scene builds the next one.
+ *     Packets are cleared and reused after being rendered to avoid allocating new lists every frame.
+ * </p>
+ */
+final class FramePacket {
+
+    /** Commands recorded during the frame. */
+    private final ArrayList<Runnable> commands = new ArrayList<>();
+    /** Lights submitted during the frame. */
+    private final ArrayList<LightData> lights = new ArrayList<>();
+    /** The 3D camera at the end of the frame or null if there is no 3D camera. */
+    private CameraData3D camera3D = null;
+    /** The 2D camera at the end of the frame or null if there is no 2D camera. */
+    private CameraData2D camera2D = null;
+    /** Size of the window at the end of the frame. */
+    private Vector2i windowSize = Vector2i.ZERO;
+
+    /**
+     * Records a command to be executed before rendering this frame.
+     *
+     * @param command The command.
+     */
+    void record(Runnable command) {
+        this.commands.add(command);
+    }
+
+    /**
+     * Stores the state of the scene at the end of the frame.
+     *
+     * @param camera3D The 3D camera or null if there is no 3D camera.
+     * @param camera2D The 2D camera or null if there is no 2D camera.
+     * @param windowSize Size of the window.
+     */
+    void finish(CameraData3D camera3D, CameraData2D camera2D, Vector2i windowSize) {
+        this.camera3D = camera3D;
+        this.camera2D = camera2D;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Adds a light to this frame.
+     *
+     * @param light The position and color of the light.
+     */
+    void addLight(LightData light) {
+        this.lights.add(light);
+    }
+
+    /**
+     * Executes the commands recorded during the frame in the order in which they were recorded.
+     * Must be called on the thread that owns the OpenGL context.
+     */
+    void executeCommands() {
+        for(var i = 0; i < this.commands.size(); i++) {
+            this.commands.get(i).run();
+        }
+    }
+
+    /**
+     * Clears this packet so that it can be reused for another frame.
+     */
+    void clear() {
+        this.commands.clear();
+        this.lights.clear();
+        this.camera3D = null;
+        this.camera2D = null;
+    }
+
+    /**
+     * Returns the lights submitted during the frame.
+     *
+     * @return The lights submitted during the frame.
+     */
+    ArrayList<LightData> lights() {
+        return this.lights;
+    }
+
+    /**
+     * Returns the 3D camera at the end of the frame.
+     *
+     * @return The 3D camera or null if there is no 3D camera.
+     */
+    CameraData3D camera3D() {
+        return this.camera3D;
+    }
+
+    /**
+     * Returns the 2D camera at the end of the frame.
+     *
+     * @return The 2D camera or null if there is no 2D camera.
+     */
+    CameraData2D camera2D() {
+        return this.camera2D;
+    }
+
+    /**
+     * Returns the size of the window at the end of the frame.
+     *
+     * @return The size of the window.
+     */
+    Vector2i windowSize() {
+        return this.windowSize;
+    }
+
+    /**
+     * State of a 3D camera copied at the end of a frame.
+     *
+     * @param viewMatrix The camera's view matrix.
+     * @param projectionMatrix The camera's projection matrix.
+     * @param position The camera's global position.
+     * @param cullMask Bitmask of the render layers seen by the camera.
+     */
+    record CameraData3D(Matrix4 viewMatrix, Matrix4 projectionMatrix, Vector3 position, int cullMask) {
+
+        /**
+         * Returns the volume visible from the camera.
+         *
+         * @return The camera's frustum.
+         */
+        Frustum frustum() {
+            return new Frustum(this.projectionMatrix.multiply(this.viewMatrix));
+        }
+    }
+
+    /**
+     * State of a 2D camera copied at the end of a frame.
+     *
+     * @param viewMatrix The camera's view matrix.
+     * @param projectionMatrix The camera's projection matrix.
+     */
+    record CameraData2D(Matrix3 viewMatrix, Matrix4 projectionMatrix) {
+
+    }
+
+    /**
+     * State of a light copied at the end of a frame.
+     *
+     * @param position The light's global position.
+     * @param color The light's color.
+     */
+    record LightData(Vector3 position, Color color) {
+
+    }
+}
\ No newline at end of file
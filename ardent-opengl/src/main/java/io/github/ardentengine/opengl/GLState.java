@@ -0,0 +1,319 @@
+package io.github.ardentengine.opengl;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL13;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL31;
+
+import java.util.Arrays;
+
+/**
+ * Keeps a copy of the OpenGL state to avoid redundant state changes.
+ * <p>
+ *     All bindings of shader programs, vertex array objects, buffers, and textures should be done through this class.
+ *     Calls that would not change the current state are skipped.
+ * </p>
+ * <p>
+ *     The number of calls issued and skipped during the last frame can be retrieved with {@link GLState#callsIssued()} and {@link GLState#callsSkipped()}.
+ * </p>
+ */
+public final class GLState {
+
+    /** The shader program in use. */
+    private static int program = 0;
+    /** The bound vertex array object. */
+    private static int vertexArray = 0;
+    /** Buffers bound to the array buffer, element array buffer, and uniform buffer targets or -1 if unknown. */
+    private static final int[] BUFFERS = {0, 0, 0};
+    /** Buffers bound to each indexed uniform buffer binding point or -1 if unknown. */
+    private static int[] uniformBufferBindings = new int[16];
+    /** The active texture unit. */
+    private static int activeTexture = 0;
+    /** Textures bound to each texture unit. */
+    private static int[] textures = new int[16];
+
+    /** Number of calls issued during the current frame. */
+    private static int issued = 0;
+    /** Number of calls skipped during the current frame. */
+    private static int skipped = 0;
+    /** Number of calls issued during the last frame. */
+    private static int issuedLastFrame = 0;
+    /** Number of calls skipped during the last frame. */
+    private static int skippedLastFrame = 0;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private GLState() {
+
+    }
+
+    /**
+     * Installs the given shader program as part of the current rendering state if it is not already in use.
+     *
+     * @param program The shader program.
+     *
+     * @see GL20#glUseProgram(int)
+     */
+    public static void useProgram(int program) {
+        if(GLState.program != program) {
+            GL20.glUseProgram(program);
+            GLState.program = program;
+            issued++;
+        } else {
+            skipped++;
+        }
+    }
+
+    /**
+     * Binds the given vertex array object if it is not already bound.
+     * <p>
+     *     The element array buffer binding is part of the vertex array state, so it is forgotten when a different vertex array is bound.
+     * </p>
+     *
+     * @param vertexArray The vertex array object.
+     *
+     * @see GL30#glBindVertexArray(int)
+     */
+    public static void bindVertexArray(int vertexArray) {
+        if(GLState.vertexArray != vertexArray) {
+            GL30.glBindVertexArray(vertexArray);
+            GLState.vertexArray = vertexArray;
+            BUFFERS[1] = -1;
+            issued++;
+        } else {
+            skipped++;
+        }
+    }
+
+    /**
+     * Binds the given buffer to the given target if it is not already bound.
+     *
+     * @param target The target to which the buffer is bound.
+     * @param buffer The buffer object.
+     *
+     * @see GL15#glBindBuffer(int, int)
+     */
+    public static void bindBuffer(int target, int buffer) {
+        var index = bufferIndex(target);
+        if(index == -1 || BUFFERS[index] != buffer) {
+            GL15.glBindBuffer(target, buffer);
+            if(index != -1) {
+                BUFFERS[index] = buffer;
+            }
+            issued++;
+        } else {
+            skipped++;
+        }
+    }
+
+    /**
+     * Returns the index in {@link GLState#BUFFERS} corresponding to the given target.
+     *
+     * @param target The target to which buffers are bound.
+     * @return The index corresponding to the given target or -1 if the target is not tracked.
+     */
+    private static int bufferIndex(int target) {
+        return switch(target) {
+            case GL15.GL_ARRAY_BUFFER -> 0;
+            case GL15.GL_ELEMENT_ARRAY_BUFFER -> 1;
+            case GL31.GL_UNIFORM_BUFFER -> 2;
+            default -> -1;
+        };
+    }
+
+    /**
+     * Binds a range of the given buffer to an indexed target.
+     * This call is always issued, but it also binds the buffer to the generic target, which must be kept track of.
+     *
+     * @param target The target to which the buffer is bound.
+     * @param index The index of the binding point.
+     * @param buffer The buffer object.
+     * @param offset The starting offset in bytes.
+     * @param size The size in bytes of the range.
+     *
+     * @see GL30#glBindBufferRange(int, int, int, long, long)
+     */
+    public static void bindBufferRange(int target, int index, int buffer, long offset, long size) {
+        GL30.glBindBufferRange(target, index, buffer, offset, size);
+        var bufferIndex = bufferIndex(target);
+        if(bufferIndex != -1) {
+            BUFFERS[bufferIndex] = buffer;
+        }
+        if(target == GL31.GL_UNIFORM_BUFFER) {
+            ensureUniformBufferBinding(index);
+            uniformBufferBindings[index] = -1;
+        }
+        issued++;
+    }
+
+    /**
+     * Binds the whole given buffer to an indexed target if it is not already bound.
+     * Binding the buffer to an indexed target also binds it to the generic target.
+     *
+     * @param target The target to which the buffer is bound.
+     * @param index The index of the binding point.
+     * @param buffer The buffer object.
+     *
+     * @see GL30#glBindBufferBase(int, int, int)
+     */
+    public static void bindBufferBase(int target, int index, int buffer) {
+        if(target == GL31.GL_UNIFORM_BUFFER) {
+            ensureUniformBufferBinding(index);
+            if(uniformBufferBindings[index] == buffer) {
+                skipped++;
+                return;
+            }
+            uniformBufferBindings[index] = buffer;
+        }
+        GL30.glBindBufferBase(target, index, buffer);
+        var bufferIndex = bufferIndex(target);
+        if(bufferIndex != -1) {
+            BUFFERS[bufferIndex] = buffer;
+        }
+        issued++;
+    }
+
+    /**
+     * Grows the array of uniform buffer bindings if needed to contain the given binding point.
+     *
+     * @param index The index of the binding point.
+     */
+    private static void ensureUniformBufferBinding(int index) {
+        if(index >= uniformBufferBindings.length) {
+            uniformBufferBindings = Arrays.copyOf(uniformBufferBindings, Math.max(index + 1, 2 * uniformBufferBindings.length));
+        }
+    }
+
+    /**
+     * Makes the given texture unit active if it is not already.
+     * Must be called before functions that act on the texture bound to the active unit, such as {@code glTexImage2D},
+     * since {@link GLState#bindTexture(int, int)} does not change the active unit if the texture is already bound.
+     *
+     * @param unit The texture unit, starting from zero.
+     *
+     * @see GL13#glActiveTexture(int)
+     */
+    public static void activeTexture(int unit) {
+        if(activeTexture != unit) {
+            GL13.glActiveTexture(GL13.GL_TEXTURE0 + unit);
+            activeTexture = unit;
+            issued++;
+        } else {
+            skipped++;
+        }
+    }
+
+    /**
+     * Binds the given texture to the given texture unit if it is not already bound.
+     * The active texture unit is only changed if needed.
+     *
+     * @param unit The texture unit, starting from zero.
+     * @param texture The texture object.
+     *
+     * @see GL13#glActiveTexture(int)
+     * @see GL11#glBindTexture(int, int)
+     */
+    public static void bindTexture(int unit, int texture) {
+        if(unit >= textures.length) {
+            textures = Arrays.copyOf(textures, Math.max(unit + 1, 2 * textures.length));
+        }
+        if(textures[unit] != texture) {
+            activeTexture(unit);
+            GL11.glBindTexture(GL11.GL_TEXTURE_2D, texture);
+            textures[unit] = texture;
+            issued++;
+        } else {
+            skipped++;
+        }
+    }
+
+    /**
+     * Forgets the given shader program.
+     * Must be called when a shader program is deleted because its name may be reused.
+     *
+     * @param program The deleted shader program.
+     */
+    public static void programDeleted(int program) {
+        if(GLState.program == program) {
+            GLState.program = 0;
+        }
+    }
+
+    /**
+     * Forgets the given vertex array object.
+     * Must be called when a vertex array object is deleted because its name may be reused.
+     *
+     * @param vertexArray The deleted vertex array object.
+     */
+    public static void vertexArrayDeleted(int vertexArray) {
+        if(GLState.vertexArray == vertexArray) {
+            GLState.vertexArray = 0;
+            BUFFERS[1] = -1;
+        }
+    }
+
+    /**
+     * Forgets the given buffer.
+     * Must be called when a buffer is deleted because its name may be reused.
+     *
+     * @param buffer The deleted buffer.
+     */
+    public static void bufferDeleted(int buffer) {
+        for(var i = 0; i < BUFFERS.length; i++) {
+            if(BUFFERS[i] == buffer) {
+                BUFFERS[i] = -1;
+            }
+        }
+        for(var i = 0; i < uniformBufferBindings.length; i++) {
+            if(uniformBufferBindings[i] == buffer) {
+                uniformBufferBindings[i] = -1;
+            }
+        }
+    }
+
+    /**
+     * Forgets the given texture.
+     * Must be called when a texture is deleted because its name may be reused.
+     *
+     * @param texture The deleted texture.
+     */
+    public static void textureDeleted(int texture) {
+        for(var i = 0; i < textures.length; i++) {
+            if(textures[i] == texture) {
+                textures[i] = 0;
+            }
+        }
+    }
+
+    /**
+     * Stores the number of calls issued and skipped during the current frame and resets the counters.
+     * Called by the {@link OpenGLSystem} at the end of every frame.
+     */
+    public static void endFrame() {
+        issuedLastFrame = issued;
+        skippedLastFrame = skipped;
+        issued = 0;
+        skipped = 0;
+    }
+
+    /**
+     * Returns the number of state changes that were issued during the last frame.
+     *
+     * @return The number of state changes that were issued during the last frame.
+     */
+    public static int callsIssued() {
+        return issuedLastFrame;
+    }
+
+    /**
+     * Returns the number of redundant state changes that were skipped during the last frame.
+     *
+     * @return The number of redundant state changes that were skipped during the last frame.
+     */
+    public static int callsSkipped() {
+        return skippedLastFrame;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,382 @@
+package io.github.ardentengine.opengl;
+
+import io.github.ardentengine.core.math.Frustum;
+import io.github.ardentengine.core.math.Matrix3x4;
+import io.github.ardentengine.core.math.Matrix4;
+import io.github.ardentengine.core.math.Vector3;
+import io.github.ardentengine.core.rendering.Material;
+import io.github.ardentengine.core.rendering.Mesh;
+import io.github.ardentengine.core.rendering.OcclusionBuffer;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * A group of instances that share the same mesh and the same material override.
+ * <p>
+ *     Transforms are stored in a flat array of floats, three rows of four elements per instance,
+ *     so they can be copied into the instance buffer without iterating over objects.
+ * </p>
+ * <p>
+ *     Instances are stored contiguously.
+ *     Removing an instance moves the last one in its slot.
+ * </p>
+ * <p>
+ *     Before drawing, the batch is culled with {@link InstanceBatch#cull(Frustum, Vector3, int, OcclusionBuffer)} to find the instances that are visible.
+ *     Only the transforms of visible instances are written to the instance buffer.
+ *     Batches whose instances are in the renderer's spatial index are culled one instance at a time with {@link InstanceBatch#cullInstance(int, Frustum, Vector3, int, OcclusionBuffer)}
+ *     for the instances found by querying the spatial index, so that the instances outside of the frustum are not visited.
+ * </p>
+ */
+final class InstanceBatch {
+
+    /** Number of floats used to store a transform. */
+    static final int TRANSFORM_SIZE = 12;
+
+    /** The mesh drawn by this batch. */
+    private final Mesh mesh;
+    /** The material override of this batch. Can be null. */
+    private final Material materialOverride;
+    /** True if the instances in this batch are in the renderer's spatial index and are culled by querying it. */
+    private final boolean indexed;
+
+    /** Transforms of the instances in this batch. */
+    private float[] transforms = new float[TRANSFORM_SIZE * 16];
+    /** Handles of the instances in this batch, used to update their slot when an instance is moved. */
+    private int[] owners = new int[16];
+    /** Render layers of the instances in this batch. */
+    private int[] layers = new int[16];
+    /** Union of the render layers of all the instances in this batch, used to skip the whole batch if no instance is in the camera's layers. */
+    private int batchLayers = 0;
+    /** True if an instance was removed or changed its layers and {@link InstanceBatch#batchLayers} needs to be recomputed. */
+    private boolean batchLayersDirty = false;
+    /** Squared visibility range of the instances in this batch, stored as the squared minimum distance followed by the squared maximum distance. */
+    private float[] ranges = new float[2 * 16];
+    /** Number of instances in this batch. */
+    private int size = 0;
+    /** Slots of the instances that passed the last culling test. */
+    private int[] visible = new int[16];
+    /** Number of instances that passed the last culling test. */
+    private int visibleCount = 0;
+
+    /** Center of the bounds of the mesh on the x axis, computed when culling starts. */
+    private float centerX = 0.0f;
+    /** Center of the bounds of the mesh on the y axis, computed when culling starts. */
+    private float centerY = 0.0f;
+    /** Center of the bounds of the mesh on the z axis, computed when culling starts. */
+    private float centerZ = 0.0f;
+    /** Half of the size of the bounds of the mesh on the x axis, computed when culling starts. */
+    private float extentX = 0.0f;
+    /** Half of the size of the bounds of the mesh on the y axis, computed when culling starts. */
+    private float extentY = 0.0f;
+    /** Half of the size of the bounds of the mesh on the z axis, computed when culling starts. */
+    private float extentZ = 0.0f;
+
+    /**
+     * Creates an empty batch.
+     *
+     * @param mesh The mesh drawn by this batch.
+     * @param materialOverride The material override of this batch. Can be null.
+     * @param indexed True if the instances in this batch are in the renderer's spatial index and are culled by querying it.
+     */
+    InstanceBatch(Mesh mesh, Material materialOverride, boolean indexed) {
+        this.mesh = mesh;
+        this.materialOverride = materialOverride;
+        this.indexed = indexed;
+    }
+
+    /**
+     * Adds an instance to this batch.
+     *
+     * @param owner The handle of the instance or -1 if it is not needed.
+     * @param transform The transform of the instance.
+     * @return The slot in which the instance was added.
+     */
+    int add(int owner, Matrix3x4 transform) {
+        if(this.size == this.owners.length) {
+            this.owners = Arrays.copyOf(this.owners, 2 * this.size);
+            this.visible = new int[2 * this.size];
+            this.ranges = Arrays.copyOf(this.ranges, 4 * this.size);
+            this.layers = Arrays.copyOf(this.layers, 2 * this.size);
+            this.transforms = Arrays.copyOf(this.transforms, 2 * TRANSFORM_SIZE * this.size);
+        }
+        var slot = this.size++;
+        this.owners[slot] = owner;
+        this.set(slot, transform);
+        this.setVisibilityRange(slot, 0.0f, 0.0f);
+        this.setLayers(slot, 1);
+        return slot;
+    }
+
+    /**
+     * Sets the transform of the instance in the given slot.
+     *
+     * @param slot The slot of the instance.
+     * @param transform The transform of the instance.
+     */
+    void set(int slot, Matrix3x4 transform) {
+        transform.writeTo(this.transforms, TRANSFORM_SIZE * slot);
+    }
+
+    /**
+     * Sets the range of distances from the camera at which the instance in the given slot is drawn.
+     * Distances are stored squared, so that they can be compared without computing square roots.
+     *
+     * @param slot The slot of the instance.
+     * @param begin The distance from which the instance is drawn or zero for no minimum distance.
+     * @param end The distance from which the instance is no longer drawn or zero for no maximum distance.
+     */
+    void setVisibilityRange(int slot, float begin, float end) {
+        this.ranges[2 * slot] = begin * begin;
+        this.ranges[2 * slot + 1] = end > 0.0f ? end * end : Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Sets the render layers of the instance in the given slot.
+     *
+     * @param slot The slot of the instance.
+     * @param layers Bitmask of the render layers.
+     */
+    void setLayers(int slot, int layers) {
+        if((this.layers[slot] & ~layers) != 0) {
+            this.batchLayersDirty = true;
+        }
+        this.layers[slot] = layers;
+        this.batchLayers |= layers;
+    }
+
+    /**
+     * Removes the instance in the given slot by moving the last instance in its place.
+     *
+     * @param slot The slot of the instance to remove.
+     * @return The handle of the instance that was moved into the given slot or -1 if no instance was moved.
+     */
+    int remove(int slot) {
+        var last = --this.size;
+        this.batchLayersDirty = true;
+        if(slot == last) {
+            return -1;
+        }
+        this.owners[slot] = this.owners[last];
+        System.arraycopy(this.transforms, TRANSFORM_SIZE * last, this.transforms, TRANSFORM_SIZE * slot, TRANSFORM_SIZE);
+        System.arraycopy(this.ranges, 2 * last, this.ranges, 2 * slot, 2);
+        this.layers[slot] = this.layers[last];
+        return this.owners[slot];
+    }
+
+    /**
+     * Removes all the instances from this batch without releasing its memory.
+     */
+    void clear() {
+        this.size = 0;
+        this.batchLayers = 0;
+        this.batchLayersDirty = false;
+    }
+
+    /**
+     * Finds the instances in this batch that are in the camera's layers, whose bounds are at least partially inside the given frustum,
+     * whose distance from the camera is inside their visibility range, and that are not hidden behind occluders.
+     * <p>
+     *     The whole batch is skipped if none of its instances are in the camera's layers.
+     *     Otherwise, the layers of each instance are tested before doing any other work.
+     * </p>
+     * <p>
+     *     The bounds of the mesh are transformed by the transform of each instance directly from the array of transforms.
+     *     The squared distance between the camera and the center of the bounds is compared to the squared visibility range of each instance before testing the frustum.
+     * </p>
+     *
+     * @param frustum The frustum of the camera or null to consider all instances as visible.
+     * @param cameraPosition The global position of the camera. Ignored if the frustum is null.
+     * @param cullMask Bitmask of the render layers seen by the camera.
+     * @param occlusionBuffer The occlusion buffer in which occluders were rasterized or null if there are no occluders.
+     * @return The number of visible instances.
+     */
+    int cull(Frustum frustum, Vector3 cameraPosition, int cullMask, OcclusionBuffer occlusionBuffer) {
+        this.visibleCount = 0;
+        if(this.batchLayersDirty) {
+            this.batchLayers = 0;
+            for(var slot = 0; slot < this.size; slot++) {
+                this.batchLayers |= this.layers[slot];
+            }
+            this.batchLayersDirty = false;
+        }
+        if((this.batchLayers & cullMask) == 0) {
+            return 0;
+        }
+        if(frustum == null) {
+            for(var slot = 0; slot < this.size; slot++) {
+                if((this.layers[slot] & cullMask) != 0) {
+                    this.visible[this.visibleCount++] = slot;
+                }
+            }
+            return this.visibleCount;
+        }
+        this.computeMeshBounds();
+        for(var slot = 0; slot < this.size; slot++) {
+            if(this.isVisible(slot, frustum, cameraPosition, cullMask, occlusionBuffer)) {
+                this.visible[this.visibleCount++] = slot;
+            }
+        }
+        return this.visibleCount;
+    }
+
+    /**
+     * Removes all the instances from the list of visible instances before the instances found in the spatial index are culled with
+     * {@link InstanceBatch#cullInstance(int, Frustum, Vector3, int, OcclusionBuffer)}.
+     */
+    void beginIndexedCull() {
+        this.visibleCount = 0;
+        this.computeMeshBounds();
+    }
+
+    /**
+     * Adds the instance in the given slot to the list of visible instances if it passes the same tests as in {@link InstanceBatch#cull(Frustum, Vector3, int, OcclusionBuffer)}.
+     * {@link InstanceBatch#beginIndexedCull()} must be called before this method.
+     *
+     * @param slot The slot of an instance found in the spatial index.
+     * @param frustum The frustum of the camera.
+     * @param cameraPosition The global position of the camera.
+     * @param cullMask Bitmask of the render layers seen by the camera.
+     * @param occlusionBuffer The occlusion buffer in which occluders were rasterized or null if there are no occluders.
+     */
+    void cullInstance(int slot, Frustum frustum, Vector3 cameraPosition, int cullMask, OcclusionBuffer occlusionBuffer) {
+        if(this.isVisible(slot, frustum, cameraPosition, cullMask, occlusionBuffer)) {
+            this.visible[this.visibleCount++] = slot;
+        }
+    }
+
+    /**
+     * Computes the center and the extents of the bounds of the mesh used by {@link InstanceBatch#isVisible(int, Frustum, Vector3, int, OcclusionBuffer)}.
+     * The bounds are computed again every time culling starts because the mesh may have been updated.
+     */
+    private void computeMeshBounds() {
+        var bounds = MeshData.snapshot(this.mesh).aabb();
+        this.centerX = 0.5f * (bounds.min().x() + bounds.max().x());
+        this.centerY = 0.5f * (bounds.min().y() + bounds.max().y());
+        this.centerZ = 0.5f * (bounds.min().z() + bounds.max().z());
+        this.extentX = 0.5f * (bounds.max().x() - bounds.min().x());
+        this.extentY = 0.5f * (bounds.max().y() - bounds.min().y());
+        this.extentZ = 0.5f * (bounds.max().z() - bounds.min().z());
+    }
+
+    /**
+     * Checks if the instance in the given slot is in the camera's layers, inside the given frustum, inside its visibility range, and not hidden behind occluders.
+     * The bounds of the mesh are transformed by the transform of the instance directly from the array of transforms.
+     *
+     * @param slot The slot of the instance.
+     * @param frustum The frustum of the camera.
+     * @param cameraPosition The global position of the camera.
+     * @param cullMask Bitmask of the render layers seen by the camera.
+     * @param occlusionBuffer The occlusion buffer in which occluders were rasterized or null if there are no occluders.
+     * @return True if the instance is visible, otherwise false.
+     */
+    private boolean isVisible(int slot, Frustum frustum, Vector3 cameraPosition, int cullMask, OcclusionBuffer occlusionBuffer) {
+        if((this.layers[slot] & cullMask) == 0) {
+            return false;
+        }
+        var t = this.transforms;
+        var i = TRANSFORM_SIZE * slot;
+        var centerX = t[i] * this.centerX + t[i + 1] * this.centerY + t[i + 2] * this.centerZ + t[i + 3];
+        var centerY = t[i + 4] * this.centerX + t[i + 5] * this.centerY + t[i + 6] * this.centerZ + t[i + 7];
+        var centerZ = t[i + 8] * this.centerX + t[i + 9] * this.centerY + t[i + 10] * this.centerZ + t[i + 11];
+        var dx = centerX - cameraPosition.x();
+        var dy = centerY - cameraPosition.y();
+        var dz = centerZ - cameraPosition.z();
+        var distanceSquared = dx * dx + dy * dy + dz * dz;
+        if(distanceSquared < this.ranges[2 * slot] || distanceSquared >= this.ranges[2 * slot + 1]) {
+            return false;
+        }
+        var x = Math.abs(t[i]) * this.extentX + Math.abs(t[i + 1]) * this.extentY + Math.abs(t[i + 2]) * this.extentZ;
+        var y = Math.abs(t[i + 4]) * this.extentX + Math.abs(t[i + 5]) * this.extentY + Math.abs(t[i + 6]) * this.extentZ;
+        var z = Math.abs(t[i + 8]) * this.extentX + Math.abs(t[i + 9]) * this.extentY + Math.abs(t[i + 10]) * this.extentZ;
+        return frustum.intersects(centerX, centerY, centerZ, x, y, z) && (occlusionBuffer == null || !occlusionBuffer.isOccluded(centerX, centerY, centerZ, x, y, z));
+    }
+
+    /**
+     * Writes the transforms of the given range of visible instances into the given buffer.
+     * {@link InstanceBatch#cull(Frustum, Vector3, int, OcclusionBuffer)} must be called before this method.
+     *
+     * @param buffer The buffer to write to. Must have enough space remaining.
+     * @param first Index of the first visible instance to write.
+     * @param count Number of visible instances to write.
+     */
+    void writeVisibleTo(FloatBuffer buffer, int first, int count) {
+        for(var i = first; i < first + count; i++) {
+            buffer.put(this.transforms, TRANSFORM_SIZE * this.visible[i], TRANSFORM_SIZE);
+        }
+    }
+
+    /**
+     * Returns the distance along the view direction of the camera of the nearest instance that passed the last culling test.
+     * The distance is measured from the center of the bounds of each instance.
+     *
+     * @param viewMatrix The view matrix of the camera.
+     * @return The depth of the nearest visible instance or zero if no instance is visible.
+     */
+    float nearestViewDepth(Matrix4 viewMatrix) {
+        if(this.visibleCount == 0) {
+            return 0.0f;
+        }
+        var bounds = MeshData.snapshot(this.mesh).aabb();
+        var centerX = 0.5f * (bounds.min().x() + bounds.max().x());
+        var centerY = 0.5f * (bounds.min().y() + bounds.max().y());
+        var centerZ = 0.5f * (bounds.min().z() + bounds.max().z());
+        var t = this.transforms;
+        var nearest = Float.POSITIVE_INFINITY;
+        for(var v = 0; v < this.visibleCount; v++) {
+            var i = TRANSFORM_SIZE * this.visible[v];
+            var x = t[i] * centerX + t[i + 1] * centerY + t[i + 2] * centerZ + t[i + 3];
+            var y = t[i + 4] * centerX + t[i + 5] * centerY + t[i + 6] * centerZ + t[i + 7];
+            var z = t[i + 8] * centerX + t[i + 9] * centerY + t[i + 10] * centerZ + t[i + 11];
+            // The camera looks towards negative z in view space
+            var depth = -(viewMatrix.m20() * x + viewMatrix.m21() * y + viewMatrix.m22() * z + viewMatrix.m23());
+            nearest = Math.min(nearest, depth);
+        }
+        return nearest;
+    }
+
+    /**
+     * Returns the number of instances that passed the last culling test.
+     *
+     * @return The number of visible instances.
+     */
+    int visibleCount() {
+        return this.visibleCount;
+    }
+
+    /**
+     * Returns the mesh drawn by this batch.
+     *
+     * @return The mesh drawn by this batch.
+     */
+    Mesh mesh() {
+        return this.mesh;
+    }
+
+    /**
+     * Returns the material override of this batch.
+     *
+     * @return The material override of this batch or null if the material of the mesh should be used.
+     */
+    Material materialOverride() {
+        return this.materialOverride;
+    }
+
+    /**
+     * Checks if the instances in this batch are in the renderer's spatial index.
+     *
+     * @return True if the instances in this batch are culled by querying the spatial index, otherwise false.
+     */
+    boolean indexed() {
+        return this.indexed;
+    }
+
+    /**
+     * Returns the number of instances in this batch.
+     *
+     * @return The number of instances in this batch.
+     */
+    int size() {
+        return this.size;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,295 @@
+package io.github.ardentengine.opengl;
+
+import io.github.ardentengine.core.logging.Logger;
+import io.github.ardentengine.core.math.*;
+import io.github.ardentengine.core.rendering.Material;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL31;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * OpenGL implementation of a material.
+ * <p>
+ *     The parameters of the material that are declared in the shader's {@code Material} uniform block are stored in a uniform buffer object with the std140 layout.
+ *     The buffer is only rewritten when the parameters of the material change, so binding a material only requires binding its buffer.
+ * </p>
+ * <p>
+ *     Parameters that cannot be stored in a uniform block, such as textures, are set as uniform variables every time the material is bound.
+ * </p>
+ * <p>
+ *     The renderer never reads the parameters of the material object itself, since they may be modified by the main thread while a frame is rendered.
+ *     Instead, the {@link OpenGLServer} records a {@link Snapshot} of the parameters whenever the version of the material changes.
+ * </p>
+ */
+public class MaterialData {
+
+    /** Keeps track of the data associated with materials for their buffers to be deleted when the material is released or when the rendering system is terminated. */
+    private static final HashMap<Material, MaterialData> MATERIALS = new HashMap<>();
+    /** Number of materials used to ensure each of them has a unique id. */
+    private static int materialsCount = 0;
+
+    /**
+     * Returns the material data corresponding to the given material or creates a new one if it does not exist.
+     *
+     * @param material Material object.
+     * @return The corresponding material data.
+     */
+    public static MaterialData getOrCreate(Material material) {
+        return MATERIALS.computeIfAbsent(material, MaterialData::new);
+    }
+
+    /**
+     * Replaces the snapshot of the parameters of the given material.
+     * The uniform buffer object is rewritten the next time the material is bound.
+     *
+     * @param material Material object.
+     * @param snapshot Snapshot of the parameters of the material taken on the main thread.
+     */
+    static void update(Material material, Snapshot snapshot) {
+        getOrCreate(material).snapshot = snapshot;
+    }
+
+    /**
+     * Deletes the data associated with the given material and removes it from the cache.
+     * Called when the material is released with {@link io.github.ardentengine.core.rendering.RenderingServer#release(Material)}.
+     *
+     * @param material Material object.
+     */
+    public static void release(Material material) {
+        var materialData = MATERIALS.remove(material);
+        if(materialData != null) {
+            materialData.delete();
+        }
+    }
+
+    /** Unique id of this material used when sorting draw calls. */
+    private final int id;
+    /** The material this data belongs to. */
+    private final Material material;
+
+    /** Uniform buffer object containing the parameters in the {@code Material} uniform block or -1 if it has not been created yet. */
+    private int uniformBuffer = -1;
+    /** Buffer used to write the content of the uniform buffer object. */
+    private ByteBuffer blockData = null;
+    /** Uniform slots of the parameters that are not in the uniform block, resolved from the shader program this data was last updated with. */
+    private final ArrayList<ShaderProgram.UniformSlot> uniformSlots = new ArrayList<>();
+    /** Values of the parameters that are not in the uniform block. */
+    private final ArrayList<Object> uniformValues = new ArrayList<>();
+
+    /** The last snapshot of the parameters of the material or null if none was received yet. */
+    private Snapshot snapshot = null;
+    /** Version of the snapshot this data was last updated with or -1 if it was never updated. */
+    private int version = -1;
+    /** Shader program whose uniform block layout was used when this data was last updated. */
+    private ShaderProgram shaderProgram = null;
+
+    /**
+     * Creates the material data for the given material.
+     *
+     * @param material Material object.
+     */
+    private MaterialData(Material material) {
+        this.id = materialsCount++;
+        this.material = material;
+    }
+
+    /**
+     * Binds this material to be used with the given shader program.
+     * The shader program must be started before calling this method.
+     * <p>
+     *     The uniform buffer object is only rewritten if the parameters of the material have changed or if the material is used with a different shader.
+     * </p>
+     *
+     * @param shaderProgram The shader program that will use this material.
+     */
+    public void bind(ShaderProgram shaderProgram) {
+        if(this.snapshot == null) {
+            // Materials that were never sent by the OpenGLServer, such as the default ones, are only used by the renderer
+            this.snapshot = Snapshot.of(this.material);
+        }
+        if(this.version != this.snapshot.version() || this.shaderProgram != shaderProgram) {
+            this.update(shaderProgram);
+        }
+        if(shaderProgram.materialBlockSize() > 0) {
+            GLState.bindBufferBase(GL31.GL_UNIFORM_BUFFER, shaderProgram.materialBlockBinding(), this.uniformBuffer);
+        }
+        for(var i = 0; i < this.uniformSlots.size(); i++) {
+            shaderProgram.setUniform(this.uniformSlots.get(i), this.uniformValues.get(i));
+        }
+    }
+
+    /**
+     * Rewrites the uniform buffer object using the layout of the {@code Material} block in the given shader program.
+     *
+     * @param shaderProgram The shader program that will use this material.
+     */
+    private void update(ShaderProgram shaderProgram) {
+        this.uniformSlots.clear();
+        this.uniformValues.clear();
+        var size = shaderProgram.materialBlockSize();
+        if(size > 0) {
+            if(this.blockData == null || this.blockData.capacity() < size) {
+                this.blockData = BufferUtils.createByteBuffer(size);
+            }
+            this.blockData.clear().limit(size);
+            for(var i = 0; i < size; i++) {
+                this.blockData.put(i, (byte) 0);
+            }
+        }
+        for(var parameter : this.snapshot.parameters().entrySet()) {
+            var member = shaderProgram.materialBlockMember(parameter.getKey());
+            if(member != null) {
+                writeParameter(this.blockData, member, parameter.getValue());
+            } else {
+                var slot = shaderProgram.uniformSlot(parameter.getKey());
+                if(slot != null) {
+                    this.uniformSlots.add(slot);
+                    this.uniformValues.add(parameter.getValue());
+                }
+            }
+        }
+        if(size > 0) {
+            if(this.uniformBuffer == -1) {
+                this.uniformBuffer = GL15.glGenBuffers();
+            }
+            GLState.bindBuffer(GL31.GL_UNIFORM_BUFFER, this.uniformBuffer);
+            GL15.glBufferData(GL31.GL_UNIFORM_BUFFER, this.blockData, GL15.GL_DYNAMIC_DRAW);
+        }
+        this.version = this.snapshot.version();
+        this.shaderProgram = shaderProgram;
+    }
+
+    /**
+     * Writes the given value into the given buffer at the offset of the given block member.
+     * Only the number of components declared in the shader are written.
+     *
+     * @param buffer The buffer to write to.
+     * @param member The offset and the type of the variable.
+     * @param value The value of the parameter.
+     */
+    private static void writeParameter(ByteBuffer buffer, ShaderProgram.BlockMember member, Object value) {
+        double[] components;
+        if(value instanceof Float x) {
+            components = new double[] {x};
+        } else if(value instanceof Integer x) {
+            components = new double[] {x};
+        } else if(value instanceof Boolean x) {
+            components = new double[] {x ? 1.0 : 0.0};
+        } else if(value instanceof Vector2 vector) {
+            components = new double[] {vector.x(), vector.y()};
+        } else if(value instanceof Vector3 vector) {
+            components = new double[] {vector.x(), vector.y(), vector.z()};
+        } else if(value instanceof Vector4 vector) {
+            components = new double[] {vector.x(), vector.y(), vector.z(), vector.w()};
+        } else if(value instanceof Vector2i vector) {
+            components = new double[] {vector.x(), vector.y()};
+        } else if(value instanceof Vector3i vector) {
+            components = new double[] {vector.x(), vector.y(), vector.z()};
+        } else if(value instanceof Vector4i vector) {
+            components = new double[] {vector.x(), vector.y(), vector.z(), vector.w()};
+        } else if(value instanceof Color color) {
+            components = new double[] {color.r(), color.g(), color.b(), color.a()};
+        } else {
+            Logger.error("Variable of type " + value.getClass().getName() + " not supported in uniform blocks");
+            return;
+        }
+        var count = Math.min(components.length, componentCount(member.type()));
+        for(var i = 0; i < count; i++) {
+            var offset = member.offset() + i * Float.BYTES;
+            if(isIntegerType(member.type())) {
+                buffer.putInt(offset, (int) components[i]);
+            } else {
+                buffer.putFloat(offset, (float) components[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of components of a variable of the given type.
+     *
+     * @param type Type of the variable.
+     * @return The number of components or zero if the type is not supported.
+     */
+    private static int componentCount(int type) {
+        return switch(type) {
+            case GL11.GL_FLOAT, GL11.GL_INT, GL11.GL_UNSIGNED_INT, GL20.GL_BOOL -> 1;
+            case GL20.GL_FLOAT_VEC2, GL20.GL_INT_VEC2, GL30.GL_UNSIGNED_INT_VEC2, GL20.GL_BOOL_VEC2 -> 2;
+            case GL20.GL_FLOAT_VEC3, GL20.GL_INT_VEC3, GL30.GL_UNSIGNED_INT_VEC3, GL20.GL_BOOL_VEC3 -> 3;
+            case GL20.GL_FLOAT_VEC4, GL20.GL_INT_VEC4, GL30.GL_UNSIGNED_INT_VEC4, GL20.GL_BOOL_VEC4 -> 4;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Checks if a variable of the given type should be written as integers.
+     *
+     * @param type Type of the variable.
+     * @return True if the components of the given type are integers or booleans, otherwise false.
+     */
+    private static boolean isIntegerType(int type) {
+        return switch(type) {
+            case GL20.GL_FLOAT_VEC2, GL20.GL_FLOAT_VEC3, GL20.GL_FLOAT_VEC4, GL11.GL_FLOAT -> false;
+            default -> true;
+        };
+    }
+
+    /**
+     * Returns the unique id of this material.
+     * Used when sorting draw calls.
+     *
+     * @return The unique id of this material.
+     */
+    public int id() {
+        return this.id;
+    }
+
+    /**
+     * Deletes the uniform buffer objects of all materials.
+     * Called when the {@link OpenGLSystem} is terminated.
+     */
+    public static void deleteMaterials() {
+        for(var materialData : MATERIALS.values()) {
+            materialData.delete();
+        }
+    }
+
+    /**
+     * Deletes the uniform buffer object of this material if it was created.
+     *
+     * @see GL15#glDeleteBuffers(int)
+     */
+    private void delete() {
+        if(this.uniformBuffer != -1) {
+            GL15.glDeleteBuffers(this.uniformBuffer);
+            GLState.bufferDeleted(this.uniformBuffer);
+            this.uniformBuffer = -1;
+        }
+    }
+
+    /**
+     * Copy of the parameters of a material taken on the main thread.
+     *
+     * @param parameters A copy of the parameters of the material.
+     * @param version The version of the material when the copy was taken.
+     */
+    record Snapshot(Map<String, Object> parameters, int version) {
+
+        /**
+         * Copies the parameters of the given material.
+         *
+         * @param material Material object.
+         * @return A snapshot of the parameters of the given material.
+         */
+        static Snapshot of(Material material) {
+            return new Snapshot(material.getParameters(), material.version());
+        }
+    }
+}
\ No newline at end of file
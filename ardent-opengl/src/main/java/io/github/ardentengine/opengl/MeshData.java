@@ -1,55 +1,80 @@
 package io.github.ardentengine.opengl;
 
+import io.github.ardentengine.core.math.AABB;
+import io.github.ardentengine.core.rendering.Material;
 import io.github.ardentengine.core.rendering.Mesh;
 import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL15;
 import org.lwjgl.opengl.GL20;
 import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL31;
+import org.lwjgl.opengl.GL33;
 
 import java.util.HashMap;
 
 /**
  * OpenGL implementation of a mesh.
+ * <p>
+ *     The renderer never reads the mesh object itself, since it may be modified by the main thread while a frame is rendered.
+ *     Instead, the {@link OpenGLServer} records a {@link Snapshot} of the mesh the first time it is drawn and every time it is updated.
+ * </p>
  */
 public class MeshData {
 
     /** Keeps track of created meshes for them to be deleted when the rendering system is terminated. */
     private static final HashMap<Mesh, MeshData> MESHES = new HashMap<>();
+    /** The last snapshot received for each mesh. */
+    private static final HashMap<Mesh, Snapshot> SNAPSHOTS = new HashMap<>();
 
     /**
      * Returns the mesh data corresponding to the given mesh or creates a new one if it does not exist.
      * <p>
-     *     This method also updates the mesh data if it has requested to be updated with {@link MeshData#requestUpdate(Mesh)}.
+     *     This method also updates the mesh data if it has requested to be updated with {@link MeshData#update(Mesh, Snapshot)}.
      * </p>
      *
      * @param mesh Mesh object.
      * @return The corresponding mesh data.
      */
     public static MeshData getOrCreate(Mesh mesh) {
-        var meshData = MESHES.computeIfAbsent(mesh, MeshData::new);
+        var meshData = MESHES.computeIfAbsent(mesh, key -> new MeshData(snapshot(key)));
         if(meshData.dirty) {
-            meshData.updateMesh(mesh);
+            meshData.updateMesh(snapshot(mesh));
             meshData.dirty = false;
         }
         return meshData;
     }
 
     /**
-     * Requests the given mesh to be updated.
+     * Replaces the snapshot of the given mesh and requests its mesh data to be updated.
      * <p>
      *     The mesh data corresponding to the given mesh will be updated the next time {@link MeshData#getOrCreate(Mesh)} is called.
      * </p>
      *
      * @param mesh Mesh object.
+     * @param snapshot Snapshot of the mesh taken on the main thread.
      */
-    public static void requestUpdate(Mesh mesh) {
+    static void update(Mesh mesh, Snapshot snapshot) {
+        SNAPSHOTS.put(mesh, snapshot);
         var meshData = MESHES.get(mesh);
         if(meshData != null) {
             meshData.dirty = true;
         }
     }
 
+    /**
+     * Returns the last snapshot received for the given mesh.
+     * <p>
+     *     Meshes that were never sent by the {@link OpenGLServer} are only used by the renderer, so their snapshot is taken the first time it is needed.
+     * </p>
+     *
+     * @param mesh Mesh object.
+     * @return The snapshot of the given mesh.
+     */
+    static Snapshot snapshot(Mesh mesh) {
+        return SNAPSHOTS.computeIfAbsent(mesh, Snapshot::of);
+    }
+
     /** Vertex array object. */
     private final int vertexArray;
     /** Map of vertex buffer objects and attribute lists. */
@@ -63,31 +88,35 @@ public class MeshData {
     /** Number of indices in this mesh. */
     private int indicesCount = -1;
 
-    /** Set to true from {@link MeshData#requestUpdate(Mesh)} when the mesh must be updated. */
+    /** Buffer object used as the source of per-instance transforms or -1 if no buffer was bound. */
+    private int instanceBuffer = -1;
+    /** Offset in bytes of the per-instance transforms in the instance buffer. */
+    private long instanceOffset = -1;
+
+    /** Set to true from {@link MeshData#update(Mesh, Snapshot)} when the mesh must be updated. */
     private boolean dirty = false;
 
     /**
      * Creates the mesh data for the given mesh.
      *
-     * @param mesh Mesh object.
+     * @param snapshot Snapshot of the mesh.
      */
-    private MeshData(Mesh mesh) {
+    private MeshData(Snapshot snapshot) {
         this.vertexArray = GL30.glGenVertexArrays();
-        this.updateMesh(mesh);
+        this.updateMesh(snapshot);
     }
 
     /**
      * Updates this mesh.
      *
-     * @param mesh Mesh object.
+     * @param snapshot Snapshot of the mesh.
      */
-    private void updateMesh(Mesh mesh) {
-        GL30.glBindVertexArray(this.vertexArray);
-        this.setVertices(mesh.vertices(), mesh.is2D() ? 2 : 3);
-        this.setIndices(mesh.indices());
-        this.setUVs(mesh.uvs());
-        this.setNormals(mesh.normals());
-        GL30.glBindVertexArray(0);
+    private void updateMesh(Snapshot snapshot) {
+        GLState.bindVertexArray(this.vertexArray);
+        this.setVertices(snapshot.vertices(), snapshot.is2D() ? 2 : 3);
+        this.setIndices(snapshot.indices());
+        this.setUVs(snapshot.uvs());
+        this.setNormals(snapshot.normals());
     }
 
     /**
@@ -100,10 +129,12 @@ public class MeshData {
     private void setAttribute(float[] array, int size, int index) {
         if(array != null && array.length > 0) {
             var vbo = this.vertexBuffers.containsKey(index) ? this.vertexBuffers.get(index) : GL15.glGenBuffers();
-            GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vbo);
+            GLState.bindBuffer(GL15.GL_ARRAY_BUFFER, vbo);
             var buffer = BufferUtils.createFloatBuffer(array.length).put(array).flip();
             GL15.glBufferData(GL15.GL_ARRAY_BUFFER, buffer, GL15.GL_DYNAMIC_DRAW);
             GL20.glVertexAttribPointer(index, size, GL11.GL_FLOAT, false, 0, 0);
+            // Enabled attributes are part of the vertex array state, so they only need to be enabled once
+            GL20.glEnableVertexAttribArray(index);
             this.vertexBuffers.put(index, vbo);
         }
     }
@@ -133,7 +164,7 @@ public class MeshData {
             if(this.indexBuffer < 0) {
                 this.indexBuffer = GL15.glGenBuffers();
             }
-            GL15.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, this.indexBuffer);
+            GLState.bindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, this.indexBuffer);
             var buffer = BufferUtils.createIntBuffer(indices.length).put(indices).flip();
             GL15.glBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, buffer, GL15.GL_DYNAMIC_DRAW);
             this.indicesCount = indices.length;
@@ -167,10 +198,7 @@ public class MeshData {
      * Meshes must be bound before they are drawn.
      */
     public void bind() {
-        GL30.glBindVertexArray(this.vertexArray);
-        for(var attribute : this.vertexBuffers.keySet()) {
-            GL20.glEnableVertexAttribArray(attribute);
-        }
+        GLState.bindVertexArray(this.vertexArray);
     }
 
     /**
@@ -187,13 +215,54 @@ public class MeshData {
     }
 
     /**
-     * Unbinds this mesh.
+     * Binds the given buffer as the source of per-instance transforms for this mesh.
+     * <p>
+     *     The buffer must contain one 3x4 transformation matrix per instance stored as three consecutive rows.
+     *     Rows are bound to the attribute lists 3, 4, and 5 and advance once per instance.
+     *     Attribute pointers are stored in the vertex array object, so they are only set when a different buffer or offset is bound.
+     * </p>
+     * Meshes must be bound before calling this method.
+     *
+     * @param buffer Vertex buffer object containing the per-instance transforms.
+     * @param offset Offset in bytes of the first transform in the buffer.
      */
-    public void unbind() {
-        for(var attribute : this.vertexBuffers.keySet()) {
-            GL20.glDisableVertexAttribArray(attribute);
+    public void bindInstanceBuffer(int buffer, long offset) {
+        if(this.instanceBuffer != buffer || this.instanceOffset != offset) {
+            GLState.bindBuffer(GL15.GL_ARRAY_BUFFER, buffer);
+            for(var row = 0; row < 3; row++) {
+                GL20.glVertexAttribPointer(3 + row, 4, GL11.GL_FLOAT, false, 12 * Float.BYTES, offset + (long) row * 4 * Float.BYTES);
+                GL33.glVertexAttribDivisor(3 + row, 1);
+                GL20.glEnableVertexAttribArray(3 + row);
+            }
+            this.instanceBuffer = buffer;
+            this.instanceOffset = offset;
         }
-        GL30.glBindVertexArray(0);
+    }
+
+    /**
+     * Draws the given number of instances of this mesh.
+     * Meshes must be bound and must have an instance buffer before they are drawn.
+     *
+     * @param instances Number of instances to draw.
+     *
+     * @see MeshData#bindInstanceBuffer(int, long)
+     */
+    public void drawInstanced(int instances) {
+        if(this.indicesCount > 0) {
+            GL31.glDrawElementsInstanced(GL11.GL_TRIANGLES, this.indicesCount, GL11.GL_UNSIGNED_INT, 0, instances);
+        } else if(this.vertexCount > 0) {
+            GL31.glDrawArraysInstanced(GL11.GL_TRIANGLES, 0, this.vertexCount, instances);
+        }
+    }
+
+    /**
+     * Returns the OpenGL name of the vertex array object of this mesh.
+     * Used as an id when sorting draw calls.
+     *
+     * @return The OpenGL name of the vertex array object of this mesh.
+     */
+    public int id() {
+        return this.vertexArray;
     }
 
     /**
@@ -205,9 +274,12 @@ public class MeshData {
     private void delete() {
         for(var vbo : this.vertexBuffers.values()) {
             GL15.glDeleteBuffers(vbo);
+            GLState.bufferDeleted(vbo);
         }
         GL15.glDeleteBuffers(this.indexBuffer);
+        GLState.bufferDeleted(this.indexBuffer);
         GL30.glDeleteVertexArrays(this.vertexArray);
+        GLState.vertexArrayDeleted(this.vertexArray);
     }
 
     /**
@@ -219,4 +291,52 @@ public class MeshData {
             mesh.delete();
         }
     }
+
+    /**
+     * Copy of the state of a mesh taken on the main thread.
+     * The arrays are copies that are never modified, so they can be read by the render thread while the mesh is modified.
+     *
+     * @param vertices The vertices of the mesh. Can be null.
+     * @param indices The indices of the mesh. Can be null.
+     * @param uvs The UVs of the mesh. Can be null.
+     * @param normals The normals of the mesh. Can be null.
+     * @param is2D True if the mesh is a 2D mesh.
+     * @param aabb The bounds of the mesh in local coordinates.
+     * @param material The material of the mesh. Can be null.
+     */
+    record Snapshot(float[] vertices, int[] indices, float[] uvs, float[] normals, boolean is2D, AABB aabb, Material material) {
+
+        /**
+         * Copies the state of the given mesh.
+         *
+         * @param mesh Mesh object.
+         * @return A snapshot of the given mesh.
+         */
+        static Snapshot of(Mesh mesh) {
+            var vertices = mesh.vertices();
+            var indices = mesh.indices();
+            var uvs = mesh.uvs();
+            var normals = mesh.normals();
+            return new Snapshot(
+                vertices != null ? vertices.clone() : null,
+                indices != null ? indices.clone() : null,
+                uvs != null ? uvs.clone() : null,
+                normals != null ? normals.clone() : null,
+                mesh.is2D(),
+                mesh.aabb(),
+                mesh.material()
+            );
+        }
+
+        /**
+         * Returns a copy of this snapshot with a different material.
+         * Used when the material of a mesh is changed without updating the mesh.
+         *
+         * @param material The new material of the mesh. Can be null.
+         * @return A copy of this snapshot with the given material.
+         */
+        Snapshot withMaterial(Material material) {
+            return new Snapshot(this.vertices, this.indices, this.uvs, this.normals, this.is2D, this.aabb, material);
+        }
+    }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package io.github.ardentengine.opengl;
 
+import io.github.ardentengine.core.display.DisplayServer;
+import io.github.ardentengine.core.math.Color;
 import io.github.ardentengine.core.math.Matrix2x3;
 import io.github.ardentengine.core.math.Matrix3x4;
 import io.github.ardentengine.core.math.Vector2;
+import io.github.ardentengine.core.math.Vector2i;
 import io.github.ardentengine.core.rendering.Material;
 import io.github.ardentengine.core.rendering.Mesh;
 import io.github.ardentengine.core.rendering.RenderingServer;
@@ -12,70 +15,225 @@ import io.github.ardentengine.core.scene.Camera3D;
 import io.github.ardentengine.core.scene.PointLight3D;
 import org.lwjgl.opengl.GL11;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+
+/**
+ * OpenGL implementation of the rendering server.
+ * <p>
+ *     Calls to the rendering server are not executed immediately, but are recorded into a {@link FramePacket} that is rendered by the {@link OpenGLSystem}.
+ *     This allows the scene to be updated on the main thread while the previous frame is rendered on a different thread.
+ * </p>
+ * <p>
+ *     Meshes and materials are not read by the renderer directly.
+ *     Snapshots of their state are recorded when they are first drawn and whenever they change, so that the renderer never reads objects the main thread is modifying.
+ * </p>
+ */
 public class OpenGLServer extends RenderingServer {
 
+    /** The packet in which the current frame is being recorded. */
+    private FramePacket packet = new FramePacket();
+    /** The 3D camera set with {@link OpenGLServer#setCamera(Camera3D)} or null if no camera has been set. */
+    private Camera3D camera3D = null;
+    /** The 2D camera set with {@link OpenGLServer#setCamera(Camera2D)} or null if no camera has been set. */
+    private Camera2D camera2D = null;
+    /** The handle that will be given to the next instance if there are no free handles. */
+    private int nextHandle = 0;
+    /** Handles of freed instances that can be reused. */
+    private int[] freeHandles = new int[16];
+    /** Number of handles that can be reused. */
+    private int freeCount = 0;
+    /** Handles of the instances that have been created and not freed yet. */
+    private final BitSet liveHandles = new BitSet();
+    /** The last snapshot sent to the renderer for each mesh that was drawn. */
+    private final HashMap<Mesh, MeshData.Snapshot> meshSnapshots = new HashMap<>();
+    /** The version of the last snapshot sent to the renderer for each material that was drawn or -1 if none was sent yet. */
+    private final HashMap<Material, Integer> materialVersions = new HashMap<>();
+
     @Override
     public void setDefaultClearColor(float red, float green, float blue, float alpha) {
-        GL11.glClearColor(red, green, blue, alpha);
+        this.packet.record(() -> GL11.glClearColor(red, green, blue, alpha));
     }
 
     @Override
     public void setCamera(Camera3D camera) {
-        // TODO: Store an instance of the camera and set the uniform buffer before rendering to account for shaders loaded after the camera has been set
-        var viewMatrix = camera.viewMatrix();
-        var projectionMatrix = camera.projectionMatrix();
-        // TODO: The camera position needs to be set in the shader for specular lighting
-        ShaderProgram.setBuffer("Camera3D", new float[] {
-            viewMatrix.m00(), viewMatrix.m10(), viewMatrix.m20(), viewMatrix.m30(),
-            viewMatrix.m01(), viewMatrix.m11(), viewMatrix.m21(), viewMatrix.m31(),
-            viewMatrix.m02(), viewMatrix.m12(), viewMatrix.m22(), viewMatrix.m32(),
-            viewMatrix.m03(), viewMatrix.m13(), viewMatrix.m23(), viewMatrix.m33(),
-            projectionMatrix.m00(), projectionMatrix.m10(), projectionMatrix.m20(), projectionMatrix.m30(),
-            projectionMatrix.m01(), projectionMatrix.m11(), projectionMatrix.m21(), projectionMatrix.m31(),
-            projectionMatrix.m02(), projectionMatrix.m12(), projectionMatrix.m22(), projectionMatrix.m32(),
-            projectionMatrix.m03(), projectionMatrix.m13(), projectionMatrix.m23(), projectionMatrix.m33()
-        });
+        this.camera3D = camera;
     }
 
     @Override
     public void draw(Mesh mesh, Material materialOverride, Matrix3x4 transform) {
-        Renderer3D.getInstance().addToBatch(mesh, materialOverride, transform);
+        this.track(mesh);
+        this.track(materialOverride);
+        this.packet.record(() -> Renderer3D.getInstance().addToBatch(mesh, materialOverride, transform));
+    }
+
+    @Override
+    public int createInstance() {
+        // Handles are given out here because the instance is only created by the renderer when the frame is rendered
+        var handle = this.freeCount > 0 ? this.freeHandles[--this.freeCount] : this.nextHandle++;
+        this.liveHandles.set(handle);
+        this.packet.record(() -> Renderer3D.getInstance().createInstance(handle));
+        return handle;
+    }
+
+    @Override
+    public void setInstanceMesh(int instance, Mesh mesh, Material materialOverride) {
+        this.track(mesh);
+        this.track(materialOverride);
+        this.packet.record(() -> Renderer3D.getInstance().setInstanceMesh(instance, mesh, materialOverride));
+    }
+
+    @Override
+    public void setInstanceTransform(int instance, Matrix3x4 transform) {
+        this.packet.record(() -> Renderer3D.getInstance().setInstanceTransform(instance, transform));
+    }
+
+    @Override
+    public void setInstanceVisible(int instance, boolean visible) {
+        this.packet.record(() -> Renderer3D.getInstance().setInstanceVisible(instance, visible));
+    }
+
+    @Override
+    public void setInstanceVisibilityRange(int instance, float begin, float end) {
+        this.packet.record(() -> Renderer3D.getInstance().setInstanceVisibilityRange(instance, begin, end));
+    }
+
+    @Override
+    public void setInstanceLayers(int instance, int layers) {
+        this.packet.record(() -> Renderer3D.getInstance().setInstanceLayers(instance, layers));
+    }
+
+    @Override
+    public void setInstanceOccluder(int instance, boolean occluder) {
+        this.packet.record(() -> Renderer3D.getInstance().setInstanceOccluder(instance, occluder));
+    }
+
+    @Override
+    public void freeInstance(int instance) {
+        // Freeing the same handle twice would give it to two different instances
+        if(instance < 0 || !this.liveHandles.get(instance)) {
+            throw new IllegalArgumentException("Render instance " + instance + " does not exist or has already been freed");
+        }
+        this.liveHandles.clear(instance);
+        if(this.freeCount == this.freeHandles.length) {
+            this.freeHandles = Arrays.copyOf(this.freeHandles, this.freeCount * 2);
+        }
+        this.freeHandles[this.freeCount++] = instance;
+        this.packet.record(() -> Renderer3D.getInstance().freeInstance(instance));
     }
 
     @Override
     public void setCamera(Camera2D camera) {
-        // TODO: Store an instance of the camera and set the uniform buffer before rendering to account for shaders loaded after the camera has been set
-        var viewMatrix = camera.viewMatrix();
-        var projectionMatrix = camera.projectionMatrix();
-        ShaderProgram.setBuffer("Camera2D", new float[] {
-            viewMatrix.m00(), viewMatrix.m10(), viewMatrix.m20(), 0.0f,
-            viewMatrix.m01(), viewMatrix.m11(), viewMatrix.m21(), 0.0f,
-            viewMatrix.m02(), viewMatrix.m12(), viewMatrix.m22(), 0.0f,
-            projectionMatrix.m00(), projectionMatrix.m10(), projectionMatrix.m20(), projectionMatrix.m30(),
-            projectionMatrix.m01(), projectionMatrix.m11(), projectionMatrix.m21(), projectionMatrix.m31(),
-            projectionMatrix.m02(), projectionMatrix.m12(), projectionMatrix.m22(), projectionMatrix.m32(),
-            projectionMatrix.m03(), projectionMatrix.m13(), projectionMatrix.m23(), projectionMatrix.m33()
-        });
-        // TODO: The 2D camera should have a default value
+        this.camera2D = camera;
     }
 
     @Override
-    public void draw(Texture texture, Material material, Vector2 vertexOffset, Vector2 vertexScale, Vector2 uvOffset, Vector2 uvScale, Matrix2x3 transform) {
-        Renderer2D.getInstance().addToBatch(new DrawData2D(texture, vertexOffset, vertexScale, uvOffset, uvScale, transform), material);
+    public void draw(Texture texture, Material material, Vector2 vertexOffset, Vector2 vertexScale, Vector2 uvOffset, Vector2 uvScale, Matrix2x3 transform, int zIndex, Color modulate) {
+        var drawData = new DrawData2D(texture, vertexOffset, vertexScale, uvOffset, uvScale, transform, zIndex, modulate);
+        this.track(material);
+        this.packet.record(() -> Renderer2D.getInstance().addToBatch(drawData, material));
     }
 
     @Override
-    public void update(Mesh mesh) {
-        MeshData.requestUpdate(mesh);
+    protected void updateMesh(Mesh mesh) {
+        this.sendSnapshot(mesh);
+        this.packet.record(() -> Renderer3D.getInstance().meshUpdated(mesh));
     }
 
     @Override
     public void update(Texture texture) {
-        TextureData.requestUpdate(texture);
+        this.packet.record(() -> TextureData.requestUpdate(texture));
+    }
+
+    @Override
+    public void release(Material material) {
+        this.materialVersions.remove(material);
+        this.packet.record(() -> MaterialData.release(material));
     }
 
     @Override
     public void updateLight(PointLight3D light) {
-        Renderer3D.getInstance().addToBatch(light);
+        this.packet.addLight(new FramePacket.LightData(light.interpolatedTransform().column3(), light.color));
+    }
+
+    /**
+     * Finishes the frame that is being recorded and starts recording the next one into the given packet.
+     * The state of the cameras is copied into the finished packet.
+     * Must be called on the main thread.
+     *
+     * @param next An empty packet in which the next frame will be recorded.
+     * @return The packet containing the finished frame.
+     */
+    FramePacket finishFrame(FramePacket next) {
+        this.sendChangedMaterials();
+        var finished = this.packet;
+        var windowSize = DisplayServer.getInstance() != null ? DisplayServer.getInstance().getWindowSize() : Vector2i.ZERO;
+        finished.finish(
+            this.camera3D != null ? new FramePacket.CameraData3D(this.camera3D.viewMatrix(), this.camera3D.projectionMatrix(), this.camera3D.interpolatedTransform().column3(), this.camera3D.cullMask) : null,
+            this.camera2D != null ? new FramePacket.CameraData2D(this.camera2D.viewMatrix(), this.camera2D.projectionMatrix()) : null,
+            windowSize
+        );
+        this.packet = next;
+        return finished;
+    }
+
+    /**
+     * Sends a snapshot of the given mesh to the renderer if it has never been sent.
+     * Must be called before recording a command that uses the mesh.
+     *
+     * @param mesh The mesh. Can be null.
+     */
+    private void track(Mesh mesh) {
+        if(mesh != null && !this.meshSnapshots.containsKey(mesh)) {
+            this.sendSnapshot(mesh);
+        }
+    }
+
+    /**
+     * Keeps track of the given material, so that a snapshot of its parameters is sent at the end of every frame in which it has changed.
+     *
+     * @param material The material. Can be null.
+     */
+    private void track(Material material) {
+        if(material != null) {
+            this.materialVersions.putIfAbsent(material, -1);
+        }
+    }
+
+    /**
+     * Records a snapshot of the given mesh to be used by the renderer.
+     *
+     * @param mesh The mesh.
+     */
+    private void sendSnapshot(Mesh mesh) {
+        var snapshot = MeshData.Snapshot.of(mesh);
+        this.meshSnapshots.put(mesh, snapshot);
+        this.track(snapshot.material());
+        this.packet.record(() -> MeshData.update(mesh, snapshot));
+    }
+
+    /**
+     * Records new snapshots of the meshes whose material has changed and of the materials whose parameters have changed since they were last sent.
+     * Called at the end of every frame, since materials are only read by the renderer after all the commands of a frame have been executed.
+     */
+    private void sendChangedMaterials() {
+        for(var entry : this.meshSnapshots.entrySet()) {
+            var mesh = entry.getKey();
+            if(mesh.material() != entry.getValue().material()) {
+                var snapshot = entry.getValue().withMaterial(mesh.material());
+                entry.setValue(snapshot);
+                this.track(snapshot.material());
+                this.packet.record(() -> MeshData.update(mesh, snapshot));
+            }
+        }
+        for(var entry : this.materialVersions.entrySet()) {
+            var material = entry.getKey();
+            if(entry.getValue() != material.version()) {
+                var snapshot = MaterialData.Snapshot.of(material);
+                entry.setValue(snapshot.version());
+                this.packet.record(() -> MaterialData.update(material, snapshot));
+            }
+        }
     }
 }
\ No newline at end of file
@@ -1,14 +1,73 @@
 package io.github.ardentengine.opengl;
 
+import io.github.ardentengine.core.ApplicationProperties;
 import io.github.ardentengine.core.EngineSystem;
 import io.github.ardentengine.core.display.DisplayServer;
+import io.github.ardentengine.core.rendering.RenderingServer;
 import org.lwjgl.opengl.GL;
 import org.lwjgl.opengl.GL11;
 
+/**
+ * Engine system that renders the frames recorded by the {@link OpenGLServer}.
+ * <p>
+ *     By default, frames are rendered on the main thread.
+ *     If the {@code rendering.thread.enabled} property is set to true, frames are rendered on a dedicated {@link RenderThread} that owns the OpenGL context,
+ *     so that the previous frame is rendered while the scene is updated.
+ * </p>
+ */
 public class OpenGLSystem extends EngineSystem {
 
+    /** The rendering server that records the frames. */
+    private OpenGLServer server;
+    /** The render thread or null if frames are rendered on the main thread. */
+    private RenderThread renderThread = null;
+    /** Empty packet in which the next frame is recorded when frames are rendered on the main thread. */
+    private FramePacket freePacket = null;
+
     @Override
     protected void initialize() {
+        this.server = (OpenGLServer) RenderingServer.getInstance();
+        if(ApplicationProperties.getBoolean("rendering.thread.enabled", false)) {
+            this.renderThread = new RenderThread();
+            this.renderThread.start();
+        } else {
+            initializeContext();
+            this.freePacket = new FramePacket();
+        }
+    }
+
+    @Override
+    protected void process() {
+        if(this.renderThread != null) {
+            this.renderThread.submit(this.server.finishFrame(this.renderThread.takeFreePacket()));
+        } else {
+            var packet = this.server.finishFrame(this.freePacket);
+            render(packet);
+            DisplayServer.getInstance().swapBuffers();
+            packet.clear();
+            this.freePacket = packet;
+        }
+    }
+
+    @Override
+    protected void terminate() {
+        if(this.renderThread != null) {
+            this.renderThread.stop();
+        } else {
+            deleteResources();
+        }
+    }
+
+    @Override
+    protected int priority() {
+        return 1;
+    }
+
+    /**
+     * Creates the OpenGL capabilities and sets the initial state.
+     * Must be called on the thread on which the OpenGL context is current.
+     */
+    static void initializeContext() {
         GL.createCapabilities();
         // Set the default clear color
         GL11.glClearColor(0.3f, 0.3f, 0.3f, 1.0f);
@@ -19,25 +78,37 @@ public class OpenGLSystem extends EngineSystem {
         GL11.glCullFace(GL11.GL_BACK);
     }
 
-    @Override
-    protected void process() {
+    /**
+     * Executes the commands recorded in the given packet and renders the frame.
+     * Must be called on the thread on which the OpenGL context is current.
+     *
+     * @param packet The packet containing the frame to render.
+     */
+    static void render(FramePacket packet) {
+        packet.executeCommands();
         // TODO: Add viewport scaling options
-        var windowSize = DisplayServer.getInstance().getWindowSize();
+        var windowSize = packet.windowSize();
         GL11.glViewport(0, 0, windowSize.x(), windowSize.y());
         GL11.glClear(GL11.GL_COLOR_BUFFER_BIT | GL11.GL_DEPTH_BUFFER_BIT);
+        Renderer3D.getInstance().setCamera(packet.camera3D());
+        Renderer3D.getInstance().setLights(packet.lights());
         Renderer3D.getInstance().renderingProcess();
+        Renderer2D.getInstance().setCamera(packet.camera2D());
         Renderer2D.getInstance().renderingProcess();
+        ShaderProgram.endFrame();
+        GLState.endFrame();
     }
 
-    @Override
-    protected void terminate() {
+    /**
+     * Deletes all the OpenGL resources created by the renderer.
+     * Must be called on the thread on which the OpenGL context is current.
+     */
+    static void deleteResources() {
         MeshData.deleteMeshes();
         ShaderProgram.deleteShaders();
         TextureData.deleteTextures();
-    }
-
-    @Override
-    protected int priority() {
-        return 1;
+        MaterialData.deleteMaterials();
+        Renderer3D.deleteBuffers();
+        Renderer2D.deleteBuffers();
     }
 }
\ No newline at end of file
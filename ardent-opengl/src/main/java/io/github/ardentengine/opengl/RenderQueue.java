@@ -0,0 +1,165 @@
+package io.github.ardentengine.opengl;
+
+import java.util.Arrays;
+
+/**
+ * A queue of draw commands ordered by a 64-bit sort key.
+ * <p>
+ *     Every command is an index chosen by the renderer that submits it and is stored together with a key created with {@link RenderQueue#sortKey(int, int, int, int, int)}.
+ *     The key packs, from the most significant to the least significant bits, the layer or z index, the shader, the material, the texture or mesh, and the depth.
+ *     Sorting the queue groups together draw commands that share the same state, which minimizes the number of state changes.
+ * </p>
+ * <p>
+ *     Keys and commands are stored in primitive arrays and are sorted with an LSD radix sort, which is stable and does not allocate memory once the arrays are big enough.
+ * </p>
+ */
+public class RenderQueue {
+
+    // The 16 most significant bits are used for the layer or z index
+
+    /** Number of bits used for the shader id. */
+    private static final int SHADER_BITS = 12;
+    /** Number of bits used for the material id. */
+    private static final int MATERIAL_BITS = 12;
+    /** Number of bits used for the texture or mesh id. */
+    private static final int RESOURCE_BITS = 12;
+    /** Number of bits used for the depth. */
+    private static final int DEPTH_BITS = 12;
+    /** Number of different depths between distances that are a power of two apart. */
+    private static final int DEPTH_STEPS_PER_OCTAVE = 256;
+
+    /**
+     * Creates a sort key from the given values.
+     * <p>
+     *     The layer is a signed value clamped to the range of a {@code short}. Lower layers are drawn first.
+     *     Other values are truncated to the number of bits available to them.
+     *     Ids that share the same lower bits may be ordered incorrectly, which only causes more state changes.
+     * </p>
+     *
+     * @param layer The layer or the z index.
+     * @param shader The id of the shader.
+     * @param material The id of the material.
+     * @param resource The id of the texture or of the mesh.
+     * @param depth The depth of the object.
+     * @return A 64-bit sort key.
+     */
+    public static long sortKey(int layer, int shader, int material, int resource, int depth) {
+        var key = (long) (Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, layer)) - Short.MIN_VALUE);
+        key = (key << SHADER_BITS) | (shader & ((1L << SHADER_BITS) - 1));
+        key = (key << MATERIAL_BITS) | (material & ((1L << MATERIAL_BITS) - 1));
+        key = (key << RESOURCE_BITS) | (resource & ((1L << RESOURCE_BITS) - 1));
+        return (key << DEPTH_BITS) | (depth & ((1L << DEPTH_BITS) - 1));
+    }
+
+    /**
+     * Converts a distance from the camera along its view direction to the depth stored in a sort key.
+     * <p>
+     *     The depth is stored on a logarithmic scale, so that objects close to the camera are ordered more precisely than objects far away.
+     *     Distances up to about 65000 units are ordered correctly, objects behind the camera have a depth of zero.
+     * </p>
+     *
+     * @param viewDepth Distance from the camera along its view direction.
+     * @return The depth to pass to {@link RenderQueue#sortKey(int, int, int, int, int)}.
+     */
+    public static int depth(float viewDepth) {
+        if(!(viewDepth > 0.0f)) {
+            return 0;
+        }
+        var depth = (int) (Math.log1p(viewDepth) / Math.log(2.0) * DEPTH_STEPS_PER_OCTAVE);
+        return Math.min(depth, (1 << DEPTH_BITS) - 1);
+    }
+
+    /** Sort keys of the commands in this queue. */
+    private long[] keys = new long[256];
+    /** Commands in this queue. */
+    private int[] commands = new int[256];
+    /** Temporary array of keys used while sorting. */
+    private long[] sortedKeys = new long[256];
+    /** Temporary array of commands used while sorting. */
+    private int[] sortedCommands = new int[256];
+    /** Number of commands in this queue. */
+    private int size = 0;
+    /** Counts used by the radix sort. */
+    private final int[] counts = new int[256];
+
+    /**
+     * Adds a draw command to this queue.
+     *
+     * @param key The sort key created with {@link RenderQueue#sortKey(int, int, int, int, int)}.
+     * @param command The command, usually an index into a list of objects to draw.
+     */
+    public void add(long key, int command) {
+        if(this.size == this.keys.length) {
+            this.keys = Arrays.copyOf(this.keys, 2 * this.size);
+            this.commands = Arrays.copyOf(this.commands, 2 * this.size);
+            this.sortedKeys = new long[2 * this.size];
+            this.sortedCommands = new int[2 * this.size];
+        }
+        this.keys[this.size] = key;
+        this.commands[this.size] = command;
+        this.size++;
+    }
+
+    /**
+     * Sorts the commands in this queue by their key.
+     * Keys are compared as unsigned values and commands with the same key keep the order in which they were added.
+     * <p>
+     *     Keys are sorted one byte at a time, starting from the least significant one.
+     *     Bytes that are the same in all keys are skipped.
+     * </p>
+     */
+    public void sort() {
+        for(var shift = 0; shift < Long.SIZE; shift += 8) {
+            Arrays.fill(this.counts, 0);
+            for(var i = 0; i < this.size; i++) {
+                this.counts[(int) (this.keys[i] >>> shift) & 0xff]++;
+            }
+            // Skip this pass if all keys have the same byte
+            if(this.counts[(int) (this.keys[0] >>> shift) & 0xff] == this.size) {
+                continue;
+            }
+            for(int i = 0, offset = 0; i < this.counts.length; i++) {
+                var count = this.counts[i];
+                this.counts[i] = offset;
+                offset += count;
+            }
+            for(var i = 0; i < this.size; i++) {
+                var index = this.counts[(int) (this.keys[i] >>> shift) & 0xff]++;
+                this.sortedKeys[index] = this.keys[i];
+                this.sortedCommands[index] = this.commands[i];
+            }
+            var keys = this.keys;
+            this.keys = this.sortedKeys;
+            this.sortedKeys = keys;
+            var commands = this.commands;
+            this.commands = this.sortedCommands;
+            this.sortedCommands = commands;
+        }
+    }
+
+    /**
+     * Returns the command at the given index.
+     *
+     * @param index Index of the command. Must be between zero (inclusive) and {@link RenderQueue#size()} (exclusive).
+     * @return The command at the given index.
+     */
+    public int command(int index) {
+        return this.commands[index];
+    }
+
+    /**
+     * Returns the number of commands in this queue.
+     *
+     * @return The number of commands in this queue.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all the commands from this queue without releasing its memory.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,154 @@
+package io.github.ardentengine.opengl;
+
+import io.github.ardentengine.core.display.DisplayServer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Dedicated thread that owns the OpenGL context and renders the frames recorded on the main thread.
+ * <p>
+ *     Frames are double-buffered: the render thread renders the packet of the previous frame while the main thread records the next one into the other packet.
+ *     The main thread waits for a free packet before finishing a frame, so it can never get more than one frame ahead of the render thread.
+ * </p>
+ * <p>
+ *     If anything is thrown on the render thread, it stops rendering but keeps recycling packets, so that the main thread is never blocked.
+ *     The exception is rethrown on the main thread by the next call to {@link RenderThread#takeFreePacket()} or {@link RenderThread#submit(FramePacket)}.
+ * </p>
+ */
+final class RenderThread implements Runnable {
+
+    /** Packet used to tell the render thread to stop. */
+    private static final FramePacket STOP = new FramePacket();
+
+    /** Packets that have been recorded and are waiting to be rendered. */
+    private final BlockingQueue<FramePacket> submittedPackets = new ArrayBlockingQueue<>(1);
+    /** Packets that have been rendered and can be used to record a new frame. */
+    private final BlockingQueue<FramePacket> freePackets = new ArrayBlockingQueue<>(1);
+    /** The thread on which frames are rendered. */
+    private final Thread thread = new Thread(this, "Render Thread");
+
+    /** What was thrown on the render thread or null if frames can still be rendered. */
+    private volatile Throwable failure = null;
+
+    /**
+     * Detaches the OpenGL context from the calling thread and starts the render thread.
+     * Must be called on the main thread.
+     */
+    void start() {
+        this.freePackets.add(new FramePacket());
+        DisplayServer.getInstance().detachContext();
+        // The render thread must not keep the application alive if the main thread stops because of an exception
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Returns an empty packet in which a new frame can be recorded.
+     * Blocks until the render thread has finished rendering the previous frame.
+     *
+     * @return An empty packet.
+     * @throws IllegalStateException If something was thrown on the render thread.
+     */
+    FramePacket takeFreePacket() {
+        this.checkFailure();
+        var packet = take(this.freePackets);
+        this.checkFailure();
+        return packet;
+    }
+
+    /**
+     * Submits a finished frame to be rendered by the render thread.
+     *
+     * @param packet The packet containing the finished frame.
+     * @throws IllegalStateException If something was thrown on the render thread.
+     */
+    void submit(FramePacket packet) {
+        this.checkFailure();
+        put(this.submittedPackets, packet);
+    }
+
+    /**
+     * Rethrows what was thrown on the render thread, if anything.
+     *
+     * @throws IllegalStateException If something was thrown on the render thread.
+     */
+    private void checkFailure() {
+        var failure = this.failure;
+        if(failure != null) {
+            throw new IllegalStateException("Exception on the render thread", failure);
+        }
+    }
+
+    /**
+     * Renders the remaining frame, deletes all OpenGL resources, and waits for the render thread to stop.
+     * Must be called on the main thread.
+     */
+    void stop() {
+        put(this.submittedPackets, STOP);
+        try {
+            this.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            DisplayServer.getInstance().makeContextCurrent();
+            OpenGLSystem.initializeContext();
+        } catch (Throwable e) {
+            this.failure = e;
+        }
+        var packet = take(this.submittedPackets);
+        while(packet != STOP) {
+            if(this.failure == null) {
+                try {
+                    OpenGLSystem.render(packet);
+                    DisplayServer.getInstance().swapBuffers();
+                } catch (Throwable e) {
+                    this.failure = e;
+                }
+            }
+            // Packets are recycled even if rendering failed so that the main thread is never blocked
+            packet.clear();
+            put(this.freePackets, packet);
+            packet = take(this.submittedPackets);
+        }
+        if(this.failure == null) {
+            OpenGLSystem.deleteResources();
+        }
+        DisplayServer.getInstance().detachContext();
+    }
+
+    /**
+     * Takes a packet from the given queue, waiting until one is available.
+     *
+     * @param queue The queue.
+     * @return The packet.
+     */
+    private static FramePacket take(BlockingQueue<FramePacket> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a frame packet", e);
+        }
+    }
+
+    /**
+     * Puts a packet into the given queue, waiting until there is space for it.
+     *
+     * @param queue The queue.
+     * @param packet The packet.
+     */
+    private static void put(BlockingQueue<FramePacket> queue, FramePacket packet) {
+        try {
+            queue.put(packet);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a frame packet", e);
+        }
+    }
+}
\ No newline at end of file
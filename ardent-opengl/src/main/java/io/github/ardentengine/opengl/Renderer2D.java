@@ -1,13 +1,12 @@
 package io.github.ardentengine.opengl;
 
 import io.github.ardentengine.core.rendering.Material;
-import io.github.ardentengine.core.rendering.QuadMesh2D;
 import io.github.ardentengine.core.rendering.Shader;
 import io.github.ardentengine.core.rendering.ShaderMaterial;
+import io.github.ardentengine.core.rendering.Texture;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.ArrayList;
 
 public final class Renderer2D {
 
@@ -17,9 +16,21 @@ public final class Renderer2D {
         return instance == null ? instance = new Renderer2D() : instance;
     }
 
-    private final HashMap<Shader, HashMap<Material, HashSet<DrawData2D>>> renderBatch = new HashMap<>();
-    // TODO: Make something better than QuadMesh2D
-    private final QuadMesh2D quadMesh = new QuadMesh2D();
+    /** Size in bytes of the {@code Camera2D} uniform block: the view matrix stored as three vec4 and the projection matrix. */
+    private static final int CAMERA_DATA_SIZE = (12 + 16) * Float.BYTES;
+
+    /** The camera used to render sprites or null if no camera has been set. */
+    private FramePacket.CameraData2D camera = null;
+    /** Sprites submitted during the current frame. */
+    private final ArrayList<DrawData2D> sprites = new ArrayList<>();
+    /** Materials of the sprites submitted during the current frame. */
+    private final ArrayList<Material> materials = new ArrayList<>();
+    /** Shaders of the sprites submitted during the current frame. */
+    private final ArrayList<Shader> shaders = new ArrayList<>();
+    /** Queue used to sort sprites by z index, shader, material, and texture to minimize state changes. */
+    private final RenderQueue renderQueue = new RenderQueue();
+    /** Sprite batch used to draw all sprites that share the same state with a single draw call. */
+    private final SpriteBatch spriteBatch;
 
     private final Shader defaultShader;
     private final Material defaultMaterial = new Material(); // TODO: Add a Material2D class
@@ -38,6 +49,17 @@ public final class Renderer2D {
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+        this.spriteBatch = new SpriteBatch();
+    }
+
+    /**
+     * Sets the camera used to render sprites.
+     * The camera's matrices are uploaded at the start of every frame.
+     *
+     * @param camera The state of the camera at the end of the frame or null if there is no camera.
+     */
+    void setCamera(FramePacket.CameraData2D camera) {
+        this.camera = camera;
     }
 
     public void addToBatch(DrawData2D drawData, Material material) {
@@ -45,36 +67,98 @@ public final class Renderer2D {
         if(material instanceof ShaderMaterial shaderMaterial && shaderMaterial.shader() != null) {
             shader = shaderMaterial.shader();
         }
-        this.renderBatch.computeIfAbsent(shader, key -> new HashMap<>())
-            .computeIfAbsent(material != null ? material : this.defaultMaterial, key -> new HashSet<>())
-            .add(drawData);
+        this.sprites.add(drawData);
+        this.materials.add(material != null ? material : this.defaultMaterial);
+        this.shaders.add(shader);
     }
 
     public void renderingProcess() {
-        if(!this.renderBatch.isEmpty()) {
-            var quadMesh = MeshData.getOrCreate(this.quadMesh);
-            quadMesh.bind();
-            for(var shader : this.renderBatch.keySet()) {
-                var shaderProgram = ShaderProgram.getOrCreate(shader);
-                var materialBatch = this.renderBatch.get(shader);
-                shaderProgram.start();
-                for(var material : materialBatch.keySet()) {
-                    material.getParameters().forEach(shaderProgram::setUniform);
-                    for(var drawData : materialBatch.get(material)) {
-                        // TODO: Reimplement z index
-                        shaderProgram.setUniform("color_texture", drawData.texture());
-                        shaderProgram.setUniform("texture_size", drawData.texture().size());
-                        shaderProgram.setUniform("vertex_offset", drawData.vertexOffset());
-                        shaderProgram.setUniform("vertex_scale", drawData.vertexScale());
-                        shaderProgram.setUniform("uv_offset", drawData.uvOffset());
-                        shaderProgram.setUniform("uv_scale", drawData.uvScale());
-                        shaderProgram.setUniform("transformation_matrix", drawData.transform());
-                        quadMesh.draw();
+        if(!this.sprites.isEmpty()) {
+            this.uploadCamera();
+            for(var i = 0; i < this.sprites.size(); i++) {
+                var shaderProgram = ShaderProgram.getOrCreate(this.shaders.get(i));
+                var materialData = MaterialData.getOrCreate(this.materials.get(i));
+                var textureData = TextureData.getOrCreate(this.sprites.get(i).texture());
+                // Sprites have no depth, sprites with the same z index and state keep the order in which they were drawn
+                this.renderQueue.add(RenderQueue.sortKey(this.sprites.get(i).zIndex(), shaderProgram.id(), materialData.id(), textureData.id(), 0), i);
+            }
+            this.renderQueue.sort();
+            ShaderProgram currentShader = null;
+            ShaderProgram.UniformSlot colorTexture = null;
+            ShaderProgram.UniformSlot textureSize = null;
+            ShaderProgram.UniformSlot zIndex = null;
+            Material currentMaterial = null;
+            Texture currentTexture = null;
+            var currentZIndex = 0;
+            for(var i = 0; i < this.renderQueue.size(); i++) {
+                var index = this.renderQueue.command(i);
+                var drawData = this.sprites.get(index);
+                var shaderProgram = ShaderProgram.getOrCreate(this.shaders.get(index));
+                var material = this.materials.get(index);
+                // Sprites can only be drawn together if they share the same state
+                if(shaderProgram != currentShader || material != currentMaterial || drawData.texture() != currentTexture || drawData.zIndex() != currentZIndex) {
+                    this.spriteBatch.flush();
+                    var shaderChanged = shaderProgram != currentShader;
+                    if(shaderChanged) {
+                        shaderProgram.start();
+                        currentShader = shaderProgram;
+                        colorTexture = shaderProgram.uniformSlot("color_texture");
+                        textureSize = shaderProgram.uniformSlot("texture_size");
+                        zIndex = shaderProgram.uniformSlot("z_index");
+                    }
+                    if(shaderChanged || material != currentMaterial) {
+                        MaterialData.getOrCreate(material).bind(shaderProgram);
+                        currentMaterial = material;
+                    }
+                    if(shaderChanged || drawData.texture() != currentTexture) {
+                        shaderProgram.setUniform(colorTexture, drawData.texture());
+                        shaderProgram.setUniform(textureSize, drawData.texture().size());
+                        currentTexture = drawData.texture();
+                    }
+                    if(shaderChanged || drawData.zIndex() != currentZIndex) {
+                        shaderProgram.setUniform(zIndex, drawData.zIndex());
+                        currentZIndex = drawData.zIndex();
                     }
                 }
+                this.spriteBatch.add(drawData);
             }
-            quadMesh.unbind();
-            this.renderBatch.clear();
+            this.spriteBatch.flush();
+            this.sprites.clear();
+            this.materials.clear();
+            this.shaders.clear();
+            this.renderQueue.clear();
+        }
+        this.spriteBatch.endFrame();
+    }
+
+    /**
+     * Writes the view matrix and the projection matrix of the current camera into the {@code Camera2D} uniform block.
+     * Matrices are stored in column-major order as required by the std140 layout.
+     */
+    private void uploadCamera() {
+        // TODO: The 2D camera should have a default value
+        if(this.camera != null) {
+            var viewMatrix = this.camera.viewMatrix();
+            var projectionMatrix = this.camera.projectionMatrix();
+            var data = ShaderProgram.mapUniformBlock(CAMERA_DATA_SIZE);
+            data.putFloat(viewMatrix.m00()).putFloat(viewMatrix.m10()).putFloat(viewMatrix.m20()).putFloat(0.0f);
+            data.putFloat(viewMatrix.m01()).putFloat(viewMatrix.m11()).putFloat(viewMatrix.m21()).putFloat(0.0f);
+            data.putFloat(viewMatrix.m02()).putFloat(viewMatrix.m12()).putFloat(viewMatrix.m22()).putFloat(0.0f);
+            data.putFloat(projectionMatrix.m00()).putFloat(projectionMatrix.m10()).putFloat(projectionMatrix.m20()).putFloat(projectionMatrix.m30());
+            data.putFloat(projectionMatrix.m01()).putFloat(projectionMatrix.m11()).putFloat(projectionMatrix.m21()).putFloat(projectionMatrix.m31());
+            data.putFloat(projectionMatrix.m02()).putFloat(projectionMatrix.m12()).putFloat(projectionMatrix.m22()).putFloat(projectionMatrix.m32());
+            data.putFloat(projectionMatrix.m03()).putFloat(projectionMatrix.m13()).putFloat(projectionMatrix.m23()).putFloat(projectionMatrix.m33());
+            ShaderProgram.unmapUniformBlock("Camera2D", CAMERA_DATA_SIZE);
+        }
+    }
+
+    /**
+     * Deletes the buffers created by the 2D renderer.
+     * Called when the {@link OpenGLSystem} is terminated.
+     */
+    public static void deleteBuffers() {
+        if(instance != null) {
+            instance.spriteBatch.delete();
         }
     }
 }
\ No newline at end of file
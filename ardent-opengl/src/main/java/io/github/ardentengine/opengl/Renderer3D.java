@@ -1,13 +1,17 @@
 package io.github.ardentengine.opengl;
 
+import io.github.ardentengine.core.math.Frustum;
 import io.github.ardentengine.core.math.Matrix3x4;
+import io.github.ardentengine.core.math.Vector3;
 import io.github.ardentengine.core.rendering.*;
-import io.github.ardentengine.core.scene.PointLight3D;
-import org.lwjgl.BufferUtils;
+import io.github.ardentengine.core.scene.BoundingVolumeHierarchy;
+import org.lwjgl.opengl.GL15;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
+import java.util.function.Consumer;
 
 public final class Renderer3D {
 
@@ -17,10 +21,52 @@ public final class Renderer3D {
         return instance == null ? instance = new Renderer3D() : instance;
     }
 
-    /** Batch used to group 3D objects for more efficient rendering. */
-    private final HashMap<Shader, HashMap<Material, HashMap<Mesh, HashSet<Matrix3x4>>>> renderBatch = new HashMap<>();
-    /** Batch used to group 3D lights to update the lights UBO before rendering. */
-    private final HashSet<PointLight3D> lights = new HashSet<>();
+    /** Instances created with {@link Renderer3D#createInstance(int)} stored by their handle. Freed instances are set to null. */
+    private final ArrayList<RenderInstance> instances = new ArrayList<>();
+    /** Batches of retained instances stored by mesh and material override. Batches are removed when their last instance is removed. */
+    private final HashMap<BatchKey, InstanceBatch> retainedBatches = new HashMap<>();
+    /** Batches of objects drawn with {@link Renderer3D#addToBatch(Mesh, Material, Matrix3x4)}. Emptied at the end of every frame and removed at the end of a frame in which they were not used. */
+    private final HashMap<BatchKey, InstanceBatch> immediateBatches = new HashMap<>();
+    /** All the batches in a list to iterate through them without allocating iterators. */
+    private final ArrayList<InstanceBatch> batches = new ArrayList<>();
+    /** Queue used to sort batches by shader, material, and mesh to minimize state changes. */
+    private final RenderQueue renderQueue = new RenderQueue();
+    /** Instances used as occluders. */
+    private final ArrayList<RenderInstance> occluders = new ArrayList<>();
+    /** Depth buffer in which occluders are rasterized on the CPU. */
+    private final OcclusionBuffer occlusionBuffer = new OcclusionBuffer(OCCLUSION_BUFFER_WIDTH, OCCLUSION_BUFFER_HEIGHT);
+    /** Spatial index containing the bounds of all retained instances that are in a batch, used to skip the instances outside of the camera's frustum. */
+    private final BoundingVolumeHierarchy<RenderInstance> spatialIndex = new BoundingVolumeHierarchy<>();
+    /** Frustum of the camera while the spatial index is being queried. */
+    private Frustum cullFrustum = null;
+    /** Global position of the camera while the spatial index is being queried. */
+    private Vector3 cullCameraPosition = null;
+    /** Bitmask of the render layers seen by the camera while the spatial index is being queried. */
+    private int cullMask = 0xFFFFFFFF;
+    /** Occlusion buffer used while the spatial index is being queried. */
+    private OcclusionBuffer cullOcclusionBuffer = null;
+    /** Action used to cull the instances found in the spatial index without creating a lambda every frame. */
+    private final Consumer<RenderInstance> cullInstance = instance -> instance.batch.cullInstance(instance.slot, this.cullFrustum, this.cullCameraPosition, this.cullMask, this.cullOcclusionBuffer);
+    /** Lights of the frame that is being rendered, used to update the lights UBO before rendering. */
+    private List<FramePacket.LightData> lights = List.of();
+
+    /** Maximum number of lights in the {@code LightData} uniform block. */
+    private static final int MAX_LIGHTS = 128;
+    /** Size in bytes of the {@code LightData} uniform block: an array of lights of two vec4 each followed by the number of lights. */
+    private static final int LIGHT_DATA_SIZE = MAX_LIGHTS * 8 * Float.BYTES + 16;
+    /** Size in bytes of the {@code Camera3D} uniform block: the view matrix and the projection matrix. */
+    private static final int CAMERA_DATA_SIZE = 2 * 16 * Float.BYTES;
+    /** Width in texels of the occlusion buffer. */
+    private static final int OCCLUSION_BUFFER_WIDTH = 256;
+    /** Height in texels of the occlusion buffer. */
+    private static final int OCCLUSION_BUFFER_HEIGHT = 144;
+    /** Size in bytes of a region of the instance stream buffer. */
+    private static final int INSTANCE_REGION_SIZE = 4 * 1024 * 1024;
+
+    /** The camera used to render the scene or null if no camera has been set. */
+    private FramePacket.CameraData3D camera = null;
+    /** Stream buffer used to store the transforms of the instances drawn in each draw call. */
+    private final StreamBuffer instanceStream;
 
     private final Shader defaultShader;
     private final Material3D defaultMaterial = new Material3D();
@@ -39,57 +85,489 @@ public final class Renderer3D {
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+        this.instanceStream = new StreamBuffer(GL15.GL_ARRAY_BUFFER, INSTANCE_REGION_SIZE, InstanceBatch.TRANSFORM_SIZE * Float.BYTES);
+    }
+
+    /**
+     * Sets the camera used to render the scene.
+     * The camera's matrices are uploaded at the start of every frame.
+     *
+     * @param camera The state of the camera at the end of the frame or null if there is no camera.
+     */
+    void setCamera(FramePacket.CameraData3D camera) {
+        this.camera = camera;
+    }
+
+    /**
+     * Sets the lights used to render the scene.
+     *
+     * @param lights The lights submitted during the frame.
+     */
+    void setLights(List<FramePacket.LightData> lights) {
+        this.lights = lights;
     }
 
     public void addToBatch(Mesh mesh, Material material, Matrix3x4 transform) {
-        if(material == null) {
-            material = mesh.material() != null ? mesh.material() : this.defaultMaterial;
+        this.getOrCreateBatch(this.immediateBatches, mesh, material).add(-1, transform);
+    }
+
+    /**
+     * Returns the batch for the given mesh and material override from the given map or creates a new one if it does not exist.
+     *
+     * @param batches Map of retained or immediate batches.
+     * @param mesh The mesh drawn by the batch.
+     * @param materialOverride The material override of the batch. Can be null.
+     * @return The requested batch.
+     */
+    private InstanceBatch getOrCreateBatch(HashMap<BatchKey, InstanceBatch> batches, Mesh mesh, Material materialOverride) {
+        return batches.computeIfAbsent(new BatchKey(mesh, materialOverride), key -> {
+            var batch = new InstanceBatch(mesh, materialOverride, batches == this.retainedBatches);
+            this.batches.add(batch);
+            return batch;
+        });
+    }
+
+    /**
+     * Creates a new render instance that is drawn every frame until it is freed.
+     * The instance is not drawn until a mesh is set.
+     * <p>
+     *     Handles are chosen by the {@link OpenGLServer}, which may reuse the handles of freed instances.
+     * </p>
+     *
+     * @param handle The handle of the new instance.
+     */
+    public void createInstance(int handle) {
+        while(this.instances.size() <= handle) {
+            this.instances.add(null);
+        }
+        this.instances.set(handle, new RenderInstance());
+    }
+
+    /**
+     * Sets the mesh and the material override of the given instance.
+     *
+     * @param handle The handle of the instance.
+     * @param mesh The mesh to draw. Can be null to not draw anything.
+     * @param materialOverride The material override. Can be null to use the material of the mesh.
+     */
+    public void setInstanceMesh(int handle, Mesh mesh, Material materialOverride) {
+        var instance = this.instances.get(handle);
+        if(instance.mesh != mesh || instance.materialOverride != materialOverride) {
+            this.removeFromBatch(instance);
+            instance.mesh = mesh;
+            instance.materialOverride = materialOverride;
+            this.addToBatch(handle, instance);
+        }
+    }
+
+    /**
+     * Sets the transform of the given instance.
+     *
+     * @param handle The handle of the instance.
+     * @param transform The global transform of the instance.
+     */
+    public void setInstanceTransform(int handle, Matrix3x4 transform) {
+        var instance = this.instances.get(handle);
+        instance.transform = transform;
+        if(instance.batch != null) {
+            instance.batch.set(instance.slot, transform);
+            this.spatialIndex.update(instance.spatialHandle, MeshData.snapshot(instance.mesh).aabb().transformed(transform));
+        }
+    }
+
+    /**
+     * Sets whether the given instance should be drawn.
+     *
+     * @param handle The handle of the instance.
+     * @param visible True if the instance should be drawn, otherwise false.
+     */
+    public void setInstanceVisible(int handle, boolean visible) {
+        var instance = this.instances.get(handle);
+        if(instance.visible != visible) {
+            this.removeFromBatch(instance);
+            instance.visible = visible;
+            this.addToBatch(handle, instance);
+        }
+    }
+
+    /**
+     * Sets the range of distances from the camera at which the given instance is drawn.
+     *
+     * @param handle The handle of the instance.
+     * @param begin The distance from which the instance is drawn or zero for no minimum distance.
+     * @param end The distance from which the instance is no longer drawn or zero for no maximum distance.
+     */
+    public void setInstanceVisibilityRange(int handle, float begin, float end) {
+        var instance = this.instances.get(handle);
+        instance.rangeBegin = begin;
+        instance.rangeEnd = end;
+        if(instance.batch != null) {
+            instance.batch.setVisibilityRange(instance.slot, begin, end);
+        }
+    }
+
+    /**
+     * Sets the render layers the given instance belongs to.
+     *
+     * @param handle The handle of the instance.
+     * @param layers Bitmask of the render layers.
+     */
+    public void setInstanceLayers(int handle, int layers) {
+        var instance = this.instances.get(handle);
+        instance.layers = layers;
+        if(instance.batch != null) {
+            instance.batch.setLayers(instance.slot, layers);
+        }
+    }
+
+    /**
+     * Sets whether the given instance is used as an occluder.
+     *
+     * @param handle The handle of the instance.
+     * @param occluder True if the instance should be used as an occluder, otherwise false.
+     */
+    public void setInstanceOccluder(int handle, boolean occluder) {
+        var instance = this.instances.get(handle);
+        if(instance.occluder != occluder) {
+            instance.occluder = occluder;
+            if(occluder) {
+                this.occluders.add(instance);
+            } else {
+                this.occluders.remove(instance);
+            }
+        }
+    }
+
+    /**
+     * Updates the bounds of the instances that draw the given mesh in the spatial index.
+     * Called when a mesh is updated, after its new snapshot has been received.
+     *
+     * @param mesh The mesh that was updated.
+     */
+    public void meshUpdated(Mesh mesh) {
+        var bounds = MeshData.snapshot(mesh).aabb();
+        for(var i = 0; i < this.instances.size(); i++) {
+            var instance = this.instances.get(i);
+            if(instance != null && instance.batch != null && instance.mesh == mesh) {
+                this.spatialIndex.update(instance.spatialHandle, bounds.transformed(instance.transform));
+            }
+        }
+    }
+
+    /**
+     * Frees the given instance.
+     * The handle may be reused by instances created later.
+     *
+     * @param handle The handle of the instance.
+     */
+    public void freeInstance(int handle) {
+        var instance = this.instances.get(handle);
+        if(instance != null) {
+            this.removeFromBatch(instance);
+            if(instance.occluder) {
+                this.occluders.remove(instance);
+            }
+            this.instances.set(handle, null);
+        }
+    }
+
+    /**
+     * Adds the given instance to the batch corresponding to its mesh and material override and to the spatial index if it should be drawn.
+     *
+     * @param handle The handle of the instance.
+     * @param instance The instance.
+     */
+    private void addToBatch(int handle, RenderInstance instance) {
+        if(instance.visible && instance.mesh != null) {
+            instance.batch = this.getOrCreateBatch(this.retainedBatches, instance.mesh, instance.materialOverride);
+            instance.slot = instance.batch.add(handle, instance.transform);
+            instance.batch.setVisibilityRange(instance.slot, instance.rangeBegin, instance.rangeEnd);
+            instance.batch.setLayers(instance.slot, instance.layers);
+            instance.spatialHandle = this.spatialIndex.insert(instance, MeshData.snapshot(instance.mesh).aabb().transformed(instance.transform));
+        }
+    }
+
+    /**
+     * Removes the given instance from its batch and from the spatial index and updates the slot of the instance that took its place.
+     *
+     * @param instance The instance.
+     */
+    private void removeFromBatch(RenderInstance instance) {
+        if(instance.batch != null) {
+            this.spatialIndex.remove(instance.spatialHandle);
+            instance.spatialHandle = -1;
+            var moved = instance.batch.remove(instance.slot);
+            if(moved != -1) {
+                this.instances.get(moved).slot = instance.slot;
+            }
+            // Batches are removed when they become empty so that meshes and materials that are no longer drawn are not kept alive
+            if(instance.batch.size() == 0) {
+                this.retainedBatches.remove(new BatchKey(instance.batch.mesh(), instance.batch.materialOverride()));
+                this.removeBatch(instance.batch);
+            }
+            instance.batch = null;
         }
-        var shader = material instanceof ShaderMaterial shaderMaterial ? shaderMaterial.shader() : this.defaultShader;
-        this.renderBatch.computeIfAbsent(shader, key -> new HashMap<>())
-            .computeIfAbsent(material, key -> new HashMap<>())
-            .computeIfAbsent(mesh, key -> new HashSet<>())
-            .add(transform);
     }
 
-    public void addToBatch(PointLight3D light) {
-        this.lights.add(light);
+    /**
+     * Removes the given batch from the list of batches by moving the last batch in its place.
+     * The order of the list does not matter because batches are sorted by the render queue.
+     *
+     * @param batch The batch to remove.
+     */
+    private void removeBatch(InstanceBatch batch) {
+        var index = this.batches.indexOf(batch);
+        var last = this.batches.remove(this.batches.size() - 1);
+        if(last != batch) {
+            this.batches.set(index, last);
+        }
     }
 
     public void renderingProcess() {
-        if(!this.renderBatch.isEmpty()) {
-            if(!this.lights.isEmpty()) {
-                // TODO: Add a maximum number of lights and sort them according to their distance from the camera
-                var lightsBuffer = BufferUtils.createFloatBuffer(8 * this.lights.size());
-                for(var light : this.lights) {
-                    var position = light.globalPosition();
-                    lightsBuffer.put(position.x()).put(position.y()).put(position.z()).put(0.0f);
-                    lightsBuffer.put(light.color.r()).put(light.color.g()).put(light.color.b()).put(0.0f);
-                }
-                ShaderProgram.setBuffer("LightData", lightsBuffer.flip());
-                ShaderProgram.setBuffer("LightData", this.lights.size(), 4096); // TODO: Hardcoded number
-                this.lights.clear();
+        this.uploadCamera();
+        this.uploadLights();
+        var frustum = this.camera != null ? this.camera.frustum() : null;
+        var cameraPosition = this.camera != null ? this.camera.position() : null;
+        var cullMask = this.camera != null ? this.camera.cullMask() : 0xFFFFFFFF;
+        var occlusionBuffer = this.renderOccluders(frustum, cullMask);
+        if(frustum != null) {
+            this.cullIndexedBatches(frustum, cameraPosition, cullMask, occlusionBuffer);
+        }
+        for(var i = 0; i < this.batches.size(); i++) {
+            var batch = this.batches.get(i);
+            // Batches whose instances are all outside of the camera's layers, frustum, or visibility range, or are occluded are not drawn
+            if(batch.size() > 0 && (batch.indexed() && frustum != null ? batch.visibleCount() : batch.cull(frustum, cameraPosition, cullMask, occlusionBuffer)) > 0) {
+                var material = this.resolveMaterial(batch);
+                var shaderProgram = this.resolveShader(material);
+                var meshData = MeshData.getOrCreate(batch.mesh());
+                // Batches with the same state are drawn front to back using the depth of their nearest visible instance
+                var depth = this.camera != null ? RenderQueue.depth(batch.nearestViewDepth(this.camera.viewMatrix())) : 0;
+                this.renderQueue.add(RenderQueue.sortKey(0, shaderProgram.id(), MaterialData.getOrCreate(material).id(), meshData.id(), depth), i);
             }
-            for(var shader : this.renderBatch.keySet()) {
-                var shaderProgram = ShaderProgram.getOrCreate(shader);
-                var materialBatch = this.renderBatch.get(shader);
+        }
+        this.renderQueue.sort();
+        ShaderProgram currentShader = null;
+        Material currentMaterial = null;
+        for(var i = 0; i < this.renderQueue.size(); i++) {
+            var batch = this.batches.get(this.renderQueue.command(i));
+            var material = this.resolveMaterial(batch);
+            var shaderProgram = this.resolveShader(material);
+            if(shaderProgram != currentShader) {
                 shaderProgram.start();
-                for(var material : materialBatch.keySet()) {
-                    var meshBatch = materialBatch.get(material);
-                    material.getParameters().forEach(shaderProgram::setUniform);
-                    for(var mesh : meshBatch.keySet()) {
-                        var meshData = MeshData.getOrCreate(mesh);
-                        meshData.bind();
-                        for(var transform : meshBatch.get(mesh)) {
-                            shaderProgram.setUniform("transformation_matrix", transform);
-                            meshData.draw();
-                        }
-                        meshData.unbind();
-                    }
+                currentShader = shaderProgram;
+                currentMaterial = null;
+            }
+            if(material != currentMaterial) {
+                MaterialData.getOrCreate(material).bind(shaderProgram);
+                currentMaterial = material;
+            }
+            var meshData = MeshData.getOrCreate(batch.mesh());
+            meshData.bind();
+            // Batches that do not fit in a region of the stream buffer are drawn in more than one draw call
+            var maxInstances = INSTANCE_REGION_SIZE / (InstanceBatch.TRANSFORM_SIZE * Float.BYTES);
+            for(var first = 0; first < batch.visibleCount(); first += maxInstances) {
+                var count = Math.min(maxInstances, batch.visibleCount() - first);
+                meshData.bindInstanceBuffer(this.instanceStream.buffer(), this.uploadInstances(batch, first, count));
+                meshData.drawInstanced(count);
+            }
+        }
+        this.renderQueue.clear();
+        var iterator = this.immediateBatches.values().iterator();
+        while(iterator.hasNext()) {
+            var batch = iterator.next();
+            // Batches that were not used during this frame are removed, the others are kept to be reused in the next frame
+            if(batch.size() == 0) {
+                iterator.remove();
+                this.removeBatch(batch);
+            } else {
+                batch.clear();
+            }
+        }
+        this.instanceStream.endFrame();
+    }
+
+    /**
+     * Culls the retained instances by querying the spatial index with the camera's frustum.
+     * Only the instances whose bounds may be inside the frustum are tested, the others are skipped together with the nodes of the tree that contain them.
+     *
+     * @param frustum The frustum of the camera.
+     * @param cameraPosition The global position of the camera.
+     * @param cullMask Bitmask of the render layers seen by the camera.
+     * @param occlusionBuffer The occlusion buffer or null if no occluder was rasterized.
+     */
+    private void cullIndexedBatches(Frustum frustum, Vector3 cameraPosition, int cullMask, OcclusionBuffer occlusionBuffer) {
+        for(var i = 0; i < this.batches.size(); i++) {
+            if(this.batches.get(i).indexed()) {
+                this.batches.get(i).beginIndexedCull();
+            }
+        }
+        this.cullFrustum = frustum;
+        this.cullCameraPosition = cameraPosition;
+        this.cullMask = cullMask;
+        this.cullOcclusionBuffer = occlusionBuffer;
+        this.spatialIndex.query(frustum, this.cullInstance);
+        this.cullOcclusionBuffer = null;
+    }
+
+    /**
+     * Rasterizes the occluders that are inside the camera's frustum and layers into the occlusion buffer.
+     *
+     * @param frustum The frustum of the camera or null if there is no camera.
+     * @param cullMask Bitmask of the render layers seen by the camera.
+     * @return The occlusion buffer or null if no occluder was rasterized.
+     */
+    private OcclusionBuffer renderOccluders(Frustum frustum, int cullMask) {
+        if(frustum == null || this.occluders.isEmpty()) {
+            return null;
+        }
+        this.occlusionBuffer.clear(this.camera.projectionMatrix().multiply(this.camera.viewMatrix()));
+        var rasterized = false;
+        for(var i = 0; i < this.occluders.size(); i++) {
+            var occluder = this.occluders.get(i);
+            if(occluder.visible && occluder.mesh != null && (occluder.layers & cullMask) != 0) {
+                var snapshot = MeshData.snapshot(occluder.mesh);
+                if(snapshot.vertices() != null && !snapshot.is2D() && frustum.intersects(snapshot.aabb().transformed(occluder.transform))) {
+                    this.occlusionBuffer.rasterize(snapshot.vertices(), snapshot.indices(), occluder.transform);
+                    rasterized = true;
                 }
             }
-            // TODO: Don't clear the whole thing to avoid recreating instances of HashMap every frame
-            this.renderBatch.clear();
         }
+        if(!rasterized) {
+            return null;
+        }
+        this.occlusionBuffer.buildHierarchy();
+        return this.occlusionBuffer;
+    }
+
+    /**
+     * Writes the view matrix and the projection matrix of the current camera into the {@code Camera3D} uniform block.
+     * Matrices are stored in column-major order as required by the std140 layout.
+     */
+    private void uploadCamera() {
+        if(this.camera != null) {
+            var viewMatrix = this.camera.viewMatrix();
+            var projectionMatrix = this.camera.projectionMatrix();
+            var data = ShaderProgram.mapUniformBlock(CAMERA_DATA_SIZE);
+            // TODO: The camera position needs to be set in the shader for specular lighting
+            data.putFloat(viewMatrix.m00()).putFloat(viewMatrix.m10()).putFloat(viewMatrix.m20()).putFloat(viewMatrix.m30());
+            data.putFloat(viewMatrix.m01()).putFloat(viewMatrix.m11()).putFloat(viewMatrix.m21()).putFloat(viewMatrix.m31());
+            data.putFloat(viewMatrix.m02()).putFloat(viewMatrix.m12()).putFloat(viewMatrix.m22()).putFloat(viewMatrix.m32());
+            data.putFloat(viewMatrix.m03()).putFloat(viewMatrix.m13()).putFloat(viewMatrix.m23()).putFloat(viewMatrix.m33());
+            data.putFloat(projectionMatrix.m00()).putFloat(projectionMatrix.m10()).putFloat(projectionMatrix.m20()).putFloat(projectionMatrix.m30());
+            data.putFloat(projectionMatrix.m01()).putFloat(projectionMatrix.m11()).putFloat(projectionMatrix.m21()).putFloat(projectionMatrix.m31());
+            data.putFloat(projectionMatrix.m02()).putFloat(projectionMatrix.m12()).putFloat(projectionMatrix.m22()).putFloat(projectionMatrix.m32());
+            data.putFloat(projectionMatrix.m03()).putFloat(projectionMatrix.m13()).putFloat(projectionMatrix.m23()).putFloat(projectionMatrix.m33());
+            ShaderProgram.unmapUniformBlock("Camera3D", CAMERA_DATA_SIZE);
+        }
+    }
+
+    /**
+     * Writes the lights submitted during the current frame into the {@code LightData} uniform block.
+     * Lights beyond the maximum number of lights are ignored.
+     */
+    private void uploadLights() {
+        // TODO: Sort lights according to their distance from the camera
+        var data = ShaderProgram.mapUniformBlock(LIGHT_DATA_SIZE);
+        var count = 0;
+        for(var i = 0; i < this.lights.size(); i++) {
+            if(count == MAX_LIGHTS) {
+                break;
+            }
+            var light = this.lights.get(i);
+            var position = light.position();
+            data.putFloat(position.x()).putFloat(position.y()).putFloat(position.z()).putFloat(0.0f);
+            data.putFloat(light.color().r()).putFloat(light.color().g()).putFloat(light.color().b()).putFloat(0.0f);
+            count++;
+        }
+        data.putInt(MAX_LIGHTS * 8 * Float.BYTES, count);
+        ShaderProgram.unmapUniformBlock("LightData", LIGHT_DATA_SIZE);
+    }
+
+    /**
+     * Returns the material used to draw the given batch.
+     * The material is resolved every frame because the material of the mesh may have changed.
+     *
+     * @param batch The batch to draw.
+     * @return The material override of the batch, the material of the mesh, or the default material.
+     */
+    private Material resolveMaterial(InstanceBatch batch) {
+        if(batch.materialOverride() != null) {
+            return batch.materialOverride();
+        }
+        var material = MeshData.snapshot(batch.mesh()).material();
+        return material != null ? material : this.defaultMaterial;
+    }
+
+    /**
+     * Returns the shader program used to draw objects with the given material.
+     *
+     * @param material The material of the object.
+     * @return The shader of the given material or the default shader.
+     */
+    private ShaderProgram resolveShader(Material material) {
+        return ShaderProgram.getOrCreate(material instanceof ShaderMaterial shaderMaterial ? shaderMaterial.shader() : this.defaultShader);
+    }
+
+    /**
+     * Writes the transforms of the given range of visible instances in the given batch into the instance stream buffer.
+     * Each transform is stored as three rows of four elements.
+     *
+     * @param batch The batch to draw.
+     * @param first Index of the first visible instance to write.
+     * @param count Number of visible instances to write.
+     * @return Offset in bytes of the transforms in the instance stream buffer.
+     */
+    private long uploadInstances(InstanceBatch batch, int first, int count) {
+        batch.writeVisibleTo(this.instanceStream.map((long) InstanceBatch.TRANSFORM_SIZE * Float.BYTES * count).asFloatBuffer(), first, count);
+        return this.instanceStream.unmap();
+    }
+
+    /**
+     * Deletes the buffers created by the 3D renderer.
+     * Called when the {@link OpenGLSystem} is terminated.
+     */
+    public static void deleteBuffers() {
+        if(instance != null) {
+            instance.instanceStream.delete();
+        }
+    }
+
+    /**
+     * Key used to find the batch of an instance.
+     *
+     * @param mesh The mesh drawn by the batch.
+     * @param materialOverride The material override of the batch. Can be null.
+     */
+    private record BatchKey(Mesh mesh, Material materialOverride) {
+
+    }
+
+    /**
+     * State of an instance created with {@link Renderer3D#createInstance(int)}.
+     */
+    private static final class RenderInstance {
+
+        /** The mesh drawn by this instance. */
+        private Mesh mesh = null;
+        /** The material override of this instance. */
+        private Material materialOverride = null;
+        /** The global transform of this instance. */
+        private Matrix3x4 transform = Matrix3x4.translation(0.0f, 0.0f, 0.0f);
+        /** True if this instance should be drawn. */
+        private boolean visible = true;
+        /** Distance from the camera from which this instance is drawn or zero for no minimum distance. */
+        private float rangeBegin = 0.0f;
+        /** Distance from the camera from which this instance is no longer drawn or zero for no maximum distance. */
+        private float rangeEnd = 0.0f;
+        /** Bitmask of the render layers this instance belongs to. */
+        private int layers = 1;
+        /** True if this instance is used as an occluder. */
+        private boolean occluder = false;
+        /** The batch this instance is in or null if it is not drawn. */
+        private InstanceBatch batch = null;
+        /** The slot of this instance in its batch. */
+        private int slot = -1;
+        /** Handle of this instance in the spatial index or -1 if it is not in a batch. */
+        private int spatialHandle = -1;
     }
 }
\ No newline at end of file
@@ -4,12 +4,11 @@ import io.github.ardentengine.core.logging.Logger;
 import io.github.ardentengine.core.math.*;
 import io.github.ardentengine.core.rendering.Shader;
 import io.github.ardentengine.core.rendering.Texture;
-import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.*;
 import org.lwjgl.system.MemoryStack;
 
+import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
-import java.nio.IntBuffer;
 import java.util.HashMap;
 
 /**
@@ -20,8 +19,8 @@ public class ShaderProgram {
     /** Keeps track of created shaders for them to be deleted when the rendering system is terminated. */
     private static final HashMap<Shader, ShaderProgram> SHADERS = new HashMap<>();
 
-    /** Keeps track of created uniform buffer objects. */
-    private static final HashMap<String, Integer> UNIFORM_BUFFERS = new HashMap<>();
+    /** Stream buffer containing the data of uniform blocks that are rewritten every frame or null if it has not been created yet. */
+    private static StreamBuffer uniformStream = null;
     /** Keeps track of uniform block bindings. */
     private static final HashMap<String, Integer> BLOCK_BINDINGS = new HashMap<>();
     /** Number of uniform blocks used to ensure each of them has a unique index. */
@@ -42,15 +41,15 @@ public class ShaderProgram {
 
     /** Shader objects store in a map by their type. */
     private final HashMap<Integer, Integer> shaders = new HashMap<>();
-    /** Location of uniform variables stored in a map by their name. */
-    private final HashMap<String, Integer> uniformLocations = new HashMap<>();
-    /** Type of uniform variables stored in a map by their name. */
-    private final HashMap<String, Integer> uniformTypes = new HashMap<>();
+    /** Active uniform variables stored in a map by their name. Found once when the program is linked. */
+    private final HashMap<String, UniformSlot> uniforms = new HashMap<>();
 
-    /** Texture units used by uniform variables stored in a map by their name. */
-    private final HashMap<String, Integer> textureUnits = new HashMap<>();
-    /** Number of textures used to increase texture units every time a texture is loaded. */
-    private int textures = 0;
+    /** Size in bytes of the {@code Material} uniform block or zero if this shader does not have one. */
+    private int materialBlockSize = 0;
+    /** Binding point of the {@code Material} uniform block. */
+    private int materialBlockBinding = -1;
+    /** Variables in the {@code Material} uniform block stored in a map by their name. */
+    private final HashMap<String, BlockMember> materialBlockMembers = new HashMap<>();
 
     /**
      * Creates and compiles an OpenGL shader.
@@ -63,10 +62,12 @@ public class ShaderProgram {
         this.compile(GL20.GL_FRAGMENT_SHADER, shader.fragmentCode());
         GL20.glLinkProgram(this.program);
         GL20.glValidateProgram(this.program);
+        this.findUniforms();
         // TODO: Automate this
         this.bindUniformBuffer("Camera3D");
         this.bindUniformBuffer("Camera2D");
         this.bindUniformBuffer("LightData");
+        this.bindMaterialBlock();
     }
 
     /**
@@ -100,9 +101,9 @@ public class ShaderProgram {
     }
 
     /**
-     * Creates a uniform buffer object and binds it to a uniform block with the given name.
+     * Assigns the uniform block with the given name to its binding point.
      * <p>
-     *     This method must be called before {@code setBuffer} methods are called to work properly.
+     *     The data of the block is written every frame with {@link ShaderProgram#mapUniformBlock(long)} and {@link ShaderProgram#unmapUniformBlock(String, long)}.
      * </p>
      *
      * @param uniformBlock Name of the uniform block.
@@ -110,42 +111,153 @@ public class ShaderProgram {
     private void bindUniformBuffer(String uniformBlock) {
         var index = GL31.glGetUniformBlockIndex(this.program, uniformBlock);
         if(index >= 0) {
-            int ubo = UNIFORM_BUFFERS.computeIfAbsent(uniformBlock, key -> GL15.glGenBuffers());
-            var size = GL31.glGetActiveUniformBlocki(this.program, index, GL31.GL_UNIFORM_BLOCK_DATA_SIZE);
-            int binding = BLOCK_BINDINGS.computeIfAbsent(uniformBlock, key -> uniformBlocksCount++);
-            GL15.glBindBuffer(GL31.GL_UNIFORM_BUFFER, ubo);
-            GL15.glBufferData(GL31.GL_UNIFORM_BUFFER, BufferUtils.createByteBuffer(size), GL15.GL_DYNAMIC_DRAW);
-            GL15.glBindBuffer(GL31.GL_UNIFORM_BUFFER, 0);
-            GL31.glBindBufferRange(GL31.GL_UNIFORM_BUFFER, binding, ubo, 0, size);
-            GL31.glUniformBlockBinding(this.program, index, binding);
+            GL31.glUniformBlockBinding(this.program, index, getBlockBinding(uniformBlock));
         }
     }
 
     /**
-     * Gets the location of a uniform variable with the given name.
-     * Uniform locations are cached for future access.
+     * Returns the binding point of the uniform block with the given name.
+     * Uniform blocks with the same name use the same binding point in all shaders.
      *
-     * @param variable Name of the uniform variable as it is declared in glsl.
-     * @return The location of the uniform variable.
+     * @param uniformBlock Name of the uniform block.
+     * @return The binding point of the uniform block.
      */
-    private int getUniformLocation(String variable) {
-        return this.uniformLocations.computeIfAbsent(variable, name -> GL20.glGetUniformLocation(this.program, name));
+    private static int getBlockBinding(String uniformBlock) {
+        return BLOCK_BINDINGS.computeIfAbsent(uniformBlock, key -> uniformBlocksCount++);
     }
 
-    private int getUniformType(String variable) {
-        return this.uniformTypes.computeIfAbsent(variable, name -> {
+    /**
+     * Finds the offset and the type of all variables in the {@code Material} uniform block and assigns it a binding point.
+     * <p>
+     *     Unlike other uniform blocks, the {@code Material} block has no shared buffer.
+     *     Every material has its own buffer that is bound with {@link MaterialData#bind(ShaderProgram)}.
+     * </p>
+     */
+    private void bindMaterialBlock() {
+        var index = GL31.glGetUniformBlockIndex(this.program, "Material");
+        if(index >= 0) {
+            this.materialBlockSize = GL31.glGetActiveUniformBlocki(this.program, index, GL31.GL_UNIFORM_BLOCK_DATA_SIZE);
+            this.materialBlockBinding = getBlockBinding("Material");
+            var count = GL31.glGetActiveUniformBlocki(this.program, index, GL31.GL_UNIFORM_BLOCK_ACTIVE_UNIFORMS);
             try(var memoryStack = MemoryStack.stackPush()) {
-                var size = memoryStack.mallocInt(1);
-                var type = memoryStack.mallocInt(1);
-                GL20.glGetActiveUniform(this.program, this.getUniformLocation(name), size, type);
-                return type.get();
+                var indices = memoryStack.mallocInt(count);
+                GL31.glGetActiveUniformBlockiv(this.program, index, GL31.GL_UNIFORM_BLOCK_ACTIVE_UNIFORM_INDICES, indices);
+                for(var i = 0; i < count; i++) {
+                    var uniform = indices.get(i);
+                    var offset = GL31.glGetActiveUniformsi(this.program, uniform, GL31.GL_UNIFORM_OFFSET);
+                    var type = GL31.glGetActiveUniformsi(this.program, uniform, GL31.GL_UNIFORM_TYPE);
+                    this.materialBlockMembers.put(GL31.glGetActiveUniformName(this.program, uniform), new BlockMember(offset, type));
+                }
             }
-        });
+            GL31.glUniformBlockBinding(this.program, index, this.materialBlockBinding);
+        }
     }
 
-    private void setUniform(String variable, float x, float y, float z, float w) {
-        var location = this.getUniformLocation(variable);
-        switch(this.getUniformType(variable)) {
+    /**
+     * Returns the size in bytes of the {@code Material} uniform block.
+     *
+     * @return The size in bytes of the {@code Material} uniform block or zero if this shader does not have one.
+     */
+    public int materialBlockSize() {
+        return this.materialBlockSize;
+    }
+
+    /**
+     * Returns the binding point of the {@code Material} uniform block.
+     *
+     * @return The binding point of the {@code Material} uniform block or -1 if this shader does not have one.
+     */
+    public int materialBlockBinding() {
+        return this.materialBlockBinding;
+    }
+
+    /**
+     * Returns the offset and the type of the variable with the given name in the {@code Material} uniform block.
+     *
+     * @param variable Name of the variable as it is declared in glsl.
+     * @return The offset and the type of the variable or null if the {@code Material} block does not contain it.
+     */
+    public BlockMember materialBlockMember(String variable) {
+        return this.materialBlockMembers.get(variable);
+    }
+
+    /**
+     * Finds all the active uniform variables in this program and stores their location and type.
+     * Called once after the program is linked, so that uniform variables never need to be looked up when they are set.
+     * <p>
+     *     Variables in uniform blocks are skipped because they do not have a location.
+     *     Samplers of any type are assigned their own texture unit starting from 1, because unit 0 is used when no texture is bound.
+     *     Every element of an array of samplers gets its own unit.
+     *     Samplers are set to their unit immediately, so that two samplers of different types never read from the same unit.
+     * </p>
+     */
+    private void findUniforms() {
+        var count = GL20.glGetProgrami(this.program, GL20.GL_ACTIVE_UNIFORMS);
+        var textureUnit = 1;
+        try(var memoryStack = MemoryStack.stackPush()) {
+            var size = memoryStack.mallocInt(1);
+            var type = memoryStack.mallocInt(1);
+            for(var i = 0; i < count; i++) {
+                var name = GL20.glGetActiveUniform(this.program, i, size, type);
+                var location = GL20.glGetUniformLocation(this.program, name);
+                if(location >= 0) {
+                    // Arrays are reported with the name of their first element
+                    if(name.endsWith("[0]")) {
+                        name = name.substring(0, name.length() - 3);
+                    }
+                    if(isSampler(type.get(0))) {
+                        var units = memoryStack.mallocInt(size.get(0));
+                        for(var j = 0; j < size.get(0); j++) {
+                            units.put(j, textureUnit + j);
+                        }
+                        GL41.glProgramUniform1iv(this.program, location, units);
+                        this.uniforms.put(name, new UniformSlot(location, type.get(0), textureUnit));
+                        textureUnit += size.get(0);
+                    } else {
+                        this.uniforms.put(name, new UniformSlot(location, type.get(0), -1));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if a uniform variable of the given type is a sampler.
+     *
+     * @param type Type of the uniform variable.
+     * @return True if the given type is a sampler type, otherwise false.
+     */
+    private static boolean isSampler(int type) {
+        return switch(type) {
+            case GL20.GL_SAMPLER_1D, GL20.GL_SAMPLER_2D, GL20.GL_SAMPLER_3D, GL20.GL_SAMPLER_CUBE, GL20.GL_SAMPLER_1D_SHADOW, GL20.GL_SAMPLER_2D_SHADOW,
+                 GL30.GL_SAMPLER_1D_ARRAY, GL30.GL_SAMPLER_2D_ARRAY, GL30.GL_SAMPLER_1D_ARRAY_SHADOW, GL30.GL_SAMPLER_2D_ARRAY_SHADOW, GL30.GL_SAMPLER_CUBE_SHADOW,
+                 GL30.GL_INT_SAMPLER_1D, GL30.GL_INT_SAMPLER_2D, GL30.GL_INT_SAMPLER_3D, GL30.GL_INT_SAMPLER_CUBE, GL30.GL_INT_SAMPLER_1D_ARRAY, GL30.GL_INT_SAMPLER_2D_ARRAY,
+                 GL30.GL_UNSIGNED_INT_SAMPLER_1D, GL30.GL_UNSIGNED_INT_SAMPLER_2D, GL30.GL_UNSIGNED_INT_SAMPLER_3D, GL30.GL_UNSIGNED_INT_SAMPLER_CUBE,
+                 GL30.GL_UNSIGNED_INT_SAMPLER_1D_ARRAY, GL30.GL_UNSIGNED_INT_SAMPLER_2D_ARRAY,
+                 GL31.GL_SAMPLER_2D_RECT, GL31.GL_SAMPLER_2D_RECT_SHADOW, GL31.GL_SAMPLER_BUFFER, GL31.GL_INT_SAMPLER_2D_RECT, GL31.GL_INT_SAMPLER_BUFFER,
+                 GL31.GL_UNSIGNED_INT_SAMPLER_2D_RECT, GL31.GL_UNSIGNED_INT_SAMPLER_BUFFER,
+                 GL32.GL_SAMPLER_2D_MULTISAMPLE, GL32.GL_INT_SAMPLER_2D_MULTISAMPLE, GL32.GL_UNSIGNED_INT_SAMPLER_2D_MULTISAMPLE,
+                 GL32.GL_SAMPLER_2D_MULTISAMPLE_ARRAY, GL32.GL_INT_SAMPLER_2D_MULTISAMPLE_ARRAY, GL32.GL_UNSIGNED_INT_SAMPLER_2D_MULTISAMPLE_ARRAY -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Returns the slot of the uniform variable with the given name.
+     * <p>
+     *     Renderers should look up the slots they need once and reuse them to avoid looking up the variable every time it is set.
+     * </p>
+     *
+     * @param variable Name of the uniform variable as it is declared in glsl.
+     * @return The slot of the uniform variable or null if this program does not have an active uniform with the given name.
+     */
+    public UniformSlot uniformSlot(String variable) {
+        return this.uniforms.get(variable);
+    }
+
+    private void setUniform(UniformSlot slot, float x, float y, float z, float w) {
+        var location = slot.location();
+        switch(slot.type()) {
             case GL11.GL_FLOAT -> GL41.glProgramUniform1f(this.program, location, x);
             case GL20.GL_FLOAT_VEC2 -> GL41.glProgramUniform2f(this.program, location, x, y);
             case GL20.GL_FLOAT_VEC3 -> GL41.glProgramUniform3f(this.program, location, x, y, z);
@@ -157,56 +269,46 @@ public class ShaderProgram {
         }
     }
 
-    private void setUniform(String variable, int x, int y, int z, int w) {
-        var location = this.getUniformLocation(variable);
-        switch(this.getUniformType(variable)) {
+    private void setUniform(UniformSlot slot, int x, int y, int z, int w) {
+        var location = slot.location();
+        switch(slot.type()) {
             case GL11.GL_FLOAT -> GL41.glProgramUniform1f(this.program, location, x);
             case GL20.GL_FLOAT_VEC2 -> GL41.glProgramUniform2f(this.program, location, x, y);
             case GL20.GL_FLOAT_VEC3 -> GL41.glProgramUniform3f(this.program, location, x, y, z);
             case GL20.GL_FLOAT_VEC4 -> GL41.glProgramUniform4f(this.program, location, x, y, z, w);
-            case GL11.GL_INT -> GL41.glProgramUniform1i(this.program, location, x);
+            case GL11.GL_INT, GL20.GL_BOOL -> GL41.glProgramUniform1i(this.program, location, x);
             case GL20.GL_INT_VEC2 -> GL41.glProgramUniform2i(this.program, location, x, y);
             case GL20.GL_INT_VEC3 -> GL41.glProgramUniform3i(this.program, location, x, y, z);
             case GL20.GL_INT_VEC4 -> GL41.glProgramUniform4i(this.program, location, x, y, z, w);
         }
     }
 
-    /**
-     * Gets a texture unit for the given variable.
-     * Texture units are increased by 1 every time a texture is loaded into the shader.
-     *
-     * @param variable Name of the uniform variable.
-     * @return The texture unit used by that variable.
-     */
-    private int getTextureUnit(String variable) {
-        return this.textureUnits.computeIfAbsent(variable, key -> this.textures++);
-    }
-
     /**
      * Sets the value of a sampler2D uniform variable.
+     * Textures are always bound as 2D textures, so other sampler types are rejected.
      *
-     * @param variable Name of the uniform variable.
+     * @param slot Slot of the uniform variable.
      * @param texture Texture to assign to the sampler.
+     * @throws IllegalArgumentException If the uniform variable is not a sampler2D.
      */
-    private void setUniform(String variable, Texture texture) {
-        var location = this.getUniformLocation(variable);
+    private void setUniform(UniformSlot slot, Texture texture) {
+        if(slot.type() != GL20.GL_SAMPLER_2D) {
+            throw new IllegalArgumentException("Textures can only be assigned to sampler2D uniforms, but the uniform at location " + slot.location() + " has type 0x" + Integer.toHexString(slot.type()));
+        }
         // TODO: Texture can no longer be null with the new setup
         if(texture != null) {
-            var textureUnit = this.getTextureUnit(variable);
-            GL13.glActiveTexture(GL13.GL_TEXTURE1 + textureUnit);
-            TextureData.getOrCreate(texture).bindTexture();
-            GL41.glProgramUniform1i(this.program, location, 1 + textureUnit);
+            TextureData.getOrCreate(texture).bindTexture(slot.textureUnit());
+            GL41.glProgramUniform1i(this.program, slot.location(), slot.textureUnit());
         } else {
-            GL13.glActiveTexture(GL13.GL_TEXTURE0);
-            GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
-            GL41.glProgramUniform1i(this.program, location, 0);
+            GLState.bindTexture(0, 0);
+            GL41.glProgramUniform1i(this.program, slot.location(), 0);
         }
     }
 
-    private void setUniform(String variable, FloatBuffer buffer) {
-        var location = this.getUniformLocation(variable);
+    private void setUniform(UniformSlot slot, FloatBuffer buffer) {
+        var location = slot.location();
         // TODO: Invert multiplications in shaders instead of transposing matrices?
-        switch(this.getUniformType(variable)) {
+        switch(slot.type()) {
             case GL20.GL_FLOAT_MAT2 -> GL41.glProgramUniformMatrix2fv(this.program, location, true, buffer);
             case GL21.GL_FLOAT_MAT3x2 -> GL41.glProgramUniformMatrix3x2fv(this.program, location, true, buffer);
             case GL20.GL_FLOAT_MAT3 -> GL41.glProgramUniformMatrix3fv(this.program, location, true, buffer);
@@ -215,157 +317,136 @@ public class ShaderProgram {
         }
     }
 
+    /**
+     * Sets the value of the uniform variable with the given name.
+     * Has no effect if this program does not have an active uniform with the given name.
+     * <p>
+     *     This method looks up the variable every time it is called.
+     *     {@link ShaderProgram#setUniform(UniformSlot, Object)} should be used for variables that are set frequently.
+     * </p>
+     *
+     * @param variable Name of the uniform variable as it is declared in glsl.
+     * @param value Value of the uniform variable.
+     */
     public void setUniform(String variable, Object value) {
+        this.setUniform(this.uniformSlot(variable), value);
+    }
+
+    /**
+     * Sets the value of the uniform variable in the given slot.
+     * Has no effect if the given slot is null.
+     *
+     * @param slot Slot of the uniform variable returned by {@link ShaderProgram#uniformSlot(String)}.
+     * @param value Value of the uniform variable.
+     */
+    public void setUniform(UniformSlot slot, Object value) {
+        if(slot == null) {
+            return;
+        }
         if(value instanceof Float) {
-            this.setUniform(variable, (float) value, 0.0f, 0.0f, 0.0f);
+            this.setUniform(slot, (float) value, 0.0f, 0.0f, 0.0f);
         } else if(value instanceof Vector2 vector) {
-            this.setUniform(variable, vector.x(), vector.y(), 0.0f, 0.0f);
+            this.setUniform(slot, vector.x(), vector.y(), 0.0f, 0.0f);
         } else if(value instanceof Vector3 vector) {
-            this.setUniform(variable, vector.x(), vector.y(), vector.z(), 0.0f);
+            this.setUniform(slot, vector.x(), vector.y(), vector.z(), 0.0f);
         } else if(value instanceof Vector4 vector) {
-            this.setUniform(variable, vector.x(), vector.y(), vector.z(), vector.w());
+            this.setUniform(slot, vector.x(), vector.y(), vector.z(), vector.w());
         } else if(value instanceof Integer) {
-            this.setUniform(variable, (int) value, 0, 0, 0);
+            this.setUniform(slot, (int) value, 0, 0, 0);
+        } else if(value instanceof Boolean) {
+            this.setUniform(slot, (boolean) value ? 1 : 0, 0, 0, 0);
         } else if(value instanceof Vector2i vector) {
-            this.setUniform(variable, vector.x(), vector.y(), 0, 0);
+            this.setUniform(slot, vector.x(), vector.y(), 0, 0);
         } else if(value instanceof Vector3i vector) {
-            this.setUniform(variable, vector.x(), vector.y(), vector.z(), 0);
+            this.setUniform(slot, vector.x(), vector.y(), vector.z(), 0);
         } else if(value instanceof Vector4i vector) {
-            this.setUniform(variable, vector.x(), vector.y(), vector.z(), vector.w());
+            this.setUniform(slot, vector.x(), vector.y(), vector.z(), vector.w());
         } else if(value instanceof Color color) {
-            this.setUniform(variable, color.r(), color.g(), color.b(), color.a());
+            this.setUniform(slot, color.r(), color.g(), color.b(), color.a());
         } else if(value instanceof Texture texture) {
-            this.setUniform(variable, texture);
+            this.setUniform(slot, texture);
         } else if(value instanceof Matrix2 matrix) {
-            var buffer = BufferUtils.createFloatBuffer(4);
-            buffer.put(matrix.m00()); buffer.put(matrix.m01());
-            buffer.put(matrix.m10()); buffer.put(matrix.m11());
-            this.setUniform(variable, buffer.flip());
+            try(var memoryStack = MemoryStack.stackPush()) {
+                this.setUniform(slot, matrix.writeTo(memoryStack.mallocFloat(4)).flip());
+            }
         } else if(value instanceof Matrix2x3 matrix) {
-            var buffer = BufferUtils.createFloatBuffer(6);
-            buffer.put(matrix.m00()); buffer.put(matrix.m01()); buffer.put(matrix.m02());
-            buffer.put(matrix.m10()); buffer.put(matrix.m11()); buffer.put(matrix.m12());
-            this.setUniform(variable, buffer.flip());
+            try(var memoryStack = MemoryStack.stackPush()) {
+                this.setUniform(slot, matrix.writeTo(memoryStack.mallocFloat(6)).flip());
+            }
         } else if(value instanceof Matrix3 matrix) {
-            var buffer = BufferUtils.createFloatBuffer(9);
-            buffer.put(matrix.m00()); buffer.put(matrix.m01()); buffer.put(matrix.m02());
-            buffer.put(matrix.m10()); buffer.put(matrix.m11()); buffer.put(matrix.m12());
-            buffer.put(matrix.m20()); buffer.put(matrix.m21()); buffer.put(matrix.m22());
-            this.setUniform(variable, buffer.flip());
+            try(var memoryStack = MemoryStack.stackPush()) {
+                this.setUniform(slot, matrix.writeTo(memoryStack.mallocFloat(9)).flip());
+            }
         } else if(value instanceof Matrix3x4 matrix) {
-            var buffer = BufferUtils.createFloatBuffer(12);
-            buffer.put(matrix.m00()); buffer.put(matrix.m01()); buffer.put(matrix.m02()); buffer.put(matrix.m03());
-            buffer.put(matrix.m10()); buffer.put(matrix.m11()); buffer.put(matrix.m12()); buffer.put(matrix.m13());
-            buffer.put(matrix.m20()); buffer.put(matrix.m21()); buffer.put(matrix.m22()); buffer.put(matrix.m23());
-            this.setUniform(variable, buffer.flip());
+            try(var memoryStack = MemoryStack.stackPush()) {
+                this.setUniform(slot, matrix.writeTo(memoryStack.mallocFloat(12)).flip());
+            }
         } else if(value instanceof Matrix4 matrix) {
-            var buffer = BufferUtils.createFloatBuffer(16);
-            buffer.put(matrix.m00()); buffer.put(matrix.m01()); buffer.put(matrix.m02()); buffer.put(matrix.m03());
-            buffer.put(matrix.m10()); buffer.put(matrix.m11()); buffer.put(matrix.m12()); buffer.put(matrix.m13());
-            buffer.put(matrix.m20()); buffer.put(matrix.m21()); buffer.put(matrix.m22()); buffer.put(matrix.m23());
-            buffer.put(matrix.m30()); buffer.put(matrix.m31()); buffer.put(matrix.m32()); buffer.put(matrix.m33());
-            this.setUniform(variable, buffer.flip());
+            try(var memoryStack = MemoryStack.stackPush()) {
+                this.setUniform(slot, matrix.writeTo(memoryStack.mallocFloat(16)).flip());
+            }
         } else {
             Logger.error("Variable of type " + value.getClass().getName() + " not supported in shaders");
         }
-        // TODO: Boolean value
         // TODO: Allow null to be passed to textures
     }
 
-    // TODO: Redo uniform buffers in a better way because this is very ugly
-
     /**
-     * Sets the data of a uniform buffer object bound to a uniform block with the given name if it exists.
-     * Data contained in UBOs can be accessed by all shaders.
-     * This method has no effect if no UBO is bound to a uniform block with the given name.
-     *
-     * @param name Name of the uniform block in the shader. Used here as a key.
-     * @param buffer Data to store in the UBO. The {@link FloatBuffer#flip()} method must be called on the given buffer before passing it to this method.
-     * @param offset Offset at which to put the data in bytes.
-     */
-    public static void setBuffer(String name, FloatBuffer buffer, long offset) {
-        UNIFORM_BUFFERS.computeIfPresent(name, (key, ubo) -> {
-            GL15.glBindBuffer(GL31.GL_UNIFORM_BUFFER, ubo);
-            GL15.glBufferSubData(GL31.GL_UNIFORM_BUFFER, offset, buffer);
-            GL15.glBindBuffer(GL31.GL_UNIFORM_BUFFER, 0);
-            return ubo;
-        });
-    }
-
-    /**
-     * Sets the data of a uniform buffer object bound to a uniform block with the given name if it exists.
-     * Data contained in UBOs can be accessed by all shaders.
-     * This method has no effect if no UBO is bound to a uniform block with the given name.
+     * Reserves space for the data of a uniform block in the uniform stream buffer and returns a buffer to write the data to.
+     * Data must be written using the std140 layout.
+     * {@link ShaderProgram#unmapUniformBlock(String, long)} must be called once the data is written.
+     * <p>
+     *     Data contained in the uniform stream buffer is only valid for the current frame, so it must be written every frame.
+     * </p>
      *
-     * @param name Name of the uniform block in the shader. Used here as a key.
-     * @param data Data to store in the UBO. The {@link FloatBuffer#flip()} method must be called on the given buffer before passing it to this method.
+     * @param size Size in bytes of the uniform block.
+     * @return A buffer in native byte order to write the data of the uniform block to.
      */
-    public static void setBuffer(String name, FloatBuffer data) {
-        setBuffer(name, data, 0);
+    public static ByteBuffer mapUniformBlock(long size) {
+        if(uniformStream == null) {
+            uniformStream = new StreamBuffer(GL31.GL_UNIFORM_BUFFER, 64 * 1024, GL11.glGetInteger(GL31.GL_UNIFORM_BUFFER_OFFSET_ALIGNMENT));
+        }
+        return uniformStream.map(size);
     }
 
     /**
-     * Sets the data of a uniform buffer object bound to a uniform block with the given name if it exists.
-     * Data contained in UBOs can be accessed by all shaders.
-     * This method has no effect if no UBO is bound to a uniform block with the given name.
+     * Finishes writing the data of a uniform block and binds it to the uniform block with the given name.
+     * Data contained in the uniform block can be accessed by all shaders.
      *
-     * @param name Name of the uniform block in the shader. Used here as a key.
-     * @param data Data to store in the UBO.
-     * @param offset Offset at which to put the data in bytes.
+     * @param uniformBlock Name of the uniform block in the shader.
+     * @param size Size in bytes of the uniform block. Must be the same size that was passed to {@link ShaderProgram#mapUniformBlock(long)}.
      */
-    public static void setBuffer(String name, float[] data, long offset) {
-        setBuffer(name, BufferUtils.createFloatBuffer(data.length).put(data).flip(), offset);
+    public static void unmapUniformBlock(String uniformBlock, long size) {
+        var offset = uniformStream.unmap();
+        GLState.bindBufferRange(GL31.GL_UNIFORM_BUFFER, getBlockBinding(uniformBlock), uniformStream.buffer(), offset, size);
     }
 
     /**
-     * Sets the data of a uniform buffer object bound to a uniform block with the given name if it exists.
-     * Data contained in UBOs can be accessed by all shaders.
-     * This method has no effect if no UBO is bound to a uniform block with the given name.
-     *
-     * @param name Name of the uniform block in the shader. Used here as a key.
-     * @param data Data to store in the UBO.
+     * Moves the uniform stream buffer to its next region.
+     * Called by the {@link OpenGLSystem} at the end of every frame.
      */
-    public static void setBuffer(String name, float[] data) {
-        setBuffer(name, data, 0);
+    public static void endFrame() {
+        if(uniformStream != null) {
+            uniformStream.endFrame();
+        }
     }
 
     /**
-     * Sets the data of a uniform buffer object bound to a uniform block with the given name if it exists.
-     * Data contained in UBOs can be accessed by all shaders.
-     * This method has no effect if no UBO is bound to a uniform block with the given name.
-     *
-     * @param name Name of the uniform block in the shader. Used here as a key.
-     * @param buffer Data to store in the UBO. The {@link IntBuffer#flip()} method must be called on the given buffer before passing it to this method.
-     * @param offset Offset at which to put the data in bytes.
+     * Starts this shader program.
+     * Subsequent draw calls will use this shader.
      */
-    public static void setBuffer(String name, IntBuffer buffer, long offset) {
-        UNIFORM_BUFFERS.computeIfPresent(name, (key, ubo) -> {
-            GL15.glBindBuffer(GL31.GL_UNIFORM_BUFFER, ubo);
-            GL15.glBufferSubData(GL31.GL_UNIFORM_BUFFER, offset, buffer);
-            GL15.glBindBuffer(GL31.GL_UNIFORM_BUFFER, 0);
-            return ubo;
-        });
+    public void start() {
+        GLState.useProgram(this.program);
     }
 
     /**
-     * Sets the data of a uniform buffer object bound to a uniform block with the given name if it exists.
-     * Data contained in UBOs can be accessed by all shaders.
-     * This method has no effect if no UBO is bound to a uniform block with the given name.
+     * Returns the OpenGL name of this shader program.
+     * Used as an id when sorting draw calls.
      *
-     * @param name Name of the uniform block in the shader. Used here as a key.
-     * @param data Data to store in the UBO.
-     * @param offset Offset at which to put the data in bytes.
-     */
-    public static void setBuffer(String name, int data, long offset) {
-        setBuffer(name, BufferUtils.createIntBuffer(1).put(data).flip(), offset);
-    }
-
-    /**
-     * Starts this shader program.
-     * Subsequent draw calls will use this shader.
+     * @return The OpenGL name of this shader program.
      */
-    public void start() {
-        GL20.glUseProgram(this.program);
+    public int id() {
+        return this.program;
     }
 
     /**
@@ -380,6 +461,7 @@ public class ShaderProgram {
             GL20.glDeleteShader(shader);
         }
         GL20.glDeleteProgram(this.program);
+        GLState.programDeleted(this.program);
     }
 
     /**
@@ -390,8 +472,30 @@ public class ShaderProgram {
         for(var shader : SHADERS.values()) {
             shader.delete();
         }
-        for(var ubo : UNIFORM_BUFFERS.values()) {
-            GL15.glDeleteBuffers(ubo);
+        if(uniformStream != null) {
+            uniformStream.delete();
         }
     }
+
+    /**
+     * Offset and type of a variable in a uniform block.
+     *
+     * @param offset Offset of the variable from the start of the block in bytes.
+     * @param type Type of the variable.
+     */
+    public record BlockMember(int offset, int type) {
+
+    }
+
+    /**
+     * Location and type of an active uniform variable.
+     * Obtained with {@link ShaderProgram#uniformSlot(String)} and used to set uniform variables without looking them up.
+     *
+     * @param location Location of the uniform variable.
+     * @param type Type of the uniform variable.
+     * @param textureUnit Texture unit used by the variable if it is a sampler, otherwise -1.
+     */
+    public record UniformSlot(int location, int type, int textureUnit) {
+
+    }
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+package io.github.ardentengine.opengl;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL32;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Batches sprites into a single streaming vertex buffer to draw them with as few draw calls as possible.
+ * <p>
+ *     Every sprite is expanded into four vertices on the CPU.
+ *     Each vertex contains a position in world coordinates, a texture coordinate, and the modulate color of the sprite.
+ * </p>
+ * <p>
+ *     Sprites are accumulated with {@link SpriteBatch#add(DrawData2D)} and drawn when {@link SpriteBatch#flush()} is called.
+ *     The batch must be flushed whenever the shader, the material, or the texture change.
+ * </p>
+ */
+public class SpriteBatch {
+
+    /** Maximum number of sprites that can be drawn in a single draw call. */
+    private static final int MAX_SPRITES = 4096;
+    /** Number of floats in a vertex: position (2), uv (2), and color (4). */
+    private static final int VERTEX_SIZE = 8;
+
+    /** Positions of the four corners of a sprite relative to its center. */
+    private static final float[] QUAD_VERTICES = {-0.5f, 0.5f, -0.5f, -0.5f, 0.5f, -0.5f, 0.5f, 0.5f};
+    /** Texture coordinates of the four corners of a sprite. */
+    private static final float[] QUAD_UVS = {0.0f, 0.0f, 0.0f, 1.0f, 1.0f, 1.0f, 1.0f, 0.0f};
+
+    /** Vertex array object. */
+    private final int vertexArray;
+    /** Stream buffer the vertices are written to every time the batch is flushed. */
+    private final StreamBuffer vertexStream;
+    /** Static index buffer object shared by all sprites. */
+    private final int indexBuffer;
+
+    /** Buffer containing the vertices of the sprites that have not been drawn yet. */
+    private final FloatBuffer vertices = BufferUtils.createFloatBuffer(MAX_SPRITES * 4 * VERTEX_SIZE);
+    /** Number of sprites in the current batch. */
+    private int sprites = 0;
+
+    /**
+     * Creates the sprite batch and the buffers it needs.
+     */
+    public SpriteBatch() {
+        this.vertexArray = GL30.glGenVertexArrays();
+        GLState.bindVertexArray(this.vertexArray);
+        // Allocations are aligned to whole vertices so they can be addressed with a base vertex
+        this.vertexStream = new StreamBuffer(GL15.GL_ARRAY_BUFFER, 4L * this.vertices.capacity() * Float.BYTES, VERTEX_SIZE * Float.BYTES);
+        GLState.bindBuffer(GL15.GL_ARRAY_BUFFER, this.vertexStream.buffer());
+        GL20.glVertexAttribPointer(0, 2, GL11.GL_FLOAT, false, VERTEX_SIZE * Float.BYTES, 0);
+        GL20.glVertexAttribPointer(1, 2, GL11.GL_FLOAT, false, VERTEX_SIZE * Float.BYTES, 2 * Float.BYTES);
+        GL20.glVertexAttribPointer(2, 4, GL11.GL_FLOAT, false, VERTEX_SIZE * Float.BYTES, 4 * Float.BYTES);
+        GL20.glEnableVertexAttribArray(0);
+        GL20.glEnableVertexAttribArray(1);
+        GL20.glEnableVertexAttribArray(2);
+        // Every sprite uses the same indices, offset by four vertices
+        var indices = BufferUtils.createIntBuffer(MAX_SPRITES * 6);
+        for(var i = 0; i < MAX_SPRITES; i++) {
+            var vertex = 4 * i;
+            indices.put(vertex).put(vertex + 1).put(vertex + 3).put(vertex + 3).put(vertex + 1).put(vertex + 2);
+        }
+        this.indexBuffer = GL15.glGenBuffers();
+        GLState.bindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, this.indexBuffer);
+        GL15.glBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, indices.flip(), GL15.GL_STATIC_DRAW);
+    }
+
+    /**
+     * Adds a sprite to the current batch.
+     * Flushes the batch if it is full.
+     * <p>
+     *     The vertices of the sprite are computed the same way the builtin 2D shader used to compute them:
+     *     the quad is scaled by the texture size and by the vertex scale, moved by the vertex offset,
+     *     and transformed by the sprite's transform.
+     * </p>
+     *
+     * @param drawData The sprite to draw.
+     */
+    public void add(DrawData2D drawData) {
+        if(this.sprites == MAX_SPRITES) {
+            this.flush();
+        }
+        var transform = drawData.transform();
+        var width = drawData.texture().width() * drawData.vertexScale().x();
+        var height = drawData.texture().height() * drawData.vertexScale().y();
+        var modulate = drawData.modulate();
+        for(var i = 0; i < 4; i++) {
+            var x = QUAD_VERTICES[2 * i] * width + drawData.vertexOffset().x();
+            var y = QUAD_VERTICES[2 * i + 1] * height + drawData.vertexOffset().y();
+            this.vertices.put(transform.m00() * x + transform.m01() * y + transform.m02());
+            this.vertices.put(transform.m10() * x + transform.m11() * y + transform.m12());
+            this.vertices.put(QUAD_UVS[2 * i] * drawData.uvScale().x() + drawData.uvOffset().x());
+            this.vertices.put(QUAD_UVS[2 * i + 1] * drawData.uvScale().y() + drawData.uvOffset().y());
+            this.vertices.put(modulate.r()).put(modulate.g()).put(modulate.b()).put(modulate.a());
+        }
+        this.sprites++;
+    }
+
+    /**
+     * Draws all the sprites in the current batch with a single draw call and clears the batch.
+     * Has no effect if the batch is empty.
+     * <p>
+     *     The shader program and the texture must be set before calling this method.
+     * </p>
+     */
+    public void flush() {
+        if(this.sprites > 0) {
+            this.vertices.flip();
+            this.vertexStream.map((long) this.vertices.remaining() * Float.BYTES).asFloatBuffer().put(this.vertices);
+            var baseVertex = this.vertexStream.unmap() / (VERTEX_SIZE * Float.BYTES);
+            GLState.bindVertexArray(this.vertexArray);
+            GL32.glDrawElementsBaseVertex(GL11.GL_TRIANGLES, 6 * this.sprites, GL11.GL_UNSIGNED_INT, 0, (int) baseVertex);
+            this.vertices.clear();
+            this.sprites = 0;
+        }
+    }
+
+    /**
+     * Moves the stream buffer to its next region.
+     * Called at the end of every frame.
+     */
+    public void endFrame() {
+        this.vertexStream.endFrame();
+    }
+
+    /**
+     * Deletes the buffers used by this sprite batch.
+     *
+     * @see GL15#glDeleteBuffers(int)
+     * @see GL30#glDeleteVertexArrays(int)
+     */
+    public void delete() {
+        this.vertexStream.delete();
+        GL15.glDeleteBuffers(this.indexBuffer);
+        GL30.glDeleteVertexArrays(this.vertexArray);
+        GLState.bufferDeleted(this.indexBuffer);
+        GLState.vertexArrayDeleted(this.vertexArray);
+    }
+}
\ No newline at end of file
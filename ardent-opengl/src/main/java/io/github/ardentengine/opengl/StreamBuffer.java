@@ -0,0 +1,171 @@
+package io.github.ardentengine.opengl;
+
+import io.github.ardentengine.core.logging.Logger;
+import org.lwjgl.opengl.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A ring buffer used to stream data that is rewritten every frame, such as camera matrices, lights, instance transforms, and sprite vertices.
+ * <p>
+ *     The buffer is split into {@value StreamBuffer#REGIONS} regions.
+ *     Data written during a frame is placed in the current region, then the region is guarded with a fence at the end of the frame.
+ *     A region is only written again once the fence signals that the GPU has finished reading from it,
+ *     so the CPU never waits for draw calls that are still in flight and the GPU never reads data that is being written.
+ * </p>
+ * <p>
+ *     If {@code ARB_buffer_storage} is available, the buffer is created with immutable storage and is persistently mapped,
+ *     so data is written directly into memory visible to the GPU without copies made by the driver.
+ *     Otherwise, each allocation is mapped with {@code GL_MAP_UNSYNCHRONIZED_BIT}, which is safe because regions are guarded by fences.
+ * </p>
+ * <p>
+ *     Data is written by calling {@link StreamBuffer#map(long)}, writing to the returned buffer, and calling {@link StreamBuffer#unmap()}.
+ * </p>
+ */
+public class StreamBuffer {
+
+    /** Number of regions in the buffer, which is the number of frames the CPU can be ahead of the GPU. */
+    public static final int REGIONS = 3;
+
+    /** The target the buffer is bound to when it is mapped. */
+    private final int target;
+    /** The buffer object. */
+    private final int buffer;
+    /** Size in bytes of a region. */
+    private final long regionSize;
+    /** Alignment in bytes of the offset of every allocation. */
+    private final long alignment;
+
+    /** The whole buffer mapped persistently or null if persistent mapping is not supported. */
+    private final ByteBuffer persistentMapping;
+    /** Fences guarding each region or zero if the region is not used by the GPU. */
+    private final long[] fences = new long[REGIONS];
+    /** The region in which data is currently written. */
+    private int region = 0;
+    /** Offset in bytes from the start of the current region at which the next allocation can be placed. */
+    private long regionOffset = 0;
+    /** Offset in bytes from the start of the buffer of the last allocation. */
+    private long lastOffset = 0;
+
+    /**
+     * Creates a stream buffer.
+     *
+     * @param target The target the buffer is used with, such as {@code GL_ARRAY_BUFFER} or {@code GL_UNIFORM_BUFFER}.
+     * @param regionSize Size in bytes of each region. A single allocation cannot be bigger than a region.
+     * @param alignment Alignment in bytes of the offset of every allocation.
+     */
+    public StreamBuffer(int target, long regionSize, long alignment) {
+        this.target = target;
+        this.regionSize = regionSize;
+        this.alignment = alignment;
+        this.buffer = GL15.glGenBuffers();
+        GLState.bindBuffer(target, this.buffer);
+        var capabilities = GL.getCapabilities();
+        if(capabilities.OpenGL44 || capabilities.GL_ARB_buffer_storage) {
+            var flags = GL30.GL_MAP_WRITE_BIT | GL44.GL_MAP_PERSISTENT_BIT | GL44.GL_MAP_COHERENT_BIT;
+            GL44.glBufferStorage(target, REGIONS * regionSize, flags);
+            this.persistentMapping = GL30.glMapBufferRange(target, 0, REGIONS * regionSize, flags).order(ByteOrder.nativeOrder());
+        } else {
+            GL15.glBufferData(target, REGIONS * regionSize, GL15.GL_STREAM_DRAW);
+            this.persistentMapping = null;
+        }
+    }
+
+    /**
+     * Reserves the given number of bytes in the current region and returns a buffer to write the data to.
+     * Moves to the next region if the current one is full.
+     * {@link StreamBuffer#unmap()} must be called once the data is written and before it is used by the GPU.
+     *
+     * @param size Number of bytes to reserve. Must not be bigger than the size of a region.
+     * @return A buffer in native byte order whose position is zero and whose limit is the given size.
+     */
+    public ByteBuffer map(long size) {
+        if(size > this.regionSize) {
+            Logger.error("Cannot stream " + size + " bytes in a region of " + this.regionSize + " bytes");
+            size = this.regionSize;
+        }
+        var offset = (this.regionOffset + this.alignment - 1) / this.alignment * this.alignment;
+        if(offset + size > this.regionSize) {
+            this.nextRegion();
+            offset = 0;
+        }
+        this.regionOffset = offset + size;
+        this.lastOffset = this.region * this.regionSize + offset;
+        if(this.persistentMapping != null) {
+            return this.persistentMapping.slice((int) this.lastOffset, (int) size).order(ByteOrder.nativeOrder());
+        }
+        GLState.bindBuffer(this.target, this.buffer);
+        var flags = GL30.GL_MAP_WRITE_BIT | GL30.GL_MAP_UNSYNCHRONIZED_BIT | GL30.GL_MAP_INVALIDATE_RANGE_BIT;
+        return GL30.glMapBufferRange(this.target, this.lastOffset, size, flags).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Finishes writing the data reserved with the last call to {@link StreamBuffer#map(long)}.
+     * Has no effect if the buffer is persistently mapped because its memory is coherent.
+     *
+     * @return Offset in bytes from the start of the buffer at which the data was written.
+     */
+    public long unmap() {
+        if(this.persistentMapping == null) {
+            GLState.bindBuffer(this.target, this.buffer);
+            GL15.glUnmapBuffer(this.target);
+        }
+        return this.lastOffset;
+    }
+
+    /**
+     * Guards the current region with a fence and moves to the next one.
+     * Called once at the end of every frame.
+     */
+    public void endFrame() {
+        this.nextRegion();
+    }
+
+    /**
+     * Guards the current region with a fence, moves to the next region, and waits until the GPU has finished reading from it.
+     */
+    private void nextRegion() {
+        this.fences[this.region] = GL32.glFenceSync(GL32.GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+        this.region = (this.region + 1) % REGIONS;
+        this.regionOffset = 0;
+        var fence = this.fences[this.region];
+        if(fence != 0) {
+            // Commands must be flushed the first time, otherwise the fence may never be signaled
+            var flags = GL32.GL_SYNC_FLUSH_COMMANDS_BIT;
+            while(GL32.glClientWaitSync(fence, flags, 1_000_000L) == GL32.GL_TIMEOUT_EXPIRED) {
+                flags = 0;
+            }
+            GL32.glDeleteSync(fence);
+            this.fences[this.region] = 0;
+        }
+    }
+
+    /**
+     * Returns the OpenGL name of the buffer object.
+     *
+     * @return The OpenGL name of the buffer object.
+     */
+    public int buffer() {
+        return this.buffer;
+    }
+
+    /**
+     * Deletes the buffer and the fences guarding it.
+     *
+     * @see GL15#glDeleteBuffers(int)
+     */
+    public void delete() {
+        for(var fence : this.fences) {
+            if(fence != 0) {
+                GL32.glDeleteSync(fence);
+            }
+        }
+        if(this.persistentMapping != null) {
+            GLState.bindBuffer(this.target, this.buffer);
+            GL15.glUnmapBuffer(this.target);
+        }
+        GL15.glDeleteBuffers(this.buffer);
+        GLState.bufferDeleted(this.buffer);
+    }
+}
\ No newline at end of file
@@ -68,23 +68,36 @@ public class TextureData {
      * @param texture Texture object.
      */
     private void updateTexture(Texture texture) {
-        GL11.glBindTexture(GL11.GL_TEXTURE_2D, this.id);
+        // The texture is modified through the active unit, which may be a different one if the texture was already bound to unit zero
+        GLState.bindTexture(0, this.id);
+        GLState.activeTexture(0);
         GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR); // TODO: Texture properties
         GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
         GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
         // TODO: Add support for more image formats
         GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, texture.width(), texture.height(), 0, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, texture.pixels());
-        GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
     }
 
     /**
-     * Binds this texture.
+     * Binds this texture to the given texture unit.
      * Called before using the texture in the shader.
      *
-     * @see GL11#glBindTexture(int, int)
+     * @param unit The texture unit, starting from zero.
+     *
+     * @see GLState#bindTexture(int, int)
+     */
+    public void bindTexture(int unit) {
+        GLState.bindTexture(unit, this.id);
+    }
+
+    /**
+     * Returns the OpenGL name of this texture.
+     * Used as an id when sorting draw calls.
+     *
+     * @return The OpenGL name of this texture.
      */
-    public void bindTexture() {
-        GL11.glBindTexture(GL11.GL_TEXTURE_2D, this.id);
+    public int id() {
+        return this.id;
     }
 
     /**
@@ -94,6 +107,7 @@ public class TextureData {
      */
     private void delete() {
         GL11.glDeleteTextures(this.id);
+        GLState.textureDeleted(this.id);
     }
 
     /**
@@ -0,0 +1,85 @@
+package io.github.ardentengine.opengl;
+
+import io.github.ardentengine.core.math.Frustum;
+import io.github.ardentengine.core.math.Matrix3x4;
+import io.github.ardentengine.core.math.Matrix4;
+import io.github.ardentengine.core.math.Vector3;
+import io.github.ardentengine.core.rendering.BoxMesh;
+import io.github.ardentengine.core.rendering.OcclusionBuffer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestInstanceBatch {
+
+    /** The camera is at the origin and looks towards negative z. */
+    private static final Matrix4 VIEW_PROJECTION = Matrix4.perspectiveProjection(Math.PI / 2.0, 16.0f / 9.0f, 0.1f, 100.0f);
+
+    private static OcclusionBuffer createBufferWithWall(BoxMesh wall, Matrix3x4 transform) {
+        var occlusionBuffer = new OcclusionBuffer(256, 144);
+        occlusionBuffer.clear(VIEW_PROJECTION);
+        occlusionBuffer.rasterize(wall.vertices(), wall.indices(), transform);
+        occlusionBuffer.buildHierarchy();
+        return occlusionBuffer;
+    }
+
+    @Test
+    public void testOccluderIsNotCulledByItself() {
+        // Occluders are rasterized conservatively, so the depth of the wall is never nearer than the nearest corner of its bounds
+        var wall = new BoxMesh(40.0f, 30.0f, 2.0f);
+        var transform = Matrix3x4.translation(0.0f, -0.8f, -1.518f);
+        var occlusionBuffer = createBufferWithWall(wall, transform);
+        var batch = new InstanceBatch(wall, null, false);
+        batch.add(0, transform);
+        Assertions.assertEquals(1, batch.cull(new Frustum(VIEW_PROJECTION), Vector3.ZERO, 1, occlusionBuffer));
+    }
+
+    @Test
+    public void testInstanceBehindOccluderIsCulled() {
+        var wall = new BoxMesh(40.0f, 30.0f, 0.5f);
+        var occlusionBuffer = createBufferWithWall(wall, Matrix3x4.translation(0.0f, 0.0f, -5.0f));
+        var batch = new InstanceBatch(new BoxMesh(), null, false);
+        batch.add(0, Matrix3x4.translation(0.0f, 0.0f, -10.0f));
+        batch.add(1, Matrix3x4.translation(0.0f, 0.0f, -3.0f));
+        Assertions.assertEquals(1, batch.cull(new Frustum(VIEW_PROJECTION), Vector3.ZERO, 1, occlusionBuffer));
+    }
+
+    @Test
+    public void testMovedOccluderIsNotCulledByItself() {
+        var wall = new BoxMesh(40.0f, 30.0f, 0.5f);
+        var transform = Matrix3x4.translation(0.0f, 0.0f, -5.0f);
+        var occlusionBuffer = createBufferWithWall(wall, transform);
+        var batch = new InstanceBatch(wall, null, false);
+        batch.add(0, Matrix3x4.translation(0.0f, 0.0f, -10.0f));
+        batch.add(1, transform);
+        Assertions.assertEquals(1, batch.remove(0));
+        Assertions.assertEquals(1, batch.cull(new Frustum(VIEW_PROJECTION), Vector3.ZERO, 1, occlusionBuffer));
+    }
+
+    @Test
+    public void testIndexedCullOnlyKeepsVisibleInstances() {
+        var batch = new InstanceBatch(new BoxMesh(), null, true);
+        var inside = batch.add(0, Matrix3x4.translation(0.0f, 0.0f, -10.0f));
+        var outside = batch.add(1, Matrix3x4.translation(0.0f, 0.0f, 10.0f));
+        var hidden = batch.add(2, Matrix3x4.translation(1.0f, 0.0f, -10.0f));
+        batch.setLayers(hidden, 2);
+        var frustum = new Frustum(VIEW_PROJECTION);
+        batch.beginIndexedCull();
+        batch.cullInstance(inside, frustum, Vector3.ZERO, 1, null);
+        batch.cullInstance(outside, frustum, Vector3.ZERO, 1, null);
+        batch.cullInstance(hidden, frustum, Vector3.ZERO, 1, null);
+        Assertions.assertEquals(1, batch.visibleCount());
+        batch.beginIndexedCull();
+        Assertions.assertEquals(0, batch.visibleCount());
+    }
+
+    @Test
+    public void testNearestViewDepth() {
+        var batch = new InstanceBatch(new BoxMesh(), null, false);
+        batch.add(0, Matrix3x4.translation(0.0f, 0.0f, -20.0f));
+        batch.add(1, Matrix3x4.translation(0.0f, 0.0f, -8.0f));
+        batch.add(2, Matrix3x4.translation(0.0f, 0.0f, 5.0f));
+        batch.cull(new Frustum(VIEW_PROJECTION), Vector3.ZERO, 1, null);
+        Assertions.assertEquals(8.0f, batch.nearestViewDepth(Matrix4.IDENTITY), 1e-5f);
+        Assertions.assertEquals(6.0f, batch.nearestViewDepth(Matrix4.translation(0.0f, 0.0f, 2.0f)), 1e-5f);
+    }
+}
\ No newline at end of file
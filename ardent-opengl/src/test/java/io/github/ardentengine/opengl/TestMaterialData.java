@@ -0,0 +1,19 @@
+package io.github.ardentengine.opengl;
+
+import io.github.ardentengine.core.math.Color;
+import io.github.ardentengine.core.rendering.Material3D;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestMaterialData {
+
+    @Test
+    public void testSnapshotIsNotAffectedByChangesToTheMaterial() {
+        var material = new Material3D();
+        material.setAmbient(Color.WHITE);
+        var snapshot = MaterialData.Snapshot.of(material);
+        material.setAmbient(Color.BLACK);
+        Assertions.assertEquals(Color.WHITE, snapshot.parameters().get("ambient"));
+        Assertions.assertEquals(material.version() - 1, snapshot.version());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package io.github.ardentengine.opengl;
+
+import io.github.ardentengine.core.rendering.Material3D;
+import io.github.ardentengine.core.rendering.Mesh;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestMeshData {
+
+    private static final class TestMesh extends Mesh {
+
+        private final float[] vertices = {0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f};
+        private final int[] indices = {0, 1, 2};
+
+        @Override
+        public float[] vertices() {
+            return this.vertices;
+        }
+
+        @Override
+        public int[] indices() {
+            return this.indices;
+        }
+
+        @Override
+        public float[] uvs() {
+            return null;
+        }
+
+        @Override
+        public float[] normals() {
+            return null;
+        }
+    }
+
+    @Test
+    public void testSnapshotIsNotAffectedByChangesToTheMesh() {
+        var mesh = new TestMesh();
+        var material = new Material3D();
+        mesh.setMaterial(material);
+        var snapshot = MeshData.Snapshot.of(mesh);
+        mesh.vertices[3] = 5.0f;
+        mesh.indices[0] = 2;
+        mesh.setMaterial(null);
+        Assertions.assertEquals(1.0f, snapshot.vertices()[3]);
+        Assertions.assertEquals(0, snapshot.indices()[0]);
+        Assertions.assertNull(snapshot.uvs());
+        Assertions.assertEquals(1.0f, snapshot.aabb().max().x());
+        Assertions.assertSame(material, snapshot.material());
+        Assertions.assertNull(snapshot.withMaterial(null).material());
+        Assertions.assertSame(snapshot.vertices(), snapshot.withMaterial(null).vertices());
+    }
+
+    @Test
+    public void testSnapshotIsTakenIfNoneWasReceived() {
+        var mesh = new TestMesh();
+        var snapshot = MeshData.snapshot(mesh);
+        Assertions.assertSame(snapshot, MeshData.snapshot(mesh));
+        var updated = MeshData.Snapshot.of(mesh);
+        MeshData.update(mesh, updated);
+        Assertions.assertSame(updated, MeshData.snapshot(mesh));
+    }
+}
\ No newline at end of file
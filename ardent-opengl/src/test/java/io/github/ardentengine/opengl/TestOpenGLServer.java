@@ -0,0 +1,64 @@
+package io.github.ardentengine.opengl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+
+public class TestOpenGLServer {
+
+    @Test
+    public void testCreatedInstancesHaveDistinctHandles() {
+        var server = new OpenGLServer();
+        var handles = new HashSet<Integer>();
+        for(var i = 0; i < 100; i++) {
+            Assertions.assertTrue(handles.add(server.createInstance()));
+        }
+    }
+
+    @Test
+    public void testFreedHandlesAreReused() {
+        var server = new OpenGLServer();
+        var first = server.createInstance();
+        var second = server.createInstance();
+        var third = server.createInstance();
+        server.freeInstance(second);
+        Assertions.assertEquals(second, server.createInstance());
+        server.freeInstance(first);
+        server.freeInstance(third);
+        // Handles are reused in the reverse order in which they were freed
+        Assertions.assertEquals(third, server.createInstance());
+        Assertions.assertEquals(first, server.createInstance());
+        Assertions.assertEquals(3, server.createInstance());
+    }
+
+    @Test
+    public void testFreeingManyInstancesGrowsTheFreeList() {
+        var server = new OpenGLServer();
+        var count = 100;
+        for(var i = 0; i < count; i++) {
+            server.createInstance();
+        }
+        for(var i = 0; i < count; i++) {
+            server.freeInstance(i);
+        }
+        var handles = new HashSet<Integer>();
+        for(var i = 0; i < count; i++) {
+            var handle = server.createInstance();
+            Assertions.assertTrue(handle < count);
+            Assertions.assertTrue(handles.add(handle));
+        }
+        Assertions.assertEquals(count, server.createInstance());
+    }
+
+    @Test
+    public void testDoubleFreeIsRejected() {
+        var server = new OpenGLServer();
+        var first = server.createInstance();
+        server.freeInstance(first);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> server.freeInstance(first));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> server.freeInstance(5));
+        Assertions.assertEquals(first, server.createInstance());
+        Assertions.assertEquals(1, server.createInstance());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package io.github.ardentengine.opengl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class TestRenderQueue {
+
+    private static int[] sortedCommands(long... keys) {
+        var renderQueue = new RenderQueue();
+        for(var i = 0; i < keys.length; i++) {
+            renderQueue.add(keys[i], i);
+        }
+        renderQueue.sort();
+        var commands = new int[renderQueue.size()];
+        for(var i = 0; i < commands.length; i++) {
+            commands[i] = renderQueue.command(i);
+        }
+        return commands;
+    }
+
+    @Test
+    public void testFieldsAreOrderedBySignificance() {
+        var layer = RenderQueue.sortKey(1, 0, 0, 0, 0);
+        var shader = RenderQueue.sortKey(0, 4095, 4095, 4095, 4095);
+        var material = RenderQueue.sortKey(0, 0, 4095, 4095, 4095);
+        var resource = RenderQueue.sortKey(0, 0, 0, 4095, 4095);
+        var depth = RenderQueue.sortKey(0, 0, 0, 0, 4095);
+        Assertions.assertArrayEquals(new int[] {4, 3, 2, 1, 0}, sortedCommands(layer, shader, material, resource, depth));
+    }
+
+    @Test
+    public void testNegativeLayersAreDrawnFirst() {
+        var keys = new long[] {
+            RenderQueue.sortKey(10, 0, 0, 0, 0),
+            RenderQueue.sortKey(-10, 0, 0, 0, 0),
+            RenderQueue.sortKey(0, 0, 0, 0, 0),
+            RenderQueue.sortKey(Integer.MIN_VALUE, 0, 0, 0, 0),
+            RenderQueue.sortKey(Integer.MAX_VALUE, 0, 0, 0, 0)
+        };
+        Assertions.assertArrayEquals(new int[] {3, 1, 2, 0, 4}, sortedCommands(keys));
+    }
+
+    @Test
+    public void testValuesDoNotOverflowIntoOtherFields() {
+        Assertions.assertEquals(RenderQueue.sortKey(0, 1, 0, 0, 0), RenderQueue.sortKey(0, 1, 0, 0, 4096));
+        Assertions.assertEquals(RenderQueue.sortKey(0, 0, 1, 0, 0), RenderQueue.sortKey(0, 0, 1, 4096, 0));
+        Assertions.assertEquals(RenderQueue.sortKey(0, 0, 0, 0, 0), RenderQueue.sortKey(0, 0, 0, 0, -4096));
+    }
+
+    @Test
+    public void testSortIsStable() {
+        var random = new Random(1);
+        var keys = new long[1000];
+        for(var i = 0; i < keys.length; i++) {
+            keys[i] = RenderQueue.sortKey(random.nextInt(3), random.nextInt(3), 0, 0, 0);
+        }
+        var commands = sortedCommands(keys);
+        for(var i = 1; i < commands.length; i++) {
+            var previous = keys[commands[i - 1]];
+            var current = keys[commands[i]];
+            Assertions.assertTrue(Long.compareUnsigned(previous, current) < 0 || (previous == current && commands[i - 1] < commands[i]));
+        }
+    }
+
+    @Test
+    public void testSortMatchesUnsignedSort() {
+        var random = new Random(2);
+        var keys = new long[5000];
+        for(var i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+        var commands = sortedCommands(keys);
+        var expected = Arrays.stream(keys).boxed().sorted(Long::compareUnsigned).mapToLong(Long::longValue).toArray();
+        for(var i = 0; i < commands.length; i++) {
+            Assertions.assertEquals(expected[i], keys[commands[i]]);
+        }
+    }
+
+    @Test
+    public void testClearKeepsQueueUsable() {
+        var renderQueue = new RenderQueue();
+        renderQueue.add(2L, 0);
+        renderQueue.add(1L, 1);
+        renderQueue.sort();
+        renderQueue.clear();
+        Assertions.assertEquals(0, renderQueue.size());
+        renderQueue.add(5L, 7);
+        renderQueue.add(3L, 8);
+        renderQueue.sort();
+        Assertions.assertEquals(8, renderQueue.command(0));
+        Assertions.assertEquals(7, renderQueue.command(1));
+    }
+
+    @Test
+    public void testDepthIsMonotonic() {
+        Assertions.assertEquals(0, RenderQueue.depth(-1.0f));
+        Assertions.assertEquals(0, RenderQueue.depth(0.0f));
+        Assertions.assertEquals(0, RenderQueue.depth(Float.NaN));
+        var previous = 0;
+        for(var distance = 0.1f; distance < 100000.0f; distance *= 1.1f) {
+            var depth = RenderQueue.depth(distance);
+            Assertions.assertTrue(depth >= previous);
+            Assertions.assertTrue(depth < 4096);
+            previous = depth;
+        }
+        Assertions.assertTrue(RenderQueue.depth(1.0f) < RenderQueue.depth(1.1f));
+        Assertions.assertTrue(RenderQueue.depth(1000.0f) < RenderQueue.depth(1100.0f));
+    }
+}
\ No newline at end of file